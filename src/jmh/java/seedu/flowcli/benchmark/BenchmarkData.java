@@ -0,0 +1,119 @@
+package seedu.flowcli.benchmark;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Random;
+
+import seedu.flowcli.exceptions.IndexOutOfRangeException;
+import seedu.flowcli.project.Project;
+import seedu.flowcli.project.ProjectList;
+import seedu.flowcli.task.TaskList;
+
+/**
+ * Generates synthetic project lists for the benchmarks.
+ * The same task count and distribution always produce the same data.
+ */
+public final class BenchmarkData {
+    private static final long SEED = 20240917L;
+    private static final int PROJECT_COUNT = 100;
+    private static final LocalDate FIRST_DEADLINE = LocalDate.of(2025, 1, 1);
+    private static final String[] WORDS = {
+        "report", "review", "deploy", "design", "meeting", "budget", "tests", "release", "fix", "draft",
+        "plan", "refactor", "survey", "slides", "invoice", "backup", "audit", "docs", "demo", "retro"
+    };
+
+    private BenchmarkData() {
+    }
+
+    /**
+     * Shapes of generated data.
+     */
+    public enum Distribution {
+        /** Tasks spread evenly over the projects, with uniform priorities and deadlines. */
+        UNIFORM,
+        /**
+         * Project sizes follow a Zipf law, most tasks are medium priority or done,
+         * and deadlines cluster on a few dates, as in a real backlog.
+         */
+        SKEWED
+    }
+
+    /**
+     * Generates a project list with the given total number of tasks.
+     */
+    public static ProjectList generate(int taskCount, Distribution distribution) throws IndexOutOfRangeException {
+        Random random = new Random(SEED);
+        int projectCount = Math.max(1, Math.min(PROJECT_COUNT, taskCount));
+        Project[] projects = new Project[projectCount];
+        ProjectList projectList = new ProjectList();
+        for (int i = 0; i < projectCount; i++) {
+            projects[i] = new Project("Project " + i);
+            projectList.addProject(projects[i]);
+        }
+
+        double[] cumulativeWeights = distribution == Distribution.SKEWED ? zipfWeights(projectCount) : null;
+        for (int i = 0; i < taskCount; i++) {
+            Project project = cumulativeWeights == null
+                    ? projects[i % projectCount]
+                    : projects[sample(cumulativeWeights, random.nextDouble())];
+            TaskList tasks = project.getProjectTasks();
+            String description = WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)]
+                    + " #" + i;
+            if (distribution == Distribution.SKEWED) {
+                tasks.addTask(description, skewedDeadline(random), skewedPriority(random));
+                if (random.nextInt(10) < 8) {
+                    tasks.mark(tasks.size() - 1);
+                }
+            } else {
+                LocalDate deadline = random.nextInt(5) == 0 ? null : FIRST_DEADLINE.plusDays(random.nextInt(730));
+                tasks.addTask(description, deadline, random.nextInt(3) + 1);
+                if (random.nextBoolean()) {
+                    tasks.mark(tasks.size() - 1);
+                }
+            }
+        }
+        return projectList;
+    }
+
+    private static LocalDate skewedDeadline(Random random) {
+        int roll = random.nextInt(10);
+        if (roll < 5) {
+            return null;
+        }
+        if (roll < 9) {
+            // Sprint ends every two weeks
+            return FIRST_DEADLINE.plusWeeks(2L * random.nextInt(8));
+        }
+        return FIRST_DEADLINE.plusDays(random.nextInt(3650));
+    }
+
+    private static int skewedPriority(Random random) {
+        int roll = random.nextInt(20);
+        if (roll < 2) {
+            return 3;
+        }
+        return roll < 17 ? 2 : 1;
+    }
+
+    /**
+     * Returns the cumulative weights of a Zipf distribution with exponent 1.1 over the given number of ranks.
+     */
+    private static double[] zipfWeights(int count) {
+        double[] cumulative = new double[count];
+        double total = 0;
+        for (int rank = 1; rank <= count; rank++) {
+            total += 1.0 / Math.pow(rank, 1.1);
+            cumulative[rank - 1] = total;
+        }
+        for (int i = 0; i < count; i++) {
+            cumulative[i] /= total;
+        }
+        return cumulative;
+    }
+
+    private static int sample(double[] cumulativeWeights, double value) {
+        int index = Arrays.binarySearch(cumulativeWeights, value);
+        int insertion = index >= 0 ? index : -index - 1;
+        return Math.min(insertion, cumulativeWeights.length - 1);
+    }
+}
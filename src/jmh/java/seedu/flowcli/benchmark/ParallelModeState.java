@@ -0,0 +1,33 @@
+package seedu.flowcli.benchmark;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import seedu.flowcli.commands.utility.ParallelTasks;
+
+/**
+ * Runs the filter and sort benchmarks with parallel mode off and on.
+ * Parallel runs use a threshold of 0, so comparing the two across task counts shows
+ * where {@link ParallelTasks#DEFAULT_THRESHOLD} should be.
+ */
+@State(Scope.Benchmark)
+public class ParallelModeState {
+    @Param({"false", "true"})
+    public boolean parallel;
+
+    @Setup(Level.Trial)
+    public void enable() {
+        ParallelTasks.setEnabled(parallel);
+        ParallelTasks.setThreshold(0);
+    }
+
+    @TearDown(Level.Trial)
+    public void reset() {
+        ParallelTasks.setEnabled(false);
+        ParallelTasks.setThreshold(ParallelTasks.DEFAULT_THRESHOLD);
+    }
+}
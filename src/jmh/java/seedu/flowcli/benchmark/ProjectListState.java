@@ -0,0 +1,30 @@
+package seedu.flowcli.benchmark;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import seedu.flowcli.exceptions.IndexOutOfRangeException;
+import seedu.flowcli.project.ProjectList;
+
+/**
+ * A generated project list shared by every benchmark in a trial.
+ * Each combination of task count and distribution is a separate trial.
+ */
+@State(Scope.Benchmark)
+public class ProjectListState {
+    @Param({"1000", "10000", "100000", "1000000"})
+    public int taskCount;
+
+    @Param({"UNIFORM", "SKEWED"})
+    public BenchmarkData.Distribution distribution;
+
+    public ProjectList projects;
+
+    @Setup(Level.Trial)
+    public void generate() throws IndexOutOfRangeException {
+        projects = BenchmarkData.generate(taskCount, distribution);
+    }
+}
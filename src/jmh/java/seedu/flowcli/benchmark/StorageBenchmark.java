@@ -0,0 +1,74 @@
+package seedu.flowcli.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import seedu.flowcli.exceptions.DataCorruptedException;
+import seedu.flowcli.exceptions.StorageException;
+import seedu.flowcli.project.ProjectList;
+import seedu.flowcli.storage.SnapshotFormat;
+import seedu.flowcli.storage.Storage;
+
+/**
+ * Measures full loads and saves of the data file in each snapshot format.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g"})
+@State(Scope.Benchmark)
+public class StorageBenchmark {
+    @Param({"TEXT", "BINARY"})
+    public SnapshotFormat format;
+
+    private Path directory;
+    private Storage loadStorage;
+    private Storage saveStorage;
+
+    @Setup(Level.Trial)
+    public void setUp(ProjectListState state) throws IOException, StorageException {
+        directory = Files.createTempDirectory("flowcli-storage");
+        loadStorage = new Storage(directory.resolve("load" + File.separator + "flowcli-data.txt").toString(),
+                format);
+        loadStorage.save(state.projects);
+        saveStorage = new Storage(directory.resolve("save" + File.separator + "flowcli-data.txt").toString(),
+                format);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    public ProjectList load() throws StorageException, DataCorruptedException {
+        return loadStorage.load();
+    }
+
+    @Benchmark
+    public void save(ProjectListState state) throws StorageException {
+        saveStorage.save(state.projects);
+    }
+}
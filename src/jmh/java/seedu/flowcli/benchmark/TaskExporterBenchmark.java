@@ -0,0 +1,61 @@
+package seedu.flowcli.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import seedu.flowcli.commands.utility.TaskCollector;
+import seedu.flowcli.commands.utility.TaskExporter;
+import seedu.flowcli.exceptions.FileWriteException;
+import seedu.flowcli.task.TaskWithProject;
+
+/**
+ * Measures export-tasks, both streamed from the projects and from a collected list.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g"})
+@State(Scope.Benchmark)
+public class TaskExporterBenchmark {
+    private Path file;
+    private List<TaskWithProject> tasks;
+
+    @Setup(Level.Trial)
+    public void setUp(ProjectListState state) throws IOException {
+        file = Files.createTempFile("flowcli-export", ".txt");
+        tasks = TaskCollector.getAllTasksWithProjects(state.projects);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public int exportStreamed(ProjectListState state) throws FileWriteException {
+        return TaskExporter.exportTasksToFile(state.projects.getProjectList(), task -> true, file.toString(),
+                "Exported all tasks");
+    }
+
+    @Benchmark
+    public void exportCollectedList() throws FileWriteException {
+        TaskExporter.exportTasksToFile(tasks, file.toString(), "Exported all tasks");
+    }
+}
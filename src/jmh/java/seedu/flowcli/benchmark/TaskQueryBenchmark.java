@@ -0,0 +1,64 @@
+package seedu.flowcli.benchmark;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import seedu.flowcli.commands.utility.TaskCollector;
+import seedu.flowcli.commands.utility.TaskFilter;
+import seedu.flowcli.commands.utility.TaskSorter;
+import seedu.flowcli.task.TaskWithProject;
+
+/**
+ * Measures the in-memory paths behind list, filter-tasks and sort-tasks.
+ * Benchmarks that take a {@link ParallelModeState} run both sequentially and in parallel.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g"})
+public class TaskQueryBenchmark {
+    @Benchmark
+    public List<TaskWithProject> collectAllTasks(ProjectListState state) {
+        return TaskCollector.getAllTasksWithProjects(state.projects);
+    }
+
+    @Benchmark
+    public List<TaskWithProject> filterHighPriority(ProjectListState state) {
+        return new TaskFilter(state.projects, "high", null).getFilteredTasks();
+    }
+
+    @Benchmark
+    public List<TaskWithProject> filterByDeadlineRange(ProjectListState state) {
+        return new TaskFilter(state.projects, LocalDate.of(2025, 3, 1), LocalDate.of(2025, 3, 31)).getFilteredTasks();
+    }
+
+    @Benchmark
+    public List<TaskWithProject> filterByProject(ProjectListState state, ParallelModeState mode) {
+        return new TaskFilter(state.projects, null, "Project 0").getFilteredTasks();
+    }
+
+    @Benchmark
+    public List<TaskWithProject> sortByDeadline(ProjectListState state, ParallelModeState mode) {
+        return new TaskSorter(state.projects, "deadline", true).getSortedTasks();
+    }
+
+    @Benchmark
+    public List<TaskWithProject> sortFirstPageByDeadline(ProjectListState state, ParallelModeState mode) {
+        return new TaskSorter(state.projects, "deadline", true, 20).getSortedTasks();
+    }
+
+    @Benchmark
+    public List<TaskWithProject> sortByPriority(ProjectListState state, ParallelModeState mode) {
+        return new TaskSorter(state.projects, "priority", false).getSortedTasks();
+    }
+}
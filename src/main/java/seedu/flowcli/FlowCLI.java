@@ -1,24 +1,60 @@
 package seedu.flowcli;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import seedu.flowcli.commands.core.BatchRunner;
 import seedu.flowcli.commands.core.CommandHandler;
+import seedu.flowcli.daemon.DaemonClient;
+import seedu.flowcli.daemon.DaemonServer;
 import seedu.flowcli.exceptions.DataCorruptedException;
 import seedu.flowcli.exceptions.StorageException;
+import seedu.flowcli.metrics.MetricsRegistry;
 import seedu.flowcli.project.ProjectList;
+import seedu.flowcli.storage.AutosaveScheduler;
 import seedu.flowcli.storage.Storage;
 import seedu.flowcli.ui.ConsoleUi;
 
 //@@author Zhenzha0
 public class FlowCLI {
+    private static final String BATCH_FLAG = "--batch";
+    private static final String QUIET_FLAG = "--quiet";
+    private static final String METRICS_FLAG = "--metrics";
+    private static final String DAEMON_FLAG = "--daemon";
+    private static final String CLIENT_FLAG = "--client";
+    private static final String BATCH_USAGE = "Usage: FlowCLI --batch <file> [--quiet] [--metrics <file>]";
+    private static final String METRICS_USAGE = "Usage: FlowCLI [--metrics <file>]";
+    private static final String DAEMON_USAGE = "Usage: FlowCLI --daemon <socket> [--metrics <file>]";
+    private static final String CLIENT_USAGE = "Usage: FlowCLI --client <socket> [command]";
+    private static final long DAEMON_STOP_TIMEOUT_SECONDS = 10;
+
     private final ProjectList projects;
     private final ConsoleUi ui;
     private final CommandHandler commandHandler;
     private final Storage storage;
+    private final AutosaveScheduler autosave;
 
     public FlowCLI() {
         this.storage = new Storage();
+        // Saves then only rewrite the projects that changed
+        this.storage.setSegmentedLayout(true);
+        // Only the manifest is read at startup; each project's tasks are read when first used
+        this.storage.setLazyLoading(true);
         this.projects = loadData();
         this.ui = new ConsoleUi(projects);
-        this.commandHandler = new CommandHandler(projects, ui, storage);
+        this.autosave = new AutosaveScheduler(storage, projects, AutosaveScheduler.DEFAULT_QUIET_PERIOD,
+                AutosaveScheduler.DEFAULT_MAX_DELAY,
+                message -> ui.showAutosaveError(message, storage.isJournalingChanges()));
+        this.commandHandler = new CommandHandler(projects, ui, storage, autosave);
     }
 
     /**
@@ -54,10 +90,204 @@ public class FlowCLI {
     public void run() {
         ui.printWelcomeMessage();
         commandHandler.handleCommands();
+        autosave.close();
+    }
+
+    /**
+     * Runs the commands in a file without prompts and prints a summary.
+     *
+     * @return the process exit code: 0 if every command succeeded, 1 if any failed or saving failed,
+     *         2 if the file could not be read
+     */
+    public int runBatch(Path file, boolean isQuiet) {
+        BatchRunner runner = new BatchRunner(projects, ui, storage, isQuiet);
+        try {
+            return runner.run(file, System.out).isSuccessful() ? 0 : 1;
+        } catch (IOException e) {
+            System.err.println("ERROR: Could not read batch file " + file + ": " + e.getMessage());
+            return 2;
+        } finally {
+            autosave.close();
+        }
+    }
+
+    /**
+     * Serves commands from {@link DaemonClient}s on the socket until a client runs 'bye' or the process
+     * is asked to stop, e.g. by SIGTERM, then saves.
+     *
+     * @return the process exit code: 0 once stopped, 2 if the socket could not be bound
+     */
+    public int runDaemon(Path socketPath) {
+        DaemonServer server = new DaemonServer(projects, ui, storage, autosave, socketPath);
+        try {
+            server.bind();
+        } catch (IOException e) {
+            System.err.println("ERROR: Could not start the daemon on " + socketPath + ": " + e.getMessage());
+            autosave.close();
+            return 2;
+        }
+        Thread shutdownHook = new Thread(() -> {
+            server.close();
+            try {
+                server.awaitStopped(DAEMON_STOP_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, "flowcli-daemon-shutdown");
+        Runtime.getRuntime().addShutdownHook(shutdownHook);
+
+        System.out.println("FlowCLI daemon listening on " + socketPath);
+        server.serve();
+        autosave.close();
+        try {
+            Runtime.getRuntime().removeShutdownHook(shutdownHook);
+        } catch (IllegalStateException e) {
+            // Stopped by the hook itself while the JVM shuts down
+        }
+        return 0;
     }
 
     public static void main(String[] args) {
+        List<String> arguments = new ArrayList<>(Arrays.asList(args));
+        if (!arguments.isEmpty() && CLIENT_FLAG.equals(arguments.get(0))) {
+            // Everything after the socket belongs to the command, so no other flags are read
+            System.exit(runClientFromArguments(arguments));
+        }
+        int metricsFlag = arguments.indexOf(METRICS_FLAG);
+        Path metricsFile = null;
+        if (metricsFlag >= 0) {
+            metricsFile = metricsFileArgument(arguments, metricsFlag);
+            if (metricsFile == null) {
+                boolean isBatch = !arguments.isEmpty() && BATCH_FLAG.equals(arguments.get(0));
+                boolean isDaemon = !arguments.isEmpty() && DAEMON_FLAG.equals(arguments.get(0));
+                System.err.println(isBatch ? BATCH_USAGE : isDaemon ? DAEMON_USAGE : METRICS_USAGE);
+                System.exit(2);
+            }
+        }
+        if (!arguments.isEmpty() && BATCH_FLAG.equals(arguments.get(0))) {
+            int exitCode = runBatchFromArguments(arguments.toArray(new String[0]));
+            dumpMetrics(metricsFile);
+            System.exit(exitCode);
+        }
+        if (!arguments.isEmpty() && DAEMON_FLAG.equals(arguments.get(0))) {
+            int exitCode = runDaemonFromArguments(arguments);
+            dumpMetrics(metricsFile);
+            if (exitCode != 0) {
+                System.exit(exitCode);
+            }
+            return;
+        }
         new FlowCLI().run();
+        dumpMetrics(metricsFile);
+    }
+
+    private static int runDaemonFromArguments(List<String> arguments) {
+        if (arguments.size() != 2) {
+            System.err.println(DAEMON_USAGE);
+            return 2;
+        }
+        Path socketPath = socketArgument(arguments.get(1));
+        return socketPath == null ? 2 : new FlowCLI().runDaemon(socketPath);
+    }
+
+    /**
+     * Sends the command after the socket to the daemon, or every line of standard input if there is none,
+     * and copies the output to standard output.
+     *
+     * @return the daemon's exit status, or 2 if the daemon could not be reached
+     */
+    private static int runClientFromArguments(List<String> arguments) {
+        if (arguments.size() < 2) {
+            System.err.println(CLIENT_USAGE);
+            return 2;
+        }
+        Path socketPath = socketArgument(arguments.get(1));
+        if (socketPath == null) {
+            return 2;
+        }
+        try {
+            Iterable<String> commandLines;
+            if (arguments.size() > 2) {
+                commandLines = List.of(String.join(" ", arguments.subList(2, arguments.size())));
+            } else {
+                BufferedReader stdin = new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8));
+                // Each line is sent as soon as it is read
+                commandLines = () -> stdin.lines().iterator();
+            }
+            return DaemonClient.run(socketPath, commandLines, System.out);
+        } catch (IOException e) {
+            System.err.println("ERROR: Could not run the command on the daemon at " + socketPath + ": "
+                    + e.getMessage());
+            return 2;
+        }
+    }
+
+    private static Path socketArgument(String socket) {
+        try {
+            return Paths.get(socket);
+        } catch (InvalidPathException e) {
+            System.err.println("ERROR: Invalid socket path: " + socket);
+            return null;
+        }
+    }
+
+    /**
+     * Removes {@code --metrics <file>} from the arguments and returns the file, or null if it is missing or invalid.
+     */
+    private static Path metricsFileArgument(List<String> arguments, int flagIndex) {
+        arguments.remove(flagIndex);
+        if (flagIndex >= arguments.size()) {
+            return null;
+        }
+        String file = arguments.remove(flagIndex);
+        try {
+            return Paths.get(file);
+        } catch (InvalidPathException e) {
+            System.err.println("ERROR: Invalid metrics file path: " + file);
+            return null;
+        }
+    }
+
+    /**
+     * Writes the session's metrics as JSON, e.g. for dashboards that collect them from many machines.
+     */
+    private static void dumpMetrics(Path metricsFile) {
+        if (metricsFile == null) {
+            return;
+        }
+        try {
+            MetricsRegistry.getInstance().writeJson(metricsFile);
+        } catch (IOException e) {
+            System.err.println("WARNING: Could not write metrics to " + metricsFile + ": " + e.getMessage());
+        }
+    }
+
+    private static int runBatchFromArguments(String[] args) {
+        String file = null;
+        boolean isQuiet = false;
+        for (int i = 1; i < args.length; i++) {
+            if (QUIET_FLAG.equals(args[i])) {
+                isQuiet = true;
+            } else if (file == null) {
+                file = args[i];
+            } else {
+                // Only one file can be run
+                System.err.println(BATCH_USAGE);
+                return 2;
+            }
+        }
+        if (file == null) {
+            System.err.println(BATCH_USAGE);
+            return 2;
+        }
+        Path path;
+        try {
+            path = Paths.get(file);
+        } catch (InvalidPathException e) {
+            System.err.println("ERROR: Invalid batch file path: " + file);
+            return 2;
+        }
+        return new FlowCLI().runBatch(path, isQuiet);
     }
 }
 //@@author
@@ -8,8 +8,11 @@ import seedu.flowcli.exceptions.InvalidCommandSyntaxException;
 import seedu.flowcli.exceptions.MissingDescriptionException;
 import seedu.flowcli.parsers.ArgumentParser;
 import seedu.flowcli.project.Project;
+import seedu.flowcli.storage.JournalRecord;
+import seedu.flowcli.task.Task;
 
 public class AddCommand extends Command {
+    private static final String OPTION_SEPARATOR = " --";
 
     public AddCommand(String arguments) {
         super(arguments);
@@ -31,8 +34,16 @@ public class AddCommand extends Command {
             throw new MissingDescriptionException();
         }
 
-        String[] parts = remaining.split(" --");
-        description = parts[0].trim();
+        // Options start at each " --"; empty options at the very end are ignored
+        int end = remaining.length();
+        while (remaining.startsWith(OPTION_SEPARATOR, end - OPTION_SEPARATOR.length())) {
+            end -= OPTION_SEPARATOR.length();
+        }
+        int optionStart = remaining.indexOf(OPTION_SEPARATOR);
+        if (optionStart < 0 || optionStart >= end) {
+            optionStart = end;
+        }
+        description = remaining.substring(0, optionStart).trim();
         if (description.isEmpty()) {
             throw new MissingDescriptionException();
         }
@@ -40,8 +51,14 @@ public class AddCommand extends Command {
         // Collect all validation errors first
         StringBuilder errors = new StringBuilder();
         
-        for (int i = 1; i < parts.length; i++) {
-            String option = parts[i].trim();
+        while (optionStart < end) {
+            int valueStart = optionStart + OPTION_SEPARATOR.length();
+            int optionEnd = remaining.indexOf(OPTION_SEPARATOR, valueStart);
+            if (optionEnd < 0 || optionEnd > end) {
+                optionEnd = end;
+            }
+            String option = remaining.substring(valueStart, optionEnd).trim();
+            optionStart = optionEnd;
             if (option.startsWith("priority ")) {
                 String priStr = option.substring(9).trim();
                 String validatedPriority = CommandValidator.validatePriority(priStr);
@@ -72,7 +89,9 @@ public class AddCommand extends Command {
             throw new InvalidCommandSyntaxException(errors.toString());
         }
 
-        targetProject.addTask(description, deadline, priority);
+        Task addedTask = targetProject.addTask(description, deadline, priority);
+        context.journal(JournalRecord.addTask(targetProject.getProjectName(), addedTask.getId(), description,
+                deadline, priority));
         context.getUi().showAddedTask(targetProject);
         return true;
     }
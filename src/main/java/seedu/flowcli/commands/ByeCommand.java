@@ -27,20 +27,29 @@ public class ByeCommand extends Command {
     }
 
     /**
-     * Attempts to save data, with retry option on failure.
+     * Attempts to save data, with retry option on failure. Without a user to ask, a failed save is
+     * reported once through the UI.
      */
     private void saveDataWithRetry(CommandContext context) {
         // Skip saving if Storage is not available (e.g., in tests)
         if (context.getStorage() == null) {
             return;
         }
+        if (!context.isInteractive()) {
+            try {
+                context.save();
+            } catch (StorageException e) {
+                context.getUi().showError("ERROR: Failed to save data: " + e.getMessage());
+            }
+            return;
+        }
         
         int maxAttempts = 3;
         int attempt = 1;
         
         while (attempt <= maxAttempts) {
             try {
-                context.getStorage().save(context.getProjects());
+                context.save();
                 return; // Success - exit the retry loop
                 
             } catch (StorageException e) {
@@ -56,18 +65,30 @@ public class ByeCommand extends Command {
                     String response = scanner.nextLine().trim().toLowerCase();
                     
                     if (!response.equals("y") && !response.equals("yes")) {
-                        System.err.println("WARNING: Your data was NOT saved. Changes will be lost.");
+                        System.err.println("WARNING: Your data was NOT saved. " + describeUnsavedChanges(context));
                         return; // User chose not to retry
                     }
                     attempt++;
                 } else {
                     // Final attempt failed
                     System.err.println("CRITICAL: Data could not be saved after " + maxAttempts + " attempts.");
-                    System.err.println("Your changes will be lost.");
-                    System.err.println("Consider using 'export-tasks' to manually save your work.");
+                    System.err.println(describeUnsavedChanges(context));
+                    if (!context.getStorage().isJournalingChanges()) {
+                        System.err.println("Consider using 'export-tasks' to manually save your work.");
+                    }
                     return;
                 }
             }
         }
     }
+
+    /**
+     * Tells what becomes of changes that could not be saved. The journal restores them on the next start,
+     * unless another process owns it or the changes could not be merged into the data file.
+     */
+    private static String describeUnsavedChanges(CommandContext context) {
+        return context.getStorage().isJournalingChanges()
+                ? "Your changes are kept in the journal and will be restored when FlowCLI next starts."
+                : "Your changes will be lost.";
+    }
 }
@@ -21,4 +21,20 @@ public abstract class Command {
      * @throws Exception if command execution fails.
      */
     public abstract boolean execute(CommandContext context) throws Exception;
+
+    /**
+     * Returns whether the command only reads the projects, so that it can run under the shared lock
+     * alongside other readers instead of the exclusive one.
+     */
+    public boolean isReadOnly() {
+        return false;
+    }
+
+    /**
+     * Returns whether the command reads the projects only through a
+     * {@link seedu.flowcli.project.ProjectList#snapshot()}, so that it runs without holding the lock at all.
+     */
+    public boolean readsSnapshot() {
+        return false;
+    }
 }
@@ -5,7 +5,7 @@ import java.util.logging.Logger;
 import seedu.flowcli.commands.core.CommandContext;
 import seedu.flowcli.exceptions.MissingArgumentException;
 import seedu.flowcli.exceptions.ProjectAlreadyExistsException;
-import seedu.flowcli.exceptions.ProjectNotFoundException;
+import seedu.flowcli.storage.JournalRecord;
 
 public class CreateCommand extends Command {
     private static final Logger logger = Logger.getLogger(CreateCommand.class.getName());
@@ -26,16 +26,14 @@ public class CreateCommand extends Command {
             throw new MissingArgumentException("Project name cannot be empty.");
         }
 
-        try {
-            context.getProjects().getProject(name);
+        if (context.getProjects().hasProject(name)) {
             logger.warning(() -> "Project already exists for input args: \"" + arguments + "\"");
             throw new ProjectAlreadyExistsException(name);
-        } catch (ProjectNotFoundException e) {
-            // Project doesn't exist, which is what we want - continue with creation
         }
 
         logger.fine(() -> "Creating project: \"" + name + "\"");
         context.getProjects().addProject(name);
+        context.journal(JournalRecord.createProject(name));
         context.getUi().showAddedProject();
         logger.fine(() -> "Project created and UI notified for: \"" + name + "\"");
 
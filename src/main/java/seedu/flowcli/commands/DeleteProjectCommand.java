@@ -6,6 +6,7 @@ import seedu.flowcli.exceptions.MissingArgumentException;
 import seedu.flowcli.parsers.ArgumentParser;
 import seedu.flowcli.project.Project;
 import seedu.flowcli.project.ProjectList;
+import seedu.flowcli.storage.JournalRecord;
 
 //@@author zeeeing
 public class DeleteProjectCommand extends Command {
@@ -36,6 +37,7 @@ public class DeleteProjectCommand extends Command {
         // Get the zero-based index from ArgumentParser
         int zeroBasedIndex = parsedArgument.getTargetProjectIndex();
         Project deletedProject = projects.delete(zeroBasedIndex);
+        context.journal(JournalRecord.deleteProject(deletedProject.getProjectName()));
         context.getUi().showDeletedProject(deletedProject);
         return true;
     }
@@ -2,8 +2,8 @@ package seedu.flowcli.commands;
 
 import seedu.flowcli.commands.core.CommandContext;
 import seedu.flowcli.parsers.ArgumentParser;
-import seedu.flowcli.parsers.CommandParser;
 import seedu.flowcli.project.Project;
+import seedu.flowcli.storage.JournalRecord;
 import seedu.flowcli.task.Task;
 
 //@@author zeeeing
@@ -16,11 +16,11 @@ public class DeleteTaskCommand extends Command {
     @Override
     public boolean execute(CommandContext context) throws Exception {
         ArgumentParser parsedArgument = new ArgumentParser(arguments, context.getProjects());
-        parsedArgument.validateProjectIndex();
+        Task deletedTask = parsedArgument.resolveTask(false);
         Project targetProject = parsedArgument.getTargetProject();
 
-        Integer index = CommandParser.parseIndexOrNull(parsedArgument.getRemainingArgument(), targetProject.size());
-        Task deletedTask = targetProject.deleteTask(index);
+        targetProject.deleteTask(deletedTask);
+        context.journal(JournalRecord.deleteTask(deletedTask.getId()));
         context.getUi().showDeletedTask(targetProject, deletedTask);
         return true;
     }
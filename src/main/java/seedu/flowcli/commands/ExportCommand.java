@@ -8,6 +8,16 @@ public class ExportCommand extends Command {
         super(arguments);
     }
 
+    @Override
+    public boolean isReadOnly() {
+        return true;
+    }
+
+    @Override
+    public boolean readsSnapshot() {
+        return true;
+    }
+
     @Override
     public boolean execute(CommandContext context) throws Exception {
         context.getExportHandler().handleExport(arguments);
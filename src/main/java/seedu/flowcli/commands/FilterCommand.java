@@ -1,5 +1,6 @@
 package seedu.flowcli.commands;
 
+import java.time.LocalDate;
 import java.util.List;
 
 import seedu.flowcli.commands.core.CommandContext;
@@ -10,14 +11,22 @@ import seedu.flowcli.commands.validation.ValidationConstants;
 import seedu.flowcli.exceptions.EmptyProjectListException;
 import seedu.flowcli.exceptions.EmptyTaskListException;
 import seedu.flowcli.exceptions.InvalidCommandSyntaxException;
+import seedu.flowcli.parsers.Tokenizer;
 import seedu.flowcli.task.TaskWithProject;
 
 public class FilterCommand extends Command {
+    private static final String DEADLINE_USAGE =
+            "Invalid deadline filter. Use: filter-tasks --deadline <YYYY-MM-DD> [<YYYY-MM-DD>]";
 
     public FilterCommand(String arguments) {
         super(arguments);
     }
 
+    @Override
+    public boolean isReadOnly() {
+        return true;
+    }
+
     @Override
     public boolean execute(CommandContext context) throws Exception {
         String trimmed = arguments.trim();
@@ -49,24 +58,39 @@ public class FilterCommand extends Command {
         }
 
         String type = option.substring(2).toLowerCase();
-        if (!ValidationConstants.FILTER_TYPE_PRIORITY.equals(type)) {
+        TaskFilter filter;
+        String normalizedValue;
+        if (ValidationConstants.FILTER_TYPE_PRIORITY.equals(type)) {
+            normalizedValue = CommandValidator.validatePriority(value);
+            filter = new TaskFilter(context.getProjects(), normalizedValue, null);
+        } else if (ValidationConstants.FILTER_TYPE_DEADLINE.equals(type)) {
+            Tokenizer dates = new Tokenizer(value);
+            if (dates.countRemaining() > 2) {
+                throw new InvalidCommandSyntaxException(DEADLINE_USAGE);
+            }
+            dates.next();
+            LocalDate from = CommandValidator.validateAndParseDate(dates.token());
+            LocalDate to = dates.next() ? CommandValidator.validateAndParseDate(dates.token()) : from;
+            if (to.isBefore(from)) {
+                throw new InvalidCommandSyntaxException(DEADLINE_USAGE);
+            }
+            normalizedValue = from.equals(to) ? from.toString() : from + " to " + to;
+            filter = new TaskFilter(context.getProjects(), from, to);
+        } else {
             CommandValidator.validateFilterType(type);
-            throw new InvalidCommandSyntaxException("Invalid filter type. Use: priority");
+            throw new InvalidCommandSyntaxException("Invalid filter type. Use: priority or deadline");
         }
 
-        String normalizedPriority = CommandValidator.validatePriority(value);
-
-        TaskFilter filter = new TaskFilter(context.getProjects(), normalizedPriority, null);
         List<TaskWithProject> filteredTasks = filter.getFilteredTasks();
         
         if (filteredTasks.isEmpty()) {
             throw new EmptyTaskListException();
         }
         
-        context.getUi().showGlobalFilteredTasks(filteredTasks, type, normalizedPriority);
+        context.getUi().showGlobalFilteredTasks(filteredTasks, type, normalizedValue);
 
         context.getExportHandler().updateViewState(filteredTasks, ExportCommandHandler.ViewType.FILTERED,
-                "filtered by " + type + " " + normalizedPriority);
+                "filtered by " + type + " " + normalizedValue);
         return true;
     }
 }
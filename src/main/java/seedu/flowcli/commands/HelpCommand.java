@@ -10,6 +10,11 @@ public class HelpCommand extends Command {
     }
 
     //@@author zeeeing
+    @Override
+    public boolean isReadOnly() {
+        return true;
+    }
+
     @Override
     public boolean execute(CommandContext context) throws ExtraArgumentException {
         String trimmedArguments = arguments.trim();
@@ -15,6 +15,11 @@ public class ListCommand extends Command {
         super(arguments);
     }
 
+    @Override
+    public boolean isReadOnly() {
+        return true;
+    }
+
     @Override
     //@@author zeeeing
     public boolean execute(CommandContext context) throws Exception {
@@ -3,8 +3,9 @@ package seedu.flowcli.commands;
 import seedu.flowcli.commands.core.CommandContext;
 import seedu.flowcli.exceptions.TaskAlreadyMarkedException;
 import seedu.flowcli.parsers.ArgumentParser;
-import seedu.flowcli.parsers.CommandParser;
 import seedu.flowcli.project.Project;
+import seedu.flowcli.storage.JournalRecord;
+import seedu.flowcli.task.Task;
 
 import java.util.logging.Logger;
 
@@ -21,26 +22,23 @@ public class MarkCommand extends Command {
         logger.fine("Executing MarkCommand with arguments: " + arguments);
 
         ArgumentParser parsedArgument = new ArgumentParser(arguments, context.getProjects());
-        parsedArgument.validateProjectIndex();
+        Task task = parsedArgument.resolveTask(false);
         Project targetProject = parsedArgument.getTargetProject();
 
         assert targetProject.getProjectTasks() != null : "Project task list cannot be null";
         logger.fine("Marking task in project: " + targetProject.getProjectName());
 
-        Integer idx = CommandParser.parseIndexOrNull(parsedArgument.getRemainingArgument(), targetProject.size());
-
-        assert idx >= 0 && idx < targetProject.size() : "Task index out of bounds";
-
-        if(targetProject.getProjectTasks().get(idx).isDone()){
+        if(task.isDone()){
             throw new TaskAlreadyMarkedException();
         } 
 
-        targetProject.getProjectTasks().mark(idx);
+        targetProject.getProjectTasks().mark(task);
+        context.journal(JournalRecord.markTask(task.getId()));
 
-        assert targetProject.getProjectTasks().get(idx).isDone() : "Task should be marked as done";
-        logger.fine("Task marked successfully at index " + (idx + 1));
+        assert task.isDone() : "Task should be marked as done";
+        logger.fine("Task #" + task.getId() + " marked successfully");
 
-        context.getUi().showMarked(targetProject.getProjectName(), targetProject.getProjectTasks().get(idx), true);
+        context.getUi().showMarked(targetProject.getProjectName(), task, true);
         return true;
     }
 }
@@ -0,0 +1,93 @@
+package seedu.flowcli.commands;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import seedu.flowcli.commands.core.CommandContext;
+import seedu.flowcli.commands.core.ExportCommandHandler;
+import seedu.flowcli.exceptions.EmptyProjectListException;
+import seedu.flowcli.exceptions.EmptyTaskListException;
+import seedu.flowcli.exceptions.InvalidArgumentException;
+import seedu.flowcli.exceptions.InvalidCommandSyntaxException;
+import seedu.flowcli.parsers.Tokenizer;
+import seedu.flowcli.project.Project;
+import seedu.flowcli.project.ProjectList;
+import seedu.flowcli.task.Task;
+import seedu.flowcli.task.TaskTextIndex;
+import seedu.flowcli.task.TaskWithProject;
+
+/**
+ * Finds the tasks whose descriptions contain every given word, best match first.
+ * A word ending in {@code *} matches every word it is a prefix of.
+ */
+public class SearchCommand extends Command {
+    private static final String LIMIT_FLAG = "--limit";
+    private static final String USAGE = "Invalid search command. Use: search <terms> [--limit <N>]";
+
+    public SearchCommand(String arguments) {
+        super(arguments);
+    }
+
+    @Override
+    public boolean isReadOnly() {
+        return true;
+    }
+
+    @Override
+    public boolean execute(CommandContext context) throws Exception {
+        Tokenizer tokens = new Tokenizer(arguments);
+        StringBuilder query = new StringBuilder();
+        int limit = 0;
+        while (tokens.next()) {
+            if (tokens.tokenEqualsIgnoreCase(LIMIT_FLAG)) {
+                if (!tokens.next()) {
+                    throw new InvalidCommandSyntaxException(USAGE);
+                }
+                limit = parseLimit(tokens.token());
+                continue;
+            }
+            if (query.length() > 0) {
+                query.append(' ');
+            }
+            query.append(tokens.token());
+        }
+        if (TaskTextIndex.tokenize(query.toString()).isEmpty()) {
+            throw new InvalidCommandSyntaxException(USAGE);
+        }
+
+        ProjectList projects = context.getProjects();
+        if (projects.isEmpty()) {
+            throw new EmptyProjectListException();
+        }
+
+        TaskTextIndex.Matches matches = projects.search(query.toString(), limit);
+        List<TaskWithProject> foundTasks = new ArrayList<>();
+        for (long taskId : matches.getTaskIds()) {
+            Task task = projects.findTask(taskId);
+            Project project = task == null ? null : projects.getProjectOf(task);
+            if (project != null) {
+                foundTasks.add(new TaskWithProject(project.getProjectName(), task));
+            }
+        }
+        if (foundTasks.isEmpty()) {
+            throw new EmptyTaskListException();
+        }
+
+        context.getUi().showSearchResults(foundTasks, query.toString(), matches.getMatchCount());
+        context.getExportHandler().updateViewState(foundTasks, ExportCommandHandler.ViewType.SEARCHED,
+                "matching \"" + query + "\"");
+        return true;
+    }
+
+    private static int parseLimit(String value) throws InvalidArgumentException {
+        try {
+            int limit = Integer.parseInt(value);
+            if (limit > 0) {
+                return limit;
+            }
+        } catch (NumberFormatException e) {
+            // Reported below
+        }
+        throw new InvalidArgumentException("Invalid limit: " + value + ". Use a whole number greater than 0.");
+    }
+}
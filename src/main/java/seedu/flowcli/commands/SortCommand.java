@@ -1,5 +1,6 @@
 package seedu.flowcli.commands;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import seedu.flowcli.commands.core.CommandContext;
@@ -9,48 +10,68 @@ import seedu.flowcli.commands.validation.CommandValidator;
 import seedu.flowcli.commands.validation.ValidationConstants;
 import seedu.flowcli.exceptions.EmptyProjectListException;
 import seedu.flowcli.exceptions.EmptyTaskListException;
+import seedu.flowcli.exceptions.InvalidArgumentException;
 import seedu.flowcli.exceptions.InvalidCommandSyntaxException;
+import seedu.flowcli.parsers.Tokenizer;
+import seedu.flowcli.project.Project;
+import seedu.flowcli.project.ProjectList;
 import seedu.flowcli.task.TaskWithProject;
 
 public class SortCommand extends Command {
+    private static final String LIMIT_FLAG = "--limit";
+    private static final String PAGE_FLAG = "--page";
+    private static final String FORMAT = "sort-tasks <--deadline/priority> <ascending/descending> "
+            + "[<--deadline/priority> <ascending/descending>] [--limit <N>] | sort-tasks --page";
+    private static final String USAGE = "Invalid sort command. Use: " + FORMAT;
 
     public SortCommand(String arguments) {
         super(arguments);
     }
 
+    @Override
+    public boolean isReadOnly() {
+        return true;
+    }
+
     @Override
     public boolean execute(CommandContext context) throws Exception {
-        String trimmed = arguments.trim();
-        if (trimmed.isEmpty()) {
-            throw new InvalidCommandSyntaxException(
-                    "Invalid sort command. Use: sort-tasks <--deadline/priority> <ascending/descending>");
+        Tokenizer tokens = new Tokenizer(arguments);
+        if (tokens.isEmpty()) {
+            throw new InvalidCommandSyntaxException(USAGE);
         }
 
         if (context.getProjects().isEmpty()) {
             throw new EmptyProjectListException();
         }
 
-        String[] parts = trimmed.split("\\s+");
-        if (parts.length != 2) {
-            throw new InvalidCommandSyntaxException(
-                    "Invalid sort command. Use: sort-tasks <--deadline/priority> <ascending/descending>");
+        int tokenCount = tokens.countRemaining();
+        tokens.next();
+        if (tokenCount == 1 && tokens.tokenEqualsIgnoreCase(PAGE_FLAG)) {
+            return showNextPage(context);
         }
+        List<TaskSorter.SortKey> keys = new ArrayList<>();
+        String limit = null;
+        do {
+            if (!keys.isEmpty() && tokens.tokenEqualsIgnoreCase(LIMIT_FLAG)) {
+                limit = tokens.next() ? tokens.token() : null;
+                if (limit == null || tokens.next()) {
+                    throw new InvalidCommandSyntaxException(USAGE);
+                }
+                break;
+            }
+            keys.add(parseKey(tokens, keys));
+        } while (tokens.next());
 
-        String fieldToken = parts[0];
-        if (!fieldToken.startsWith("--")) {
-            throw new InvalidCommandSyntaxException(
-                    "Invalid sort command. Use: sort-tasks <--deadline/priority> <ascending/descending>");
+        String field = fieldLabel(keys);
+        String order = orderOf(keys.get(keys.size() - 1));
+        if (limit != null) {
+            TaskSorter sorter = new TaskSorter(context.getProjects(), keys, parseLimit(limit));
+            showPage(context, sorter, field, order, 0);
+            return true;
         }
+        context.setSortCursor(null);
 
-        String field = fieldToken.substring(2).toLowerCase();
-        String order = parts[1].toLowerCase();
-
-        boolean ascending = ValidationConstants.SORT_ORDER_ASCENDING.equals(order);
-
-        CommandValidator.validateSortField(field);
-        CommandValidator.validateSortOrder(order);
-
-        TaskSorter sorter = new TaskSorter(context.getProjects(), field, ascending);
+        TaskSorter sorter = new TaskSorter(context.getProjects(), keys);
         List<TaskWithProject> sortedTasks = sorter.getSortedTasks();
         
         if (sortedTasks.isEmpty()) {
@@ -63,4 +84,95 @@ public class SortCommand extends Command {
                 "sorted by " + field + " " + order);
         return true;
     }
+
+    /**
+     * Reads a {@code --<field> <order>} pair starting at the current token.
+     */
+    private static TaskSorter.SortKey parseKey(Tokenizer tokens, List<TaskSorter.SortKey> keys)
+            throws InvalidCommandSyntaxException, InvalidArgumentException {
+        if (!tokens.tokenStartsWith("--")) {
+            throw new InvalidCommandSyntaxException(USAGE);
+        }
+        String field = tokens.token().substring(2).toLowerCase();
+        if (!tokens.next()) {
+            throw new InvalidCommandSyntaxException(USAGE);
+        }
+        String order = tokens.token().toLowerCase();
+
+        CommandValidator.validateSortField(field);
+        CommandValidator.validateSortOrder(order);
+        for (TaskSorter.SortKey key : keys) {
+            if (key.getField().equals(field)) {
+                throw new InvalidArgumentException("Tasks can only be sorted by " + field + " once.");
+            }
+        }
+        return new TaskSorter.SortKey(field, ValidationConstants.SORT_ORDER_ASCENDING.equals(order));
+    }
+
+    /**
+     * Returns the sort keys as shown before the order of the last key, such as "priority descending, deadline".
+     */
+    private static String fieldLabel(List<TaskSorter.SortKey> keys) {
+        TaskSorter.SortKey last = keys.get(keys.size() - 1);
+        if (keys.size() == 1) {
+            return last.getField();
+        }
+        return TaskSorter.describe(keys.subList(0, keys.size() - 1)) + ", " + last.getField();
+    }
+
+    private static String orderOf(TaskSorter.SortKey key) {
+        return key.isAscending()
+                ? ValidationConstants.SORT_ORDER_ASCENDING
+                : ValidationConstants.SORT_ORDER_DESCENDING;
+    }
+
+    private boolean showNextPage(CommandContext context) throws Exception {
+        TaskSorter.Cursor cursor = context.getSortCursor();
+        if (cursor == null) {
+            throw new InvalidCommandSyntaxException("No more pages to show. Use: " + FORMAT);
+        }
+        if (!cursor.isCurrent(context.getProjects())) {
+            context.setSortCursor(null);
+            throw new InvalidCommandSyntaxException("Tasks have changed since the last page. Run sort-tasks "
+                    + "with --limit again.");
+        }
+        List<TaskSorter.SortKey> keys = cursor.getKeys();
+        showPage(context, new TaskSorter(context.getProjects(), cursor), fieldLabel(keys),
+                orderOf(keys.get(keys.size() - 1)), cursor.getShownCount());
+        return true;
+    }
+
+    private void showPage(CommandContext context, TaskSorter sorter, String field, String order, int firstIndex)
+            throws EmptyTaskListException {
+        List<TaskWithProject> page = sorter.getSortedTasks();
+        if (page.isEmpty()) {
+            throw new EmptyTaskListException();
+        }
+        context.setSortCursor(sorter.getNextPage());
+        context.getUi().showGlobalSortedTaskPage(page, field, order, firstIndex, countTasks(context.getProjects()),
+                sorter.getNextPage() != null);
+        context.getExportHandler().updateViewState(page, ExportCommandHandler.ViewType.SORTED,
+                "sorted by " + field + " " + order + ", tasks " + (firstIndex + 1) + "-"
+                        + (firstIndex + page.size()));
+    }
+
+    private static int parseLimit(String value) throws InvalidArgumentException {
+        try {
+            int limit = Integer.parseInt(value);
+            if (limit > 0) {
+                return limit;
+            }
+        } catch (NumberFormatException e) {
+            // Reported below
+        }
+        throw new InvalidArgumentException("Invalid limit: " + value + ". Use a whole number greater than 0.");
+    }
+
+    private static int countTasks(ProjectList projects) {
+        int count = 0;
+        for (Project project : projects.getProjectList()) {
+            count += project.size();
+        }
+        return count;
+    }
 }
@@ -0,0 +1,36 @@
+package seedu.flowcli.commands;
+
+import seedu.flowcli.commands.core.CommandContext;
+import seedu.flowcli.exceptions.InvalidArgumentException;
+import seedu.flowcli.metrics.MetricsRegistry;
+
+/**
+ * Shows the metrics recorded in this session, as a table or with {@code --json} as JSON.
+ */
+public class StatsCommand extends Command {
+    private static final String JSON_OPTION = "--json";
+
+    public StatsCommand(String arguments) {
+        super(arguments);
+    }
+
+    @Override
+    public boolean isReadOnly() {
+        return true;
+    }
+
+    @Override
+    public boolean execute(CommandContext context) throws InvalidArgumentException {
+        String trimmedArguments = arguments == null ? "" : arguments.trim();
+        MetricsRegistry metrics = MetricsRegistry.getInstance();
+        if (trimmedArguments.isEmpty()) {
+            context.getUi().showStats(metrics.render());
+        } else if (JSON_OPTION.equalsIgnoreCase(trimmedArguments)) {
+            context.getUi().showStats(metrics.toJson());
+        } else {
+            throw new InvalidArgumentException("Unknown option for 'stats': " + trimmedArguments
+                    + ". Use 'stats' or 'stats --json'.");
+        }
+        return true;
+    }
+}
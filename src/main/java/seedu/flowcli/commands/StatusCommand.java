@@ -16,6 +16,11 @@ public class StatusCommand extends Command {
         super(arguments);
     }
 
+    @Override
+    public boolean isReadOnly() {
+        return true;
+    }
+
     @Override
     public boolean execute(CommandContext context) throws Exception {
         ArgumentParser parsedArgument = new ArgumentParser(arguments, context.getProjects());
@@ -9,6 +9,11 @@ public class UnknownCommand extends Command {
         super(arguments);
     }
 
+    @Override
+    public boolean isReadOnly() {
+        return true;
+    }
+
     @Override
     public boolean execute(CommandContext context) throws UnknownInputException {
         throw new UnknownInputException();
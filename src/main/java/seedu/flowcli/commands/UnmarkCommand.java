@@ -2,8 +2,9 @@ package seedu.flowcli.commands;
 
 import seedu.flowcli.commands.core.CommandContext;
 import seedu.flowcli.parsers.ArgumentParser;
-import seedu.flowcli.parsers.CommandParser;
 import seedu.flowcli.project.Project;
+import seedu.flowcli.storage.JournalRecord;
+import seedu.flowcli.task.Task;
 
 import java.util.logging.Logger;
 
@@ -19,17 +20,16 @@ public class UnmarkCommand extends Command {
         logger.fine("Executing UnmarkCommand with arguments: " + arguments);
 
         ArgumentParser parsedArgument = new ArgumentParser(arguments, context.getProjects());
-        parsedArgument.validateProjectIndex();
+        Task task = parsedArgument.resolveTask(false);
         Project targetProject = parsedArgument.getTargetProject();
 
         logger.fine("Unmarking task in project: " + targetProject.getProjectName());
 
-        Integer idx = CommandParser.parseIndexOrNull(parsedArgument.getRemainingArgument(), targetProject.size());
+        targetProject.getProjectTasks().unmark(task);
+        context.journal(JournalRecord.unmarkTask(task.getId()));
 
-        targetProject.getProjectTasks().unmark(idx);
-
-        logger.fine("Task unmarked successfully at index " + (idx + 1));
-        context.getUi().showMarked(targetProject.getProjectName(), targetProject.getProjectTasks().get(idx), false);
+        logger.fine("Task #" + task.getId() + " unmarked successfully");
+        context.getUi().showMarked(targetProject.getProjectName(), task, false);
         return true;
     }
 }
@@ -7,10 +7,10 @@ import java.util.logging.Logger;
 import seedu.flowcli.commands.core.CommandContext;
 import seedu.flowcli.commands.validation.CommandValidator;
 import seedu.flowcli.exceptions.InvalidArgumentException;
-import seedu.flowcli.exceptions.MissingArgumentException;
 import seedu.flowcli.parsers.ArgumentParser;
-import seedu.flowcli.parsers.CommandParser;
+import seedu.flowcli.parsers.Tokenizer;
 import seedu.flowcli.project.Project;
+import seedu.flowcli.storage.JournalRecord;
 import seedu.flowcli.task.Task;
 
 /**
@@ -29,24 +29,12 @@ public class UpdateCommand extends Command {
         logger.fine(() -> "UpdateCommand.execute() called with args=\"" + arguments + "\"");
 
         ArgumentParser parsedArgument = new ArgumentParser(arguments, context.getProjects());
-        parsedArgument.validateProjectIndex();
+        Task taskToUpdate = parsedArgument.resolveTask(true);
         Project targetProject = parsedArgument.getTargetProject();
 
-        String remainingArgument = parsedArgument.getRemainingArgument();
-        if (remainingArgument == null || remainingArgument.trim().isEmpty()) {
-            logger.warning(() -> "Missing task index or update options in input: \"" + arguments + "\"");
-            throw new MissingArgumentException();
-        }
-
-        String trimmed = remainingArgument.trim();
-        String[] indexAndOptions = trimmed.split("\\s+", 2);
-        String indexText = indexAndOptions[0];
-
-        Integer taskIndex = CommandParser.parseIndexOrNull(indexText, targetProject.size());
-
-        String options = indexAndOptions.length > 1 ? indexAndOptions[1].trim() : "";
+        String options = parsedArgument.getTaskOptions() == null ? "" : parsedArgument.getTaskOptions();
         if (options.isEmpty()) {
-            logger.warning(() -> "No update options provided for task index \"" + indexText + "\"");
+            logger.warning(() -> "No update options provided for task #" + taskToUpdate.getId());
             throw new InvalidArgumentException(
                     "No fields provided to update. Use --description, --deadline, or --priority.");
         }
@@ -58,10 +46,10 @@ public class UpdateCommand extends Command {
         boolean updatePriority = false;
         Integer newPriority = null;
 
-        String[] tokens = options.split("\\s+");
-        int i = 0;
-        while (i < tokens.length) {
-            String token = tokens[i];
+        Tokenizer tokens = new Tokenizer(options);
+        boolean hasToken = tokens.next();
+        while (hasToken) {
+            String token = tokens.token();
             if (!token.startsWith("--")) {
                 String invalidToken = token;
                 logger.warning(() -> "Unknown option token: \"" + invalidToken + "\"");
@@ -71,17 +59,17 @@ public class UpdateCommand extends Command {
 
             switch (token) {
             case "--description":
-                i++;
-                if (i >= tokens.length || tokens[i].startsWith("--")) {
+                hasToken = tokens.next();
+                if (!hasToken || tokens.tokenStartsWith("--")) {
                     logger.warning(() -> "Empty description provided for task update");
                     throw new InvalidArgumentException("Description cannot be empty.");
                 }
                 updateDescription = true;
-                StringBuilder descriptionBuilder = new StringBuilder(tokens[i]);
-                i++;
-                while (i < tokens.length && !tokens[i].startsWith("--")) {
-                    descriptionBuilder.append(" ").append(tokens[i]);
-                    i++;
+                StringBuilder descriptionBuilder = new StringBuilder(tokens.token());
+                hasToken = tokens.next();
+                while (hasToken && !tokens.tokenStartsWith("--")) {
+                    descriptionBuilder.append(" ").append(tokens.token());
+                    hasToken = tokens.next();
                 }
                 newDescription = descriptionBuilder.toString().trim();
                 if (newDescription.isEmpty()) {
@@ -90,15 +78,15 @@ public class UpdateCommand extends Command {
                 }
                 continue;
             case "--deadline":
-                i++;
-                if (i >= tokens.length || tokens[i].startsWith("--")) {
+                hasToken = tokens.next();
+                if (!hasToken || tokens.tokenStartsWith("--")) {
                     logger.warning(() -> "Empty deadline value provided for task update");
                     throw new InvalidArgumentException(
                             "Deadline cannot be empty. Use YYYY-MM-DD or 'none' to clear it.");
                 }
                 updateDeadline = true;
-                String deadlineValue = tokens[i];
-                i++;
+                String deadlineValue = tokens.token();
+                hasToken = tokens.next();
                 String normalized = deadlineValue.toLowerCase();
                 if ("none".equals(normalized) || "clear".equals(normalized)) {
                     newDeadline = null;
@@ -107,14 +95,14 @@ public class UpdateCommand extends Command {
                 }
                 continue;
             case "--priority":
-                i++;
-                if (i >= tokens.length || tokens[i].startsWith("--")) {
+                hasToken = tokens.next();
+                if (!hasToken || tokens.tokenStartsWith("--")) {
                     logger.warning(() -> "Empty priority value provided for task update");
                     throw new InvalidArgumentException("Priority cannot be empty. Use low, medium, or high.");
                 }
                 updatePriority = true;
-                String priorityValue = tokens[i];
-                i++;
+                String priorityValue = tokens.token();
+                hasToken = tokens.next();
                 String validatedPriority = CommandValidator.validatePriority(priorityValue);
                 newPriority = CommandValidator.priorityToInt(validatedPriority);
                 continue;
@@ -127,26 +115,27 @@ public class UpdateCommand extends Command {
         }
 
         if (!updateDescription && !updateDeadline && !updatePriority) {
-            logger.warning(() -> "No update fields specified for task index \"" + indexText + "\"");
+            logger.warning(() -> "No update fields specified for task #" + taskToUpdate.getId());
             throw new InvalidArgumentException(
                     "No fields provided to update. Use --description, --deadline, or --priority.");
         }
 
-        Task taskToUpdate = targetProject.getProjectTasks().get(taskIndex);
         String originalDescription = taskToUpdate.getDescription();
         LocalDate originalDeadline = taskToUpdate.getDeadline();
         int originalPriority = taskToUpdate.getPriority();
 
-        Task updatedTask = targetProject.updateTask(taskIndex, newDescription, updateDescription, newDeadline,
+        Task updatedTask = targetProject.updateTask(taskToUpdate, newDescription, updateDescription, newDeadline,
                 updateDeadline, newPriority, updatePriority);
+        context.journal(JournalRecord.updateTask(updatedTask.getId(), updatedTask.getDescription(),
+                updatedTask.getDeadline(), updatedTask.getPriority()));
 
-        final int updatedTaskNumber = taskIndex + 1;
+        final long updatedTaskId = updatedTask.getId();
         final String updatedProjectName = targetProject.getProjectName();
         final boolean finalUpdateDescription = updateDescription;
         final boolean finalUpdateDeadline = updateDeadline;
         final boolean finalUpdatePriority = updatePriority;
 
-        logger.fine(() -> String.format("Task %d in \"%s\" updated: desc=%s deadline=%s priority=%s", updatedTaskNumber,
+        logger.fine(() -> String.format("Task #%d in \"%s\" updated: desc=%s deadline=%s priority=%s", updatedTaskId,
                 updatedProjectName, finalUpdateDescription, finalUpdateDeadline, finalUpdatePriority));
 
         assert !updateDescription || !Objects.equals(originalDescription,
@@ -155,7 +144,7 @@ public class UpdateCommand extends Command {
                 || !Objects.equals(originalDeadline, updatedTask.getDeadline()) : "Deadline unchanged after update";
         assert !updatePriority || originalPriority != updatedTask.getPriority() : "Priority unchanged after update";
 
-        logger.fine(() -> String.format("Task %d in project \"%s\" updated successfully", updatedTaskNumber,
+        logger.fine(() -> String.format("Task #%d in project \"%s\" updated successfully", updatedTaskId,
                 updatedProjectName));
         context.getUi().showUpdatedTask(targetProject, updatedTask);
         return true;
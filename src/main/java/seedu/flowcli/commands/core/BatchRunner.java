@@ -0,0 +1,240 @@
+package seedu.flowcli.commands.core;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import seedu.flowcli.commands.Command;
+import seedu.flowcli.exceptions.FlowCLIException;
+import seedu.flowcli.exceptions.StorageException;
+import seedu.flowcli.metrics.MetricsRegistry;
+import seedu.flowcli.parsers.CommandParser;
+import seedu.flowcli.project.ProjectList;
+import seedu.flowcli.storage.JournalRecord;
+import seedu.flowcli.storage.Storage;
+import seedu.flowcli.ui.ConsoleUi;
+
+/**
+ * Runs a file of commands without interactive prompts.
+ *
+ * <p>Every line goes through the same {@link CommandParser}, {@link CommandFactory} and
+ * {@link Command#execute} pipeline as interactive input, except that a command with
+ * missing arguments fails instead of prompting for them. Blank lines and lines starting
+ * with {@code #} are skipped. Command output is written in large blocks, or discarded in
+ * quiet mode, and the run ends with a summary of throughput and failures. Changes are
+ * not journaled; the projects are saved once at the end, or by {@code bye}, which also
+ * stops the run. Storage still keeps the changes in memory, so that they can be merged
+ * if another process saves the data file meanwhile.
+ */
+public class BatchRunner {
+    static final String COMMENT_PREFIX = "#";
+    private static final int OUTPUT_BUFFER_SIZE = 64 * 1024;
+    private static final int MAX_LISTED_FAILURES = 20;
+    private static final Logger logger = Logger.getLogger(BatchRunner.class.getName());
+
+    private final CommandParser parser = new CommandParser();
+    private final CommandFactory factory = new CommandFactory();
+    private final CommandContext context;
+    private final boolean isQuiet;
+
+    /**
+     * Creates a runner over the given projects.
+     *
+     * @param storage Storage to save to at the end, or null to skip saving
+     * @param isQuiet Whether to discard the output of each command and print only the summary
+     */
+    public BatchRunner(ProjectList projects, ConsoleUi ui, Storage storage, boolean isQuiet) {
+        this.context = new CommandContext(projects, ui, new ExportCommandHandler(projects, ui), storage) {
+            @Override
+            public void journal(JournalRecord record) {
+                // Nothing is saved until the batch ends, so running the file again after a crash is safe
+                if (getStorage() != null) {
+                    getStorage().record(record);
+                }
+            }
+        };
+        this.isQuiet = isQuiet;
+    }
+
+    /**
+     * Runs every command in the file, then prints the summary.
+     *
+     * @param summaryOut Where the summary is printed
+     * @throws IOException if the file cannot be read
+     */
+    public Summary run(Path file, PrintStream summaryOut) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(file)) {
+            return run(reader, summaryOut);
+        }
+    }
+
+    /**
+     * Runs every command read from the reader, then prints the summary.
+     *
+     * @param summaryOut Where the summary is printed
+     * @throws IOException if the commands cannot be read
+     */
+    public Summary run(BufferedReader reader, PrintStream summaryOut) throws IOException {
+        PrintStream originalOut = System.out;
+        // Commands print through System.out; buffer or discard that while the batch runs
+        PrintStream commandOut = isQuiet
+                ? new PrintStream(OutputStream.nullOutputStream())
+                : new PrintStream(new BufferedOutputStream(originalOut, OUTPUT_BUFFER_SIZE), false);
+        // ConsoleUi buffers its own output and writes it to System.out in large blocks as it fills up
+        Summary summary = new Summary();
+        long start = System.nanoTime();
+        System.setOut(commandOut);
+        try {
+            runCommands(reader, summary);
+        } finally {
+            context.getUi().flush();
+            commandOut.flush();
+            System.setOut(originalOut);
+        }
+
+        if (!summary.isStoppedByBye && context.getStorage() != null) {
+            try {
+                context.save();
+            } catch (StorageException e) {
+                summary.saveError = e.getMessage();
+            }
+        }
+        summary.elapsedNanos = System.nanoTime() - start;
+        summary.print(summaryOut);
+        return summary;
+    }
+
+    private void runCommands(BufferedReader reader, Summary summary) throws IOException {
+        int lineNumber = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            String trimmedLine = line.trim();
+            if (trimmedLine.isEmpty() || trimmedLine.startsWith(COMMENT_PREFIX)) {
+                continue;
+            }
+
+            summary.commandCount++;
+            CommandParser.ParsedCommand parsed = parser.parse(line);
+            Command command = factory.create(parsed.getType(), parsed.getArguments());
+            long commandStart = System.nanoTime();
+            try {
+                if (!context.execute(command)) {
+                    summary.isStoppedByBye = true;
+                    return;
+                }
+            } catch (FlowCLIException e) {
+                summary.addFailure(lineNumber, trimmedLine, e.getMessage());
+            } catch (Exception e) {
+                logger.log(Level.SEVERE, "Unexpected error on line " + lineNumber + ": " + e.getMessage(), e);
+                summary.addFailure(lineNumber, trimmedLine, "Unexpected error: " + e);
+            } finally {
+                MetricsRegistry.getInstance().recordCommand(parsed.getType(), System.nanoTime() - commandStart);
+            }
+        }
+    }
+
+    /**
+     * Outcome of a batch run.
+     */
+    public static class Summary {
+        private final List<Failure> failures = new ArrayList<>();
+        private int commandCount;
+        private long elapsedNanos;
+        private boolean isStoppedByBye;
+        private String saveError;
+
+        public int getCommandCount() {
+            return commandCount;
+        }
+
+        public List<Failure> getFailures() {
+            return Collections.unmodifiableList(failures);
+        }
+
+        public long getElapsedNanos() {
+            return elapsedNanos;
+        }
+
+        public boolean isStoppedByBye() {
+            return isStoppedByBye;
+        }
+
+        /**
+         * Returns the message of the final save if it failed, or null.
+         */
+        public String getSaveError() {
+            return saveError;
+        }
+
+        /**
+         * Returns whether every command ran and the projects were saved.
+         */
+        public boolean isSuccessful() {
+            return failures.isEmpty() && saveError == null;
+        }
+
+        private void addFailure(int lineNumber, String commandLine, String message) {
+            failures.add(new Failure(lineNumber, commandLine, message));
+        }
+
+        private void print(PrintStream out) {
+            double seconds = elapsedNanos / 1e9;
+            long perSecond = seconds > 0 ? Math.round(commandCount / seconds) : commandCount;
+            out.println(String.format("Batch finished: %d commands in %.3f s (%d commands/s)",
+                    commandCount, seconds, perSecond));
+            out.println(String.format("Succeeded: %d, failed: %d", commandCount - failures.size(),
+                    failures.size()));
+            for (int i = 0; i < Math.min(failures.size(), MAX_LISTED_FAILURES); i++) {
+                out.println("  " + failures.get(i));
+            }
+            if (failures.size() > MAX_LISTED_FAILURES) {
+                out.println("  ... and " + (failures.size() - MAX_LISTED_FAILURES) + " more");
+            }
+            if (saveError != null) {
+                out.println("Could not save data: " + saveError);
+            }
+        }
+    }
+
+    /**
+     * A command that failed, with the line it was on.
+     */
+    public static class Failure {
+        private final int lineNumber;
+        private final String commandLine;
+        private final String message;
+
+        Failure(int lineNumber, String commandLine, String message) {
+            this.lineNumber = lineNumber;
+            this.commandLine = commandLine;
+            this.message = message;
+        }
+
+        public int getLineNumber() {
+            return lineNumber;
+        }
+
+        public String getCommandLine() {
+            return commandLine;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+
+        @Override
+        public String toString() {
+            return "Line " + lineNumber + " (" + commandLine + "): " + message;
+        }
+    }
+}
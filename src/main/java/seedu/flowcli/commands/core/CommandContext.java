@@ -1,6 +1,11 @@
 package seedu.flowcli.commands.core;
 
+import seedu.flowcli.commands.Command;
+import seedu.flowcli.commands.utility.TaskSorter;
+import seedu.flowcli.exceptions.StorageException;
 import seedu.flowcli.project.ProjectList;
+import seedu.flowcli.storage.AutosaveScheduler;
+import seedu.flowcli.storage.JournalRecord;
 import seedu.flowcli.storage.Storage;
 import seedu.flowcli.ui.ConsoleUi;
 
@@ -13,12 +18,31 @@ public class CommandContext {
     private final ConsoleUi ui;
     private final ExportCommandHandler exportHandler;
     private final Storage storage;
+    private final AutosaveScheduler autosave;
+    private final boolean isInteractive;
+    private TaskSorter.Cursor sortCursor;
 
     public CommandContext(ProjectList projects, ConsoleUi ui, ExportCommandHandler exportHandler, Storage storage) {
+        this(projects, ui, exportHandler, storage, null);
+    }
+
+    public CommandContext(ProjectList projects, ConsoleUi ui, ExportCommandHandler exportHandler, Storage storage,
+            AutosaveScheduler autosave) {
+        this(projects, ui, exportHandler, storage, autosave, false);
+    }
+
+    /**
+     * Creates a context for commands typed by a user at the console when {@code isInteractive} is set, so that
+     * commands may ask them questions. Batch files and daemon clients have no one to answer.
+     */
+    public CommandContext(ProjectList projects, ConsoleUi ui, ExportCommandHandler exportHandler, Storage storage,
+            AutosaveScheduler autosave, boolean isInteractive) {
         this.projects = projects;
         this.ui = ui;
         this.exportHandler = exportHandler;
         this.storage = storage;
+        this.autosave = autosave;
+        this.isInteractive = isInteractive;
     }
 
     public ProjectList getProjects() {
@@ -36,4 +60,76 @@ public class CommandContext {
     public Storage getStorage() {
         return storage;
     }
+
+    /**
+     * Returns whether a user at the console can answer questions asked on standard input.
+     */
+    public boolean isInteractive() {
+        return isInteractive;
+    }
+
+    /**
+     * Returns the cursor for the next page of the last paged sort-tasks, or null if there is none.
+     */
+    public TaskSorter.Cursor getSortCursor() {
+        return sortCursor;
+    }
+
+    public void setSortCursor(TaskSorter.Cursor sortCursor) {
+        this.sortCursor = sortCursor;
+    }
+
+    /**
+     * Runs a command under the project list's lock: shared if the command only reads the projects,
+     * exclusive otherwise, so the autosave thread never copies a half-applied command. A command that
+     * reads a snapshot takes the lock only while it takes the snapshot.
+     *
+     * @return {@code true} to continue the command loop, {@code false} to exit
+     * @throws Exception if command execution fails
+     */
+    public boolean execute(Command command) throws Exception {
+        if (command.readsSnapshot()) {
+            return command.execute(this);
+        }
+        if (command.isReadOnly()) {
+            return projects.readLocked(() -> command.execute(this));
+        }
+        return projects.write(() -> command.execute(this));
+    }
+
+    /**
+     * Saves all projects now, through the autosave scheduler when there is one.
+     *
+     * @throws StorageException if the save fails
+     */
+    public void save() throws StorageException {
+        if (autosave != null) {
+            autosave.saveNow();
+        } else {
+            storage.save(projects);
+        }
+    }
+
+    /**
+     * Records a mutation in the storage journal so it survives a crash before the next save,
+     * and schedules an autosave.
+     * A failed append is reported but does not undo the mutation; it is still saved on exit.
+     *
+     * @param record The mutation that was just applied
+     */
+    public void journal(JournalRecord record) {
+        // Skip journaling if Storage is not available (e.g., in tests)
+        if (storage == null) {
+            return;
+        }
+        try {
+            storage.append(record);
+        } catch (StorageException e) {
+            System.err.println("WARNING: Could not journal the last change: " + e.getMessage());
+            System.err.println("It will still be saved when you exit with 'bye'.");
+        }
+        if (autosave != null) {
+            autosave.markDirty();
+        }
+    }
 }
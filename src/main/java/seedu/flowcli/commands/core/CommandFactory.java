@@ -11,15 +11,20 @@ import seedu.flowcli.commands.FilterCommand;
 import seedu.flowcli.commands.HelpCommand;
 import seedu.flowcli.commands.ListCommand;
 import seedu.flowcli.commands.MarkCommand;
+import seedu.flowcli.commands.SearchCommand;
 import seedu.flowcli.commands.SortCommand;
+import seedu.flowcli.commands.StatsCommand;
 import seedu.flowcli.commands.StatusCommand;
 import seedu.flowcli.commands.UnknownCommand;
 import seedu.flowcli.commands.UnmarkCommand;
 import seedu.flowcli.commands.UpdateCommand;
+import seedu.flowcli.parsers.ArgumentParser;
 import seedu.flowcli.parsers.CommandParser;
+import seedu.flowcli.parsers.Tokenizer;
 
 //@@author zeeeing
 public class CommandFactory {
+    private final Tokenizer tokens = new Tokenizer();
 
     public Command create(CommandParser.CommandType type, String arguments) {
         switch (type) {
@@ -37,7 +42,8 @@ public class CommandFactory {
             return new CreateCommand(arguments);
         case DELETE:
             String trimmed = arguments == null ? "" : arguments.trim();
-            if (trimmed.contains("--confirm") || trimmed.split("\\s+").length == 1) {
+            boolean isTaskId = trimmed.startsWith(ArgumentParser.TASK_ID_PREFIX);
+            if (trimmed.contains("--confirm") || (!isTaskId && tokens.reset(trimmed).countRemaining() <= 1)) {
                 return new DeleteProjectCommand(trimmed);
             }
             return new DeleteTaskCommand(trimmed);
@@ -57,6 +63,10 @@ public class CommandFactory {
             return new ExportCommand(arguments);
         case STATUS:
             return new StatusCommand(arguments);
+        case STATS:
+            return new StatsCommand(arguments);
+        case SEARCH:
+            return new SearchCommand(arguments);
         case UNKNOWN:
         default:
             return new UnknownCommand(arguments);
@@ -5,8 +5,11 @@ import java.util.logging.Logger;
 
 import seedu.flowcli.commands.Command;
 import seedu.flowcli.exceptions.FlowCLIException;
+import seedu.flowcli.exceptions.ProjectLoadException;
+import seedu.flowcli.metrics.MetricsRegistry;
 import seedu.flowcli.parsers.CommandParser;
 import seedu.flowcli.project.ProjectList;
+import seedu.flowcli.storage.AutosaveScheduler;
 import seedu.flowcli.storage.Storage;
 import seedu.flowcli.ui.ConsoleUi;
 
@@ -20,11 +23,15 @@ public class CommandHandler {
 
     //@@author Zhenzha0
     public CommandHandler(ProjectList projects, ConsoleUi ui, Storage storage) {
+        this(projects, ui, storage, null);
+    }
+
+    public CommandHandler(ProjectList projects, ConsoleUi ui, Storage storage, AutosaveScheduler autosave) {
         this.ui = ui;
         ExportCommandHandler exportHandler = new ExportCommandHandler(projects, ui);
         this.parser = new CommandParser();
         this.factory = new CommandFactory();
-        this.context = new CommandContext(projects, ui, exportHandler, storage);
+        this.context = new CommandContext(projects, ui, exportHandler, storage, autosave, true);
         this.interactiveHandler = null; // Will be set in handleCommands
     }
 
@@ -35,38 +42,50 @@ public class CommandHandler {
 
         try {
             boolean shouldContinue = true;
+            // Output is buffered; write it out before blocking on the next line
+            ui.flush();
             while (shouldContinue && scanner.hasNextLine()) {
                 String line = scanner.nextLine();
                 String trimmedLine = line.trim();
                 if (trimmedLine.isEmpty()) {
                     ui.printLine();
+                    ui.flush();
                     continue;
                 }
                 //@@author
-                Command command = resolveCommand(line, scanner);
+                CommandParser.ParsedCommand parsed = parser.parse(line);
+                Command command = resolveCommand(parsed, scanner);
                 if (command == null) {
                     // Interactive mode was cancelled, continue to next input
                     continue;
                 }
+                // Prompts are not timed, only the command itself
+                long start = System.nanoTime();
                 try {
-                    shouldContinue = command.execute(context);
+                    shouldContinue = context.execute(command);
                 } catch (FlowCLIException e) {
                     // Expected application errors - show user-friendly message
                     ui.showError(e.getMessage());
+                } catch (ProjectLoadException e) {
+                    // A lazily loaded project could not be read; it stays unloaded and its file untouched
+                    logger.log(java.util.logging.Level.WARNING, e.getMessage(), e);
+                    ui.showError(e.getMessage());
                 } catch (Exception e) {
                     // Unexpected errors - log for debugging and show generic message
                     logger.log(java.util.logging.Level.SEVERE, "Unexpected error: " + e.getMessage(), e);
                     ui.showUnexpectedError();
+                } finally {
+                    MetricsRegistry.getInstance().recordCommand(parsed.getType(), System.nanoTime() - start);
+                    ui.flush();
                 }
             }
         } finally {
+            ui.flush();
             scanner.close();
         }
     }
 
-    private Command resolveCommand(String input, Scanner scanner) {
-        CommandParser.ParsedCommand parsed = parser.parse(input);
-
+    private Command resolveCommand(CommandParser.ParsedCommand parsed, Scanner scanner) {
         // Check if interactive mode should be triggered
         if (shouldUseInteractiveMode(parsed)) {
             String interactiveArgs = handleInteractiveMode(parsed.getType(), scanner);
@@ -4,6 +4,7 @@ import java.io.File;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.function.Predicate;
 
 import seedu.flowcli.commands.utility.TaskCollector;
 import seedu.flowcli.commands.utility.TaskExporter;
@@ -18,6 +19,7 @@ import seedu.flowcli.exceptions.InvalidCommandSyntaxException;
 import seedu.flowcli.exceptions.InvalidFilenameException;
 import seedu.flowcli.project.Project;
 import seedu.flowcli.project.ProjectList;
+import seedu.flowcli.task.Task;
 import seedu.flowcli.task.TaskWithProject;
 import seedu.flowcli.ui.ConsoleUi;
 
@@ -36,7 +38,7 @@ public class ExportCommandHandler {
     private String lastViewMetadata;
 
     public enum ViewType {
-        NONE, SORTED, FILTERED, PROJECT
+        NONE, SORTED, FILTERED, SEARCHED, PROJECT
     }
 
     public ExportCommandHandler(ProjectList projects, ConsoleUi ui) {
@@ -78,31 +80,45 @@ public class ExportCommandHandler {
 
         ExportParams params = parseParameters(trimmed);
 
-        List<TaskWithProject> tasks;
+        // Exports read a snapshot, so writing the file never holds up commands changing the projects
+        ProjectList snapshot = projects.snapshot();
+        // Exports straight from the projects are streamed; only the last view and sorted exports need a list
+        List<TaskWithProject> tasks = null;
+        List<Project> sourceProjects = null;
         String baseDescriptor;
 
         if (params.forceAll) {
-            tasks = TaskCollector.getAllTasksWithProjects(projects);
+            sourceProjects = snapshot.getProjectList();
             baseDescriptor = "all tasks";
         } else if (params.projectIndex != null) {
-            if (params.projectIndex < 0 || params.projectIndex >= projects.getProjectListSize()) {
-                throw new IndexOutOfRangeException(projects.getProjectListSize());
+            if (params.projectIndex < 0 || params.projectIndex >= snapshot.getProjectListSize()) {
+                throw new IndexOutOfRangeException(snapshot.getProjectListSize());
             }
-            Project project = projects.getProjectByIndex(params.projectIndex);
-            tasks = TaskCollector.getTasksFromProject(project);
+            Project project = snapshot.getProjectByIndex(params.projectIndex);
+            sourceProjects = List.of(project);
             baseDescriptor = "project " + project.getProjectName();
         } else if (!params.hasFilterOrSort() && lastViewType != ViewType.NONE && !lastDisplayedTasks.isEmpty()) {
-            tasks = new ArrayList<>(lastDisplayedTasks);
+            tasks = copyLastView();
             baseDescriptor = "last view: " + lastViewMetadata;
         } else {
-            tasks = TaskCollector.getAllTasksWithProjects(projects);
+            sourceProjects = snapshot.getProjectList();
             baseDescriptor = "all tasks";
         }
 
+        boolean isStreamed = tasks == null && params.sortField == null;
+        if (!isStreamed && tasks == null) {
+            tasks = collectTasks(sourceProjects);
+        }
+
         if (params.filterType != null && params.filterValue != null) {
-            FilterResult filterResult = applyFiltering(tasks, params.filterType, params.filterValue);
-            tasks = filterResult.tasks;
-            params.filterValue = filterResult.resolvedValue;
+            if (isStreamed) {
+                CommandValidator.validateFilterType(params.filterType);
+                params.filterValue = CommandValidator.validatePriority(params.filterValue);
+            } else {
+                FilterResult filterResult = applyFiltering(tasks, params.filterType, params.filterValue);
+                tasks = filterResult.tasks;
+                params.filterValue = filterResult.resolvedValue;
+            }
         }
 
         if (params.sortField != null && params.sortOrder != null) {
@@ -110,7 +126,17 @@ public class ExportCommandHandler {
         }
 
         String header = buildExportHeader(baseDescriptor, params);
-        
+
+        if (isStreamed) {
+            Predicate<Task> filter = priorityFilter(params.filterValue);
+            if (TaskCollector.countTasks(sourceProjects, filter) == 0) {
+                throw new EmptyTaskListException();
+            }
+            int exported = TaskExporter.exportTasksToFile(sourceProjects, filter, params.filename, header);
+            ui.showExportSuccess(params.filename, exported);
+            return;
+        }
+
         if (tasks.isEmpty()) {
             throw new EmptyTaskListException();
         }
@@ -119,6 +145,42 @@ public class ExportCommandHandler {
         ui.showExportSuccess(params.filename, tasks.size());
     }
 
+    /**
+     * Copies the tasks of the last view, which are live tasks, so that they can be written without the lock.
+     */
+    private List<TaskWithProject> copyLastView() {
+        return projects.read(() -> {
+            List<TaskWithProject> copies = new ArrayList<>(lastDisplayedTasks.size());
+            for (TaskWithProject entry : lastDisplayedTasks) {
+                Task task = entry.getTask();
+                Task copy = new Task(task.getDescription(), task.getDeadline(), task.getPriority());
+                if (task.isDone()) {
+                    copy.mark();
+                }
+                copies.add(new TaskWithProject(entry.getProjectName(), copy));
+            }
+            return copies;
+        });
+    }
+
+    private List<TaskWithProject> collectTasks(List<Project> sourceProjects) {
+        List<TaskWithProject> tasks = new ArrayList<>();
+        for (Project project : sourceProjects) {
+            tasks.addAll(TaskCollector.getTasksFromProject(project));
+        }
+        return tasks;
+    }
+
+    /**
+     * Returns a filter that keeps tasks of the given priority, matching {@link TaskFilter}, or every task if none.
+     */
+    private Predicate<Task> priorityFilter(String priority) {
+        if (priority == null) {
+            return task -> true;
+        }
+        return task -> task.getPriorityString().equalsIgnoreCase(priority);
+    }
+
     private ExportParams parseParameters(String args) 
             throws InvalidArgumentException, InvalidCommandSyntaxException, InvalidFilenameException {
         ExportParams params = new ExportParams();
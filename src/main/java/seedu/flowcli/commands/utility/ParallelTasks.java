@@ -0,0 +1,178 @@
+package seedu.flowcli.commands.utility;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Function;
+
+import seedu.flowcli.project.Project;
+import seedu.flowcli.task.Task;
+
+/**
+ * Opt-in parallel execution for {@link TaskFilter} and {@link TaskSorter}.
+ *
+ * <p>Parallel mode is off unless the {@value #ENABLED_PROPERTY} system property is {@code true}.
+ * When it is on, queries over at least {@value #THRESHOLD_PROPERTY} tasks (default
+ * {@value #DEFAULT_THRESHOLD}) split the projects into {@link Chunk chunks} of consecutive tasks,
+ * process the chunks on the common {@link ForkJoinPool} and combine the results in chunk order,
+ * so the output is identical to the sequential path.
+ */
+public final class ParallelTasks {
+    public static final String ENABLED_PROPERTY = "flowcli.parallel";
+    public static final String THRESHOLD_PROPERTY = "flowcli.parallel.threshold";
+    /**
+     * Below this many tasks, splitting and merging cost about as much as they save; re-check it with
+     * {@code ./gradlew jmh -PjmhArgs="TaskQueryBenchmark"}, which runs each query with parallel mode off and on.
+     */
+    public static final int DEFAULT_THRESHOLD = 100_000;
+    static final int CHUNK_SIZE = 16 * 1024;
+
+    private static volatile boolean isEnabled = Boolean.getBoolean(ENABLED_PROPERTY);
+    private static volatile int threshold = Integer.getInteger(THRESHOLD_PROPERTY, DEFAULT_THRESHOLD);
+
+    private ParallelTasks() {
+    }
+
+    public static boolean isEnabled() {
+        return isEnabled;
+    }
+
+    public static void setEnabled(boolean enabled) {
+        isEnabled = enabled;
+    }
+
+    public static int getThreshold() {
+        return threshold;
+    }
+
+    /**
+     * Sets the number of tasks from which queries run in parallel.
+     */
+    public static void setThreshold(int taskCount) {
+        threshold = taskCount;
+    }
+
+    /**
+     * Returns whether a query over the given number of tasks should run in parallel.
+     */
+    static boolean shouldRunInParallel(long taskCount) {
+        return isEnabled && taskCount >= threshold;
+    }
+
+    static long countTasks(List<Project> projects) {
+        long count = 0;
+        for (Project project : projects) {
+            count += project.size();
+        }
+        return count;
+    }
+
+    /**
+     * Splits the tasks of the projects into chunks of at most {@link #CHUNK_SIZE} consecutive tasks
+     * of one project each, in project order.
+     */
+    static List<Chunk> splitProjects(List<Project> projects) {
+        List<Chunk> chunks = new ArrayList<>();
+        long position = 0;
+        for (Project project : projects) {
+            List<Task> tasks = project.getProjectTasks().getTasks();
+            for (int from = 0; from < tasks.size(); from += CHUNK_SIZE) {
+                int to = Math.min(tasks.size(), from + CHUNK_SIZE);
+                chunks.add(new Chunk(project, tasks, from, to, position + from));
+            }
+            position += tasks.size();
+        }
+        return chunks;
+    }
+
+    /**
+     * Splits a list into consecutive sublists of at most {@link #CHUNK_SIZE} elements.
+     */
+    static <T> List<List<T>> split(List<T> list) {
+        List<List<T>> parts = new ArrayList<>();
+        for (int from = 0; from < list.size(); from += CHUNK_SIZE) {
+            parts.add(list.subList(from, Math.min(list.size(), from + CHUNK_SIZE)));
+        }
+        return parts;
+    }
+
+    /**
+     * Applies the work to every unit on the common pool and returns the results in unit order.
+     */
+    static <T, R> List<R> map(List<T> units, Function<T, R> work) {
+        List<R> results = new ArrayList<>(units.size());
+        for (int i = 0; i < units.size(); i++) {
+            results.add(null);
+        }
+        ForkJoinPool.commonPool().invoke(new MapAction<>(units, work, results, 0, units.size()));
+        return results;
+    }
+
+    /**
+     * Concatenates the lists in order.
+     */
+    static <T> List<T> concat(List<List<T>> lists) {
+        int size = 0;
+        for (List<T> list : lists) {
+            size += list.size();
+        }
+        List<T> all = new ArrayList<>(size);
+        for (List<T> list : lists) {
+            all.addAll(list);
+        }
+        return all;
+    }
+
+    /**
+     * A range of consecutive tasks of one project.
+     */
+    static final class Chunk {
+        final Project project;
+        final List<Task> tasks;
+        final int from;
+        final int to;
+        /** Position of the first task of the chunk among the tasks of all projects. */
+        final long firstPosition;
+
+        Chunk(Project project, List<Task> tasks, int from, int to, long firstPosition) {
+            this.project = project;
+            this.tasks = tasks;
+            this.from = from;
+            this.to = to;
+            this.firstPosition = firstPosition;
+        }
+    }
+
+    /**
+     * Splits a range of units in half until one unit is left, then applies the work to it.
+     */
+    private static final class MapAction<T, R> extends RecursiveAction {
+        private final List<T> units;
+        private final Function<T, R> work;
+        private final List<R> results;
+        private final int from;
+        private final int to;
+
+        MapAction(List<T> units, Function<T, R> work, List<R> results, int from, int to) {
+            this.units = units;
+            this.work = work;
+            this.results = results;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= 1) {
+                if (from < to) {
+                    results.set(from, work.apply(units.get(from)));
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new MapAction<>(units, work, results, from, middle),
+                    new MapAction<>(units, work, results, middle, to));
+        }
+    }
+}
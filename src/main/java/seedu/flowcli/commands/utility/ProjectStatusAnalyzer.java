@@ -1,10 +1,16 @@
 package seedu.flowcli.commands.utility;
 
+import java.time.LocalDate;
+
 import seedu.flowcli.project.Project;
+import seedu.flowcli.project.ProjectList;
+import seedu.flowcli.task.TaskList;
 
 /**
  * Utility class for analyzing project completion status.
  * Provides data about task completion without handling presentation.
+ * The figures come from the counters each {@link TaskList} keeps up to date,
+ * so analysing a project takes constant time regardless of its size.
  */
 //@@author Zhenzha0
 public class ProjectStatusAnalyzer {
@@ -46,6 +52,36 @@ public class ProjectStatusAnalyzer {
         }
     }
 
+    /**
+     * Represents the combined status of every project.
+     */
+    public static class OverallStatus {
+        private final ProjectStatus completion;
+        private final int[] priorityCounts;
+        private final int overdueTasks;
+
+        public OverallStatus(int totalTasks, int completedTasks, int[] priorityCounts, int overdueTasks) {
+            this.completion = new ProjectStatus(null, totalTasks, completedTasks);
+            this.priorityCounts = priorityCounts.clone();
+            this.overdueTasks = overdueTasks;
+        }
+
+        public ProjectStatus getCompletion() {
+            return completion;
+        }
+
+        /**
+         * Returns the number of tasks with the given priority (1=Low, 2=Medium, 3=High).
+         */
+        public int getPriorityCount(int priority) {
+            return priority >= 0 && priority < priorityCounts.length ? priorityCounts[priority] : 0;
+        }
+
+        public int getOverdueTasks() {
+            return overdueTasks;
+        }
+    }
+
     /**
      * Analyzes a project and calculates its completion status.
      *
@@ -53,16 +89,32 @@ public class ProjectStatusAnalyzer {
      * @return ProjectStatus object containing completion data
      */
     public static ProjectStatus analyzeProject(Project project) {
-        int totalTasks = project.size();
-        int completedTasks = 0;
+        TaskList tasks = project.getProjectTasks();
+        return new ProjectStatus(project.getProjectName(), tasks.size(), tasks.getDoneCount());
+    }
 
-        for (var task : project.getProjectTasks().getTasks()) {
-            if (task.isDone()) {
-                completedTasks++;
+    /**
+     * Adds up the counters of every project, taking time proportional to the number of projects.
+     *
+     * @param projects The projects to analyze
+     * @param today The date before which unfinished deadlines count as overdue
+     * @return OverallStatus object containing the combined counts
+     */
+    public static OverallStatus analyzeAll(ProjectList projects, LocalDate today) {
+        int totalTasks = 0;
+        int completedTasks = 0;
+        int overdueTasks = 0;
+        int[] priorityCounts = new int[TaskList.HIGH_PRIORITY + 1];
+        for (Project project : projects.getProjectList()) {
+            TaskList tasks = project.getProjectTasks();
+            totalTasks += tasks.size();
+            completedTasks += tasks.getDoneCount();
+            overdueTasks += tasks.getOverdueCount(today);
+            for (int priority = TaskList.LOW_PRIORITY; priority <= TaskList.HIGH_PRIORITY; priority++) {
+                priorityCounts[priority] += tasks.getPriorityCount(priority);
             }
         }
-
-        return new ProjectStatus(project.getProjectName(), totalTasks, completedTasks);
+        return new OverallStatus(totalTasks, completedTasks, priorityCounts, overdueTasks);
     }
 }
 //@@author
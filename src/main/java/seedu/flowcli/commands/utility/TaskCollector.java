@@ -2,6 +2,7 @@ package seedu.flowcli.commands.utility;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Predicate;
 
 import seedu.flowcli.project.Project;
 import seedu.flowcli.project.ProjectList;
@@ -30,6 +31,25 @@ public final class TaskCollector {
         return tasks;
     }
 
+    /**
+     * Counts the tasks in the given projects that match the filter, without collecting them.
+     *
+     * @param projects The projects to count tasks in
+     * @param filter The condition a task must meet to be counted
+     * @return Number of matching tasks
+     */
+    public static int countTasks(List<Project> projects, Predicate<Task> filter) {
+        int count = 0;
+        for (Project project : projects) {
+            for (Task task : project.getProjectTasks().getTasks()) {
+                if (filter.test(task)) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
     /**
      * Collects all tasks from a specific project with the project name.
      *
@@ -1,35 +1,101 @@
 package seedu.flowcli.commands.utility;
 
-import java.io.FileWriter;
+import java.io.Closeable;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
 import java.nio.file.AccessDeniedException;
 import java.nio.file.FileSystemException;
+import java.nio.file.InvalidPathException;
 import java.nio.file.NoSuchFileException;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 import java.util.List;
+import java.util.function.Predicate;
 
 import seedu.flowcli.exceptions.FileWriteException;
+import seedu.flowcli.metrics.MetricsRegistry;
+import seedu.flowcli.project.Project;
+import seedu.flowcli.task.Task;
 import seedu.flowcli.task.TaskWithProject;
 
 /**
  * Utility class for exporting tasks to TXT files. Handles file I/O operations
  * and formatting.
+ *
+ * <p>Lines are formatted into one reused buffer and encoded in large batches straight
+ * into a {@link FileChannel}, so exporting does not allocate a string per task.
  */
 //@@author sean6369
 public final class TaskExporter {
+    /** Size of the byte buffer handed to the file channel in each write. */
+    static final int BUFFER_SIZE = 64 * 1024;
+
     private TaskExporter() {
     }
 
     public static void exportTasksToFile(List<TaskWithProject> tasks, String filename, String header)
             throws FileWriteException {
-        try (FileWriter writer = new FileWriter(filename)) {
-            if (header != null && !header.isEmpty()) {
-                writer.write(header + "\n");
-                writer.write("=".repeat(header.length()) + "\n\n");
+        writeFile(filename, header, writer -> {
+            for (TaskWithProject taskWithProject : tasks) {
+                writeTask(writer, taskWithProject.getProjectName(), taskWithProject.getTask());
             }
+            return tasks.size();
+        });
+    }
 
-            for (TaskWithProject taskWithProject : tasks) {
-                writer.write(taskWithProject.toString() + "\n");
+    /**
+     * Streams the tasks of the given projects that match the filter straight to a file, in project order.
+     * Unlike {@link #exportTasksToFile(List, String, String)}, no list of tasks is built first.
+     *
+     * @return the number of tasks written
+     */
+    public static int exportTasksToFile(List<Project> projects, Predicate<Task> filter, String filename,
+            String header) throws FileWriteException {
+        return writeFile(filename, header, writer -> {
+            int count = 0;
+            for (Project project : projects) {
+                String projectName = project.getProjectName();
+                for (Task task : project.getProjectTasks().getTasks()) {
+                    if (filter.test(task)) {
+                        writeTask(writer, projectName, task);
+                        count++;
+                    }
+                }
+            }
+            return count;
+        });
+    }
+
+    /**
+     * Writes a task in the same form as {@link TaskWithProject#toString()}.
+     */
+    private static void writeTask(ExportWriter writer, String projectName, Task task) throws IOException {
+        StringBuilder line = writer.buffer();
+        line.append(projectName).append(": ");
+        task.appendTo(line);
+        line.append('\n');
+        writer.flushIfFull();
+    }
+
+    private static int writeFile(String filename, String header, TaskWriter tasks) throws FileWriteException {
+        long start = System.nanoTime();
+        // Kept outside the try so the byte count can be read once closing has flushed everything
+        ExportWriter writer = null;
+        int count;
+        try (ExportWriter opened = new ExportWriter(filename)) {
+            writer = opened;
+            if (header != null && !header.isEmpty()) {
+                StringBuilder buffer = writer.buffer();
+                buffer.append(header).append('\n');
+                buffer.append("=".repeat(header.length())).append("\n\n");
             }
+            count = tasks.writeTasks(writer);
         } catch (AccessDeniedException e) {
             // Permission denied - user doesn't have write access
             throw new FileWriteException(
@@ -58,6 +124,10 @@ public final class TaskExporter {
             // Security manager denied access
             throw new FileWriteException(
                     "'" + filename + "': Access denied by security policy.");
+        } catch (InvalidPathException e) {
+            // The name cannot be turned into a path on this system
+            throw new FileWriteException(
+                    "'" + filename + "': " + e.getReason());
         } catch (IOException e) {
             // Generic I/O error - check for common cases
             String message = e.getMessage();
@@ -95,6 +165,88 @@ public final class TaskExporter {
                     "'" + filename + "': " +
                             (message != null ? message : "Unknown I/O error."));
         }
+        MetricsRegistry.getInstance().recordExport(count, writer.bytesWritten, System.nanoTime() - start);
+        return count;
+    }
+
+    /**
+     * Writes the body of an export and returns the number of tasks written.
+     */
+    private interface TaskWriter {
+        int writeTasks(ExportWriter writer) throws IOException;
+    }
+
+    /**
+     * Collects text in a reused buffer and encodes it into a file channel in large batches.
+     * Text is encoded with the platform charset, as {@link java.io.FileWriter} does.
+     */
+    private static final class ExportWriter implements Closeable {
+        private static final int FLUSH_THRESHOLD = BUFFER_SIZE / 2;
+
+        private final FileChannel channel;
+        private final CharsetEncoder encoder = Charset.defaultCharset().newEncoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        private final StringBuilder text = new StringBuilder(FLUSH_THRESHOLD + 256);
+        private final ByteBuffer bytes = ByteBuffer.allocate(BUFFER_SIZE);
+        private char[] chars = new char[FLUSH_THRESHOLD + 256];
+        private long bytesWritten;
+
+        ExportWriter(String filename) throws IOException {
+            this.channel = FileChannel.open(Paths.get(filename), StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        }
+
+        StringBuilder buffer() {
+            return text;
+        }
+
+        void flushIfFull() throws IOException {
+            if (text.length() >= FLUSH_THRESHOLD) {
+                encodeText();
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                encodeText();
+                drain();
+            } finally {
+                channel.close();
+            }
+        }
+
+        private void encodeText() throws IOException {
+            int length = text.length();
+            if (length > chars.length) {
+                chars = new char[length];
+            }
+            text.getChars(0, length, chars, 0);
+            text.setLength(0);
+
+            CharBuffer input = CharBuffer.wrap(chars, 0, length);
+            CoderResult result;
+            do {
+                result = encoder.encode(input, bytes, true);
+                if (result.isOverflow()) {
+                    drain();
+                }
+            } while (result.isOverflow());
+            while (encoder.flush(bytes).isOverflow()) {
+                drain();
+            }
+            encoder.reset();
+        }
+
+        private void drain() throws IOException {
+            bytes.flip();
+            bytesWritten += bytes.remaining();
+            while (bytes.hasRemaining()) {
+                channel.write(bytes);
+            }
+            bytes.clear();
+        }
     }
 }
 //@@author
@@ -1,17 +1,24 @@
 package seedu.flowcli.commands.utility;
 
+import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.logging.Logger;
 
+import seedu.flowcli.commands.validation.CommandValidator;
+import seedu.flowcli.commands.validation.ValidationConstants;
+import seedu.flowcli.metrics.MetricsRegistry;
 import seedu.flowcli.project.Project;
 import seedu.flowcli.project.ProjectList;
 import seedu.flowcli.task.Task;
+import seedu.flowcli.task.TaskList;
 import seedu.flowcli.task.TaskWithProject;
 
 /**
  * Filters tasks globally across all projects based on priority and/or project
- * name.
+ * name, or by a range of deadlines.
+ * Filters over a project list read each project's priority and deadline indexes,
+ * so they take time proportional to the number of projects and matches.
  */
 public class TaskFilter {
     private static final Logger logger = Logger.getLogger(TaskFilter.class.getName());
@@ -39,6 +46,32 @@ public class TaskFilter {
         filter();
     }
 
+    /**
+     * Constructor for filtering tasks from all projects by deadline.
+     * Tasks are listed project by project, each by deadline and then list order.
+     *
+     * @param from Earliest deadline to include, or null for no lower bound
+     * @param to Latest deadline to include, or null for no upper bound
+     */
+    public TaskFilter(ProjectList projects, LocalDate from, LocalDate to) {
+        assert projects != null : "Project list cannot be null";
+
+        this.projects = projects;
+        this.inputTasks = null;
+        this.priorityFilter = null;
+        this.projectNameFilter = null;
+
+        logger.fine(String.format("Creating TaskFilter with deadlines from %s to %s", from, to));
+
+        MetricsRegistry.getInstance().recordFilterInput(ParallelTasks.countTasks(projects.getProjectList()));
+        filteredTasks = new ArrayList<>();
+        for (Project project : projects.getProjectList()) {
+            for (Task task : project.getProjectTasks().getTasksDueBetween(from, to)) {
+                filteredTasks.add(new TaskWithProject(project.getProjectName(), task));
+            }
+        }
+    }
+
     /**
      * Constructor for filtering a specific list of tasks.
      */
@@ -61,57 +94,121 @@ public class TaskFilter {
     }
 
     private void filter() {
-        logger.fine("Starting task filtering process");
-
-        filteredTasks = new ArrayList<>();
-        int totalTasksProcessed = 0;
+        int priorityLevel = indexedPriority(priorityFilter);
+        boolean[] matchingPriorities = matchingPriorities(priorityFilter);
 
         if (inputTasks != null) {
-            for (TaskWithProject taskWithProject : inputTasks) {
-                totalTasksProcessed++;
-
-                Task task = taskWithProject.getTask();
-                String projectName = taskWithProject.getProjectName();
-
-                if (projectNameFilter != null && !projectName.equalsIgnoreCase(projectNameFilter)) {
-                    continue;
-                }
-
-                if (priorityFilter != null) {
-                    String taskPriority = task.getPriorityString().toLowerCase();
-                    if (!taskPriority.equals(priorityFilter.toLowerCase())) {
-                        continue;
+            MetricsRegistry.getInstance().recordFilterInput(inputTasks.size());
+            if (ParallelTasks.shouldRunInParallel(inputTasks.size())) {
+                filteredTasks = ParallelTasks.concat(ParallelTasks.map(ParallelTasks.split(inputTasks),
+                        part -> filterList(part, matchingPriorities)));
+            } else {
+                filteredTasks = filterList(inputTasks, matchingPriorities);
+            }
+        } else if (priorityLevel > 0) {
+            filteredTasks = new ArrayList<>();
+            long taskCount = 0;
+            for (Project project : projects.getProjectList()) {
+                if (matchesProject(project.getProjectName())) {
+                    taskCount += project.size();
+                    for (Task task : project.getProjectTasks().getTasksWithPriority(priorityLevel)) {
+                        filteredTasks.add(new TaskWithProject(project.getProjectName(), task));
                     }
                 }
-
-                filteredTasks.add(taskWithProject);
-                logger.fine(String.format("Added task '%s' from project '%s' to filtered results",
-                        task.getDescription(), projectName));
             }
+            MetricsRegistry.getInstance().recordFilterInput(taskCount);
         } else {
+            List<Project> candidates = new ArrayList<>();
             for (Project project : projects.getProjectList()) {
-                if (projectNameFilter != null && !project.getProjectName().equalsIgnoreCase(projectNameFilter)) {
-                    continue;
+                if (matchesProject(project.getProjectName())) {
+                    candidates.add(project);
                 }
+            }
+            long taskCount = ParallelTasks.countTasks(candidates);
+            MetricsRegistry.getInstance().recordFilterInput(taskCount);
+            if (ParallelTasks.shouldRunInParallel(taskCount)) {
+                filteredTasks = ParallelTasks.concat(ParallelTasks.map(ParallelTasks.splitProjects(candidates),
+                        chunk -> filterChunk(chunk, matchingPriorities)));
+            } else {
+                filteredTasks = new ArrayList<>();
+                for (Project project : candidates) {
+                    List<Task> tasks = project.getProjectTasks().getTasks();
+                    filteredTasks.addAll(filterChunk(new ParallelTasks.Chunk(project, tasks, 0, tasks.size(), 0),
+                            matchingPriorities));
+                }
+            }
+        }
 
-                for (Task task : project.getProjectTasks().getTasks()) {
-                    totalTasksProcessed++;
+        logger.fine(String.format("Task filtering completed. Found %d matches", filteredTasks.size()));
+    }
 
-                    if (priorityFilter != null) {
-                        String taskPriority = task.getPriorityString().toLowerCase();
-                        if (!taskPriority.equals(priorityFilter.toLowerCase())) {
-                            continue;
-                        }
-                    }
+    private List<TaskWithProject> filterList(List<TaskWithProject> tasks, boolean[] matchingPriorities) {
+        List<TaskWithProject> matches = new ArrayList<>();
+        for (TaskWithProject taskWithProject : tasks) {
+            if (matchesProject(taskWithProject.getProjectName())
+                    && matchesPriority(taskWithProject.getTask(), matchingPriorities)) {
+                matches.add(taskWithProject);
+            }
+        }
+        return matches;
+    }
 
-                    filteredTasks.add(new TaskWithProject(project.getProjectName(), task));
-                    logger.fine(String.format("Added task '%s' from project '%s' to filtered results",
-                            task.getDescription(), project.getProjectName()));
-                }
+    private static List<TaskWithProject> filterChunk(ParallelTasks.Chunk chunk, boolean[] matchingPriorities) {
+        List<TaskWithProject> matches = new ArrayList<>();
+        String projectName = chunk.project.getProjectName();
+        for (int i = chunk.from; i < chunk.to; i++) {
+            Task task = chunk.tasks.get(i);
+            if (matchesPriority(task, matchingPriorities)) {
+                matches.add(new TaskWithProject(projectName, task));
             }
         }
+        return matches;
+    }
+
+    private boolean matchesProject(String projectName) {
+        return projectNameFilter == null || projectName.equalsIgnoreCase(projectNameFilter);
+    }
+
+    private static boolean matchesPriority(Task task, boolean[] matchingPriorities) {
+        if (matchingPriorities == null) {
+            return true;
+        }
+        int priority = task.getPriority();
+        boolean isKnown = priority >= TaskList.LOW_PRIORITY && priority <= TaskList.HIGH_PRIORITY;
+        return matchingPriorities[isKnown ? priority : 0];
+    }
+
+    /**
+     * Works out once which priorities the filter matches, comparing priority names as the filter always has.
+     * Index 0 stands for every priority outside low to high, which is shown as "Unknown".
+     *
+     * @return Whether each priority matches, or null if there is no priority filter
+     */
+    private static boolean[] matchingPriorities(String priority) {
+        if (priority == null) {
+            return null;
+        }
+        String normalized = priority.toLowerCase();
+        boolean[] matching = new boolean[TaskList.HIGH_PRIORITY + 1];
+        for (int level = 0; level < matching.length; level++) {
+            matching[level] = new Task("", null, level).getPriorityString().toLowerCase().equals(normalized);
+        }
+        return matching;
+    }
 
-        logger.fine(String.format("Task filtering completed. Processed %d tasks, found %d matches", totalTasksProcessed,
-                filteredTasks.size()));
+    /**
+     * Returns the priority level whose index bucket holds exactly the tasks matching the filter,
+     * or 0 if the filter has to be checked task by task.
+     */
+    private static int indexedPriority(String priority) {
+        if (priority == null) {
+            return 0;
+        }
+        for (String validPriority : ValidationConstants.VALID_PRIORITIES) {
+            if (validPriority.equalsIgnoreCase(priority)) {
+                return CommandValidator.priorityToInt(validPriority);
+            }
+        }
+        return 0;
     }
 }
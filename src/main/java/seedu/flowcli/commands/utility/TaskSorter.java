@@ -1,40 +1,60 @@
 package seedu.flowcli.commands.utility;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.PriorityQueue;
 import java.util.logging.Logger;
 
 import seedu.flowcli.commands.validation.ValidationConstants;
+import seedu.flowcli.metrics.MetricsRegistry;
+import seedu.flowcli.project.Project;
 import seedu.flowcli.project.ProjectList;
 import seedu.flowcli.task.Task;
 import seedu.flowcli.task.TaskWithProject;
 
 /**
- * Sorts tasks globally across all projects based on deadline or priority.
+ * Sorts tasks globally across all projects based on deadline or priority, or on both one after the other.
+ * Tasks with equal keys keep their order in the project list.
+ *
+ * <p>Each task's keys are read once and packed into a single {@code long} rank, so that tasks are
+ * compared as plain numbers instead of through a comparator. To sort all tasks, each rank is shifted
+ * left and the task's index is put in the low bits; the packed values are then all distinct, a
+ * primitive array sort orders them exactly as a stable sort would, and the indexes map them back to
+ * tasks.
+ *
+ * <p>A sorter can also return just one page of the sorted tasks. The page is picked with a
+ * heap bounded to the page size, taking O(n log k) time and O(k) memory for a page of k of
+ * n tasks, and comes with a {@link Cursor} from which the next page is picked the same way.
  */
 public class TaskSorter {
     private static final Logger logger = Logger.getLogger(TaskSorter.class.getName());
+    private static final int MAX_INITIAL_HEAP_CAPACITY = 1024;
 
     private final ProjectList projects;
     private final List<TaskWithProject> inputTasks;
-    private final String sortBy;
-    private final boolean ascending;
+    private final SortKey[] keys;
     private List<TaskWithProject> sortedTasks;
+    private Cursor nextPage;
 
     /**
      * Constructor for sorting tasks from all projects.
      */
     public TaskSorter(ProjectList projects, String sortBy, boolean ascending) {
+        this(projects, List.of(new SortKey(sortBy, ascending)));
+    }
+
+    /**
+     * Constructor for sorting tasks from all projects by several keys, the first key deciding first.
+     */
+    public TaskSorter(ProjectList projects, List<SortKey> keys) {
         assert projects != null : "ProjectList cannot be null";
-        assert sortBy != null && (sortBy.equals("deadline")
-                                        || sortBy.equals("priority")) : "sortBy must be 'deadline' or 'priority'";
 
         this.projects = projects;
         this.inputTasks = null;
-        this.sortBy = sortBy;
-        this.ascending = ascending;
+        this.keys = toKeyArray(keys);
 
-        logger.fine(String.format("Creating TaskSorter with sortBy='%s', ascending=%b", sortBy, ascending));
+        logger.fine(String.format("Creating TaskSorter by %s", describe(keys)));
 
         sort();
     }
@@ -49,8 +69,7 @@ public class TaskSorter {
 
         this.projects = null;
         this.inputTasks = tasks;
-        this.sortBy = sortBy;
-        this.ascending = ascending;
+        this.keys = new SortKey[] { new SortKey(sortBy, ascending) };
 
         logger.fine(String.format("Creating TaskSorter with sortBy='%s', ascending=%b on %d tasks", sortBy, ascending,
                                         tasks.size()));
@@ -58,47 +77,441 @@ public class TaskSorter {
         sort();
     }
 
+    /**
+     * Constructor for picking the first page of tasks from all projects.
+     *
+     * @param limit Number of tasks on a page
+     */
+    public TaskSorter(ProjectList projects, String sortBy, boolean ascending, int limit) {
+        this(projects, List.of(new SortKey(sortBy, ascending)), limit);
+    }
+
+    /**
+     * Constructor for picking the first page of tasks from all projects sorted by several keys.
+     *
+     * @param limit Number of tasks on a page
+     */
+    public TaskSorter(ProjectList projects, List<SortKey> keys, int limit) {
+        assert projects != null : "ProjectList cannot be null";
+        assert limit > 0 : "limit must be positive";
+
+        this.projects = projects;
+        this.inputTasks = null;
+        this.keys = toKeyArray(keys);
+
+        selectPage(limit, null);
+    }
+
+    /**
+     * Constructor for picking the page that follows the given cursor.
+     *
+     * @param cursor Cursor returned by {@link #getNextPage()} of the previous page
+     */
+    public TaskSorter(ProjectList projects, Cursor cursor) {
+        assert projects != null : "ProjectList cannot be null";
+        assert cursor != null && cursor.isCurrent(projects) : "cursor must be current";
+
+        this.projects = projects;
+        this.inputTasks = null;
+        this.keys = cursor.keys;
+
+        selectPage(cursor.limit, cursor);
+    }
+
     public List<TaskWithProject> getSortedTasks() {
         return sortedTasks;
     }
 
+    /**
+     * Returns the cursor for the page after this one, or null if this is the last page or the
+     * whole list was sorted.
+     */
+    public Cursor getNextPage() {
+        return nextPage;
+    }
+
     private void sort() {
-        logger.fine("Starting task sorting process");
+        long startTime = System.nanoTime();
 
+        Task[] tasks;
         if (inputTasks != null) {
-            sortedTasks = new ArrayList<>(inputTasks);
-            logger.fine(String.format("Sorting %d provided tasks by %s", sortedTasks.size(), sortBy));
+            tasks = new Task[inputTasks.size()];
+            for (int i = 0; i < tasks.length; i++) {
+                tasks[i] = inputTasks.get(i).getTask();
+            }
+            int[] order = sortedOrder(tasks);
+            sortedTasks = new ArrayList<>(order.length);
+            for (int index : order) {
+                sortedTasks.add(inputTasks.get(index));
+            }
+        } else {
+            List<Project> projectList = projects.getProjectList();
+            tasks = new Task[Math.toIntExact(ParallelTasks.countTasks(projectList))];
+            int[] projectStarts = new int[projectList.size() + 1];
+            for (int p = 0; p < projectList.size(); p++) {
+                int next = projectStarts[p];
+                for (Task task : projectList.get(p).getProjectTasks().getTasks()) {
+                    tasks[next++] = task;
+                }
+                projectStarts[p + 1] = next;
+            }
+            int[] order = sortedOrder(tasks);
+            sortedTasks = new ArrayList<>(order.length);
+            for (int index : order) {
+                int p = findProject(projectStarts, index);
+                sortedTasks.add(new TaskWithProject(projectList.get(p).getProjectName(), tasks[index]));
+            }
+        }
+
+        long duration = System.nanoTime() - startTime;
+        MetricsRegistry.getInstance().recordSortInput(sortedTasks.size());
+        logger.fine(String.format("Task sorting completed in %d ns. Sorted %d tasks by %s", duration,
+                                        sortedTasks.size(), describe(Arrays.asList(keys))));
+    }
+
+    /**
+     * Returns the indexes of the tasks in sorted order.
+     * Ranks are made relative to the smallest one so that as few bits as possible are needed for them;
+     * if a rank and an index still do not fit in one {@code long} together, the indexes are sorted by
+     * rank with a stable object sort instead.
+     */
+    private int[] sortedOrder(Task[] tasks) {
+        int count = tasks.length;
+        long[] packed = new long[count];
+        boolean isParallel = ParallelTasks.shouldRunInParallel(count);
+        if (isParallel) {
+            Arrays.parallelSetAll(packed, i -> rankOf(tasks[i]));
         } else {
-            sortedTasks = TaskCollector.getAllTasksWithProjects(projects);
-            logger.fine(String.format("Collected %d tasks for sorting by %s", sortedTasks.size(), sortBy));
+            for (int i = 0; i < count; i++) {
+                packed[i] = rankOf(tasks[i]);
+            }
         }
 
-        long startTime = System.nanoTime();
+        long minRank = Long.MAX_VALUE;
+        long maxRank = 0;
+        for (long rank : packed) {
+            minRank = Math.min(minRank, rank);
+            maxRank = Math.max(maxRank, rank);
+        }
+
+        int[] order = new int[count];
+        int indexBits = Long.SIZE - Long.numberOfLeadingZeros(Math.max(count - 1, 1));
+        int rankBits = count == 0 ? 0 : Long.SIZE - Long.numberOfLeadingZeros(maxRank - minRank);
+        if (rankBits + indexBits < Long.SIZE) {
+            for (int i = 0; i < count; i++) {
+                packed[i] = (packed[i] - minRank) << indexBits | i;
+            }
+            if (isParallel) {
+                Arrays.parallelSort(packed);
+            } else {
+                Arrays.sort(packed);
+            }
+            long indexMask = (1L << indexBits) - 1;
+            for (int i = 0; i < count; i++) {
+                order[i] = (int) (packed[i] & indexMask);
+            }
+        } else {
+            Integer[] boxed = new Integer[count];
+            Arrays.setAll(boxed, i -> i);
+            Arrays.sort(boxed, (i1, i2) -> Long.compare(packed[i1], packed[i2]));
+            for (int i = 0; i < count; i++) {
+                order[i] = boxed[i];
+            }
+        }
+        return order;
+    }
+
+    /**
+     * Returns the project holding the task at the index, given the index of each project's first task.
+     */
+    private static int findProject(int[] projectStarts, int index) {
+        int low = 0;
+        int high = projectStarts.length - 2;
+        while (low < high) {
+            int middle = (low + high + 1) >>> 1;
+            if (projectStarts[middle] <= index) {
+                low = middle;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Packs the task's keys into one rank, the first key in the highest bits.
+     * Ranks compare as the tasks do under the sort order, with equal keys giving equal ranks.
+     */
+    private long rankOf(Task task) {
+        long rank = 0;
+        for (SortKey key : keys) {
+            rank = rank << key.getRankBits() | key.rankOf(task);
+        }
+        return rank;
+    }
+
+    /**
+     * Compares two tasks by rank and then by position in the project list, which is the order
+     * a stable sort of all tasks would put them in.
+     */
+    private static int compare(long rank1, long position1, long rank2, long position2) {
+        int comparison = Long.compare(rank1, rank2);
+        return comparison != 0 ? comparison : Long.compare(position1, position2);
+    }
+
+    /**
+     * Picks the first {@code limit} tasks, in sorted order, of those that come after the cursor.
+     * In parallel mode each chunk keeps its own bounded heap and the heaps are merged in chunk order.
+     */
+    private void selectPage(int limit, Cursor after) {
+        List<Project> projectList = projects.getProjectList();
+        PageSelection selection = new PageSelection(limit);
+        long taskCount = ParallelTasks.countTasks(projectList);
+        MetricsRegistry.getInstance().recordSortInput(taskCount);
+        if (ParallelTasks.shouldRunInParallel(taskCount)) {
+            List<PageSelection> parts = ParallelTasks.map(ParallelTasks.splitProjects(projectList), chunk -> {
+                PageSelection part = new PageSelection(limit);
+                part.offer(chunk, after);
+                return part;
+            });
+            for (PageSelection part : parts) {
+                selection.merge(part);
+            }
+        } else {
+            long position = 0;
+            for (Project project : projectList) {
+                List<Task> tasks = project.getProjectTasks().getTasks();
+                selection.offer(new ParallelTasks.Chunk(project, tasks, 0, tasks.size(), position), after);
+                position += tasks.size();
+            }
+        }
+
+        Entry[] page = selection.drain();
+        sortedTasks = new ArrayList<>(page.length);
+        for (Entry entry : page) {
+            sortedTasks.add(new TaskWithProject(entry.projectName, entry.task));
+        }
+
+        int firstIndex = after == null ? 0 : after.shownCount;
+        if (selection.remaining > page.length) {
+            Entry last = page[page.length - 1];
+            nextPage = new Cursor(projects, keys, limit, last.rank, last.position, firstIndex + page.length);
+        }
+        logger.fine(String.format("Picked %d of %d remaining tasks by %s", page.length, selection.remaining,
+                describe(Arrays.asList(keys))));
+    }
 
-        sortedTasks.sort((t1, t2) -> {
-            Task task1 = t1.getTask();
-            Task task2 = t2.getTask();
-            int comparison = 0;
-
-            if (ValidationConstants.SORT_FIELD_DEADLINE.equals(sortBy)) {
-                if (task1.getDeadline() == null && task2.getDeadline() == null) {
-                    comparison = 0;
-                } else if (task1.getDeadline() == null) {
-                    comparison = 1;
-                } else if (task2.getDeadline() == null) {
-                    comparison = -1;
-                } else {
-                    comparison = task1.getDeadline().compareTo(task2.getDeadline());
+    private static SortKey[] toKeyArray(List<SortKey> keys) {
+        assert keys != null && !keys.isEmpty() : "At least one sort key is needed";
+        assert keys.stream().map(SortKey::getField).distinct().count() == keys.size()
+                : "Each field can only be sorted by once";
+        return keys.toArray(new SortKey[0]);
+    }
+
+    /**
+     * Returns the keys as shown to the user, such as "priority descending, deadline ascending".
+     */
+    public static String describe(List<SortKey> keys) {
+        StringBuilder description = new StringBuilder();
+        for (SortKey key : keys) {
+            if (description.length() > 0) {
+                description.append(", ");
+            }
+            description.append(key);
+        }
+        return description.toString();
+    }
+
+    /**
+     * The first tasks, in sorted order, of those offered that come after a cursor.
+     * The heap holds at most {@code limit} entries with the last kept task on top; entries that
+     * drop out are reused for the tasks that replace them.
+     */
+    private final class PageSelection {
+        private final int limit;
+        private final PriorityQueue<Entry> heap;
+        private int remaining;
+
+        PageSelection(int limit) {
+            this.limit = limit;
+            this.heap = new PriorityQueue<>(Math.min(limit, MAX_INITIAL_HEAP_CAPACITY),
+                    (e1, e2) -> compare(e2.rank, e2.position, e1.rank, e1.position));
+        }
+
+        void offer(ParallelTasks.Chunk chunk, Cursor after) {
+            String projectName = chunk.project.getProjectName();
+            for (int i = chunk.from; i < chunk.to; i++) {
+                Task task = chunk.tasks.get(i);
+                long rank = rankOf(task);
+                long position = chunk.firstPosition + (i - chunk.from);
+                if (after != null && compare(rank, position, after.lastRank, after.lastPosition) <= 0) {
+                    continue;
                 }
-            } else if (ValidationConstants.SORT_FIELD_PRIORITY.equals(sortBy)) {
-                comparison = Integer.compare(task1.getPriority(), task2.getPriority());
+                remaining++;
+                offer(projectName, task, rank, position);
             }
+        }
 
-            return ascending ? comparison : -comparison;
-        });
+        void merge(PageSelection other) {
+            remaining += other.remaining;
+            for (Entry entry : other.heap) {
+                offer(entry.projectName, entry.task, entry.rank, entry.position);
+            }
+        }
 
-        long duration = System.nanoTime() - startTime;
-        logger.fine(String.format("Task sorting completed in %d ns. Sorted %d tasks by %s (%s)", duration,
-                                        sortedTasks.size(), sortBy, ascending ? "ascending" : "descending"));
+        /**
+         * Removes the kept entries and returns them in sorted order.
+         */
+        Entry[] drain() {
+            Entry[] page = new Entry[heap.size()];
+            for (int i = page.length - 1; i >= 0; i--) {
+                page[i] = heap.poll();
+            }
+            return page;
+        }
+
+        private void offer(String projectName, Task task, long rank, long position) {
+            if (heap.size() < limit) {
+                heap.add(new Entry(projectName, task, rank, position));
+            } else if (compare(rank, position, heap.peek().rank, heap.peek().position) < 0) {
+                Entry entry = heap.poll();
+                entry.set(projectName, task, rank, position);
+                heap.add(entry);
+            }
+        }
+    }
+
+    /**
+     * A task kept in the selection heap.
+     */
+    private static final class Entry {
+        private String projectName;
+        private Task task;
+        private long rank;
+        private long position;
+
+        Entry(String projectName, Task task, long rank, long position) {
+            set(projectName, task, rank, position);
+        }
+
+        void set(String projectName, Task task, long rank, long position) {
+            this.projectName = projectName;
+            this.task = task;
+            this.rank = rank;
+            this.position = position;
+        }
+    }
+
+    /**
+     * A field to sort by and its direction.
+     *
+     * <p>A key turns a task into a non-negative number of a fixed width that is smaller for tasks
+     * that come first. Priorities take 8 bits. Deadlines take 33 bits, so that tasks without one
+     * can follow every possible epoch day; as with the direction flipped, they then come first
+     * when sorting in descending order.
+     */
+    public static final class SortKey {
+        private static final int PRIORITY_BITS = Byte.SIZE;
+        private static final int DEADLINE_BITS = Integer.SIZE + 1;
+        private static final long MAX_PRIORITY_RANK = (1L << PRIORITY_BITS) - 1;
+        private static final long NO_DEADLINE_RANK = 1L << Integer.SIZE;
+
+        private final String field;
+        private final boolean ascending;
+        private final boolean isDeadline;
+
+        public SortKey(String field, boolean ascending) {
+            assert ValidationConstants.SORT_FIELD_DEADLINE.equals(field)
+                    || ValidationConstants.SORT_FIELD_PRIORITY.equals(field)
+                    : "field must be 'deadline' or 'priority'";
+            this.field = field;
+            this.ascending = ascending;
+            this.isDeadline = ValidationConstants.SORT_FIELD_DEADLINE.equals(field);
+        }
+
+        public String getField() {
+            return field;
+        }
+
+        public boolean isAscending() {
+            return ascending;
+        }
+
+        int getRankBits() {
+            return isDeadline ? DEADLINE_BITS : PRIORITY_BITS;
+        }
+
+        long rankOf(Task task) {
+            if (isDeadline) {
+                int deadline = task.getDeadlineEpochDay();
+                long rank = deadline == Task.NO_DEADLINE ? NO_DEADLINE_RANK : (long) deadline - Integer.MIN_VALUE;
+                return ascending ? rank : NO_DEADLINE_RANK - rank;
+            }
+            long rank = task.getPriority() - Byte.MIN_VALUE;
+            return ascending ? rank : MAX_PRIORITY_RANK - rank;
+        }
+
+        @Override
+        public String toString() {
+            return field + " " + (ascending
+                    ? ValidationConstants.SORT_ORDER_ASCENDING
+                    : ValidationConstants.SORT_ORDER_DESCENDING);
+        }
+    }
+
+    /**
+     * Position after the last task of a page, from which the next page is picked.
+     * It records the version of every project when the page was picked, and is only
+     * {@linkplain #isCurrent current} while no project has been added, removed or changed since.
+     */
+    public static final class Cursor {
+        private final SortKey[] keys;
+        private final int limit;
+        private final long lastRank;
+        private final long lastPosition;
+        private final int shownCount;
+        private final Project[] projects;
+        private final long[] versions;
+
+        private Cursor(ProjectList projectList, SortKey[] keys, int limit, long lastRank, long lastPosition,
+                int shownCount) {
+            this.keys = keys;
+            this.limit = limit;
+            this.lastRank = lastRank;
+            this.lastPosition = lastPosition;
+            this.shownCount = shownCount;
+            this.projects = projectList.getProjectList().toArray(new Project[0]);
+            this.versions = new long[projects.length];
+            for (int i = 0; i < projects.length; i++) {
+                versions[i] = projects[i].getVersion();
+            }
+        }
+
+        public List<SortKey> getKeys() {
+            return List.of(keys);
+        }
+
+        /**
+         * Returns the number of tasks on the pages before the one this cursor leads to.
+         */
+        public int getShownCount() {
+            return shownCount;
+        }
+
+        /**
+         * Returns whether the projects are unchanged since the cursor was made.
+         */
+        public boolean isCurrent(ProjectList projectList) {
+            List<Project> current = projectList.getProjectList();
+            if (current.size() != projects.length) {
+                return false;
+            }
+            for (int i = 0; i < projects.length; i++) {
+                if (current.get(i) != projects[i] || projects[i].getVersion() != versions[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
     }
 }
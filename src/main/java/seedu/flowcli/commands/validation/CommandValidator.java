@@ -65,7 +65,7 @@ public class CommandValidator {
      */
     public static void validateFilterType(String filterType) throws InvalidArgumentException {
         if (filterType == null) {
-            throw new InvalidArgumentException("Filter type cannot be null. Use priority.");
+            throw new InvalidArgumentException("Filter type cannot be null. Use priority or deadline.");
         }
 
         for (String validType : ValidationConstants.VALID_FILTER_TYPES) {
@@ -74,7 +74,7 @@ public class CommandValidator {
             }
         }
 
-        throw new InvalidArgumentException("Invalid filter type: " + filterType + ". Use priority");
+        throw new InvalidArgumentException("Invalid filter type: " + filterType + ". Use priority or deadline");
     }
 
     /**
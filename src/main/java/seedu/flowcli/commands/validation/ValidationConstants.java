@@ -18,7 +18,8 @@ public class ValidationConstants {
 
     // Filter type constants
     public static final String FILTER_TYPE_PRIORITY = "priority";
-    public static final String[] VALID_FILTER_TYPES = { FILTER_TYPE_PRIORITY };
+    public static final String FILTER_TYPE_DEADLINE = "deadline";
+    public static final String[] VALID_FILTER_TYPES = { FILTER_TYPE_PRIORITY, FILTER_TYPE_DEADLINE };
 
     // Sort field constants
     public static final String SORT_FIELD_DEADLINE = "deadline";
@@ -0,0 +1,94 @@
+package seedu.flowcli.daemon;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Sends command lines to a running {@link DaemonServer} and copies its output to a stream as it arrives.
+ *
+ * <p>Lines are sent by a second thread as they are read, so a script piping commands into the client sees
+ * the output of each command while it is still producing the next.
+ */
+public final class DaemonClient {
+    private DaemonClient() {
+    }
+
+    /**
+     * Runs the command lines on the daemon listening on the socket.
+     *
+     * @param commandLines Lines to send, each sent as soon as the iterator returns it
+     * @param out Where the output of the commands is copied
+     * @return the daemon's exit status: 0 if every command succeeded, 1 if any failed
+     * @throws IOException if no daemon is listening on the socket or the connection is lost
+     */
+    public static int run(Path socketPath, Iterable<String> commandLines, OutputStream out) throws IOException {
+        try (SocketChannel channel = SocketChannel.open(StandardProtocolFamily.UNIX)) {
+            channel.connect(UnixDomainSocketAddress.of(socketPath));
+
+            AtomicReference<Exception> sendFailure = new AtomicReference<>();
+            Thread sender = new Thread(() -> {
+                try {
+                    send(channel, commandLines);
+                } catch (IOException | UncheckedIOException e) {
+                    sendFailure.set(e);
+                }
+            }, "flowcli-client-sender");
+            // The daemon may stop on 'bye' while the sender still waits for input that will never be sent
+            sender.setDaemon(true);
+            sender.start();
+
+            DataInputStream replies = new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel)));
+            byte[] buffer = new byte[0];
+            while (true) {
+                byte type;
+                try {
+                    type = replies.readByte();
+                } catch (EOFException e) {
+                    IOException lost = new IOException(
+                            "The daemon closed the connection before the commands finished", e);
+                    if (sendFailure.get() != null) {
+                        lost.addSuppressed(sendFailure.get());
+                    }
+                    throw lost;
+                }
+                int value = replies.readInt();
+                if (type == DaemonProtocol.EXIT) {
+                    out.flush();
+                    return value;
+                }
+                if (type != DaemonProtocol.OUTPUT || value < 0) {
+                    throw new IOException("Unexpected reply from the daemon");
+                }
+                if (buffer.length < value) {
+                    buffer = new byte[value];
+                }
+                replies.readFully(buffer, 0, value);
+                out.write(buffer, 0, value);
+                out.flush();
+            }
+        }
+    }
+
+    private static void send(SocketChannel channel, Iterable<String> commandLines) throws IOException {
+        Writer request = Channels.newWriter(channel, StandardCharsets.UTF_8);
+        for (String line : commandLines) {
+            request.write(line);
+            request.write('\n');
+            request.flush();
+        }
+        // Tells the daemon there are no more commands
+        channel.shutdownOutput();
+    }
+}
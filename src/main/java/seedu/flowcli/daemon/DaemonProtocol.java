@@ -0,0 +1,57 @@
+package seedu.flowcli.daemon;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Wire format between {@link DaemonServer} and {@link DaemonClient}.
+ *
+ * <p>The client sends command lines as UTF-8 text, one per line, and shuts down its side of the
+ * connection after the last. The daemon answers with frames, each a type byte followed by a big-endian
+ * int: an {@link #OUTPUT} frame carries that many bytes of console output, sent after each command, and a
+ * single {@link #EXIT} frame carries the exit status and ends the reply.
+ */
+final class DaemonProtocol {
+    static final byte OUTPUT = 'O';
+    static final byte EXIT = 'X';
+
+    private DaemonProtocol() {
+    }
+
+    /**
+     * Returns a stream that sends everything written to it as output frames.
+     * It should be buffered, since every write becomes a frame.
+     */
+    static OutputStream outputFrames(OutputStream connection) {
+        DataOutputStream frames = new DataOutputStream(connection);
+        return new OutputStream() {
+            @Override
+            public void write(int value) throws IOException {
+                write(new byte[] { (byte) value }, 0, 1);
+            }
+
+            @Override
+            public void write(byte[] bytes, int offset, int length) throws IOException {
+                if (length == 0) {
+                    return;
+                }
+                frames.writeByte(OUTPUT);
+                frames.writeInt(length);
+                frames.write(bytes, offset, length);
+            }
+
+            @Override
+            public void flush() throws IOException {
+                frames.flush();
+            }
+        };
+    }
+
+    static void writeExit(OutputStream connection, int status) throws IOException {
+        DataOutputStream frames = new DataOutputStream(connection);
+        frames.writeByte(EXIT);
+        frames.writeInt(status);
+        frames.flush();
+    }
+}
@@ -0,0 +1,312 @@
+package seedu.flowcli.daemon;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import seedu.flowcli.commands.Command;
+import seedu.flowcli.commands.core.CommandContext;
+import seedu.flowcli.commands.core.CommandFactory;
+import seedu.flowcli.commands.core.ExportCommandHandler;
+import seedu.flowcli.exceptions.FlowCLIException;
+import seedu.flowcli.exceptions.ProjectLoadException;
+import seedu.flowcli.exceptions.StorageException;
+import seedu.flowcli.metrics.MetricsRegistry;
+import seedu.flowcli.parsers.CommandParser;
+import seedu.flowcli.project.ProjectList;
+import seedu.flowcli.storage.AutosaveScheduler;
+import seedu.flowcli.storage.Storage;
+import seedu.flowcli.ui.ConsoleUi;
+
+/**
+ * Keeps the projects in memory and runs commands sent by {@link DaemonClient}s over a Unix domain socket,
+ * so that a script running many commands pays for starting the JVM and loading the data only once.
+ *
+ * <p>Each client is read on its own thread, so a client that connects and then stalls does not hold up
+ * the others. Commands still run one at a time, and each command's output
+ * is sent back as soon as it finishes. Every client shares one {@link CommandContext}, so state such as the
+ * last sorted view or the next sort page carries over from one command to the next as it would between
+ * lines of an interactive session. Each line goes through the same {@link CommandParser},
+ * {@link CommandFactory} and {@link Command#execute} pipeline as interactive input, except that a command
+ * with missing arguments fails instead of prompting for them. Changes are journaled and autosaved as in an
+ * interactive session. {@code bye} saves and stops the daemon, as does {@link #close()}.
+ */
+public class DaemonServer {
+    static final String COMMENT_PREFIX = "#";
+    private static final String STOPPING_MESSAGE = "The daemon is stopping; the command was not run.";
+    private static final long CLIENT_STOP_TIMEOUT_SECONDS = 5;
+    private static final Logger logger = Logger.getLogger(DaemonServer.class.getName());
+
+    private final CommandParser parser = new CommandParser();
+    private final CommandFactory factory = new CommandFactory();
+    private final CommandContext context;
+    private final Path socketPath;
+    private final CountDownLatch stopped = new CountDownLatch(1);
+    /** Held while a command runs, so commands from different clients never interleave. */
+    private final Object commandLock = new Object();
+    private final Set<SocketChannel> clients = new HashSet<>();
+    private final List<Thread> clientThreads = new ArrayList<>();
+    private ServerSocketChannel server;
+    private volatile boolean isClosed;
+    private boolean isStoppedByBye;
+
+    /**
+     * Creates a daemon over the given projects.
+     *
+     * @param storage Storage to journal to and save to when the daemon stops, or null to skip both
+     * @param autosave Scheduler for background saves, or null to only save when the daemon stops
+     * @param socketPath Path of the socket file to listen on
+     */
+    public DaemonServer(ProjectList projects, ConsoleUi ui, Storage storage, AutosaveScheduler autosave,
+            Path socketPath) {
+        this.context = new CommandContext(projects, ui, new ExportCommandHandler(projects, ui), storage, autosave);
+        this.socketPath = socketPath;
+    }
+
+    /**
+     * Starts listening on the socket. A socket file left behind by a daemon that is no longer running
+     * is replaced.
+     *
+     * @throws IOException if another daemon is listening on the socket or it cannot be bound
+     */
+    public synchronized void bind() throws IOException {
+        UnixDomainSocketAddress address = UnixDomainSocketAddress.of(socketPath);
+        if (Files.exists(socketPath)) {
+            if (isListening(address)) {
+                throw new IOException("A daemon is already listening on " + socketPath);
+            }
+            Files.delete(socketPath);
+        }
+        server = ServerSocketChannel.open(StandardProtocolFamily.UNIX);
+        server.bind(address);
+        logger.fine("FlowCLI daemon listening on " + socketPath);
+    }
+
+    /**
+     * Serves clients until one of them runs {@code bye} or the daemon is closed, then saves the projects
+     * and removes the socket file.
+     */
+    public void serve() {
+        assert server != null : "bind() must be called first";
+        try {
+            int clientNumber = 0;
+            while (!isClosed) {
+                SocketChannel client;
+                try {
+                    client = server.accept();
+                } catch (ClosedChannelException e) {
+                    break;
+                } catch (IOException e) {
+                    logger.log(Level.SEVERE, "Could not accept a client: " + e.getMessage(), e);
+                    break;
+                }
+                startClient(client, ++clientNumber);
+            }
+            stopClients();
+            synchronized (commandLock) {
+                if (!isStoppedByBye) {
+                    // 'bye' would have saved already
+                    saveOnStop();
+                }
+            }
+        } finally {
+            closeServer();
+            stopped.countDown();
+        }
+    }
+
+    /**
+     * Stops accepting clients. Commands already running finish and their output is sent; lines that
+     * clients have not sent yet are not run. The projects are then saved and {@link #serve()} returns.
+     */
+    public void close() {
+        isClosed = true;
+        closeServer();
+    }
+
+    private void startClient(SocketChannel connection, int clientNumber) {
+        Thread thread = new Thread(() -> {
+            try (connection) {
+                serveClient(connection);
+            } catch (IOException e) {
+                // The client went away; the commands it sent so far have run
+                logger.log(Level.WARNING, "Lost connection to a client: " + e.getMessage(), e);
+            } finally {
+                synchronized (clients) {
+                    clients.remove(connection);
+                    clientThreads.remove(Thread.currentThread());
+                }
+            }
+        }, "flowcli-daemon-client-" + clientNumber);
+        synchronized (clients) {
+            clients.add(connection);
+            clientThreads.add(thread);
+        }
+        thread.start();
+    }
+
+    /**
+     * Ends the input of every connected client, so each finishes its current command and gets its exit
+     * status, then waits for them.
+     */
+    private void stopClients() {
+        List<Thread> threads;
+        synchronized (clients) {
+            for (SocketChannel client : clients) {
+                try {
+                    client.shutdownInput();
+                } catch (IOException e) {
+                    logger.log(Level.FINE, "Could not end a client's input: " + e.getMessage(), e);
+                }
+            }
+            threads = new ArrayList<>(clientThreads);
+        }
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(CLIENT_STOP_TIMEOUT_SECONDS);
+        for (Thread thread : threads) {
+            try {
+                thread.join(Math.max(1, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime())));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Waits for {@link #serve()} to finish saving after {@link #close()}.
+     *
+     * @return whether it finished in time
+     */
+    public boolean awaitStopped(long timeout, TimeUnit unit) throws InterruptedException {
+        return stopped.await(timeout, unit);
+    }
+
+    /**
+     * Runs every command the client sends, sending each command's output back as soon as it finishes,
+     * and then an exit status: 0 if every command succeeded, 1 if any failed.
+     */
+    private void serveClient(SocketChannel connection) throws IOException {
+        BufferedReader reader = new BufferedReader(
+                new InputStreamReader(Channels.newInputStream(connection), StandardCharsets.UTF_8));
+        OutputStream replies = Channels.newOutputStream(connection);
+        OutputStream frames = DaemonProtocol.outputFrames(replies);
+        // Output is collected while the command runs and sent after, so a client that stops reading
+        // its replies never holds up commands from other clients
+        ByteArrayOutputStream pending = new ByteArrayOutputStream();
+        PrintStream out = new PrintStream(pending, false, StandardCharsets.UTF_8);
+        int failures = 0;
+        boolean shouldContinue = true;
+        String line;
+        while (shouldContinue && (line = reader.readLine()) != null) {
+            String trimmedLine = line.trim();
+            if (trimmedLine.isEmpty() || trimmedLine.startsWith(COMMENT_PREFIX)) {
+                continue;
+            }
+            synchronized (commandLock) {
+                if (isClosed) {
+                    failures++;
+                    out.println(STOPPING_MESSAGE);
+                    shouldContinue = false;
+                } else if (!runCommand(line, out)) {
+                    failures++;
+                }
+                if (isStoppedByBye) {
+                    shouldContinue = false;
+                }
+            }
+            out.flush();
+            pending.writeTo(frames);
+            pending.reset();
+            frames.flush();
+        }
+        DaemonProtocol.writeExit(replies, failures == 0 ? 0 : 1);
+    }
+
+    /**
+     * Runs one command line with the UI printing to the given stream. Must hold {@link #commandLock}.
+     * A {@code bye} stops the daemon.
+     *
+     * @return whether the command succeeded
+     */
+    private boolean runCommand(String line, PrintStream out) {
+        ConsoleUi ui = context.getUi();
+        ui.setOutput(out);
+        CommandParser.ParsedCommand parsed = parser.parse(line);
+        Command command = factory.create(parsed.getType(), parsed.getArguments());
+        long start = System.nanoTime();
+        try {
+            if (!context.execute(command)) {
+                isStoppedByBye = true;
+                close();
+            }
+            return true;
+        } catch (FlowCLIException e) {
+            ui.showError(e.getMessage());
+        } catch (ProjectLoadException e) {
+            logger.log(Level.WARNING, e.getMessage(), e);
+            ui.showError(e.getMessage());
+        } catch (Exception e) {
+            logger.log(Level.SEVERE, "Unexpected error: " + e.getMessage(), e);
+            ui.showUnexpectedError();
+        } finally {
+            MetricsRegistry.getInstance().recordCommand(parsed.getType(), System.nanoTime() - start);
+            ui.flush();
+            ui.setOutput(null);
+        }
+        return false;
+    }
+
+    private void saveOnStop() {
+        if (context.getStorage() == null) {
+            return;
+        }
+        try {
+            context.save();
+        } catch (StorageException e) {
+            // The journal still holds every change, so they are replayed on the next start
+            logger.log(Level.SEVERE, "Could not save when stopping the daemon: " + e.getMessage(), e);
+            System.err.println("WARNING: Could not save data: " + e.getMessage());
+        }
+    }
+
+    private static boolean isListening(UnixDomainSocketAddress address) {
+        try {
+            SocketChannel.open(address).close();
+            return true;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private synchronized void closeServer() {
+        if (server == null || !server.isOpen()) {
+            return;
+        }
+        try {
+            server.close();
+            Files.deleteIfExists(socketPath);
+        } catch (IOException e) {
+            logger.log(Level.WARNING, "Could not close the daemon socket: " + e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package seedu.flowcli.exceptions;
+
+/**
+ * Represents a save refused because another process changed the data file since it was loaded.
+ */
+public class DataFileConflictException extends StorageException {
+    public DataFileConflictException(String message) {
+        super(message);
+    }
+
+    public DataFileConflictException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
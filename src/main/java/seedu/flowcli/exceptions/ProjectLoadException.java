@@ -0,0 +1,11 @@
+package seedu.flowcli.exceptions;
+
+/**
+ * Represents a failure to read the tasks of a project that was left unloaded at startup.
+ * It is unchecked because any access to the project's tasks can trigger the read.
+ */
+public class ProjectLoadException extends RuntimeException {
+    public ProjectLoadException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
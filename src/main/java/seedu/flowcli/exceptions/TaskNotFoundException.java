@@ -0,0 +1,7 @@
+package seedu.flowcli.exceptions;
+
+public class TaskNotFoundException extends FlowCLIException {
+    public TaskNotFoundException(long taskId) {
+        super("Task #" + taskId + " not found. Use 'list <projectIndex>' to see task IDs.");
+    }
+}
@@ -0,0 +1,224 @@
+package seedu.flowcli.metrics;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import seedu.flowcli.parsers.CommandParser.CommandType;
+
+/**
+ * In-process metrics of the hot paths: command latencies, storage traffic, load and save times,
+ * the sizes of the inputs to filtering and sorting, and export throughput.
+ *
+ * <p>Everything is recorded into {@link Histogram}s and {@link LongAdder}s that are created up
+ * front, so recording never locks or allocates and can happen on the command, autosave and
+ * compaction threads alike. The application records into {@link #getInstance()}; tests can
+ * create their own registries.
+ */
+public final class MetricsRegistry {
+    private static final MetricsRegistry INSTANCE = new MetricsRegistry();
+    private static final double NANOS_PER_MICRO = 1_000.0;
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+    private static final double NANOS_PER_SECOND = 1_000_000_000.0;
+
+    private final Map<CommandType, Histogram> commandNanos = new EnumMap<>(CommandType.class);
+    private final LongAdder storageBytesRead = new LongAdder();
+    private final LongAdder storageBytesWritten = new LongAdder();
+    private final Histogram loadNanos = new Histogram();
+    private final Histogram saveNanos = new Histogram();
+    private final Histogram filterInputSizes = new Histogram();
+    private final Histogram sortInputSizes = new Histogram();
+    private final Histogram exportNanos = new Histogram();
+    private final LongAdder exportedTasks = new LongAdder();
+    private final LongAdder exportedBytes = new LongAdder();
+
+    public MetricsRegistry() {
+        // Every type gets its histogram now, so the map is never written after construction
+        for (CommandType type : CommandType.values()) {
+            commandNanos.put(type, new Histogram());
+        }
+    }
+
+    /**
+     * Returns the registry the application records into.
+     */
+    public static MetricsRegistry getInstance() {
+        return INSTANCE;
+    }
+
+    public void recordCommand(CommandType type, long nanos) {
+        commandNanos.get(type).record(nanos);
+    }
+
+    public Histogram getCommandLatency(CommandType type) {
+        return commandNanos.get(type);
+    }
+
+    public void addBytesRead(long bytes) {
+        storageBytesRead.add(bytes);
+    }
+
+    public void addBytesWritten(long bytes) {
+        storageBytesWritten.add(bytes);
+    }
+
+    public long getBytesRead() {
+        return storageBytesRead.sum();
+    }
+
+    public long getBytesWritten() {
+        return storageBytesWritten.sum();
+    }
+
+    public void recordLoad(long nanos) {
+        loadNanos.record(nanos);
+    }
+
+    public void recordSave(long nanos) {
+        saveNanos.record(nanos);
+    }
+
+    public Histogram getLoadTimes() {
+        return loadNanos;
+    }
+
+    public Histogram getSaveTimes() {
+        return saveNanos;
+    }
+
+    /**
+     * Records the number of tasks a filter looked at.
+     */
+    public void recordFilterInput(long taskCount) {
+        filterInputSizes.record(taskCount);
+    }
+
+    /**
+     * Records the number of tasks a sort looked at.
+     */
+    public void recordSortInput(long taskCount) {
+        sortInputSizes.record(taskCount);
+    }
+
+    public Histogram getFilterInputSizes() {
+        return filterInputSizes;
+    }
+
+    public Histogram getSortInputSizes() {
+        return sortInputSizes;
+    }
+
+    public void recordExport(long taskCount, long bytes, long nanos) {
+        exportedTasks.add(taskCount);
+        exportedBytes.add(bytes);
+        exportNanos.record(nanos);
+    }
+
+    /**
+     * Returns the tasks exported per second of time spent exporting, or 0 before the first export.
+     */
+    public double getExportThroughput() {
+        long nanos = exportNanos.getSum();
+        return nanos == 0 ? 0 : exportedTasks.sum() * NANOS_PER_SECOND / nanos;
+    }
+
+    /**
+     * Renders the metrics as the table shown by the {@code stats} command.
+     * Only command types that have run are listed.
+     */
+    public String render() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("Command latency (microseconds):\n");
+        sb.append(String.format(Locale.ROOT, "  %-16s %8s %10s %10s %10s %10s\n",
+                "command", "count", "mean", "p50", "p99", "max"));
+        for (Map.Entry<CommandType, Histogram> entry : commandNanos.entrySet()) {
+            Histogram latency = entry.getValue();
+            if (latency.getCount() == 0) {
+                continue;
+            }
+            sb.append(String.format(Locale.ROOT, "  %-16s %8d %10.1f %10.1f %10.1f %10.1f\n",
+                    commandName(entry.getKey()), latency.getCount(), latency.getMean() / NANOS_PER_MICRO,
+                    latency.getValueAtPercentile(50) / NANOS_PER_MICRO,
+                    latency.getValueAtPercentile(99) / NANOS_PER_MICRO, latency.getMax() / NANOS_PER_MICRO));
+        }
+        sb.append(String.format(Locale.ROOT, "Storage: %d bytes read, %d bytes written\n",
+                getBytesRead(), getBytesWritten()));
+        appendTimes(sb, "Loads", loadNanos);
+        appendTimes(sb, "Saves", saveNanos);
+        appendSizes(sb, "Filter inputs", filterInputSizes);
+        appendSizes(sb, "Sort inputs", sortInputSizes);
+        sb.append(String.format(Locale.ROOT, "Exports: %d, %d tasks, %d bytes, %.0f tasks/s\n",
+                exportNanos.getCount(), exportedTasks.sum(), exportedBytes.sum(), getExportThroughput()));
+        return sb.toString();
+    }
+
+    /**
+     * Renders the metrics as a JSON object. Durations are in nanoseconds.
+     */
+    public String toJson() {
+        StringBuilder sb = new StringBuilder("{\n  \"commands\": {");
+        String separator = "\n";
+        for (Map.Entry<CommandType, Histogram> entry : commandNanos.entrySet()) {
+            if (entry.getValue().getCount() == 0) {
+                continue;
+            }
+            sb.append(separator).append("    \"").append(commandName(entry.getKey())).append("\": ");
+            appendJson(sb, entry.getValue());
+            separator = ",\n";
+        }
+        sb.append(separator.equals("\n") ? "},\n" : "\n  },\n");
+        sb.append("  \"storage\": {\"bytesRead\": ").append(getBytesRead())
+                .append(", \"bytesWritten\": ").append(getBytesWritten()).append("},\n");
+        sb.append("  \"loadNanos\": ");
+        appendJson(sb, loadNanos);
+        sb.append(",\n  \"saveNanos\": ");
+        appendJson(sb, saveNanos);
+        sb.append(",\n  \"filterInputSizes\": ");
+        appendJson(sb, filterInputSizes);
+        sb.append(",\n  \"sortInputSizes\": ");
+        appendJson(sb, sortInputSizes);
+        sb.append(",\n  \"export\": {\"tasks\": ").append(exportedTasks.sum())
+                .append(", \"bytes\": ").append(exportedBytes.sum())
+                .append(", \"tasksPerSecond\": ").append(String.format(Locale.ROOT, "%.1f", getExportThroughput()))
+                .append(", \"nanos\": ");
+        appendJson(sb, exportNanos);
+        sb.append("}\n}\n");
+        return sb.toString();
+    }
+
+    /**
+     * Writes {@link #toJson()} to a file, replacing it.
+     */
+    public void writeJson(Path file) throws IOException {
+        Files.writeString(file, toJson(), StandardCharsets.UTF_8);
+    }
+
+    private static String commandName(CommandType type) {
+        return type.name().toLowerCase(Locale.ROOT).replace('_', '-');
+    }
+
+    private static void appendTimes(StringBuilder sb, String label, Histogram nanos) {
+        sb.append(String.format(Locale.ROOT, "%s: %d, mean %.2f ms, p99 %.2f ms, max %.2f ms\n", label,
+                nanos.getCount(), nanos.getMean() / NANOS_PER_MILLI,
+                nanos.getValueAtPercentile(99) / NANOS_PER_MILLI, nanos.getMax() / NANOS_PER_MILLI));
+    }
+
+    private static void appendSizes(StringBuilder sb, String label, Histogram sizes) {
+        sb.append(String.format(Locale.ROOT, "%s: %d, mean %.1f tasks, p99 %d, max %d\n", label,
+                sizes.getCount(), sizes.getMean(), sizes.getValueAtPercentile(99), sizes.getMax()));
+    }
+
+    private static void appendJson(StringBuilder sb, Histogram histogram) {
+        sb.append("{\"count\": ").append(histogram.getCount())
+                .append(", \"sum\": ").append(histogram.getSum())
+                .append(", \"p50\": ").append(histogram.getValueAtPercentile(50))
+                .append(", \"p90\": ").append(histogram.getValueAtPercentile(90))
+                .append(", \"p99\": ").append(histogram.getValueAtPercentile(99))
+                .append(", \"max\": ").append(histogram.getMax()).append('}');
+    }
+}
@@ -4,20 +4,25 @@ import seedu.flowcli.exceptions.IndexOutOfRangeException;
 import seedu.flowcli.exceptions.InvalidArgumentException;
 import seedu.flowcli.exceptions.InvalidIndexFormatException;
 import seedu.flowcli.exceptions.MissingArgumentException;
+import seedu.flowcli.exceptions.MissingIndexException;
+import seedu.flowcli.exceptions.TaskNotFoundException;
 import seedu.flowcli.project.Project;
 import seedu.flowcli.project.ProjectList;
+import seedu.flowcli.task.Task;
 
 /**
  * Lightweight parser for commands that begin with a project index argument.
  * Accepts only integer indices (1-based) and returns the referenced project if
  * it exists. Any remaining text after the index is preserved for further
- * command-specific parsing.
+ * command-specific parsing. Commands that act on one task can instead call
+ * {@link #resolveTask(boolean)}, which also accepts a task ID such as {@code #12}.
  */
 //@@author Zhenzha0
 public class ArgumentParser {
 
     public static final String INVALID_PROJECT_INDEX_MESSAGE = "Invalid project index: %s. Use the numeric project "
             + "index shown in 'list --all'.";
+    public static final String TASK_ID_PREFIX = "#";
 
     private final String argument;
     private final ProjectList projects;
@@ -26,6 +31,8 @@ public class ArgumentParser {
     private String remainingArgument;
     private String parsedProjectToken;
     private Integer targetProjectIndex;
+    private String taskOptions;
+    private final Tokenizer tokens = new Tokenizer();
 
     public ArgumentParser(String argument, ProjectList projects) throws InvalidArgumentException,
             IndexOutOfRangeException {
@@ -47,6 +54,9 @@ public class ArgumentParser {
         return parsedProjectToken;
     }
 
+    /**
+     * Returns the zero-based index of the target project, or null if the project was not given by index.
+     */
     public Integer getTargetProjectIndex() {
         return targetProjectIndex;
     }
@@ -61,13 +71,11 @@ public class ArgumentParser {
         parsedProjectToken = null;
         targetProjectIndex = null;
 
-        String trimmed = argument.trim();
-        if (trimmed.isEmpty()) {
+        if (!tokens.reset(argument).next()) {
             return;
         }
 
-        String[] parts = trimmed.split("\\s+", 2);
-        String firstToken = parts[0];
+        String firstToken = tokens.token();
         parsedProjectToken = firstToken;
 
         Integer parsedIndex = tryParsePositiveInt(firstToken);
@@ -77,14 +85,14 @@ public class ArgumentParser {
             if (zeroBased >= 0 && zeroBased < projects.getProjectListSize()) {
                 targetProject = projects.getProjectByIndex(zeroBased);
             }
-            remainingArgument = parts.length > 1 ? parts[1] : null;
+            remainingArgument = tokens.rest();
             return;
         }
 
         // Non-numeric identifiers are preserved in remainingArgument for
         // commands that do their own parsing (e.g. create-project).
-        remainingArgument = trimmed.length() > firstToken.length() ? trimmed.substring(firstToken.length()).trim()
-                : null;
+        String rest = tokens.rest();
+        remainingArgument = rest == null ? null : rest.trim();
     }
 
     private Integer tryParsePositiveInt(String value) {
@@ -115,4 +123,63 @@ public class ArgumentParser {
         }
     }
     //@@author
+
+    /**
+     * Resolves the task the argument refers to, given either as {@code #<taskId>} or as a
+     * project index followed by a task index, and makes its project the target project.
+     *
+     * @param hasOptions whether text may follow the task reference; it is then returned by
+     *     {@link #getTaskOptions()}
+     * @return the referenced task
+     * @throws TaskNotFoundException if no task has the given ID
+     */
+    public Task resolveTask(boolean hasOptions) throws InvalidArgumentException, InvalidIndexFormatException,
+            MissingArgumentException, IndexOutOfRangeException, MissingIndexException, TaskNotFoundException {
+        taskOptions = null;
+        if (parsedProjectToken != null && parsedProjectToken.startsWith(TASK_ID_PREFIX)) {
+            long taskId = parseTaskId(parsedProjectToken);
+            Task task = projects.findTask(taskId);
+            if (task == null) {
+                throw new TaskNotFoundException(taskId);
+            }
+            if (!hasOptions && remainingArgument != null) {
+                throw new InvalidIndexFormatException(parsedProjectToken + " " + remainingArgument, "task");
+            }
+            targetProject = projects.getProjectOf(task);
+            taskOptions = remainingArgument;
+            return task;
+        }
+
+        validateProjectIndex();
+        String indexText = remainingArgument;
+        if (hasOptions) {
+            if (!tokens.reset(indexText).next()) {
+                throw new MissingArgumentException();
+            }
+            indexText = tokens.token();
+            String options = tokens.rest();
+            taskOptions = options == null ? null : options.trim();
+        }
+        int taskIndex = CommandParser.parseIndexOrNull(indexText, targetProject.size());
+        return targetProject.getProjectTasks().get(taskIndex);
+    }
+
+    /**
+     * Returns the text after the task reference resolved by {@link #resolveTask(boolean)}, or null if there is none.
+     */
+    public String getTaskOptions() {
+        return taskOptions;
+    }
+
+    private static long parseTaskId(String token) throws InvalidIndexFormatException {
+        try {
+            long taskId = Long.parseLong(token.substring(TASK_ID_PREFIX.length()));
+            if (taskId > 0) {
+                return taskId;
+            }
+        } catch (NumberFormatException e) {
+            // Reported below
+        }
+        throw new InvalidIndexFormatException(token, "task");
+    }
 }
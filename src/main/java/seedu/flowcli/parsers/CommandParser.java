@@ -12,9 +12,26 @@ public class CommandParser {
 
     public enum CommandType {
         LIST, MARK, UNMARK, BYE, ADD_TASK, CREATE_PROJECT, DELETE, DELETE_PROJECT, DELETE_TASK, UPDATE_TASK, HELP,
-        SORT_TASKS, FILTER_TASKS, EXPORT_TASKS, STATUS, UNKNOWN
+        SORT_TASKS, FILTER_TASKS, EXPORT_TASKS, STATUS, STATS, SEARCH, UNKNOWN
     }
 
+    /** Lower-case command words, each mapped to the type at the same position of {@link #COMMAND_TYPES}. */
+    private static final String[] COMMAND_WORDS = {
+        "list", "mark", "unmark", "bye", "add-task", "add", "create-project", "create", "delete", "delete-task",
+        "delete-project", "update", "update-task", "help", "sort", "sort-tasks", "filter", "filter-tasks", "export",
+        "export-tasks", "status", "stats", "search"
+    };
+    private static final CommandType[] COMMAND_TYPES = {
+        CommandType.LIST, CommandType.MARK, CommandType.UNMARK, CommandType.BYE, CommandType.ADD_TASK,
+        CommandType.ADD_TASK, CommandType.CREATE_PROJECT, CommandType.CREATE_PROJECT, CommandType.DELETE,
+        CommandType.DELETE_TASK, CommandType.DELETE_PROJECT, CommandType.UPDATE_TASK, CommandType.UPDATE_TASK,
+        CommandType.HELP, CommandType.SORT_TASKS, CommandType.SORT_TASKS, CommandType.FILTER_TASKS,
+        CommandType.FILTER_TASKS, CommandType.EXPORT_TASKS, CommandType.EXPORT_TASKS, CommandType.STATUS,
+        CommandType.STATS, CommandType.SEARCH
+    };
+
+    private final Tokenizer tokens = new Tokenizer();
+
     public static class ParsedCommand {
         private final CommandType type;
         private final String arguments;
@@ -33,56 +50,34 @@ public class CommandParser {
         }
     }
 
+    /**
+     * Splits a line into its command word and arguments. Command words are matched ignoring case.
+     * The parser reuses one {@link Tokenizer}, so each caller should own its parser.
+     */
     public ParsedCommand parse(String line) {
-        String trimmed = line.trim();
-        if (trimmed.isEmpty()) {
+        tokens.reset(line);
+        if (!tokens.next()) {
             return new ParsedCommand(CommandType.UNKNOWN, "");
         }
 
-        String[] parts = trimmed.split("\\s+", 2);
-        String commandWord = parts[0].toLowerCase();
-        String arguments = parts.length > 1 ? parts[1] : "";
-
-        switch (commandWord) {
-        case "list":
-            return new ParsedCommand(CommandType.LIST, arguments);
-        case "mark":
-            return new ParsedCommand(CommandType.MARK, arguments);
-        case "unmark":
-            return new ParsedCommand(CommandType.UNMARK, arguments);
-        case "bye":
-            return new ParsedCommand(CommandType.BYE, arguments);
-        case "add-task":
-        case "add":
-            return new ParsedCommand(CommandType.ADD_TASK, arguments);
-        case "create-project":
-        case "create":
-            return new ParsedCommand(CommandType.CREATE_PROJECT, arguments);
-        case "delete":
-            return new ParsedCommand(CommandType.DELETE, arguments);
-        case "delete-task":
-            return new ParsedCommand(CommandType.DELETE_TASK, arguments);
-        case "delete-project":
-            return new ParsedCommand(CommandType.DELETE_PROJECT, arguments);
-        case "update":
-        case "update-task":
-            return new ParsedCommand(CommandType.UPDATE_TASK, arguments);
-        case "help":
-            return new ParsedCommand(CommandType.HELP, arguments);
-        case "sort":
-        case "sort-tasks":
-            return new ParsedCommand(CommandType.SORT_TASKS, arguments);
-        case "filter":
-        case "filter-tasks":
-            return new ParsedCommand(CommandType.FILTER_TASKS, arguments);
-        case "export":
-        case "export-tasks":
-            return new ParsedCommand(CommandType.EXPORT_TASKS, arguments);
-        case "status":
-            return new ParsedCommand(CommandType.STATUS, arguments);
-        default:
+        String rest = tokens.rest();
+        String arguments = rest == null ? "" : rest;
+        if (tokens.isTokenAscii()) {
+            for (int i = 0; i < COMMAND_WORDS.length; i++) {
+                if (tokens.tokenEqualsLowerAscii(COMMAND_WORDS[i])) {
+                    return new ParsedCommand(COMMAND_TYPES[i], arguments);
+                }
+            }
             return new ParsedCommand(CommandType.UNKNOWN, arguments);
         }
+
+        String commandWord = tokens.token().toLowerCase();
+        for (int i = 0; i < COMMAND_WORDS.length; i++) {
+            if (COMMAND_WORDS[i].equals(commandWord)) {
+                return new ParsedCommand(COMMAND_TYPES[i], arguments);
+            }
+        }
+        return new ParsedCommand(CommandType.UNKNOWN, arguments);
     }
     //@@author
 
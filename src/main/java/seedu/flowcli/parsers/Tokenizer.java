@@ -0,0 +1,178 @@
+package seedu.flowcli.parsers;
+
+/**
+ * Splits a line into whitespace-separated tokens in a single pass without regular expressions.
+ *
+ * <p>The tokenizer is a view over the line: the current token is a pair of offsets, and text is only
+ * copied out when a caller asks for it with {@link #token()} or {@link #rest()}. One tokenizer can be
+ * reused for many lines with {@link #reset(String)}.
+ *
+ * <p>It accepts exactly the same input as the {@code line.trim().split("\\s+")} idiom it replaces:
+ * the line is first trimmed like {@link String#trim()}, and tokens are then separated by runs of the
+ * characters matched by the regular expression {@code \s} (space, tab, line feed, vertical tab, form
+ * feed and carriage return).
+ */
+public final class Tokenizer {
+    private String line = "";
+    private int begin;
+    private int end;
+    private int position;
+    private int tokenStart;
+    private int tokenEnd;
+
+    public Tokenizer() {
+    }
+
+    public Tokenizer(String line) {
+        reset(line);
+    }
+
+    /**
+     * Starts tokenizing a new line; a null line has no tokens.
+     *
+     * @return this tokenizer
+     */
+    public Tokenizer reset(String line) {
+        this.line = line == null ? "" : line;
+        int start = 0;
+        end = this.line.length();
+        while (start < end && this.line.charAt(start) <= ' ') {
+            start++;
+        }
+        while (end > start && this.line.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        begin = start;
+        position = start;
+        tokenStart = start;
+        tokenEnd = start;
+        return this;
+    }
+
+    /**
+     * Returns whether the trimmed line is empty.
+     */
+    public boolean isEmpty() {
+        return begin == end;
+    }
+
+    /**
+     * Moves to the next token.
+     *
+     * @return false if there are no more tokens
+     */
+    public boolean next() {
+        int start = skipSeparators(position);
+        if (start >= end) {
+            position = end;
+            tokenStart = end;
+            tokenEnd = end;
+            return false;
+        }
+        int stop = start;
+        while (stop < end && !isSeparator(line.charAt(stop))) {
+            stop++;
+        }
+        tokenStart = start;
+        tokenEnd = stop;
+        position = stop;
+        return true;
+    }
+
+    /**
+     * Returns the number of tokens after the current one, without moving.
+     */
+    public int countRemaining() {
+        int count = 0;
+        int index = skipSeparators(position);
+        while (index < end) {
+            count++;
+            while (index < end && !isSeparator(line.charAt(index))) {
+                index++;
+            }
+            index = skipSeparators(index);
+        }
+        return count;
+    }
+
+    /**
+     * Returns a copy of the current token.
+     */
+    public String token() {
+        return line.substring(tokenStart, tokenEnd);
+    }
+
+    public int tokenLength() {
+        return tokenEnd - tokenStart;
+    }
+
+    public boolean tokenEquals(String text) {
+        return tokenLength() == text.length() && line.startsWith(text, tokenStart);
+    }
+
+    /**
+     * Compares the current token with the given text like {@link String#equalsIgnoreCase(String)}.
+     */
+    public boolean tokenEqualsIgnoreCase(String text) {
+        return tokenLength() == text.length() && line.regionMatches(true, tokenStart, text, 0, text.length());
+    }
+
+    public boolean tokenStartsWith(String prefix) {
+        return tokenLength() >= prefix.length() && line.startsWith(prefix, tokenStart);
+    }
+
+    /**
+     * Returns whether the current token only contains ASCII characters, whose case can be folded
+     * without looking at the locale.
+     */
+    public boolean isTokenAscii() {
+        for (int i = tokenStart; i < tokenEnd; i++) {
+            if (line.charAt(i) >= 0x80) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Compares an ASCII token with lower-case ASCII text, ignoring the case of the token.
+     */
+    public boolean tokenEqualsLowerAscii(String lowerCaseText) {
+        if (tokenLength() != lowerCaseText.length()) {
+            return false;
+        }
+        for (int i = 0; i < lowerCaseText.length(); i++) {
+            char c = line.charAt(tokenStart + i);
+            if (c >= 'A' && c <= 'Z') {
+                c = (char) (c + ('a' - 'A'));
+            }
+            if (c != lowerCaseText.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the text after the current token without the separators in front of it, as the second
+     * element of {@code split("\\s+", 2)} would, or null if there is none.
+     */
+    public String rest() {
+        int start = skipSeparators(tokenEnd);
+        return start < end ? line.substring(start, end) : null;
+    }
+
+    private int skipSeparators(int index) {
+        while (index < end && isSeparator(line.charAt(index))) {
+            index++;
+        }
+        return index;
+    }
+
+    /**
+     * Returns whether the character is matched by the regular expression {@code \s}.
+     */
+    static boolean isSeparator(char c) {
+        return c == ' ' || (c >= '\t' && c <= '\r');
+    }
+}
@@ -0,0 +1,192 @@
+package seedu.flowcli.project;
+
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Supplier;
+
+/**
+ * Guards a {@link ProjectList} together with its projects and their task lists, so that one thread can
+ * change them while others read them.
+ *
+ * <p>Changes run in short exclusive sections. Small reads, such as a lookup by name or copying a project
+ * for a background save, run optimistically: they take no lock at all and are run again under a shared
+ * lock only if a change happened meanwhile. An optimistic reader may therefore see the model halfway
+ * through a change; it must not act on what it reads until {@link #read} returns, and any exception it
+ * throws from such a view is discarded along with the attempt. Readers with side effects, such as a
+ * command printing a listing, use {@link #readLocked} instead, which is never repeated.
+ *
+ * <p>Sections nest: a thread already writing can read or write again, and a thread already reading can
+ * read again, without blocking on itself. A thread that is reading cannot start writing.
+ *
+ * <p>Parts of the model tidy themselves up on first read: task lists load their tasks or compact away deleted
+ * ones, and the task ID index builds its map. That runs through {@link #maintain}: never during an optimistic
+ * read, which is then repeated under the shared lock, and one part at a time under the shared lock. Each run
+ * bumps a counter that optimistic reads also check, so they never trust a part that was tidied up while they
+ * read it.
+ */
+public final class ModelLock {
+    private static final RetryUnderLock RETRY = new RetryUnderLock();
+
+    private final StampedLock lock = new StampedLock();
+    private final ThreadLocal<Hold> holds = ThreadLocal.withInitial(Hold::new);
+    private volatile Thread writer;
+    /** Odd while a task list is being tidied up under the shared lock. */
+    private volatile int maintenanceCount;
+
+    /**
+     * Runs a reader that has no side effects and returns its result, optimistically if possible.
+     */
+    public <T> T read(Supplier<T> reader) {
+        Hold hold = holds.get();
+        if (hold.isReading() || writer == Thread.currentThread()) {
+            return reader.get();
+        }
+        long stamp = lock.tryOptimisticRead();
+        int maintenance = maintenanceCount;
+        if (stamp != 0 && (maintenance & 1) == 0) {
+            hold.isOptimistic = true;
+            try {
+                T result = reader.get();
+                if (isUnchanged(stamp, maintenance)) {
+                    return result;
+                }
+            } catch (RuntimeException e) {
+                if (e != RETRY && isUnchanged(stamp, maintenance)) {
+                    throw e;
+                }
+            } finally {
+                hold.isOptimistic = false;
+            }
+        }
+        return readLocked(reader::get);
+    }
+
+    /**
+     * Runs a reader under the shared lock, blocking writers until it returns.
+     */
+    public <T, E extends Exception> T readLocked(Section<T, E> reader) throws E {
+        Hold hold = holds.get();
+        if (hold.readCount > 0 || writer == Thread.currentThread()) {
+            return reader.run();
+        }
+        long stamp = lock.readLock();
+        hold.readCount++;
+        try {
+            return reader.run();
+        } finally {
+            hold.readCount--;
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Runs a writer under the exclusive lock.
+     *
+     * @throws IllegalStateException if the calling thread is reading
+     */
+    public <T, E extends Exception> T write(Section<T, E> writer) throws E {
+        long stamp = beginWrite();
+        try {
+            return writer.run();
+        } finally {
+            endWrite(stamp);
+        }
+    }
+
+    /**
+     * Takes the exclusive lock unless the calling thread already holds it.
+     *
+     * @return the stamp to pass to {@link #endWrite}
+     * @throws IllegalStateException if the calling thread is reading
+     */
+    public long beginWrite() {
+        if (writer == Thread.currentThread()) {
+            return 0;
+        }
+        if (holds.get().isReading()) {
+            throw new IllegalStateException("The model cannot be changed while it is being read");
+        }
+        long stamp = lock.writeLock();
+        writer = Thread.currentThread();
+        return stamp;
+    }
+
+    /**
+     * Releases the exclusive lock taken by the matching {@link #beginWrite}.
+     */
+    public void endWrite(long stamp) {
+        if (stamp == 0) {
+            return;
+        }
+        writer = null;
+        lock.unlockWrite(stamp);
+    }
+
+    /**
+     * Returns whether the calling thread holds the exclusive lock.
+     */
+    public boolean isWriting() {
+        return writer == Thread.currentThread();
+    }
+
+    /**
+     * Runs a task that tidies up part of the model on behalf of a reader.
+     * Optimistic reads are repeated under the shared lock instead.
+     */
+    public void maintain(Runnable task) {
+        Hold hold = holds.get();
+        if (hold.isOptimistic) {
+            throw RETRY;
+        }
+        if (hold.isMaintaining) {
+            task.run();
+            return;
+        }
+        synchronized (this) {
+            maintenanceCount++;
+            hold.isMaintaining = true;
+            try {
+                task.run();
+            } finally {
+                hold.isMaintaining = false;
+                maintenanceCount++;
+            }
+        }
+    }
+
+    private boolean isUnchanged(long stamp, int maintenance) {
+        // validate() orders the reads before it, so the count is read after everything the reader read
+        return lock.validate(stamp) && maintenanceCount == maintenance;
+    }
+
+    /**
+     * Code run inside a section.
+     */
+    @FunctionalInterface
+    public interface Section<T, E extends Exception> {
+        T run() throws E;
+    }
+
+    /**
+     * What the calling thread holds of the lock.
+     */
+    private static final class Hold {
+        private int readCount;
+        private boolean isOptimistic;
+        private boolean isMaintaining;
+
+        boolean isReading() {
+            return readCount > 0 || isOptimistic;
+        }
+    }
+
+    /**
+     * Thrown inside an optimistic read that needs maintenance, to repeat it under the shared lock.
+     */
+    private static final class RetryUnderLock extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        RetryUnderLock() {
+            super("Optimistic read needs the shared lock", null, false, false);
+        }
+    }
+}
@@ -20,6 +20,21 @@ public class Project {
         projectTasks = new TaskList();
     }
 
+    /**
+     * Creates a project holding the given tasks, e.g. an unloaded list read from a data file on first use.
+     */
+    public Project(String projectName, TaskList projectTasks) {
+        this(projectName);
+        this.projectTasks = projectTasks;
+    }
+
+    /**
+     * Returns an independent copy of this project and its tasks.
+     */
+    public Project copy() {
+        return new Project(projectName, projectTasks.copy());
+    }
+
     public int size() {
         return projectTasks.size();
     }
@@ -40,8 +55,12 @@ public class Project {
         projectTasks.addTask(description);
     }
 
-    public void addTask(String description, LocalDate deadline, int priority) {
-        projectTasks.addTask(description, deadline, priority);
+    public Task addTask(String description, LocalDate deadline, int priority) {
+        return projectTasks.addTask(description, deadline, priority);
+    }
+
+    public void addTask(long id, String description, LocalDate deadline, int priority) {
+        projectTasks.addTask(id, description, deadline, priority);
     }
 
     public Task deleteTask(int index) throws IndexOutOfRangeException {
@@ -49,20 +68,29 @@ public class Project {
 
     }
 
+    public void deleteTask(Task task) {
+        projectTasks.delete(task);
+    }
+
     public Task updateTask(int index, String newDescription, boolean updateDescription,
             LocalDate newDeadline, boolean updateDeadline, Integer newPriority, boolean updatePriority)
             throws IndexOutOfRangeException {
-        Task task = projectTasks.get(index);
-        if (updateDescription) {
-            task.setDescription(newDescription);
-        }
-        if (updateDeadline) {
-            task.setDeadline(newDeadline);
-        }
-        if (updatePriority) {
-            task.setPriority(newPriority);
-        }
-        return task;
+        return projectTasks.update(index, newDescription, updateDescription, newDeadline, updateDeadline,
+                newPriority, updatePriority);
+    }
+
+    public Task updateTask(Task task, String newDescription, boolean updateDescription,
+            LocalDate newDeadline, boolean updateDeadline, Integer newPriority, boolean updatePriority) {
+        return projectTasks.update(task, newDescription, updateDescription, newDeadline, updateDeadline,
+                newPriority, updatePriority);
+    }
+
+    /**
+     * Returns a counter that changes whenever the project's tasks change.
+     * Project names cannot change, so the task list version covers the whole project.
+     */
+    public long getVersion() {
+        return projectTasks.getVersion();
     }
 
     public String toString() {
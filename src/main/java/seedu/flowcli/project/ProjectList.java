@@ -1,71 +1,290 @@
 package seedu.flowcli.project;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
 
 import seedu.flowcli.exceptions.IndexOutOfRangeException;
 import seedu.flowcli.exceptions.ProjectNotFoundException;
+import seedu.flowcli.task.Task;
+import seedu.flowcli.task.TaskIdIndex;
+import seedu.flowcli.task.TaskList;
+import seedu.flowcli.task.TaskTextIndex;
 
+/**
+ * Ordered list of projects with a case-insensitive name index.
+ * The index maps each case-folded name to the projects with that name in list order,
+ * so name lookups and duplicate checks take constant time.
+ * Tasks in the projects get IDs from a shared {@link TaskIdIndex}, so a task can be
+ * found by ID without knowing its project, again in constant time.
+ *
+ * <p>The list, its projects and their tasks are guarded by one {@link ModelLock}. The methods of
+ * this class take it themselves, reading optimistically and changing in short exclusive sections;
+ * code that reads or changes several things that must stay consistent, such as a whole command,
+ * wraps them in {@link #read}, {@link #readLocked} or {@link #write}.
+ */
 //@@author Zhenzha0
 public class ProjectList {
     private final List<Project> projects = new ArrayList<>();
+    private final Map<String, List<Project>> nameIndex = new HashMap<>();
+    private final Map<TaskList, Project> owners = new IdentityHashMap<>();
+    private final TaskIdIndex taskIds = new TaskIdIndex();
+    private final ModelLock lock = new ModelLock();
+    private final List<Project> view = Collections.unmodifiableList(projects);
 
     public void addProject(String projectName) {
-        projects.add(new Project(projectName));
+        addProject(new Project(projectName));
+    }
+
+    public void addProject(Project project) {
+        long stamp = lock.beginWrite();
+        try {
+            projects.add(project);
+            nameIndex.computeIfAbsent(foldCase(project.getProjectName()), key -> new ArrayList<>(1)).add(project);
+            own(project);
+        } finally {
+            lock.endWrite(stamp);
+        }
     }
 
     public Project delete(int zeroBasedIndex) throws IndexOutOfRangeException {
-        if (zeroBasedIndex < 0 || zeroBasedIndex >= projects.size()) {
-            throw new IndexOutOfRangeException(projects.size());
+        long stamp = lock.beginWrite();
+        try {
+            if (zeroBasedIndex < 0 || zeroBasedIndex >= projects.size()) {
+                throw new IndexOutOfRangeException(projects.size());
+            }
+            Project returnProject = projects.remove(zeroBasedIndex);
+            unindex(returnProject);
+            return returnProject;
+        } finally {
+            lock.endWrite(stamp);
         }
-        Project returnProject = projects.get(zeroBasedIndex);
-        projects.remove(zeroBasedIndex);
-        return returnProject;
     }
 
     public Project deleteProject(Project project) {
-        Project removedProject = project;
-        projects.remove(project);
-        return removedProject;
+        long stamp = lock.beginWrite();
+        try {
+            if (projects.remove(project)) {
+                unindex(project);
+            }
+            return project;
+        } finally {
+            lock.endWrite(stamp);
+        }
     }
 
     public Project getProjectByIndex(int zeroBasedIndex) throws IndexOutOfRangeException {
-        if (zeroBasedIndex < 0 || zeroBasedIndex >= projects.size()) {
-            throw new IndexOutOfRangeException(projects.size());
+        Project project = lock.read(() -> zeroBasedIndex >= 0 && zeroBasedIndex < projects.size()
+                ? projects.get(zeroBasedIndex)
+                : null);
+        if (project == null) {
+            throw new IndexOutOfRangeException(getProjectListSize());
         }
-        return projects.get(zeroBasedIndex);
+        return project;
     }
 
+    /**
+     * Returns a read-only view of the projects. It follows later changes, so while other threads may
+     * change the list it should only be used inside a read or write section.
+     */
     public List<Project> getProjectList() {
-        return projects;
+        return view;
     }
 
     public int getProjectListSize() {
-        return projects.size();
+        return lock.read(projects::size);
+    }
+
+    /**
+     * Returns the lock guarding this list, its projects and their tasks.
+     */
+    public ModelLock getLock() {
+        return lock;
+    }
+
+    /**
+     * Runs a reader without side effects, optimistically if possible; see {@link ModelLock#read}.
+     */
+    public <T> T read(Supplier<T> reader) {
+        return lock.read(reader);
+    }
+
+    /**
+     * Runs a reader under the shared lock; see {@link ModelLock#readLocked}.
+     */
+    public <T, E extends Exception> T readLocked(ModelLock.Section<T, E> reader) throws E {
+        return lock.readLocked(reader);
+    }
+
+    /**
+     * Runs a writer under the exclusive lock; see {@link ModelLock#write}.
+     */
+    public <T, E extends Exception> T write(ModelLock.Section<T, E> writer) throws E {
+        return lock.write(writer);
     }
 
+    /**
+     * Returns the first project whose name matches ignoring case.
+     *
+     * @throws ProjectNotFoundException if no project has that name
+     */
     public Project getProject(String projectName) throws ProjectNotFoundException {
-        for (Project project : projects) {
-            if (project.getProjectName().equalsIgnoreCase(projectName)) {
-                return project;
-            }
+        Project project = projectName == null ? null : lock.read(() -> {
+            List<Project> matches = nameIndex.get(foldCase(projectName));
+            return matches == null ? null : matches.get(0);
+        });
+        if (project == null) {
+            throw new ProjectNotFoundException(projectName);
         }
+        return project;
+    }
 
-        throw new ProjectNotFoundException(projectName);
+    /**
+     * Returns whether a project with the given name exists, ignoring case.
+     */
+    public boolean hasProject(String projectName) {
+        return projectName != null && lock.read(() -> nameIndex.containsKey(foldCase(projectName)));
     }
 
     public boolean isEmpty() {
-        return projects.isEmpty();
+        return lock.read(projects::isEmpty);
+    }
+
+    /**
+     * Returns the task with the given ID, or null if no project holds it.
+     */
+    public Task findTask(long taskId) {
+        return lock.read(() -> {
+            if (!taskIds.isBuilt()) {
+                // Building the map reads every list, which may load or compact them
+                lock.maintain(taskIds::build);
+            }
+            return taskIds.find(taskId);
+        });
+    }
+
+    /**
+     * Finds the tasks whose descriptions contain every word of the query, best match first.
+     *
+     * @param query Words separated by spaces; a word ending in {@value TaskTextIndex#PREFIX_WILDCARD}
+     *     matches as a prefix
+     * @param limit Maximum number of tasks to return, or 0 for all
+     * @see TaskTextIndex#search
+     */
+    public TaskTextIndex.Matches search(String query, int limit) {
+        return lock.read(() -> {
+            if (!taskIds.isTextBuilt()) {
+                // Building the index reads every list, which may load or compact them
+                lock.maintain(taskIds::buildText);
+            }
+            return taskIds.getTextIndex().search(query, limit);
+        });
+    }
+
+    /**
+     * Returns the project holding the given task, or null if no project in this list holds it.
+     */
+    public Project getProjectOf(Task task) {
+        return lock.read(() -> {
+            TaskList tasks = taskIds.listOf(task);
+            return tasks == null ? null : owners.get(tasks);
+        });
+    }
+
+    /**
+     * Returns the highest task ID assigned in this list, including IDs of deleted tasks.
+     */
+    public long getLastTaskId() {
+        return lock.read(taskIds::getLastId);
+    }
+
+    /**
+     * Makes sure new tasks get IDs above the given one. Used when loading, so that IDs of
+     * tasks deleted before the last save are not handed out again.
+     */
+    public void reserveTaskIds(long lastTaskId) {
+        lock.write(() -> {
+            taskIds.reserve(lastTaskId);
+            return null;
+        });
+    }
+
+    /**
+     * Returns a copy of the projects as they are now, which later changes to this list do not affect.
+     * Each task list is copied with {@link TaskList#copy()}, sharing its store until either side changes,
+     * so taking a snapshot costs constant time per project and never copies tasks. A long-running reader,
+     * such as an export, can then read the snapshot without holding the lock.
+     */
+    public ProjectList snapshot() {
+        return lock.read(() -> {
+            ProjectList snapshot = new ProjectList();
+            snapshot.reserveTaskIds(taskIds.getLastId());
+            for (Project project : projects) {
+                snapshot.addProject(project.copy());
+            }
+            return snapshot;
+        });
     }
 
     public String render() {
-        String output = "";
-        for (Project project : projects) {
-            output += project;
+        return lock.readLocked(() -> {
+            StringBuilder output = new StringBuilder();
+            for (Project project : projects) {
+                output.append(project);
+            }
+            return output.toString();
+        });
+    }
+
+    /**
+     * Folds a name so that two names are equal after folding exactly when they are
+     * {@link String#equalsIgnoreCase equal ignoring case}.
+     */
+    private static String foldCase(String name) {
+        StringBuilder folded = null;
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            char f = Character.toLowerCase(Character.toUpperCase(c));
+            if (f != c && folded == null) {
+                folded = new StringBuilder(name.length()).append(name, 0, i);
+            }
+            if (folded != null) {
+                folded.append(f);
+            }
         }
+        return folded == null ? name : folded.toString();
+    }
+
+    private void own(Project project) {
+        owners.put(project.getProjectTasks(), project);
+        project.getProjectTasks().attach(taskIds, lock);
+    }
 
-        return output;
+    private void disown(Project project) {
+        owners.remove(project.getProjectTasks());
+        project.getProjectTasks().detach(taskIds);
     }
 
+    private void unindex(Project project) {
+        disown(project);
+        String key = foldCase(project.getProjectName());
+        List<Project> matches = nameIndex.get(key);
+        if (matches == null) {
+            return;
+        }
+        for (int i = 0; i < matches.size(); i++) {
+            if (matches.get(i) == project) {
+                matches.remove(i);
+                break;
+            }
+        }
+        if (matches.isEmpty()) {
+            nameIndex.remove(key);
+        }
+    }
 }
 //@@author
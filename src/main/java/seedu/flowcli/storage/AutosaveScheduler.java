@@ -0,0 +1,209 @@
+package seedu.flowcli.storage;
+
+import java.time.Duration;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import seedu.flowcli.exceptions.StorageException;
+import seedu.flowcli.project.Project;
+import seedu.flowcli.project.ProjectList;
+
+/**
+ * Saves the project list in the background after it changes.
+ *
+ * <p>Bursts of changes are coalesced: a save runs once no change has been reported
+ * for the quiet period, or once the oldest unsaved change reaches the maximum delay.
+ * Commands mutate the model under the exclusive {@link ProjectList} lock; the autosave
+ * thread copies the projects that changed since the last copy in an optimistic read,
+ * which takes no lock and is only repeated if a command changed the model meanwhile,
+ * then writes the copy without holding any lock, so the command loop never waits for
+ * disk I/O or for a copy. Copying a project takes constant time, as its copy shares the
+ * task store until the project next changes.
+ */
+public class AutosaveScheduler {
+    public static final Duration DEFAULT_QUIET_PERIOD = Duration.ofSeconds(2);
+    public static final Duration DEFAULT_MAX_DELAY = Duration.ofSeconds(10);
+
+    private static final Logger logger = Logger.getLogger(AutosaveScheduler.class.getName());
+
+    private final Storage storage;
+    private final ProjectList projects;
+    private final long quietPeriodNanos;
+    private final long maxDelayNanos;
+    private final Consumer<String> failureHandler;
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "flowcli-autosave");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /** Last copy of each live project and the version it was copied at. */
+    private Map<Project, ProjectCopy> copies = new IdentityHashMap<>();
+
+    private ScheduledFuture<?> pendingSave;
+    private boolean isDirty;
+    private long firstDirtyNanos;
+    private boolean hasReportedFailure;
+    private boolean isClosed;
+
+    /**
+     * Creates a scheduler for the given project list.
+     *
+     * @param storage Storage to save to
+     * @param projects The live project list; its lock guards all mutations
+     * @param quietPeriod Time without changes after which a save runs
+     * @param maxDelay Longest time a change may stay unsaved while changes keep arriving
+     * @param failureHandler Receives the message of a failed save; called on the autosave thread
+     */
+    public AutosaveScheduler(Storage storage, ProjectList projects, Duration quietPeriod, Duration maxDelay,
+            Consumer<String> failureHandler) {
+        assert storage != null : "Storage cannot be null";
+        assert !quietPeriod.isNegative() && !maxDelay.isNegative() : "Delays cannot be negative";
+        this.storage = storage;
+        this.projects = projects;
+        this.quietPeriodNanos = quietPeriod.toNanos();
+        this.maxDelayNanos = maxDelay.toNanos();
+        this.failureHandler = failureHandler;
+    }
+
+    /**
+     * Records that the model changed and (re)schedules a save.
+     */
+    public synchronized void markDirty() {
+        if (isClosed) {
+            return;
+        }
+        long now = System.nanoTime();
+        if (!isDirty) {
+            isDirty = true;
+            firstDirtyNanos = now;
+        }
+        long delay = Math.max(0, Math.min(quietPeriodNanos, firstDirtyNanos + maxDelayNanos - now));
+        if (pendingSave != null) {
+            pendingSave.cancel(false);
+        }
+        pendingSave = executor.schedule(this::autosave, delay, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Saves immediately on the calling thread and cancels any pending autosave.
+     *
+     * @throws StorageException if the save fails
+     */
+    public void saveNow() throws StorageException {
+        synchronized (this) {
+            if (pendingSave != null) {
+                pendingSave.cancel(false);
+                pendingSave = null;
+            }
+        }
+        saveSnapshot();
+    }
+
+    /**
+     * Cancels any pending autosave and stops the autosave thread. A save already in progress finishes.
+     */
+    public synchronized void close() {
+        isClosed = true;
+        if (pendingSave != null) {
+            pendingSave.cancel(false);
+        }
+        executor.shutdown();
+    }
+
+    private void autosave() {
+        try {
+            saveSnapshot();
+            synchronized (this) {
+                hasReportedFailure = false;
+            }
+        } catch (StorageException e) {
+            logger.log(Level.WARNING, "Autosave failed: " + e.getMessage(), e);
+            reportFailure(e.getMessage());
+        } catch (RuntimeException e) {
+            logger.log(Level.SEVERE, "Unexpected autosave error: " + e.getMessage(), e);
+            reportFailure(e.getMessage());
+        }
+    }
+
+    private void reportFailure(String message) {
+        synchronized (this) {
+            // Report a run of failures once instead of after every change
+            if (hasReportedFailure) {
+                return;
+            }
+            hasReportedFailure = true;
+        }
+        failureHandler.accept(message);
+    }
+
+    private void saveSnapshot() throws StorageException {
+        Map<Project, ProjectCopy> previousCopies;
+        synchronized (this) {
+            isDirty = false;
+            previousCopies = copies;
+        }
+        Snapshot snapshot = projects.read(() -> copyChangedProjects(previousCopies));
+        synchronized (this) {
+            copies = snapshot.copies;
+        }
+        storage.save(snapshot.projects, snapshot.journalSequence);
+    }
+
+    /**
+     * Copies the live projects, reusing the previous copy of every project whose version has not changed.
+     * Reused copies keep their identity, so a segmented save does not rewrite them either.
+     * Only reads the live projects, so that it can run as an optimistic read.
+     */
+    private Snapshot copyChangedProjects(Map<Project, ProjectCopy> previousCopies) {
+        long journalSequence = storage.getJournalSequence();
+        ProjectList snapshot = new ProjectList();
+        snapshot.reserveTaskIds(projects.getLastTaskId());
+        Map<Project, ProjectCopy> nextCopies = new IdentityHashMap<>();
+        for (Project project : projects.getProjectList()) {
+            long version = project.getVersion();
+            ProjectCopy copy = previousCopies.get(project);
+            if (copy == null || copy.version != version) {
+                copy = new ProjectCopy(project.copy(), version);
+            }
+            nextCopies.put(project, copy);
+            snapshot.addProject(copy.project);
+        }
+        return new Snapshot(snapshot, nextCopies, journalSequence);
+    }
+
+    /**
+     * A copy of the live projects, the copies it reused or made, and the journal sequence it was taken at.
+     */
+    private static class Snapshot {
+        final ProjectList projects;
+        final Map<Project, ProjectCopy> copies;
+        final long journalSequence;
+
+        Snapshot(ProjectList projects, Map<Project, ProjectCopy> copies, long journalSequence) {
+            this.projects = projects;
+            this.copies = copies;
+            this.journalSequence = journalSequence;
+        }
+    }
+
+    /**
+     * A copy of a live project and the version it was taken at.
+     */
+    private static class ProjectCopy {
+        final Project project;
+        final long version;
+
+        ProjectCopy(Project project, long version) {
+            this.project = project;
+            this.version = version;
+        }
+    }
+}
@@ -0,0 +1,337 @@
+package seedu.flowcli.storage;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+import seedu.flowcli.exceptions.DataCorruptedException;
+import seedu.flowcli.exceptions.IndexOutOfRangeException;
+import seedu.flowcli.project.Project;
+import seedu.flowcli.project.ProjectList;
+import seedu.flowcli.task.Task;
+
+/**
+ * Reads and writes the binary snapshot format.
+ *
+ * <p>Layout (all integers are unsigned LEB128 varints unless noted):
+ * <pre>
+ * magic      4 bytes  0x89 'F' 'L' 'B'
+ * version    1 byte
+ * checkpoint          journal sequence covered by the snapshot
+ * last id             highest task ID assigned so far (version 2)
+ * strings    count, then (byte length, UTF-8 bytes) for each distinct string
+ * projects   count, then for each project:
+ *              name string index, task count, then for each task:
+ *                flags byte      bit 3 = has deadline, bit 2 = done, bits 0-1 = priority
+ *                description     string index
+ *                deadline        zigzag epoch day, only if the flag is set
+ *                id              task ID, 0 if it has none (version 2)
+ * crc32      4 bytes big-endian, over everything before it
+ * </pre>
+ * Version 1 files, written before tasks had IDs, are still read.
+ */
+final class BinarySnapshotCodec {
+    static final int VERSION = 2;
+    private static final int VERSION_WITHOUT_IDS = 1;
+
+    private static final byte[] MAGIC = {(byte) 0x89, 'F', 'L', 'B'};
+    private static final int HEADER_LENGTH = MAGIC.length + 1;
+    private static final int CRC_LENGTH = 4;
+    private static final int PRIORITY_MASK = 0x03;
+    private static final int DONE_FLAG = 0x04;
+    private static final int DEADLINE_FLAG = 0x08;
+
+    private BinarySnapshotCodec() {
+    }
+
+    /**
+     * Returns whether the file starts with the binary snapshot magic number.
+     */
+    static boolean isBinary(File file) throws IOException {
+        byte[] head = new byte[MAGIC.length];
+        try (InputStream in = Files.newInputStream(file.toPath())) {
+            if (in.readNBytes(head, 0, head.length) < head.length) {
+                return false;
+            }
+        }
+        for (int i = 0; i < MAGIC.length; i++) {
+            if (head[i] != MAGIC[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Writes the projects and journal checkpoint to the given file in binary form.
+     */
+    static void write(List<Project> projects, long lastTaskId, File file, long checkpoint) throws IOException {
+        // Intern every string first so the table can precede the records that refer to it
+        Map<String, Integer> stringIndex = new HashMap<>();
+        List<String> strings = new ArrayList<>();
+        for (Project project : projects) {
+            intern(project.getProjectName(), stringIndex, strings);
+            for (Task task : project.getProjectTasks().getTasks()) {
+                intern(task.getDescription(), stringIndex, strings);
+            }
+        }
+
+        CRC32 crc = new CRC32();
+        try (OutputStream out = new BufferedOutputStream(new FileOutputStream(file))) {
+            VarintWriter writer = new VarintWriter(out, crc);
+            writer.writeBytes(MAGIC);
+            writer.writeByte(VERSION);
+            writer.writeVarLong(checkpoint);
+            writer.writeVarLong(lastTaskId);
+
+            writer.writeVarLong(strings.size());
+            for (String value : strings) {
+                byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+                writer.writeVarLong(bytes.length);
+                writer.writeBytes(bytes);
+            }
+
+            writer.writeVarLong(projects.size());
+            for (Project project : projects) {
+                List<Task> tasks = project.getProjectTasks().getTasks();
+                writer.writeVarLong(stringIndex.get(project.getProjectName()));
+                writer.writeVarLong(tasks.size());
+                for (Task task : tasks) {
+                    int flags = task.getPriority() & PRIORITY_MASK;
+                    if (task.isDone()) {
+                        flags |= DONE_FLAG;
+                    }
+                    long epochDay = task.getDeadlineEpochDay();
+                    if (epochDay != Task.NO_DEADLINE) {
+                        flags |= DEADLINE_FLAG;
+                    }
+                    writer.writeByte(flags);
+                    writer.writeVarLong(stringIndex.get(nullToEmpty(task.getDescription())));
+                    if (epochDay != Task.NO_DEADLINE) {
+                        writer.writeVarLong((epochDay << 1) ^ (epochDay >> 63));
+                    }
+                    writer.writeVarLong(task.getId());
+                }
+            }
+
+            long checksum = crc.getValue();
+            out.write((int) (checksum >>> 24));
+            out.write((int) (checksum >>> 16));
+            out.write((int) (checksum >>> 8));
+            out.write((int) checksum);
+        }
+    }
+
+    /**
+     * Reads a binary snapshot.
+     *
+     * @throws DataCorruptedException if the file is truncated, fails its checksum or holds invalid values
+     */
+    static Storage.LoadedSnapshot read(File file) throws IOException, DataCorruptedException {
+        byte[] data = Files.readAllBytes(file.toPath());
+        if (data.length < HEADER_LENGTH + CRC_LENGTH) {
+            throw new DataCorruptedException("Binary snapshot is truncated (" + data.length + " bytes)");
+        }
+        int version = data[MAGIC.length] & 0xFF;
+        if (version != VERSION && version != VERSION_WITHOUT_IDS) {
+            throw new DataCorruptedException("Unsupported binary snapshot version " + version
+                    + " (expected " + VERSION_WITHOUT_IDS + " or " + VERSION + ")");
+        }
+        boolean hasIds = version == VERSION;
+
+        int bodyEnd = data.length - CRC_LENGTH;
+        CRC32 crc = new CRC32();
+        crc.update(data, 0, bodyEnd);
+        long storedChecksum = ((data[bodyEnd] & 0xFFL) << 24) | ((data[bodyEnd + 1] & 0xFFL) << 16)
+                | ((data[bodyEnd + 2] & 0xFFL) << 8) | (data[bodyEnd + 3] & 0xFFL);
+        if (crc.getValue() != storedChecksum) {
+            throw new DataCorruptedException("Binary snapshot checksum mismatch");
+        }
+
+        VarintReader reader = new VarintReader(data, HEADER_LENGTH, bodyEnd);
+        long checkpoint = reader.readVarLong();
+        long lastTaskId = hasIds ? reader.readVarLong() : 0;
+
+        String[] strings = new String[reader.readCount()];
+        for (int i = 0; i < strings.length; i++) {
+            int length = reader.readCount();
+            strings[i] = reader.readString(length);
+        }
+
+        ProjectList projects = new ProjectList();
+        projects.reserveTaskIds(lastTaskId);
+        int projectCount = reader.readCount();
+        for (int p = 0; p < projectCount; p++) {
+            String name = reader.readString(strings);
+            Project project;
+            try {
+                project = new Project(name);
+            } catch (IllegalArgumentException e) {
+                throw new DataCorruptedException("Binary snapshot project " + (p + 1)
+                        + ": Invalid project name - " + e.getMessage());
+            }
+            int taskCount = reader.readCount();
+            for (int t = 0; t < taskCount; t++) {
+                int flags = reader.readByte();
+                int priority = flags & PRIORITY_MASK;
+                if (priority < 1) {
+                    throw new DataCorruptedException("Binary snapshot project " + (p + 1) + " task " + (t + 1)
+                            + ": Invalid priority value (must be 1, 2, or 3)");
+                }
+                String description = reader.readString(strings);
+                LocalDate deadline = null;
+                if ((flags & DEADLINE_FLAG) != 0) {
+                    long zigzag = reader.readVarLong();
+                    long epochDay = (zigzag >>> 1) ^ -(zigzag & 1);
+                    try {
+                        deadline = LocalDate.ofEpochDay(epochDay);
+                    } catch (DateTimeException e) {
+                        throw new DataCorruptedException("Binary snapshot project " + (p + 1) + " task " + (t + 1)
+                                + ": Invalid deadline - " + e.getMessage());
+                    }
+                }
+                long id = hasIds ? reader.readVarLong() : 0;
+                project.addTask(id, description, deadline, priority);
+                if ((flags & DONE_FLAG) != 0) {
+                    try {
+                        project.getProjectTasks().mark(t);
+                    } catch (IndexOutOfRangeException e) {
+                        throw new DataCorruptedException("Binary snapshot project " + (p + 1) + " task " + (t + 1)
+                                + ": Failed to mark task - " + e.getMessage());
+                    }
+                }
+            }
+            projects.addProject(project);
+        }
+
+        if (reader.position() != bodyEnd) {
+            throw new DataCorruptedException("Binary snapshot has " + (bodyEnd - reader.position())
+                    + " unexpected trailing bytes");
+        }
+        return new Storage.LoadedSnapshot(projects, checkpoint);
+    }
+
+    private static void intern(String value, Map<String, Integer> stringIndex, List<String> strings) {
+        String key = nullToEmpty(value);
+        if (!stringIndex.containsKey(key)) {
+            stringIndex.put(key, strings.size());
+            strings.add(key);
+        }
+    }
+
+    private static String nullToEmpty(String value) {
+        return value == null ? "" : value;
+    }
+
+    /**
+     * Writes bytes and varints to a stream while feeding them to a checksum.
+     */
+    private static class VarintWriter {
+        private final OutputStream out;
+        private final CRC32 crc;
+
+        VarintWriter(OutputStream out, CRC32 crc) {
+            this.out = out;
+            this.crc = crc;
+        }
+
+        void writeByte(int value) throws IOException {
+            out.write(value);
+            crc.update(value);
+        }
+
+        void writeBytes(byte[] bytes) throws IOException {
+            out.write(bytes);
+            crc.update(bytes);
+        }
+
+        void writeVarLong(long value) throws IOException {
+            while ((value & ~0x7FL) != 0) {
+                writeByte((int) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            writeByte((int) value);
+        }
+    }
+
+    /**
+     * Reads bytes and varints from an array, reporting truncation as corruption.
+     */
+    private static class VarintReader {
+        private static final int MAX_VARINT_BYTES = 10;
+
+        private final byte[] data;
+        private final int end;
+        private int position;
+
+        VarintReader(byte[] data, int position, int end) {
+            this.data = data;
+            this.position = position;
+            this.end = end;
+        }
+
+        int position() {
+            return position;
+        }
+
+        int readByte() throws DataCorruptedException {
+            if (position >= end) {
+                throw new DataCorruptedException("Binary snapshot is truncated at byte " + position);
+            }
+            return data[position++] & 0xFF;
+        }
+
+        long readVarLong() throws DataCorruptedException {
+            long value = 0;
+            for (int i = 0; i < MAX_VARINT_BYTES; i++) {
+                int b = readByte();
+                value |= (long) (b & 0x7F) << (7 * i);
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new DataCorruptedException("Binary snapshot has a malformed varint at byte " + position);
+        }
+
+        /**
+         * Reads a count or length, which must fit in the remaining data.
+         */
+        int readCount() throws DataCorruptedException {
+            int start = position;
+            long value = readVarLong();
+            if (value < 0 || value > end - position) {
+                throw new DataCorruptedException("Binary snapshot has an invalid count " + value
+                        + " at byte " + start);
+            }
+            return (int) value;
+        }
+
+        String readString(int length) {
+            String value = new String(data, position, length, StandardCharsets.UTF_8);
+            position += length;
+            return value;
+        }
+
+        String readString(String[] strings) throws DataCorruptedException {
+            int start = position;
+            long index = readVarLong();
+            if (index < 0 || index >= strings.length) {
+                throw new DataCorruptedException("Binary snapshot has an invalid string index " + index
+                        + " at byte " + start);
+            }
+            return strings[(int) index];
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package seedu.flowcli.storage;
+
+/**
+ * What a save does when another process has changed the data file since this one loaded or last saved it.
+ */
+public enum ConflictPolicy {
+    /**
+     * Replays the changes made since the last save over the data file as the other process left it.
+     * Falls back to {@link #FAIL} if projects were added or removed meanwhile.
+     */
+    REBASE,
+    /** Refuses to save, leaving the other process's data file as it is. */
+    FAIL
+}
@@ -0,0 +1,269 @@
+package seedu.flowcli.storage;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Logger;
+import java.util.zip.CRC32C;
+
+/**
+ * Coordinates FlowCLI processes that use the same data file, through a lock file next to it
+ * ({@code <data file>.lock}).
+ *
+ * <p>The data file is replaced or read only while holding an exclusive {@link FileLock} on the lock file,
+ * taken by {@link #acquire()} for the length of one load, save or compaction. The lock file also holds a
+ * {@link Stamp}: a generation number that every save increments, and a hash of the data file that save wrote.
+ * A process compares the stamp with the one it last saw to tell whether another process has replaced the
+ * data file since, without reading the data file itself.
+ *
+ * <p>The first process to open the data file also takes a second lock for as long as it runs, which makes it
+ * the owner of the write-ahead journal; see {@link #isJournalOwner()}. Every other process holds a shared lock
+ * on a third byte while it runs, which tells the owner whether it is alone; see {@link #hasPeers()}.
+ *
+ * <p>A process may hold only one lock on a region of a file, and on some systems closing any channel to the
+ * file drops every lock the process holds on it. Each lock file is therefore opened once per process, and
+ * threads queue on an in-process lock before taking the file lock.
+ */
+final class DataFileLock {
+    private static final Logger logger = Logger.getLogger(DataFileLock.class.getName());
+
+    private static final String LOCK_SUFFIX = ".lock";
+    private static final String STAMP_PREFIX = "FLOWCLI-LOCK|";
+    private static final String GENERATION_KEY = "generation=";
+    private static final String HASH_KEY = "hash=";
+    /** Byte locked by the journal owner, well past the stamp so the two locks never overlap. */
+    private static final long OWNER_POSITION = Long.MAX_VALUE - 1;
+    /** Byte every other process holds a shared lock on; the data file lock ends before it. */
+    private static final long PEER_POSITION = OWNER_POSITION - 1;
+    private static final int MAX_STAMP_LENGTH = 128;
+    private static final int HASH_BUFFER_SIZE = 64 * 1024;
+    private static final Map<Path, LockFile> OPEN_FILES = new ConcurrentHashMap<>();
+
+    private final Path lockPath;
+
+    DataFileLock(String dataFilePath) {
+        this.lockPath = Paths.get(dataFilePath + LOCK_SUFFIX).toAbsolutePath().normalize();
+    }
+
+    /**
+     * Waits until no other process or thread is reading or replacing the data file, then holds it
+     * until the returned hold is closed.
+     *
+     * @throws IOException if the lock file cannot be opened or locked
+     */
+    Hold acquire() throws IOException {
+        LockFile lockFile = open();
+        assert !lockFile.threadLock.isHeldByCurrentThread() : "The data file lock is not reentrant";
+        lockFile.threadLock.lock();
+        try {
+            return new Hold(lockFile, lockFile.channel.lock(0, PEER_POSITION, false));
+        } catch (IOException | RuntimeException e) {
+            lockFile.threadLock.unlock();
+            throw e;
+        }
+    }
+
+    /**
+     * Returns whether this process owns the journal of the data file, claiming it if no running process does.
+     * Every {@link Storage} in the owning process shares the claim, which lasts until the process exits.
+     * A process that does not get the claim registers as a peer instead.
+     *
+     * @throws IOException if the lock file cannot be opened or locked
+     */
+    boolean isJournalOwner() throws IOException {
+        LockFile lockFile = open();
+        synchronized (lockFile) {
+            if (!lockFile.isOwnerChecked) {
+                lockFile.isJournalOwner = lockFile.channel.tryLock(OWNER_POSITION, 1, false) != null;
+                if (!lockFile.isJournalOwner) {
+                    // Shared, so peers never wait for each other; only the owner's check below excludes them
+                    lockFile.channel.lock(PEER_POSITION, 1, true);
+                }
+                lockFile.isOwnerChecked = true;
+            }
+            return lockFile.isJournalOwner;
+        }
+    }
+
+    /**
+     * Returns whether another running process may be reading the data file. Only the journal owner can tell;
+     * any other process assumes so. A process that registers afterwards reads the data file only once it gets
+     * the data file lock, so the answer holds while the caller keeps that lock.
+     *
+     * @throws IOException if the lock file cannot be opened or locked
+     */
+    boolean hasPeers() throws IOException {
+        if (!isJournalOwner()) {
+            return true;
+        }
+        LockFile lockFile = open();
+        synchronized (lockFile) {
+            FileLock probe = lockFile.channel.tryLock(PEER_POSITION, 1, false);
+            if (probe == null) {
+                return true;
+            }
+            probe.release();
+            return false;
+        }
+    }
+
+    private LockFile open() throws IOException {
+        LockFile lockFile = OPEN_FILES.get(lockPath);
+        if (lockFile != null) {
+            return lockFile;
+        }
+        synchronized (OPEN_FILES) {
+            lockFile = OPEN_FILES.get(lockPath);
+            if (lockFile == null) {
+                lockFile = new LockFile(FileChannel.open(lockPath, StandardOpenOption.CREATE,
+                        StandardOpenOption.READ, StandardOpenOption.WRITE));
+                OPEN_FILES.put(lockPath, lockFile);
+            }
+            return lockFile;
+        }
+    }
+
+    /**
+     * Returns the CRC32C of a file's contents.
+     */
+    static long hash(Path file) throws IOException {
+        CRC32C crc = new CRC32C();
+        byte[] buffer = new byte[HASH_BUFFER_SIZE];
+        try (InputStream in = Files.newInputStream(file)) {
+            int read;
+            while ((read = in.read(buffer)) > 0) {
+                crc.update(buffer, 0, read);
+            }
+        }
+        return crc.getValue();
+    }
+
+    /**
+     * Which save last wrote the data file: its generation and the hash of what it wrote.
+     */
+    static final class Stamp {
+        /** Stamp of a data file no FlowCLI with locking has saved yet. */
+        static final Stamp NONE = new Stamp(0, 0);
+
+        private final long generation;
+        private final long hash;
+
+        Stamp(long generation, long hash) {
+            this.generation = generation;
+            this.hash = hash;
+        }
+
+        long getGeneration() {
+            return generation;
+        }
+
+        long getHash() {
+            return hash;
+        }
+
+        /**
+         * Returns the stamp of the next save, which wrote a file with the given hash.
+         */
+        Stamp next(long newHash) {
+            return new Stamp(generation + 1, newHash);
+        }
+
+        String encode() {
+            return STAMP_PREFIX + GENERATION_KEY + generation + "|" + HASH_KEY + Long.toHexString(hash) + "\n";
+        }
+
+        static Stamp decode(String text) {
+            String[] parts = text.trim().split("\\|");
+            if (parts.length != 3 || !text.startsWith(STAMP_PREFIX) || !parts[1].startsWith(GENERATION_KEY)
+                    || !parts[2].startsWith(HASH_KEY)) {
+                return null;
+            }
+            try {
+                return new Stamp(Long.parseLong(parts[1].substring(GENERATION_KEY.length())),
+                        Long.parseUnsignedLong(parts[2].substring(HASH_KEY.length()), 16));
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+    }
+
+    /**
+     * The data file lock, held until closed.
+     */
+    static final class Hold implements Closeable {
+        private final LockFile lockFile;
+        private final FileLock fileLock;
+
+        private Hold(LockFile lockFile, FileLock fileLock) {
+            this.lockFile = lockFile;
+            this.fileLock = fileLock;
+        }
+
+        /**
+         * Returns the stamp of the last save. A missing or unreadable stamp reads as {@link Stamp#NONE}.
+         */
+        Stamp readStamp() throws IOException {
+            ByteBuffer buffer = ByteBuffer.allocate(MAX_STAMP_LENGTH);
+            while (buffer.hasRemaining()) {
+                if (lockFile.channel.read(buffer, buffer.position()) <= 0) {
+                    break;
+                }
+            }
+            if (buffer.position() == 0) {
+                return Stamp.NONE;
+            }
+            Stamp stamp = Stamp.decode(new String(buffer.array(), 0, buffer.position(), StandardCharsets.UTF_8));
+            if (stamp == null) {
+                logger.warning("Ignoring unreadable data file stamp");
+                return Stamp.NONE;
+            }
+            return stamp;
+        }
+
+        /**
+         * Records the stamp of a save that has just replaced the data file.
+         */
+        void writeStamp(Stamp stamp) throws IOException {
+            ByteBuffer buffer = ByteBuffer.wrap(stamp.encode().getBytes(StandardCharsets.UTF_8));
+            lockFile.channel.truncate(0);
+            while (buffer.hasRemaining()) {
+                lockFile.channel.write(buffer, buffer.position());
+            }
+            lockFile.channel.force(false);
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                fileLock.release();
+            } finally {
+                lockFile.threadLock.unlock();
+            }
+        }
+    }
+
+    /**
+     * A lock file as opened by this process.
+     */
+    private static final class LockFile {
+        private final FileChannel channel;
+        private final ReentrantLock threadLock = new ReentrantLock();
+        private boolean isOwnerChecked;
+        private boolean isJournalOwner;
+
+        LockFile(FileChannel channel) {
+            this.channel = channel;
+        }
+    }
+}
@@ -0,0 +1,255 @@
+package seedu.flowcli.storage;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import seedu.flowcli.exceptions.DataCorruptedException;
+import seedu.flowcli.metrics.MetricsRegistry;
+
+/**
+ * Append-only write-ahead journal of mutations made since the last snapshot.
+ *
+ * <p>Records are appended to an active file ({@code <data file>.journal}). When a
+ * snapshot is about to be written, the active file is rotated to
+ * {@code <data file>.journal.<lastSequence>} so that new records never mix with
+ * the ones the snapshot is going to absorb. Rotated files are deleted once a
+ * snapshot with a checkpoint at or beyond their last sequence is on disk.
+ *
+ * <p>The journal files belong to one process at a time. A process that is not their owner
+ * {@linkplain #detach() detaches} its journal, which then only numbers records.
+ */
+class Journal {
+    private static final String ACTIVE_SUFFIX = ".journal";
+
+    private final File activeFile;
+    private final File directory;
+    private final String rotatedPrefix;
+
+    private BufferedWriter writer;
+    private long lastSequence;
+    private int pendingRecords;
+    private boolean isDetached;
+
+    Journal(String dataFilePath) {
+        this.activeFile = new File(dataFilePath + ACTIVE_SUFFIX);
+        this.directory = activeFile.getAbsoluteFile().getParentFile();
+        this.rotatedPrefix = activeFile.getName() + ".";
+    }
+
+    /**
+     * Leaves the journal files to the process that owns them. Records are still numbered, but nothing
+     * is written, rotated, discarded or replayed any more.
+     */
+    synchronized void detach() {
+        closeWriter();
+        isDetached = true;
+    }
+
+    synchronized boolean isDetached() {
+        return isDetached;
+    }
+
+    synchronized long getLastSequence() {
+        return lastSequence;
+    }
+
+    /**
+     * Sets the sequence number that the next appended record will follow.
+     */
+    synchronized void resetSequence(long sequence) {
+        this.lastSequence = sequence;
+    }
+
+    /**
+     * Returns the number of records appended to the active file since it was opened.
+     */
+    synchronized int getPendingRecords() {
+        return pendingRecords;
+    }
+
+    /**
+     * Appends a record to the active journal file and flushes it to the operating system.
+     *
+     * @return the sequence number assigned to the record
+     */
+    synchronized long append(JournalRecord record) throws IOException {
+        if (isDetached) {
+            return number();
+        }
+        if (writer == null) {
+            writer = new BufferedWriter(new OutputStreamWriter(
+                    new FileOutputStream(activeFile, true), StandardCharsets.UTF_8));
+        }
+        long sequence = lastSequence + 1;
+        String line = record.withSequence(sequence).encode();
+        writer.write(line);
+        writer.write('\n');
+        writer.flush();
+        MetricsRegistry.getInstance().addBytesWritten(line.getBytes(StandardCharsets.UTF_8).length + 1);
+        lastSequence = sequence;
+        pendingRecords++;
+        return sequence;
+    }
+
+    /**
+     * Gives the next sequence number to a record that is not written to the journal files.
+     */
+    synchronized long number() {
+        return ++lastSequence;
+    }
+
+    /**
+     * Closes the active file and moves it aside so that subsequent appends start a new file.
+     *
+     * @return the last sequence number covered by the rotated file (or by earlier files)
+     */
+    synchronized long rotate() throws IOException {
+        closeWriter();
+        if (!isDetached && activeFile.exists() && activeFile.length() > 0) {
+            File rotated = new File(directory, rotatedPrefix + lastSequence);
+            Files.move(activeFile.toPath(), rotated.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+        pendingRecords = 0;
+        return lastSequence;
+    }
+
+    /**
+     * Deletes every journal file whose records are all covered by the given checkpoint.
+     */
+    synchronized void discardUpTo(long checkpoint) throws IOException {
+        if (isDetached) {
+            return;
+        }
+        for (File file : getRotatedFiles()) {
+            if (rotatedSequence(file) <= checkpoint) {
+                Files.deleteIfExists(file.toPath());
+            }
+        }
+        if (writer == null && lastSequence <= checkpoint) {
+            Files.deleteIfExists(activeFile.toPath());
+        }
+    }
+
+    /**
+     * Returns all journal files in replay order: rotated files by sequence, then the active file.
+     */
+    synchronized List<File> getJournalFiles() {
+        if (isDetached) {
+            return new ArrayList<>();
+        }
+        List<File> files = getRotatedFiles();
+        if (activeFile.exists()) {
+            files.add(activeFile);
+        }
+        return files;
+    }
+
+    /**
+     * Returns the rotated files whose records are all at or below the given sequence.
+     */
+    synchronized List<File> getRotatedFilesUpTo(long sequence) {
+        List<File> files = new ArrayList<>();
+        if (isDetached) {
+            return files;
+        }
+        for (File file : getRotatedFiles()) {
+            if (rotatedSequence(file) <= sequence) {
+                files.add(file);
+            }
+        }
+        return files;
+    }
+
+    /**
+     * Renames every journal file with a {@code .backup} suffix so that it is not replayed again.
+     */
+    synchronized void backup() {
+        closeWriter();
+        for (File file : getJournalFiles()) {
+            try {
+                Files.move(file.toPath(), new File(file.getPath() + ".backup").toPath(),
+                        StandardCopyOption.REPLACE_EXISTING);
+            } catch (IOException e) {
+                System.err.println("Warning: Could not backup journal file: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Reads every complete record in the given journal file. A trailing line without
+     * a terminator is the remains of an interrupted append and is ignored.
+     *
+     * @throws DataCorruptedException if a complete line is not a valid record
+     */
+    static List<JournalRecord> readRecords(File file) throws IOException, DataCorruptedException {
+        byte[] bytes = Files.readAllBytes(file.toPath());
+        MetricsRegistry.getInstance().addBytesRead(bytes.length);
+        String content = new String(bytes, StandardCharsets.UTF_8);
+        List<JournalRecord> records = new ArrayList<>();
+        int lineNumber = 0;
+        int start = 0;
+        int end;
+        while ((end = content.indexOf('\n', start)) >= 0) {
+            lineNumber++;
+            String line = content.substring(start, end);
+            start = end + 1;
+            if (line.isEmpty()) {
+                continue;
+            }
+            try {
+                records.add(JournalRecord.decode(line));
+            } catch (DataCorruptedException e) {
+                throw new DataCorruptedException(file.getName() + " line " + lineNumber + ": " + e.getMessage(), e);
+            }
+        }
+        return records;
+    }
+
+    private List<File> getRotatedFiles() {
+        List<File> files = new ArrayList<>();
+        File[] candidates = directory.listFiles();
+        if (candidates == null) {
+            return files;
+        }
+        for (File file : candidates) {
+            if (rotatedSequence(file) >= 0) {
+                files.add(file);
+            }
+        }
+        files.sort(Comparator.comparingLong(this::rotatedSequence));
+        return files;
+    }
+
+    private long rotatedSequence(File file) {
+        String name = file.getName();
+        if (!name.startsWith(rotatedPrefix)) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(name.substring(rotatedPrefix.length()));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private void closeWriter() {
+        if (writer == null) {
+            return;
+        }
+        try {
+            writer.close();
+        } catch (IOException e) {
+            System.err.println("Warning: Could not close journal file: " + e.getMessage());
+        }
+        writer = null;
+    }
+}
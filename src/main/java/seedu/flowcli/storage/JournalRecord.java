@@ -0,0 +1,400 @@
+package seedu.flowcli.storage;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Map;
+
+import seedu.flowcli.exceptions.DataCorruptedException;
+import seedu.flowcli.project.Project;
+import seedu.flowcli.project.ProjectList;
+import seedu.flowcli.task.Task;
+import seedu.flowcli.task.TaskList;
+
+/**
+ * Represents a single mutation recorded in the write-ahead journal.
+ * Projects are addressed by name and tasks by their ID, so replaying records in sequence order
+ * reproduces the session, even over a data file where another process added or removed projects.
+ * Journals written before that address projects, and sometimes tasks, by position, and are still replayed.
+ */
+public class JournalRecord {
+    private static final String DELIMITER = "|";
+    private static final String NULL_DEADLINE = "null";
+    /** Marks a project field holding a name rather than a position. */
+    private static final String PROJECT_KEY = "project=";
+
+    /**
+     * Kinds of mutations that can be journaled.
+     */
+    public enum Type {
+        CREATE_PROJECT, DELETE_PROJECT, ADD_TASK, MARK_TASK, UNMARK_TASK, UPDATE_TASK, DELETE_TASK
+    }
+
+    private final long sequence;
+    private final Type type;
+    private final int projectIndex;
+    private final String projectName;
+    private final int taskIndex;
+    private final long taskId;
+    private final String text;
+    private final LocalDate deadline;
+    private final int priority;
+
+    private JournalRecord(long sequence, Type type, int projectIndex, int taskIndex, String text,
+            LocalDate deadline, int priority) {
+        this(sequence, type, projectIndex, taskIndex, 0, text, deadline, priority);
+    }
+
+    private JournalRecord(long sequence, Type type, int projectIndex, int taskIndex, long taskId, String text,
+            LocalDate deadline, int priority) {
+        this(sequence, type, projectIndex, null, taskIndex, taskId, text, deadline, priority);
+    }
+
+    private JournalRecord(long sequence, Type type, int projectIndex, String projectName, int taskIndex,
+            long taskId, String text, LocalDate deadline, int priority) {
+        this.sequence = sequence;
+        this.type = type;
+        this.projectIndex = projectIndex;
+        this.projectName = projectName;
+        this.taskIndex = taskIndex;
+        this.taskId = taskId;
+        this.text = text;
+        this.deadline = deadline;
+        this.priority = priority;
+    }
+
+    public static JournalRecord createProject(String projectName) {
+        return new JournalRecord(0, Type.CREATE_PROJECT, -1, -1, projectName, null, 0);
+    }
+
+    public static JournalRecord deleteProject(int projectIndex) {
+        return new JournalRecord(0, Type.DELETE_PROJECT, projectIndex, -1, null, null, 0);
+    }
+
+    public static JournalRecord deleteProject(String projectName) {
+        return new JournalRecord(0, Type.DELETE_PROJECT, -1, projectName, -1, 0, null, null, 0);
+    }
+
+    /**
+     * Records a task added without an ID; replay gives it the next free ID.
+     */
+    public static JournalRecord addTask(int projectIndex, String description, LocalDate deadline, int priority) {
+        return new JournalRecord(0, Type.ADD_TASK, projectIndex, -1, description, deadline, priority);
+    }
+
+    /**
+     * Records a task added with the given ID, so replay gives it the same ID.
+     */
+    public static JournalRecord addTask(int projectIndex, long taskId, String description, LocalDate deadline,
+            int priority) {
+        return new JournalRecord(0, Type.ADD_TASK, projectIndex, -1, taskId, description, deadline, priority);
+    }
+
+    /**
+     * Records a task added with the given ID to the project with the given name.
+     */
+    public static JournalRecord addTask(String projectName, long taskId, String description, LocalDate deadline,
+            int priority) {
+        return new JournalRecord(0, Type.ADD_TASK, -1, projectName, -1, taskId, description, deadline, priority);
+    }
+
+    public static JournalRecord markTask(int projectIndex, int taskIndex) {
+        return new JournalRecord(0, Type.MARK_TASK, projectIndex, taskIndex, null, null, 0);
+    }
+
+    public static JournalRecord markTask(long taskId) {
+        return new JournalRecord(0, Type.MARK_TASK, -1, -1, taskId, null, null, 0);
+    }
+
+    public static JournalRecord unmarkTask(int projectIndex, int taskIndex) {
+        return new JournalRecord(0, Type.UNMARK_TASK, projectIndex, taskIndex, null, null, 0);
+    }
+
+    public static JournalRecord unmarkTask(long taskId) {
+        return new JournalRecord(0, Type.UNMARK_TASK, -1, -1, taskId, null, null, 0);
+    }
+
+    /**
+     * Records the full state of a task after an update, so replay does not depend
+     * on which fields the user chose to change.
+     */
+    public static JournalRecord updateTask(int projectIndex, int taskIndex, String description,
+            LocalDate deadline, int priority) {
+        return new JournalRecord(0, Type.UPDATE_TASK, projectIndex, taskIndex, description, deadline, priority);
+    }
+
+    /**
+     * Records the full state of the task with the given ID after an update.
+     */
+    public static JournalRecord updateTask(long taskId, String description, LocalDate deadline, int priority) {
+        return new JournalRecord(0, Type.UPDATE_TASK, -1, -1, taskId, description, deadline, priority);
+    }
+
+    public static JournalRecord deleteTask(int projectIndex, int taskIndex) {
+        return new JournalRecord(0, Type.DELETE_TASK, projectIndex, taskIndex, null, null, 0);
+    }
+
+    public static JournalRecord deleteTask(long taskId) {
+        return new JournalRecord(0, Type.DELETE_TASK, -1, -1, taskId, null, null, 0);
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    JournalRecord withSequence(long newSequence) {
+        return new JournalRecord(newSequence, type, projectIndex, projectName, taskIndex, taskId, text, deadline,
+                priority);
+    }
+
+    /**
+     * Returns whether this record addresses a project by position, which only holds over the projects
+     * it was made against.
+     */
+    boolean isAddressedByPosition() {
+        return projectIndex >= 0;
+    }
+
+    /**
+     * Returns this record with its task ID translated for replay over a data file that another process saved
+     * after this record was made. A task added by this record gets a fresh ID if the data file has already
+     * used its ID, and the translation is recorded in {@code renumbered} for the records that follow.
+     *
+     * @param renumbered IDs this session gave its tasks, mapped to the IDs they have in the data file
+     */
+    JournalRecord rebase(ProjectList projects, Map<Long, Long> renumbered) {
+        if (taskId == 0) {
+            return this;
+        }
+        long newTaskId;
+        if (type == Type.ADD_TASK) {
+            if (taskId > projects.getLastTaskId()) {
+                return this;
+            }
+            newTaskId = projects.getLastTaskId() + 1;
+            renumbered.put(taskId, newTaskId);
+        } else {
+            newTaskId = renumbered.getOrDefault(taskId, taskId);
+        }
+        return new JournalRecord(sequence, type, projectIndex, projectName, taskIndex, newTaskId, text, deadline,
+                priority);
+    }
+
+    /**
+     * Encodes this record as a single journal line (without the line terminator).
+     * Task records carry either a task ID or a project and task position; the two forms
+     * have different field counts.
+     */
+    String encode() {
+        StringBuilder sb = new StringBuilder(64);
+        sb.append(sequence).append(DELIMITER).append(type.name());
+        switch (type) {
+        case CREATE_PROJECT:
+            sb.append(DELIMITER).append(Storage.escape(text));
+            break;
+        case DELETE_PROJECT:
+            appendProject(sb);
+            break;
+        case ADD_TASK:
+            appendProject(sb);
+            if (taskId != 0) {
+                sb.append(DELIMITER).append(taskId);
+            }
+            appendTaskState(sb);
+            break;
+        case UPDATE_TASK:
+            appendTaskAddress(sb);
+            appendTaskState(sb);
+            break;
+        default:
+            appendTaskAddress(sb);
+            break;
+        }
+        return sb.toString();
+    }
+
+    private void appendProject(StringBuilder sb) {
+        sb.append(DELIMITER);
+        if (projectName != null) {
+            sb.append(PROJECT_KEY).append(Storage.escape(projectName));
+        } else {
+            sb.append(projectIndex);
+        }
+    }
+
+    private void appendTaskAddress(StringBuilder sb) {
+        if (taskId != 0) {
+            sb.append(DELIMITER).append(taskId);
+        } else {
+            sb.append(DELIMITER).append(projectIndex).append(DELIMITER).append(taskIndex);
+        }
+    }
+
+    private void appendTaskState(StringBuilder sb) {
+        sb.append(DELIMITER).append(Storage.escape(text))
+                .append(DELIMITER).append(deadline == null ? NULL_DEADLINE : deadline.toString())
+                .append(DELIMITER).append(priority);
+    }
+
+    /**
+     * Decodes a journal line produced by {@link #encode()}.
+     *
+     * @throws DataCorruptedException if the line is not a valid record
+     */
+    static JournalRecord decode(String line) throws DataCorruptedException {
+        String[] parts = line.split("\\|", -1);
+        if (parts.length < 3) {
+            throw new DataCorruptedException("Invalid journal record format");
+        }
+
+        try {
+            long sequence = Long.parseLong(parts[0]);
+            Type type = Type.valueOf(parts[1]);
+            switch (type) {
+            case CREATE_PROJECT:
+                expectFields(parts, 3);
+                return new JournalRecord(sequence, type, -1, -1, Storage.unescape(parts[2]), null, 0);
+            case DELETE_PROJECT:
+                expectFields(parts, 3);
+                return new JournalRecord(sequence, type, parseProjectIndex(parts[2]), parseProjectName(parts[2]),
+                        -1, 0, null, null, 0);
+            case ADD_TASK:
+                if (parts.length == 7) {
+                    return new JournalRecord(sequence, type, parseProjectIndex(parts[2]), parseProjectName(parts[2]),
+                            -1, parseTaskId(parts[3]), Storage.unescape(parts[4]), parseDeadline(parts[5]),
+                            Integer.parseInt(parts[6]));
+                }
+                expectFields(parts, 6);
+                return new JournalRecord(sequence, type, parseProjectIndex(parts[2]), parseProjectName(parts[2]),
+                        -1, 0, Storage.unescape(parts[3]), parseDeadline(parts[4]), Integer.parseInt(parts[5]));
+            case UPDATE_TASK:
+                if (parts.length == 6) {
+                    return new JournalRecord(sequence, type, -1, -1, parseTaskId(parts[2]),
+                            Storage.unescape(parts[3]), parseDeadline(parts[4]), Integer.parseInt(parts[5]));
+                }
+                expectFields(parts, 7);
+                return new JournalRecord(sequence, type, Integer.parseInt(parts[2]), Integer.parseInt(parts[3]),
+                        Storage.unescape(parts[4]), parseDeadline(parts[5]), Integer.parseInt(parts[6]));
+            default:
+                if (parts.length == 3) {
+                    return new JournalRecord(sequence, type, -1, -1, parseTaskId(parts[2]), null, null, 0);
+                }
+                expectFields(parts, 4);
+                return new JournalRecord(sequence, type, Integer.parseInt(parts[2]), Integer.parseInt(parts[3]),
+                        null, null, 0);
+            }
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new DataCorruptedException("Invalid journal record - " + e.getMessage(), e);
+        }
+    }
+
+    private static void expectFields(String[] parts, int expected) throws DataCorruptedException {
+        if (parts.length != expected) {
+            throw new DataCorruptedException("Invalid " + parts[1] + " record (expected " + expected
+                    + " fields, got " + parts.length + ")");
+        }
+    }
+
+    private static int parseProjectIndex(String value) {
+        return value.startsWith(PROJECT_KEY) ? -1 : Integer.parseInt(value);
+    }
+
+    private static String parseProjectName(String value) {
+        return value.startsWith(PROJECT_KEY) ? Storage.unescape(value.substring(PROJECT_KEY.length())) : null;
+    }
+
+    private static long parseTaskId(String value) {
+        long taskId = Long.parseLong(value);
+        if (taskId < 1) {
+            throw new IllegalArgumentException("task ID must be positive, got " + taskId);
+        }
+        return taskId;
+    }
+
+    private static LocalDate parseDeadline(String value) {
+        return NULL_DEADLINE.equals(value) ? null : LocalDate.parse(value);
+    }
+
+    /**
+     * Re-applies this mutation to the given project list.
+     *
+     * @throws DataCorruptedException if the record does not fit the current data
+     */
+    void applyTo(ProjectList projects) throws DataCorruptedException {
+        try {
+            switch (type) {
+            case CREATE_PROJECT:
+                // Another process may have created the same project meanwhile; both mean the one project
+                if (!projects.hasProject(text)) {
+                    projects.addProject(text);
+                }
+                break;
+            case DELETE_PROJECT:
+                if (projectName != null) {
+                    projects.deleteProject(projects.getProject(projectName));
+                } else {
+                    projects.delete(projectIndex);
+                }
+                break;
+            case ADD_TASK:
+                project(projects).addTask(taskId, text, deadline, priority);
+                break;
+            case MARK_TASK:
+                Task marked = task(projects);
+                ownerOf(marked, projects).mark(marked);
+                break;
+            case UNMARK_TASK:
+                Task unmarked = task(projects);
+                ownerOf(unmarked, projects).unmark(unmarked);
+                break;
+            case UPDATE_TASK:
+                Task updated = task(projects);
+                ownerOf(updated, projects).update(updated, text, true, deadline, true, priority, true);
+                break;
+            case DELETE_TASK:
+                Task deleted = task(projects);
+                ownerOf(deleted, projects).delete(deleted);
+                break;
+            default:
+                throw new DataCorruptedException("Unsupported journal record type " + type);
+            }
+        } catch (DataCorruptedException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new DataCorruptedException("Journal record " + sequence + " (" + type
+                    + ") could not be applied - " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Returns the project this record refers to, by name or by position.
+     */
+    private Project project(ProjectList projects) throws Exception {
+        if (projectName != null) {
+            return projects.getProject(projectName);
+        }
+        return projects.getProjectByIndex(projectIndex);
+    }
+
+    /**
+     * Returns the task this record refers to, by ID or by position.
+     */
+    private Task task(ProjectList projects) throws Exception {
+        if (taskId == 0) {
+            return projects.getProjectByIndex(projectIndex).getProjectTasks().get(taskIndex);
+        }
+        Task task = projects.findTask(taskId);
+        if (task == null) {
+            throw new DataCorruptedException("Journal record " + sequence + " (" + type
+                    + ") refers to missing task #" + taskId);
+        }
+        return task;
+    }
+
+    private static TaskList ownerOf(Task task, ProjectList projects) {
+        return projects.getProjectOf(task).getProjectTasks();
+    }
+}
@@ -0,0 +1,216 @@
+package seedu.flowcli.storage;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+import seedu.flowcli.exceptions.DataCorruptedException;
+import seedu.flowcli.project.Project;
+import seedu.flowcli.project.ProjectList;
+
+/**
+ * Loads large snapshot files by memory-mapping them and parsing chunks in parallel.
+ *
+ * <p>The file is split at lines starting with {@code PROJECT|}, so every chunk after
+ * the first is a self-contained run of projects. Chunks are parsed on the fork-join
+ * pool and stitched back together in file order. If a chunk is corrupted, it is parsed
+ * again sequentially with the number of lines before it, so the exception carries the
+ * same line number the sequential loader would report.
+ */
+class MappedDataLoader {
+    /** Files smaller than this are read sequentially; mapping and forking is not worth it. */
+    static final long MIN_MAPPED_SIZE = 4L * 1024 * 1024;
+    static final int DEFAULT_CHUNK_SIZE = 1024 * 1024;
+
+    private static final byte[] PROJECT_MARKER = Storage.PROJECT_PREFIX.getBytes(StandardCharsets.UTF_8);
+
+    private final int chunkSize;
+
+    MappedDataLoader() {
+        this(DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * Creates a loader that aims for chunks of roughly the given size in bytes.
+     */
+    MappedDataLoader(int chunkSize) {
+        assert chunkSize > 0 : "Chunk size must be positive";
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Returns whether the file is large enough to be worth mapping.
+     * Windows cannot replace a file while it is mapped, and a mapping is only released
+     * when it is garbage collected, so saves there would fail; those systems always
+     * read sequentially.
+     */
+    static boolean shouldMap(File file) {
+        long size = file.length();
+        return size >= MIN_MAPPED_SIZE && size <= Integer.MAX_VALUE
+                && !System.getProperty("os.name", "").startsWith("Windows");
+    }
+
+    /**
+     * Loads the given snapshot file.
+     *
+     * @throws DataCorruptedException if the file is corrupted, with the same message as a sequential load
+     */
+    Storage.LoadedSnapshot load(File file) throws IOException, DataCorruptedException {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("File is too large to map: " + size + " bytes");
+            }
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        }
+
+        List<Chunk> chunks = splitChunks(buffer);
+        if (chunks.size() == 1) {
+            chunks.get(0).compute();
+        } else {
+            ForkJoinTask.invokeAll(chunks);
+        }
+
+        ProjectList projects = new ProjectList();
+        List<SnapshotParser.SegmentEntry> segments = new ArrayList<>();
+        long checkpoint = 0;
+        int linesBefore = 0;
+        for (Chunk chunk : chunks) {
+            if (chunk.error != null) {
+                // Parse again with the right line numbers so the message matches a sequential load
+                chunk.parse(linesBefore);
+                throw chunk.error;
+            }
+            projects.reserveTaskIds(chunk.parser.getLastTaskId());
+            for (Project project : chunk.parser.getProjects()) {
+                projects.addProject(project);
+            }
+            segments.addAll(chunk.parser.getSegments());
+            if (chunk.parser.hasCheckpoint()) {
+                checkpoint = chunk.parser.getCheckpoint();
+            }
+            linesBefore += chunk.lineCount;
+        }
+        return new Storage.LoadedSnapshot(projects, checkpoint, segments);
+    }
+
+    /**
+     * Splits the buffer at the first {@code PROJECT|} line start after every {@code chunkSize} bytes.
+     */
+    private List<Chunk> splitChunks(MappedByteBuffer buffer) {
+        int limit = buffer.limit();
+        List<Chunk> chunks = new ArrayList<>();
+        int start = 0;
+        while (start < limit) {
+            int end = findProjectLineStart(buffer, (int) Math.min((long) start + chunkSize, limit));
+            chunks.add(new Chunk(buffer, start, end));
+            start = end;
+        }
+        if (chunks.isEmpty()) {
+            chunks.add(new Chunk(buffer, 0, 0));
+        }
+        return chunks;
+    }
+
+    /**
+     * Returns the start of the first line at or after {@code from} that begins with {@code PROJECT|},
+     * or the end of the buffer if there is none.
+     */
+    private static int findProjectLineStart(MappedByteBuffer buffer, int from) {
+        int limit = buffer.limit();
+        for (int i = from; i < limit; i++) {
+            byte b = buffer.get(i);
+            if (b != '\n' && b != '\r') {
+                continue;
+            }
+            int lineStart = i + 1;
+            if (startsWithProjectMarker(buffer, lineStart)) {
+                return lineStart;
+            }
+        }
+        return limit;
+    }
+
+    private static boolean startsWithProjectMarker(MappedByteBuffer buffer, int position) {
+        if (position + PROJECT_MARKER.length > buffer.limit()) {
+            return false;
+        }
+        for (int i = 0; i < PROJECT_MARKER.length; i++) {
+            if (buffer.get(position + i) != PROJECT_MARKER[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * A run of whole lines parsed by its own {@link SnapshotParser}.
+     */
+    private static class Chunk extends RecursiveAction {
+        private final MappedByteBuffer buffer;
+        private final int start;
+        private final int end;
+
+        private SnapshotParser parser;
+        private int lineCount;
+        private DataCorruptedException error;
+
+        Chunk(MappedByteBuffer buffer, int start, int end) {
+            this.buffer = buffer;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected void compute() {
+            parse(0);
+        }
+
+        /**
+         * Parses the chunk, numbering its lines after {@code linesBefore}.
+         * Lines end at \n, \r or \r\n, as with {@link java.io.BufferedReader#readLine()}.
+         */
+        void parse(int linesBefore) {
+            byte[] bytes = new byte[end - start];
+            buffer.slice(start, bytes.length).get(bytes);
+
+            parser = new SnapshotParser();
+            lineCount = 0;
+            error = null;
+            int lineStart = 0;
+            int i = 0;
+            try {
+                while (i < bytes.length) {
+                    byte b = bytes[i];
+                    if (b != '\n' && b != '\r') {
+                        i++;
+                        continue;
+                    }
+                    lineCount++;
+                    parser.parseLine(new String(bytes, lineStart, i - lineStart, StandardCharsets.UTF_8),
+                            linesBefore + lineCount);
+                    i++;
+                    if (b == '\r' && i < bytes.length && bytes[i] == '\n') {
+                        i++;
+                    }
+                    lineStart = i;
+                }
+                if (lineStart < bytes.length) {
+                    lineCount++;
+                    parser.parseLine(new String(bytes, lineStart, bytes.length - lineStart, StandardCharsets.UTF_8),
+                            linesBefore + lineCount);
+                }
+            } catch (DataCorruptedException e) {
+                error = e;
+            }
+        }
+    }
+}
@@ -0,0 +1,287 @@
+package seedu.flowcli.storage;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import seedu.flowcli.exceptions.DataCorruptedException;
+import seedu.flowcli.exceptions.ProjectLoadException;
+import seedu.flowcli.metrics.MetricsRegistry;
+import seedu.flowcli.project.Project;
+import seedu.flowcli.project.ProjectList;
+import seedu.flowcli.task.TaskList;
+import seedu.flowcli.task.TaskSource;
+
+/**
+ * Stores each project in its own segment file, listed in order by the data file.
+ *
+ * <p>In the segmented layout the data file is a small manifest of
+ * {@code SEGMENT|file|task count|project name} lines, and the segments live in
+ * {@code <data file>.segments/}. A segment is never rewritten in place: a changed
+ * project gets a new segment file, and the manifest that refers to it is moved over
+ * the data file atomically, so the manifest switch is the commit point of a save.
+ * Segments that no manifest refers to any more are deleted afterwards.
+ *
+ * <p>The manifest doubles as an index of the projects: it names each project, its segment and
+ * its task count. A lazy load reads only the manifest and leaves every project's task list
+ * unloaded, reading its segment when the list is first used.
+ */
+class SegmentStore {
+    private static final String DIRECTORY_SUFFIX = ".segments";
+    private static final String FILE_PREFIX = "project-";
+    private static final String FILE_SUFFIX = ".seg";
+
+    private final File directory;
+    private long lastSegmentNumber = -1;
+
+    SegmentStore(String dataFilePath) {
+        this.directory = directoryOf(new File(dataFilePath));
+    }
+
+    static File directoryOf(File dataFile) {
+        return new File(dataFile.getPath() + DIRECTORY_SUFFIX);
+    }
+
+    /**
+     * Writes a manifest for the projects, writing new segments only for projects that
+     * are not already on disk at their current version and format.
+     *
+     * @param known Segments already on disk, by project identity
+     * @return the segments referred to by the new manifest
+     */
+    Map<Project, SavedSegment> write(ProjectList projects, File manifestFile, long checkpoint,
+            SnapshotFormat format, Map<Project, SavedSegment> known) throws IOException {
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("Failed to create segment directory " + directory);
+        }
+
+        Map<Project, SavedSegment> written = new IdentityHashMap<>();
+        for (Project project : projects.getProjectList()) {
+            SavedSegment segment = known.get(project);
+            if (segment == null) {
+                segment = unloadedSegment(project);
+            }
+            if (segment == null || segment.version != project.getVersion() || segment.format != format) {
+                // Only dirty projects are written
+                segment = new SavedSegment(nextFileName(), project.getVersion(), format);
+                // The last task ID is kept in the manifest
+                Storage.writeSnapshotFile(List.of(project), 0, new File(directory, segment.fileName), 0, format);
+            }
+            written.put(project, segment);
+        }
+
+        try (BufferedWriter writer = new BufferedWriter(
+                new FileWriter(manifestFile, StandardCharsets.UTF_8))) {
+            String meta = Storage.metaLine(checkpoint, projects.getLastTaskId());
+            if (meta != null) {
+                writer.write(meta);
+                writer.newLine();
+            }
+            for (Project project : projects.getProjectList()) {
+                writer.write(Storage.SEGMENT_PREFIX + written.get(project).fileName + "|" + project.size()
+                        + "|" + Storage.escape(project.getProjectName()));
+                writer.newLine();
+            }
+        }
+        MetricsRegistry.getInstance().addBytesWritten(manifestFile.length());
+        return written;
+    }
+
+    /**
+     * Returns the segment an unloaded project will read its tasks from, or null if the project is
+     * loaded or its tasks come from somewhere else. An unloaded project cannot have changed, so its
+     * segment can be kept without reading it.
+     */
+    private SavedSegment unloadedSegment(Project project) {
+        TaskSource source = project.getProjectTasks().getSource();
+        if (!(source instanceof SegmentSource)) {
+            return null;
+        }
+        SegmentSource segmentSource = (SegmentSource) source;
+        if (!directory.equals(segmentSource.file.getParentFile())) {
+            return null;
+        }
+        return new SavedSegment(segmentSource.file.getName(), project.getVersion(), segmentSource.format);
+    }
+
+    /**
+     * Loads the segments listed in a parsed manifest, in order.
+     *
+     * @param isLazy Whether to leave the projects unloaded; a lazy load only checks that each segment
+     *     exists, and a segment that turns out to be corrupted is reported when its project is first used
+     * @throws DataCorruptedException if a segment is missing, corrupted or does not match its entry
+     */
+    static Storage.LoadedSnapshot resolve(File dataFile, Storage.LoadedSnapshot manifest, boolean isLazy)
+            throws IOException, DataCorruptedException {
+        if (!manifest.projects.isEmpty()) {
+            throw new DataCorruptedException("Data file mixes SEGMENT entries with PROJECT lines");
+        }
+
+        File directory = directoryOf(dataFile);
+        Storage.LoadedSnapshot resolved = new Storage.LoadedSnapshot(new ProjectList(), manifest.checkpoint);
+        resolved.projects.reserveTaskIds(manifest.projects.getLastTaskId());
+        for (SnapshotParser.SegmentEntry entry : manifest.segments) {
+            File segmentFile = new File(directory, entry.fileName);
+            if (!segmentFile.isFile()) {
+                throw new DataCorruptedException("Segment file " + entry.fileName + " is missing");
+            }
+
+            Project project;
+            SnapshotFormat format;
+            if (isLazy) {
+                format = Storage.detectFormat(segmentFile);
+                project = new Project(entry.projectName,
+                        new TaskList(entry.taskCount, new SegmentSource(segmentFile, entry, format)));
+            } else {
+                Storage.LoadedSnapshot segment = readSegment(segmentFile, entry);
+                format = segment.format;
+                project = segment.projects.getProjectList().get(0);
+            }
+
+            resolved.projects.addProject(project);
+            resolved.savedSegments.put(project, new SavedSegment(entry.fileName, project.getVersion(), format));
+            resolved.format = format;
+        }
+        return resolved;
+    }
+
+    /**
+     * Reads a segment file and checks that it holds the project its manifest entry describes.
+     */
+    private static Storage.LoadedSnapshot readSegment(File segmentFile, SnapshotParser.SegmentEntry entry)
+            throws IOException, DataCorruptedException {
+        Storage.LoadedSnapshot segment;
+        try {
+            segment = Storage.readSingleFile(segmentFile);
+        } catch (DataCorruptedException e) {
+            throw new DataCorruptedException("Segment " + entry.fileName + ": " + e.getMessage(), e);
+        }
+        if (!segment.segments.isEmpty() || segment.projects.getProjectListSize() != 1) {
+            throw new DataCorruptedException("Segment " + entry.fileName + " must hold exactly one project");
+        }
+        Project project = segment.projects.getProjectList().get(0);
+        if (!project.getProjectName().equals(entry.projectName) || project.size() != entry.taskCount) {
+            throw new DataCorruptedException("Segment " + entry.fileName
+                    + " does not match its entry in the data file");
+        }
+        return segment;
+    }
+
+    /**
+     * Deletes every file in the segment directory that is not one of the given segments.
+     * This also removes segments left behind by a save that failed before its manifest was moved.
+     */
+    void deleteUnused(Collection<SavedSegment> inUse) throws IOException {
+        File[] files = directory.listFiles();
+        if (files == null) {
+            return;
+        }
+        Set<String> keep = new HashSet<>();
+        for (SavedSegment segment : inUse) {
+            keep.add(segment.fileName);
+        }
+        for (File file : files) {
+            if (!keep.contains(file.getName())) {
+                Files.deleteIfExists(file.toPath());
+            }
+        }
+    }
+
+    /**
+     * Copies the segment directory next to itself with a {@code .backup} suffix.
+     */
+    void backup() {
+        File[] files = directory.listFiles();
+        if (files == null) {
+            return;
+        }
+        File backupDirectory = new File(directory.getPath() + ".backup");
+        try {
+            Files.createDirectories(backupDirectory.toPath());
+            for (File file : files) {
+                Files.copy(file.toPath(), new File(backupDirectory, file.getName()).toPath(),
+                        StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            System.err.println("Warning: Could not backup segment files: " + e.getMessage());
+        }
+    }
+
+    private String nextFileName() {
+        if (lastSegmentNumber < 0) {
+            lastSegmentNumber = 0;
+            File[] files = directory.listFiles();
+            for (File file : files == null ? new File[0] : files) {
+                lastSegmentNumber = Math.max(lastSegmentNumber, segmentNumber(file.getName()));
+            }
+        }
+        lastSegmentNumber++;
+        // Another process on the same data file may have written segments since the scan
+        while (new File(directory, FILE_PREFIX + lastSegmentNumber + FILE_SUFFIX).exists()) {
+            lastSegmentNumber++;
+        }
+        return FILE_PREFIX + lastSegmentNumber + FILE_SUFFIX;
+    }
+
+    private static long segmentNumber(String fileName) {
+        if (!fileName.startsWith(FILE_PREFIX) || !fileName.endsWith(FILE_SUFFIX)) {
+            return 0;
+        }
+        try {
+            return Long.parseLong(fileName.substring(FILE_PREFIX.length(), fileName.length() - FILE_SUFFIX.length()));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * Reads the tasks of a lazily loaded project from its segment file.
+     * Segment files are never rewritten in place, so the file still holds what the manifest described.
+     */
+    static class SegmentSource implements TaskSource {
+        final File file;
+        final SnapshotParser.SegmentEntry entry;
+        final SnapshotFormat format;
+
+        SegmentSource(File file, SnapshotParser.SegmentEntry entry, SnapshotFormat format) {
+            this.file = file;
+            this.entry = entry;
+            this.format = format;
+        }
+
+        @Override
+        public TaskList load() {
+            try {
+                return readSegment(file, entry).projects.getProjectList().get(0).getProjectTasks();
+            } catch (IOException | DataCorruptedException e) {
+                throw new ProjectLoadException("Could not load project " + entry.projectName + ": "
+                        + e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * A segment file on disk and the project version and format it was written with.
+     */
+    static class SavedSegment {
+        final String fileName;
+        final long version;
+        final SnapshotFormat format;
+
+        SavedSegment(String fileName, long version, SnapshotFormat format) {
+            this.fileName = fileName;
+            this.version = version;
+            this.format = format;
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package seedu.flowcli.storage;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+import seedu.flowcli.exceptions.DataCorruptedException;
+
+/**
+ * Converts data snapshots between the text and binary formats.
+ * The source format is detected automatically and the journal checkpoint is kept,
+ * so a converted file can replace the original next to its journal.
+ *
+ * <p>Usage: {@code java -cp flowcli.jar seedu.flowcli.storage.SnapshotConverter
+ * (to-text|to-binary) <source> <target>}
+ */
+public class SnapshotConverter {
+    private static final String USAGE =
+            "Usage: SnapshotConverter (to-text|to-binary) <source file> <target file>";
+
+    private SnapshotConverter() {
+    }
+
+    /**
+     * Converts a snapshot file to the given format.
+     * The target is written through a temporary file, so the source may be converted in place.
+     *
+     * @param source The snapshot to read, in either format
+     * @param target The file to write
+     * @param targetFormat The format to write
+     * @throws IOException if either file cannot be accessed
+     * @throws DataCorruptedException if the source is corrupted
+     */
+    public static void convert(Path source, Path target, SnapshotFormat targetFormat)
+            throws IOException, DataCorruptedException {
+        Storage.LoadedSnapshot snapshot = Storage.readSnapshot(source.toFile());
+
+        Path absoluteTarget = target.toAbsolutePath();
+        File tempFile = new File(absoluteTarget.toString() + ".converting");
+        try {
+            Storage.writeSnapshotFile(snapshot.projects, tempFile, snapshot.checkpoint, targetFormat);
+            Files.move(tempFile.toPath(), absoluteTarget, StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tempFile.toPath());
+        }
+    }
+
+    public static void main(String[] args) {
+        if (args.length != 3 || !(args[0].equals("to-text") || args[0].equals("to-binary"))) {
+            System.err.println(USAGE);
+            System.exit(2);
+            return;
+        }
+
+        SnapshotFormat format = args[0].equals("to-text") ? SnapshotFormat.TEXT : SnapshotFormat.BINARY;
+        try {
+            convert(Path.of(args[1]), Path.of(args[2]), format);
+            System.out.println("Converted " + args[1] + " to " + format.name().toLowerCase() + " at " + args[2]);
+        } catch (IOException | DataCorruptedException e) {
+            System.err.println("Conversion failed: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+}
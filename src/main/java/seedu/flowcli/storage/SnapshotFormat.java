@@ -0,0 +1,11 @@
+package seedu.flowcli.storage;
+
+/**
+ * On-disk formats for the data snapshot.
+ */
+public enum SnapshotFormat {
+    /** Human-readable {@code PROJECT|}/{@code TASK|} lines; also the interchange format. */
+    TEXT,
+    /** Compact versioned binary format written by {@link BinarySnapshotCodec}. */
+    BINARY
+}
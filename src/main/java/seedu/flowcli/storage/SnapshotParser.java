@@ -0,0 +1,310 @@
+package seedu.flowcli.storage;
+
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+
+import seedu.flowcli.exceptions.DataCorruptedException;
+import seedu.flowcli.project.Project;
+
+/**
+ * Parses the lines of a text snapshot into projects.
+ * A parser only holds the state of the lines fed to it, so a file split at
+ * {@code PROJECT|} boundaries can be parsed by several parsers in parallel.
+ */
+class SnapshotParser {
+    private static final int TASK_FIELDS = 4;
+    private static final int TASK_FIELDS_WITH_ID = 5;
+    private static final int ISO_DATE_LENGTH = 10;
+
+    private final List<Project> projects = new ArrayList<>();
+    private final List<SegmentEntry> segments = new ArrayList<>();
+    private Project currentProject;
+    private long checkpoint = -1;
+    private long lastTaskId;
+
+    /**
+     * Parses one line of the snapshot.
+     *
+     * @param line The line without its terminator
+     * @param lineNumber The 1-based line number used in error messages
+     * @throws DataCorruptedException if the line is invalid
+     */
+    void parseLine(String line, int lineNumber) throws DataCorruptedException {
+        // Skip empty lines
+        if (line.trim().isEmpty()) {
+            return;
+        }
+
+        if (line.startsWith(Storage.META_PREFIX)) {
+            parseMetaLine(line, lineNumber);
+
+        } else if (line.startsWith(Storage.PROJECT_PREFIX)) {
+            currentProject = parseProjectLine(line, lineNumber);
+            projects.add(currentProject);
+
+        } else if (line.startsWith(Storage.SEGMENT_PREFIX)) {
+            segments.add(parseSegmentLine(line, lineNumber));
+
+        } else if (line.startsWith(Storage.TASK_PREFIX)) {
+            if (currentProject == null) {
+                throw new DataCorruptedException("Line " + lineNumber
+                    + ": Task found without a project header");
+            }
+            parseAndAddTask(line, currentProject, lineNumber);
+
+        } else {
+            throw new DataCorruptedException("Line " + lineNumber
+                + ": Invalid line format (expected PROJECT or TASK)");
+        }
+    }
+
+    List<Project> getProjects() {
+        return projects;
+    }
+
+    List<SegmentEntry> getSegments() {
+        return segments;
+    }
+
+    /**
+     * Returns whether a META line was parsed.
+     */
+    boolean hasCheckpoint() {
+        return checkpoint >= 0;
+    }
+
+    /**
+     * Returns the journal checkpoint from the last META line, or 0 if there was none.
+     */
+    long getCheckpoint() {
+        return Math.max(checkpoint, 0);
+    }
+
+    /**
+     * Returns the last task ID from the last META line, or 0 if there was none.
+     */
+    long getLastTaskId() {
+        return lastTaskId;
+    }
+
+    /**
+     * Parses a META line, recording the journal checkpoint and last task ID it holds.
+     * Format: META|key=value|key=value... (unknown keys are ignored)
+     */
+    private void parseMetaLine(String line, int lineNumber) throws DataCorruptedException {
+        checkpoint = 0;
+        for (String entry : line.substring(Storage.META_PREFIX.length()).split("\\|")) {
+            int separator = entry.indexOf('=');
+            if (separator < 0) {
+                throw new DataCorruptedException("Line " + lineNumber
+                    + ": Invalid metadata entry '" + entry + "' (expected key=value)");
+            }
+            String key = entry.substring(0, separator);
+            if (Storage.CHECKPOINT_KEY.equals(key)) {
+                checkpoint = parseMetaValue(entry.substring(separator + 1), "checkpoint", lineNumber);
+            } else if (Storage.LAST_TASK_ID_KEY.equals(key)) {
+                lastTaskId = parseMetaValue(entry.substring(separator + 1), "last task ID", lineNumber);
+            }
+        }
+    }
+
+    private static long parseMetaValue(String value, String name, int lineNumber) throws DataCorruptedException {
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            throw new DataCorruptedException("Line " + lineNumber
+                + ": Invalid " + name + " value - " + e.getMessage());
+        }
+    }
+
+    /**
+     * Parses a SEGMENT line of a segmented data file.
+     * Format: SEGMENT|file name|task count|project name
+     */
+    private static SegmentEntry parseSegmentLine(String line, int lineNumber) throws DataCorruptedException {
+        String[] parts = line.substring(Storage.SEGMENT_PREFIX.length()).split("\\|", 3);
+        if (parts.length != 3 || parts[0].isEmpty() || parts[0].contains("/") || parts[0].contains("\\")) {
+            throw new DataCorruptedException("Line " + lineNumber
+                + ": Invalid segment format (expected SEGMENT|file|task count|project name)");
+        }
+        try {
+            return new SegmentEntry(parts[0], Integer.parseInt(parts[1].trim()), Storage.unescape(parts[2]).trim());
+        } catch (NumberFormatException e) {
+            throw new DataCorruptedException("Line " + lineNumber
+                + ": Invalid number format - " + e.getMessage());
+        }
+    }
+
+    /**
+     * Parses a PROJECT line and creates a Project object.
+     */
+    private static Project parseProjectLine(String line, int lineNumber) throws DataCorruptedException {
+        String content = line.substring(Storage.PROJECT_PREFIX.length());
+        String projectName = Storage.unescape(content).trim();
+
+        if (projectName.isEmpty()) {
+            throw new DataCorruptedException("Line " + lineNumber
+                + ": Project name cannot be empty");
+        }
+
+        try {
+            return new Project(projectName);
+        } catch (IllegalArgumentException e) {
+            throw new DataCorruptedException("Line " + lineNumber
+                + ": Invalid project name - " + e.getMessage());
+        }
+    }
+
+    /**
+     * Parses a TASK line and adds it to the current project.
+     * Format: TASK|isDone|description|deadline|priority[|id]; tasks saved before IDs existed
+     * get one when the project is added to a project list.
+     */
+    private static void parseAndAddTask(String line, Project project, int lineNumber)
+            throws DataCorruptedException {
+        String[] parts = splitTaskFields(line);
+
+        if (parts.length != TASK_FIELDS && parts.length != TASK_FIELDS_WITH_ID) {
+            throw new DataCorruptedException("Line " + lineNumber
+                + ": Invalid task format (expected 4 or 5 fields, got " + parts.length + ")");
+        }
+
+        try {
+            // Parse isDone
+            int isDoneValue = Integer.parseInt(parts[0].trim());
+            if (isDoneValue != 0 && isDoneValue != 1) {
+                throw new DataCorruptedException("Line " + lineNumber
+                    + ": Invalid isDone value (must be 0 or 1)");
+            }
+            boolean isDone = isDoneValue == 1;
+
+            // Parse description (can be empty)
+            String description = Storage.unescape(parts[1]);
+
+            // Parse deadline (can be "null")
+            LocalDate deadline = null;
+            String deadlineText = parts[2].trim();
+            if (!deadlineText.equals("null")) {
+                try {
+                    deadline = parseIsoDate(deadlineText);
+                } catch (DateTimeParseException e) {
+                    throw new DataCorruptedException("Line " + lineNumber
+                        + ": Invalid date format '" + parts[2] + "' (expected YYYY-MM-DD)");
+                }
+            }
+
+            // Parse priority
+            int priority = Integer.parseInt(parts[3].trim());
+            if (priority < 1 || priority > 3) {
+                throw new DataCorruptedException("Line " + lineNumber
+                    + ": Invalid priority value (must be 1, 2, or 3)");
+            }
+
+            // Parse ID (absent in older files)
+            long id = 0;
+            if (parts.length == TASK_FIELDS_WITH_ID) {
+                id = Long.parseLong(parts[4].trim());
+                if (id < 1) {
+                    throw new DataCorruptedException("Line " + lineNumber
+                        + ": Invalid task ID (must be positive)");
+                }
+            }
+
+            // Add task to project
+            project.addTask(id, description, deadline, priority);
+
+            // Set isDone status
+            if (isDone) {
+                try {
+                    project.getProjectTasks().mark(project.getProjectTasks().size() - 1);
+                } catch (Exception e) {
+                    throw new DataCorruptedException("Line " + lineNumber
+                        + ": Failed to mark task - " + e.getMessage());
+                }
+            }
+
+        } catch (NumberFormatException e) {
+            throw new DataCorruptedException("Line " + lineNumber
+                + ": Invalid number format - " + e.getMessage());
+        } catch (DataCorruptedException e) {
+            // Re-throw DataCorruptedException as-is
+            throw e;
+        } catch (Exception e) {
+            throw new DataCorruptedException("Line " + lineNumber
+                + ": Error parsing task - " + e.getMessage());
+        }
+    }
+
+    /**
+     * Splits the content of a TASK line on '|', keeping trailing empty fields.
+     * Equivalent to {@code split("\\|", -1)} without the intermediate list.
+     */
+    private static String[] splitTaskFields(String line) {
+        int start = Storage.TASK_PREFIX.length();
+        int fieldCount = 1;
+        for (int i = start; i < line.length(); i++) {
+            if (line.charAt(i) == '|') {
+                fieldCount++;
+            }
+        }
+
+        String[] parts = new String[fieldCount];
+        for (int i = 0; i < fieldCount - 1; i++) {
+            int end = line.indexOf('|', start);
+            parts[i] = line.substring(start, end);
+            start = end + 1;
+        }
+        parts[fieldCount - 1] = line.substring(start);
+        return parts;
+    }
+
+    /**
+     * Parses a YYYY-MM-DD date. Well-formed dates are built directly; anything
+     * else goes through {@link LocalDate#parse} so errors are reported exactly as before.
+     */
+    private static LocalDate parseIsoDate(String text) {
+        if (text.length() == ISO_DATE_LENGTH && text.charAt(4) == '-' && text.charAt(7) == '-') {
+            int year = parseDigits(text, 0, 4);
+            int month = parseDigits(text, 5, 7);
+            int day = parseDigits(text, 8, 10);
+            if (year >= 0 && month >= 0 && day >= 0) {
+                try {
+                    return LocalDate.of(year, month, day);
+                } catch (DateTimeException e) {
+                    // Out-of-range field: fall through so LocalDate.parse reports it
+                }
+            }
+        }
+        return LocalDate.parse(text);
+    }
+
+    private static int parseDigits(String text, int start, int end) {
+        int value = 0;
+        for (int i = start; i < end; i++) {
+            char c = text.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    /**
+     * A project stored in its own segment file, as listed in a segmented data file.
+     */
+    static class SegmentEntry {
+        final String fileName;
+        final int taskCount;
+        final String projectName;
+
+        SegmentEntry(String fileName, int taskCount, String projectName) {
+            this.fileName = fileName;
+            this.taskCount = taskCount;
+            this.projectName = projectName;
+        }
+    }
+}
@@ -1,7 +1,10 @@
 package seedu.flowcli.storage;
 
 import seedu.flowcli.exceptions.DataCorruptedException;
+import seedu.flowcli.exceptions.DataFileConflictException;
+import seedu.flowcli.exceptions.ProjectLoadException;
 import seedu.flowcli.exceptions.StorageException;
+import seedu.flowcli.metrics.MetricsRegistry;
 import seedu.flowcli.project.Project;
 import seedu.flowcli.project.ProjectList;
 
@@ -17,30 +20,103 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
-import java.time.LocalDate;
-import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 /**
- * Handles loading and saving of FlowCLI data to/from a text file.
+ * Handles loading and saving of FlowCLI data to/from a text or binary snapshot file.
  * Implements atomic saves and comprehensive error handling.
+ * Mutations made between saves are appended to a write-ahead journal and
+ * replayed over the last snapshot on load.
+ *
+ * <p>Processes sharing a data file take turns through a {@link DataFileLock}. A save that finds the file
+ * replaced by another process since this one loaded or last saved it follows the {@link ConflictPolicy}
+ * instead of overwriting the other process's changes.
  */
 //@@author Zhenzha0
 public class Storage {
+    private static final Logger logger = Logger.getLogger(Storage.class.getName());
+
     private static final String DATA_DIRECTORY = "data";
     private static final String DATA_FILE = "flowcli-data.txt";
     private static final String TEMP_FILE = "flowcli-data.tmp";
     private static final String BACKUP_FILE = "flowcli-data.txt.backup";
+    private static final String UNSAVED_SUFFIX = ".unsaved";
     
-    private static final String PROJECT_PREFIX = "PROJECT|";
-    private static final String TASK_PREFIX = "TASK|";
+    static final String PROJECT_PREFIX = "PROJECT|";
+    static final String TASK_PREFIX = "TASK|";
+    static final String META_PREFIX = "META|";
+    static final String SEGMENT_PREFIX = "SEGMENT|";
+    static final String CHECKPOINT_KEY = "checkpoint";
+    static final String LAST_TASK_ID_KEY = "lastTaskId";
     private static final String DELIMITER = "|";
     private static final String DELIMITER_ESCAPE = "<PIPE>";
     private static final String NEWLINE_ESCAPE = "<NEWLINE>";
+
+    /** Number of journal records after which the journal is folded into a new snapshot. */
+    private static final int COMPACTION_THRESHOLD = 5000;
+    private static final MappedDataLoader MAPPED_LOADER = new MappedDataLoader();
     
     private final String dataFilePath;
     private final String tempFilePath;
     private final String backupFilePath;
     private final String dataDirectory;
+    private final Journal journal;
+    private final SegmentStore segmentStore;
+    private final DataFileLock fileLock;
+    private final Object snapshotLock = new Object();
+    private final ExecutorService compactionExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "flowcli-journal-compaction");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /** Journal sequence number covered by the snapshot currently on disk. */
+    private long checkpointSequence;
+    /**
+     * Checkpoint written in the data file as last loaded or saved. It counts the owner's journal records,
+     * so a process that does not own the journal writes it back unchanged.
+     */
+    private long baseCheckpoint;
+
+    /** Format used for new snapshots; follows the file on disk unless selected explicitly. */
+    private SnapshotFormat snapshotFormat = SnapshotFormat.TEXT;
+    private boolean isFormatSelected;
+
+    /** Whether each project is saved to its own segment file; see {@link SegmentStore}. */
+    private boolean isSegmented;
+    /** Segment files holding the live projects as last saved or loaded, by project identity. */
+    private Map<Project, SegmentStore.SavedSegment> savedSegments = new IdentityHashMap<>();
+    /** Whether projects of a segmented data file are only read when first used. */
+    private boolean isLazy;
+
+    /** Mutations journaled since the last save, to replay over a data file another process saved meanwhile. */
+    private final List<JournalRecord> unsavedRecords = new ArrayList<>();
+    /** IDs this session gave its tasks, mapped to the IDs they got when replayed over another process's file. */
+    private final Map<Long, Long> renumberedTaskIds = new HashMap<>();
+    private ConflictPolicy conflictPolicy = ConflictPolicy.REBASE;
+    /** Whether this storage has loaded or saved the data file, so that a save can tell if it changed since. */
+    private boolean hasBase;
+    /** Stamp, size and modification time of the data file as this storage last loaded or saved it. */
+    private DataFileLock.Stamp baseStamp = DataFileLock.Stamp.NONE;
+    private long baseFileSize;
+    private long baseFileModified;
+    /** Names of the projects in the data file as last loaded or saved; a merge needs them unchanged. */
+    private List<String> baseProjectNames = List.of();
+    /** Whether a save merged in another process's changes, which the live projects therefore lack. */
+    private boolean isRebased;
+    /** Whether the last save failed because the changes made here could not be merged into the data file. */
+    private volatile boolean hasUnmergedChanges;
+    /** Segments the live projects were read from before the first merge; unloaded ones still read them. */
+    private List<SegmentStore.SavedSegment> liveSegments = List.of();
 
     /**
      * Creates a Storage instance with default data directory.
@@ -50,6 +126,9 @@ public class Storage {
         this.dataFilePath = DATA_DIRECTORY + File.separator + DATA_FILE;
         this.tempFilePath = DATA_DIRECTORY + File.separator + TEMP_FILE;
         this.backupFilePath = DATA_DIRECTORY + File.separator + BACKUP_FILE;
+        this.journal = new Journal(dataFilePath);
+        this.segmentStore = new SegmentStore(dataFilePath);
+        this.fileLock = new DataFileLock(dataFilePath);
     }
 
     /**
@@ -60,10 +139,71 @@ public class Storage {
         this.dataDirectory = new File(customFilePath).getParent();
         this.tempFilePath = dataDirectory + File.separator + TEMP_FILE;
         this.backupFilePath = customFilePath + ".backup";
+        this.journal = new Journal(dataFilePath);
+        this.segmentStore = new SegmentStore(dataFilePath);
+        this.fileLock = new DataFileLock(dataFilePath);
+    }
+
+    /**
+     * Creates a Storage instance with custom file path that always saves in the given format.
+     */
+    public Storage(String customFilePath, SnapshotFormat snapshotFormat) {
+        this(customFilePath);
+        setSnapshotFormat(snapshotFormat);
+    }
+
+    /**
+     * Selects the format of future snapshots. Files in either format are still detected on load.
+     */
+    public void setSnapshotFormat(SnapshotFormat snapshotFormat) {
+        assert snapshotFormat != null : "Snapshot format cannot be null";
+        this.snapshotFormat = snapshotFormat;
+        this.isFormatSelected = true;
+    }
+
+    public SnapshotFormat getSnapshotFormat() {
+        return snapshotFormat;
+    }
+
+    /**
+     * Selects whether saves use the segmented layout, in which only projects changed since
+     * the last save are rewritten. Either layout is detected on load.
+     */
+    public void setSegmentedLayout(boolean isSegmented) {
+        synchronized (snapshotLock) {
+            this.isSegmented = isSegmented;
+        }
+    }
+
+    public boolean isSegmentedLayout() {
+        return isSegmented;
+    }
+
+    /**
+     * Selects whether loading a segmented data file reads only its manifest. Each project's tasks
+     * are then read from its segment the first time they are used, so the time to load depends on
+     * the number of projects rather than the number of tasks. Single-file data is always read whole.
+     */
+    public void setLazyLoading(boolean isLazy) {
+        synchronized (snapshotLock) {
+            this.isLazy = isLazy;
+        }
+    }
+
+    /**
+     * Selects what a save does when another process has changed the data file since this storage loaded
+     * or last saved it.
+     */
+    public void setConflictPolicy(ConflictPolicy conflictPolicy) {
+        assert conflictPolicy != null : "Conflict policy cannot be null";
+        synchronized (snapshotLock) {
+            this.conflictPolicy = conflictPolicy;
+        }
     }
 
     /**
-     * Loads project data from storage file.
+     * Loads project data from storage file and replays any journaled mutations on top of it.
+     * The journal is only replayed by the first process to open the data file, which owns it.
      * 
      * @return ProjectList loaded from file, or empty ProjectList if file doesn't exist
      * @throws StorageException if there's an I/O error during loading
@@ -71,19 +211,64 @@ public class Storage {
      */
     public ProjectList load() throws StorageException, DataCorruptedException {
         File file = new File(dataFilePath);
-        
-        // First run: file doesn't exist
-        if (!file.exists()) {
-            return new ProjectList();
-        }
-        
-        // File exists but is empty - treat as empty project list
-        if (file.length() == 0) {
-            return new ProjectList();
-        }
+        long start = System.nanoTime();
+        // The lock file lives next to the data file
+        ensureDataDirectoryExists();
         
         try {
-            return loadFromFile(file);
+            if (!fileLock.isJournalOwner()) {
+                journal.detach();
+                logger.fine("Another process owns the journal of " + dataFilePath);
+                System.err.println("WARNING: Another FlowCLI is using " + dataFilePath + ". Changes made here "
+                    + "are merged with its changes when saved, but are lost if this one exits abnormally.");
+            }
+            ProjectList projects;
+            long checkpoint = 0;
+            try (DataFileLock.Hold hold = fileLock.acquire()) {
+                if (!file.exists() || file.length() == 0) {
+                    // First run or empty file - start from an empty project list
+                    projects = new ProjectList();
+                } else {
+                    LoadedSnapshot snapshot = readSnapshot(file, isLazy);
+                    projects = snapshot.projects;
+                    checkpoint = snapshot.checkpoint;
+                    if (!isFormatSelected) {
+                        // Keep saving in whatever format the user converted the file to
+                        snapshotFormat = snapshot.format;
+                    }
+                    // Record versions before replay so projects changed by the journal count as dirty
+                    synchronized (snapshotLock) {
+                        savedSegments = snapshot.savedSegments;
+                    }
+                }
+                synchronized (snapshotLock) {
+                    rememberBase(hold.readStamp(), projectNames(projects));
+                    baseCheckpoint = checkpoint;
+                }
+            }
+
+            // Replayed records are not in the data file either, so a merge must replay them too
+            List<JournalRecord> replayed = new ArrayList<>();
+            Map<Long, Long> renumbered = new HashMap<>();
+            long lastSequence = replayJournal(projects, journal.getJournalFiles(), checkpoint, replayed,
+                    renumbered);
+            synchronized (snapshotLock) {
+                checkpointSequence = checkpoint;
+            }
+            synchronized (unsavedRecords) {
+                unsavedRecords.clear();
+                unsavedRecords.addAll(replayed);
+            }
+            journal.resetSequence(lastSequence);
+            // Start a fresh journal file so new records never follow a torn tail
+            journal.rotate();
+            if (!renumbered.isEmpty()) {
+                // The journal still holds the old IDs, which must not mix with the IDs used from now on
+                logger.fine("Renumbered " + renumbered.size() + " journaled tasks whose IDs another process used");
+                save(projects);
+            }
+            MetricsRegistry.getInstance().recordLoad(System.nanoTime() - start);
+            return projects;
         } catch (DataCorruptedException e) {
             // Backup corrupted file
             backupCorruptedFile();
@@ -95,25 +280,367 @@ public class Storage {
 
     /**
      * Saves project data to storage file using atomic write.
+     * The new snapshot absorbs every journaled mutation, so the journal is cleared afterwards.
      * 
      * @param projects The ProjectList to save
      * @throws StorageException if there's an error during saving
      */
     public void save(ProjectList projects) throws StorageException {
+        save(projects, journal.getLastSequence());
+    }
+
+    /**
+     * Saves a copy of the project data that was taken when the journal was at the given sequence.
+     * Journal records after that sequence are kept and replayed over the snapshot on load.
+     * A snapshot older than the one already on disk is skipped.
+     *
+     * <p>If another process has replaced the data file since this storage loaded or last saved it, the
+     * mutations journaled here since then are replayed over that file instead, unless the conflict policy
+     * is {@link ConflictPolicy#FAIL}. From then on every save merges, as the projects here lack the other
+     * process's changes.
+     *
+     * @param projects The ProjectList to save
+     * @param journalSequence The value of {@link #getJournalSequence()} when the copy was taken
+     * @throws DataFileConflictException if another process changed the data file and its changes
+     *         cannot be merged with the ones made here
+     * @throws StorageException if there's an error during saving
+     */
+    public void save(ProjectList projects, long journalSequence) throws StorageException {
         // Ensure data directory exists
         ensureDataDirectoryExists();
-        
+
+        synchronized (snapshotLock) {
+            if (journalSequence < checkpointSequence) {
+                return;
+            }
+            long start = System.nanoTime();
+            try {
+                journal.rotate();
+            } catch (IOException e) {
+                throw new StorageException("Failed to rotate journal: " + e.getMessage(), e);
+            }
+            try (DataFileLock.Hold hold = fileLock.acquire()) {
+                DataFileLock.Stamp stamp = hold.readStamp();
+                List<String> savedNames;
+                if (hasBase && (isRebased || isChangedSinceBase(stamp))) {
+                    try {
+                        savedNames = saveOverConcurrentChanges(journalSequence);
+                    } catch (DataFileConflictException e) {
+                        hasUnmergedChanges = true;
+                        throw keepUnsavedChanges(projects, e);
+                    }
+                } else {
+                    List<String> names = new ArrayList<>();
+                    // Shared lock, so that saving the live projects never sees a command half-applied
+                    savedSegments = projects.readLocked(() -> {
+                        Map<Project, SegmentStore.SavedSegment> written =
+                                writeSnapshot(projects, journalSequence, baseCheckpoint, savedSegments);
+                        names.addAll(projectNames(projects));
+                        return written;
+                    });
+                    savedNames = names;
+                }
+                recordSave(hold, stamp, savedNames, journalSequence);
+                hasUnmergedChanges = false;
+                deleteUnusedSegments(segmentsInUse());
+            } catch (IOException e) {
+                throw new StorageException("Failed to lock data file: " + e.getMessage(), e);
+            }
+            MetricsRegistry.getInstance().recordSave(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Replays the mutations journaled since the last save over the data file as another process left it,
+     * and saves the result. Caller must hold {@code snapshotLock} and the data file lock.
+     *
+     * @return the names of the projects saved
+     */
+    private List<String> saveOverConcurrentChanges(long journalSequence) throws StorageException, IOException {
+        String conflict = "Another FlowCLI process changed " + dataFilePath + " since it was loaded here";
+        if (conflictPolicy == ConflictPolicy.FAIL) {
+            throw new DataFileConflictException(conflict + "; changes made here were not saved.");
+        }
+        File file = new File(dataFilePath);
+        ProjectList merged = new ProjectList();
+        Map<Project, SegmentStore.SavedSegment> knownSegments = new IdentityHashMap<>();
+        Map<Long, Long> renumbered = new HashMap<>(renumberedTaskIds);
+        long fileCheckpoint = 0;
+        try {
+            if (file.exists() && file.length() > 0) {
+                LoadedSnapshot current = readSnapshot(file, isLazy);
+                merged = current.projects;
+                fileCheckpoint = current.checkpoint;
+                knownSegments = current.savedSegments;
+            }
+            List<JournalRecord> records = getUnsavedRecords(journalSequence);
+            // Old journal records address projects by position, which only holds if the projects are the same
+            if (!projectNames(merged).equals(baseProjectNames)
+                    && records.stream().anyMatch(JournalRecord::isAddressedByPosition)) {
+                throw new DataFileConflictException(conflict + " and projects were added or removed there; "
+                        + "changes made here were not saved.");
+            }
+            for (JournalRecord record : records) {
+                record.rebase(merged, renumbered).applyTo(merged);
+            }
+        } catch (DataCorruptedException | ProjectLoadException e) {
+            throw new DataFileConflictException(conflict + " and changes made here could not be merged: "
+                    + e.getMessage(), e);
+        }
+        if (!isRebased) {
+            liveSegments = new ArrayList<>(savedSegments.values());
+        }
+        savedSegments = writeSnapshot(merged, journalSequence, fileCheckpoint, knownSegments);
+        renumberedTaskIds.putAll(renumbered);
+        if (!isRebased) {
+            isRebased = true;
+            logger.fine("Merged changes into " + dataFilePath + " after another process changed it");
+            System.err.println("WARNING: " + conflict + ". Changes made here were merged into it; "
+                + "restart FlowCLI to see the other changes.");
+        }
+        return projectNames(merged);
+    }
+
+    /**
+     * Writes the projects whose changes could not be merged to a file next to the data file, from which
+     * the user can recover them, and returns the conflict naming that file. Caller must hold the data file lock.
+     */
+    private DataFileConflictException keepUnsavedChanges(ProjectList projects, DataFileConflictException conflict) {
+        File unsavedFile = new File(dataFilePath + UNSAVED_SUFFIX);
+        try {
+            projects.readLocked(() -> {
+                writeSnapshotFile(projects, unsavedFile, 0, SnapshotFormat.TEXT);
+                return null;
+            });
+        } catch (IOException e) {
+            logger.log(Level.WARNING, "Could not write unsaved changes: " + e.getMessage(), e);
+            conflict.addSuppressed(e);
+            return conflict;
+        }
+        return new DataFileConflictException(conflict.getMessage() + " They were written to "
+                + unsavedFile.getPath() + " instead.", conflict);
+    }
+
+    /**
+     * Returns whether something other than this storage has replaced the data file since it last loaded or
+     * saved it. That is told from the stamp and the file's size and modification time; the file is only
+     * hashed if they show a change the stamp does not, such as an edit by hand or by an older FlowCLI.
+     * Caller must hold {@code snapshotLock} and the data file lock.
+     */
+    private boolean isChangedSinceBase(DataFileLock.Stamp stamp) throws IOException {
+        if (stamp.getGeneration() != baseStamp.getGeneration()) {
+            return true;
+        }
+        File file = new File(dataFilePath);
+        if (!file.exists()) {
+            // Nothing left to overwrite
+            return false;
+        }
+        if (file.length() == baseFileSize && file.lastModified() == baseFileModified) {
+            return false;
+        }
+        return DataFileLock.hash(file.toPath()) != stamp.getHash();
+    }
+
+    /**
+     * Stamps the data file just written and makes it the base of the next save.
+     * Caller must hold {@code snapshotLock} and the data file lock.
+     */
+    private void recordSave(DataFileLock.Hold hold, DataFileLock.Stamp previous, List<String> projectNames,
+            long journalSequence) throws IOException {
+        DataFileLock.Stamp stamp = previous.next(DataFileLock.hash(Paths.get(dataFilePath)));
+        hold.writeStamp(stamp);
+        rememberBase(stamp, projectNames);
+        synchronized (unsavedRecords) {
+            unsavedRecords.removeIf(record -> record.getSequence() <= journalSequence);
+        }
+    }
+
+    private void rememberBase(DataFileLock.Stamp stamp, List<String> projectNames) {
+        File file = new File(dataFilePath);
+        hasBase = true;
+        baseStamp = stamp;
+        baseFileSize = file.length();
+        baseFileModified = file.lastModified();
+        baseProjectNames = projectNames;
+    }
+
+    private List<JournalRecord> getUnsavedRecords(long journalSequence) {
+        List<JournalRecord> records = new ArrayList<>();
+        synchronized (unsavedRecords) {
+            for (JournalRecord record : unsavedRecords) {
+                if (record.getSequence() <= journalSequence) {
+                    records.add(record);
+                }
+            }
+        }
+        return records;
+    }
+
+    private static List<String> projectNames(ProjectList projects) {
+        List<String> names = new ArrayList<>();
+        for (Project project : projects.getProjectList()) {
+            names.add(project.getProjectName());
+        }
+        return names;
+    }
+
+    /**
+     * Returns whether the changes not saved yet are in the journal, which restores them when FlowCLI next
+     * starts. They are not if another process owns the journal, or if the last save could not merge them
+     * into a data file another process changed, as the journal no longer fits that file.
+     */
+    public boolean isJournalingChanges() {
+        return !journal.isDetached() && !hasUnmergedChanges;
+    }
+
+    /**
+     * Returns the sequence number of the last journaled mutation.
+     */
+    public long getJournalSequence() {
+        return journal.getLastSequence();
+    }
+
+    /**
+     * Appends a mutation to the write-ahead journal so that it survives a crash
+     * before the next save. Large journals are compacted in the background.
+     *
+     * @param record The mutation to record
+     * @throws StorageException if the record cannot be written
+     */
+    public void append(JournalRecord record) throws StorageException {
+        ensureDataDirectoryExists();
+        try {
+            long appended = journal.append(record);
+            synchronized (unsavedRecords) {
+                unsavedRecords.add(record.withSequence(appended));
+            }
+            if (journal.getPendingRecords() >= COMPACTION_THRESHOLD) {
+                long sequence = journal.rotate();
+                compactionExecutor.submit(() -> compact(sequence));
+            }
+        } catch (IOException e) {
+            throw new StorageException("Failed to write journal: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Keeps a mutation in memory only, to be replayed if another process saves the data file before the
+     * next save here. Unlike {@link #append(JournalRecord)}, the mutation is lost if this process stops first.
+     *
+     * @param record The mutation to record
+     */
+    public void record(JournalRecord record) {
+        long sequence = journal.number();
+        synchronized (unsavedRecords) {
+            unsavedRecords.add(record.withSequence(sequence));
+        }
+    }
+
+    /**
+     * Folds rotated journal files up to the given sequence into a new snapshot.
+     * Runs on the compaction thread and only touches files, never the live project list.
+     * Compaction is skipped once another process has changed the data file, as the journal
+     * no longer applies to it; the next save merges the records instead.
+     */
+    private void compact(long sequence) {
+        synchronized (snapshotLock) {
+            try (DataFileLock.Hold hold = fileLock.acquire()) {
+                if (checkpointSequence >= sequence) {
+                    // A full save already covered these records
+                    journal.discardUpTo(checkpointSequence);
+                    return;
+                }
+                DataFileLock.Stamp stamp = hold.readStamp();
+                if (hasBase && (isRebased || isChangedSinceBase(stamp))) {
+                    logger.fine("Journal compaction skipped: another process changed the data file");
+                    return;
+                }
+                File file = new File(dataFilePath);
+                ProjectList projects = new ProjectList();
+                long checkpoint = 0;
+                Map<Project, SegmentStore.SavedSegment> knownSegments = new IdentityHashMap<>();
+                if (file.exists() && file.length() > 0) {
+                    LoadedSnapshot snapshot = readSnapshot(file, isLazy);
+                    projects = snapshot.projects;
+                    checkpoint = snapshot.checkpoint;
+                    knownSegments = snapshot.savedSegments;
+                }
+                replayJournal(projects, journal.getRotatedFilesUpTo(sequence), checkpoint, new ArrayList<>(),
+                        new HashMap<>());
+                Map<Project, SegmentStore.SavedSegment> written =
+                        writeSnapshot(projects, sequence, checkpoint, knownSegments);
+                recordSave(hold, stamp, projectNames(projects), sequence);
+                // Segments of the live projects must survive until the next full save
+                List<SegmentStore.SavedSegment> inUse = new ArrayList<>(written.values());
+                inUse.addAll(segmentsInUse());
+                deleteUnusedSegments(inUse);
+            } catch (IOException | DataCorruptedException | StorageException | ProjectLoadException e) {
+                // The rotated files stay on disk and will be replayed on the next load
+                logger.log(Level.WARNING, "Journal compaction failed: " + e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * Applies journal records newer than the checkpoint, in order. Another process may have saved tasks
+     * under IDs this journal gave out too, since both continued from the same file; journaled tasks then
+     * take the next free IDs.
+     *
+     * @param replayed Receives the records applied, with their task IDs as applied
+     * @param renumbered Receives the journaled task IDs that were changed, mapped to the IDs they got
+     * @return the highest sequence number seen
+     */
+    private long replayJournal(ProjectList projects, List<File> journalFiles, long checkpoint,
+            List<JournalRecord> replayed, Map<Long, Long> renumbered) throws IOException, DataCorruptedException {
+        long lastSequence = checkpoint;
+        for (File journalFile : journalFiles) {
+            for (JournalRecord record : Journal.readRecords(journalFile)) {
+                if (record.getSequence() <= checkpoint) {
+                    continue;
+                }
+                JournalRecord applied = record.rebase(projects, renumbered);
+                applied.applyTo(projects);
+                replayed.add(applied);
+                lastSequence = Math.max(lastSequence, record.getSequence());
+            }
+        }
+        return lastSequence;
+    }
+
+    /**
+     * Writes a snapshot covering the journal up to the given checkpoint and discards
+     * the journal files it absorbed. Caller must hold {@code snapshotLock}.
+     *
+     * @param fileCheckpoint Checkpoint of the data file being replaced, which the new file keeps
+     *         if another process owns the journal
+     * @param knownSegments Segments already on disk that unchanged projects can keep using
+     * @return the segments the new data file refers to (empty unless the layout is segmented)
+     */
+    private Map<Project, SegmentStore.SavedSegment> writeSnapshot(ProjectList projects, long checkpoint,
+            long fileCheckpoint, Map<Project, SegmentStore.SavedSegment> knownSegments) throws StorageException {
         File tempFile = new File(tempFilePath);
+        // Sequence numbers of a detached journal mean nothing to the owner's journal
+        long writtenCheckpoint = journal.isDetached() ? fileCheckpoint : checkpoint;
         
         try {
             // Write to temporary file first (atomic save)
-            writeToFile(projects, tempFile);
+            Map<Project, SegmentStore.SavedSegment> written = new IdentityHashMap<>();
+            if (isSegmented) {
+                written = segmentStore.write(projects, tempFile, writtenCheckpoint, snapshotFormat, knownSegments);
+            } else {
+                writeSnapshotFile(projects, tempFile, writtenCheckpoint, snapshotFormat);
+            }
             
             // Move temp file to actual file (atomic operation)
             Path source = Paths.get(tempFilePath);
             Path target = Paths.get(dataFilePath);
             Files.move(source, target, StandardCopyOption.REPLACE_EXISTING, 
                       StandardCopyOption.ATOMIC_MOVE);
+            checkpointSequence = checkpoint;
+            baseCheckpoint = writtenCheckpoint;
+            journal.discardUpTo(checkpoint);
+            return written;
             
         } catch (AccessDeniedException e) {
             throw new StorageException("Permission denied: Cannot write to " + dataFilePath 
@@ -135,6 +662,33 @@ public class Storage {
         }
     }
 
+    /**
+     * Returns the segments that the data file as last saved and the live projects refer to.
+     * Caller must hold {@code snapshotLock}.
+     */
+    private List<SegmentStore.SavedSegment> segmentsInUse() {
+        List<SegmentStore.SavedSegment> inUse = new ArrayList<>(savedSegments.values());
+        inUse.addAll(liveSegments);
+        return inUse;
+    }
+
+    /**
+     * Deletes segment files that are no longer needed. A failure only leaves stale files behind.
+     * While another process runs they are all kept, as it may not have read its unloaded projects yet;
+     * the owner deletes them once it is alone. Caller must hold the data file lock.
+     */
+    private void deleteUnusedSegments(Collection<SegmentStore.SavedSegment> inUse) {
+        try {
+            if (fileLock.hasPeers()) {
+                logger.fine("Kept unused segment files, which another process may still read");
+                return;
+            }
+            segmentStore.deleteUnused(inUse);
+        } catch (IOException e) {
+            logger.log(Level.WARNING, "Could not delete unused segment files: " + e.getMessage(), e);
+        }
+    }
+
     /**
      * Ensures the data directory exists, creating it if necessary.
      * 
@@ -156,164 +710,132 @@ public class Storage {
     }
 
     /**
-     * Loads project data from the given file.
+     * Returns the format of an existing snapshot file.
      */
-    private ProjectList loadFromFile(File file) throws IOException, DataCorruptedException {
-        ProjectList projects = new ProjectList();
-        Project currentProject = null;
-        int lineNumber = 0;
-        
-        try (BufferedReader reader = new BufferedReader(
-                new FileReader(file, StandardCharsets.UTF_8))) {
-            
-            String line;
-            while ((line = reader.readLine()) != null) {
-                lineNumber++;
-                
-                // Skip empty lines
-                if (line.trim().isEmpty()) {
-                    continue;
-                }
-                
-                if (line.startsWith(PROJECT_PREFIX)) {
-                    currentProject = parseProjectLine(line, lineNumber);
-                    projects.addProject(currentProject.getProjectName());
-                    // Update reference to the added project
-                    try {
-                        currentProject = projects.getProjectByIndex(projects.getProjectListSize() - 1);
-                    } catch (Exception e) {
-                        throw new DataCorruptedException("Line " + lineNumber 
-                            + ": Failed to add project - " + e.getMessage());
-                    }
-                    
-                } else if (line.startsWith(TASK_PREFIX)) {
-                    if (currentProject == null) {
-                        throw new DataCorruptedException("Line " + lineNumber 
-                            + ": Task found without a project header");
-                    }
-                    parseAndAddTask(line, currentProject, lineNumber);
-                    
-                } else {
-                    throw new DataCorruptedException("Line " + lineNumber 
-                        + ": Invalid line format (expected PROJECT or TASK)");
-                }
-            }
+    static SnapshotFormat detectFormat(File file) throws IOException {
+        return BinarySnapshotCodec.isBinary(file) ? SnapshotFormat.BINARY : SnapshotFormat.TEXT;
+    }
+
+    /**
+     * Reads a data file in either format and either layout.
+     */
+    static LoadedSnapshot readSnapshot(File file) throws IOException, DataCorruptedException {
+        return readSnapshot(file, false);
+    }
+
+    /**
+     * Reads a data file in either format and either layout, leaving the projects of a segmented
+     * file unloaded if {@code isLazy} is set.
+     */
+    static LoadedSnapshot readSnapshot(File file, boolean isLazy) throws IOException, DataCorruptedException {
+        LoadedSnapshot snapshot = readSingleFile(file);
+        if (snapshot.segments.isEmpty()) {
+            return snapshot;
         }
-        
-        return projects;
+        return SegmentStore.resolve(file, snapshot, isLazy);
     }
 
     /**
-     * Parses a PROJECT line and creates a Project object.
+     * Reads one snapshot file in either format, using the memory-mapped parallel loader for large text files.
+     * Segment entries are returned unresolved.
      */
-    private Project parseProjectLine(String line, int lineNumber) throws DataCorruptedException {
-        String content = line.substring(PROJECT_PREFIX.length());
-        String projectName = unescape(content).trim();
-        
-        if (projectName.isEmpty()) {
-            throw new DataCorruptedException("Line " + lineNumber 
-                + ": Project name cannot be empty");
+    static LoadedSnapshot readSingleFile(File file) throws IOException, DataCorruptedException {
+        LoadedSnapshot snapshot;
+        if (detectFormat(file) == SnapshotFormat.BINARY) {
+            snapshot = BinarySnapshotCodec.read(file);
+            snapshot.format = SnapshotFormat.BINARY;
+        } else if (MappedDataLoader.shouldMap(file)) {
+            snapshot = MAPPED_LOADER.load(file);
+        } else {
+            snapshot = loadFromFile(file);
         }
-        
-        try {
-            return new Project(projectName);
-        } catch (IllegalArgumentException e) {
-            throw new DataCorruptedException("Line " + lineNumber 
-                + ": Invalid project name - " + e.getMessage());
+        MetricsRegistry.getInstance().addBytesRead(file.length());
+        return snapshot;
+    }
+
+    /**
+     * Writes a snapshot file in the given format.
+     */
+    static void writeSnapshotFile(ProjectList projects, File file, long checkpoint, SnapshotFormat format)
+            throws IOException {
+        writeSnapshotFile(projects.getProjectList(), projects.getLastTaskId(), file, checkpoint, format);
+    }
+
+    /**
+     * Writes a snapshot file of the given projects in the given format, without adding them to another list.
+     *
+     * @param lastTaskId The highest task ID assigned so far, or 0 to leave it out
+     */
+    static void writeSnapshotFile(List<Project> projects, long lastTaskId, File file, long checkpoint,
+            SnapshotFormat format) throws IOException {
+        if (format == SnapshotFormat.BINARY) {
+            BinarySnapshotCodec.write(projects, lastTaskId, file, checkpoint);
+        } else {
+            writeToFile(projects, lastTaskId, file, checkpoint);
         }
+        MetricsRegistry.getInstance().addBytesWritten(file.length());
     }
 
     /**
-     * Parses a TASK line and adds it to the current project.
-     * Format: TASK|isDone|description|deadline|priority
+     * Returns the META line recording the journal checkpoint and the last task ID, or null if both are 0.
      */
-    private void parseAndAddTask(String line, Project project, int lineNumber) 
-            throws DataCorruptedException {
-        String content = line.substring(TASK_PREFIX.length());
-        String[] parts = content.split("\\|", -1); // -1 to keep trailing empty strings
-        
-        if (parts.length != 4) {
-            throw new DataCorruptedException("Line " + lineNumber 
-                + ": Invalid task format (expected 4 fields, got " + parts.length + ")");
+    static String metaLine(long checkpoint, long lastTaskId) {
+        if (checkpoint <= 0 && lastTaskId <= 0) {
+            return null;
         }
-        
-        try {
-            // Parse isDone
-            int isDoneValue = Integer.parseInt(parts[0].trim());
-            if (isDoneValue != 0 && isDoneValue != 1) {
-                throw new DataCorruptedException("Line " + lineNumber 
-                    + ": Invalid isDone value (must be 0 or 1)");
-            }
-            boolean isDone = isDoneValue == 1;
-            
-            // Parse description (can be empty)
-            String description = unescape(parts[1]);
-            
-            // Parse deadline (can be "null")
-            LocalDate deadline = null;
-            if (!parts[2].trim().equals("null")) {
-                try {
-                    deadline = LocalDate.parse(parts[2].trim());
-                } catch (DateTimeParseException e) {
-                    throw new DataCorruptedException("Line " + lineNumber 
-                        + ": Invalid date format '" + parts[2] + "' (expected YYYY-MM-DD)");
-                }
-            }
-            
-            // Parse priority
-            int priority = Integer.parseInt(parts[3].trim());
-            if (priority < 1 || priority > 3) {
-                throw new DataCorruptedException("Line " + lineNumber 
-                    + ": Invalid priority value (must be 1, 2, or 3)");
-            }
-            
-            // Add task to project
-            if (deadline != null) {
-                project.addTask(description, deadline, priority);
-            } else {
-                project.addTask(description);
-                // Set priority manually since single-arg constructor defaults to 2
-                project.getProjectTasks().getTasks()
-                    .get(project.getProjectTasks().size() - 1).setPriority(priority);
+        StringBuilder meta = new StringBuilder(META_PREFIX);
+        if (checkpoint > 0) {
+            meta.append(CHECKPOINT_KEY).append('=').append(checkpoint);
+        }
+        if (lastTaskId > 0) {
+            if (checkpoint > 0) {
+                meta.append(DELIMITER);
             }
+            meta.append(LAST_TASK_ID_KEY).append('=').append(lastTaskId);
+        }
+        return meta.toString();
+    }
+
+    /**
+     * Loads project data from the given file.
+     */
+    private static LoadedSnapshot loadFromFile(File file) throws IOException, DataCorruptedException {
+        SnapshotParser parser = new SnapshotParser();
+        int lineNumber = 0;
+        
+        try (BufferedReader reader = new BufferedReader(
+                new FileReader(file, StandardCharsets.UTF_8))) {
             
-            // Set isDone status
-            if (isDone) {
-                try {
-                    project.getProjectTasks().mark(project.getProjectTasks().size() - 1);
-                } catch (Exception e) {
-                    throw new DataCorruptedException("Line " + lineNumber 
-                        + ": Failed to mark task - " + e.getMessage());
-                }
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                parser.parseLine(line, lineNumber);
             }
-            
-        } catch (NumberFormatException e) {
-            throw new DataCorruptedException("Line " + lineNumber 
-                + ": Invalid number format - " + e.getMessage());
-        } catch (DataCorruptedException e) {
-            // Re-throw DataCorruptedException as-is
-            throw e;
-        } catch (Exception e) {
-            throw new DataCorruptedException("Line " + lineNumber 
-                + ": Error parsing task - " + e.getMessage());
         }
+        
+        ProjectList projects = new ProjectList();
+        projects.reserveTaskIds(parser.getLastTaskId());
+        for (Project project : parser.getProjects()) {
+            projects.addProject(project);
+        }
+        return new LoadedSnapshot(projects, parser.getCheckpoint(), parser.getSegments());
     }
 
     /**
      * Writes project data to the given file.
      */
-    private void writeToFile(ProjectList projects, File file) throws IOException {
+    private static void writeToFile(List<Project> projects, long lastTaskId, File file, long checkpoint)
+            throws IOException {
         try (BufferedWriter writer = new BufferedWriter(
                 new FileWriter(file, StandardCharsets.UTF_8))) {
+
+            String meta = metaLine(checkpoint, lastTaskId);
+            if (meta != null) {
+                writer.write(meta);
+                writer.newLine();
+            }
             
-            for (int i = 0; i < projects.getProjectListSize(); i++) {
-                Project project;
-                try {
-                    project = projects.getProjectByIndex(i);
-                } catch (Exception e) {
-                    // This should never happen since we're iterating within size bounds
-                    throw new IOException("Failed to access project at index " + i, e);
-                }
+            for (Project project : projects) {
                 
                 // Write project line
                 writer.write(PROJECT_PREFIX + escape(project.getProjectName()));
@@ -336,6 +858,9 @@ public class Storage {
                     
                     writer.write(TASK_PREFIX + isDone + DELIMITER + description + DELIMITER 
                                + deadline + DELIMITER + priority);
+                    if (task.getId() != 0) {
+                        writer.write(DELIMITER + task.getId());
+                    }
                     writer.newLine();
                 }
             }
@@ -343,9 +868,11 @@ public class Storage {
     }
 
     /**
-     * Backs up a corrupted data file.
+     * Backs up a corrupted data file together with the journal that was meant to be replayed over it.
      */
     private void backupCorruptedFile() {
+        journal.backup();
+        segmentStore.backup();
         try {
             File source = new File(dataFilePath);
             File backup = new File(backupFilePath);
@@ -365,7 +892,7 @@ public class Storage {
      * Escapes special characters in strings for storage.
      * Escapes: | (delimiter) and newlines
      */
-    private String escape(String input) {
+    static String escape(String input) {
         if (input == null) {
             return "";
         }
@@ -380,10 +907,14 @@ public class Storage {
     /**
      * Unescapes special characters from stored strings.
      */
-    private String unescape(String input) {
+    static String unescape(String input) {
         if (input == null) {
             return "";
         }
+        if (input.indexOf('<') < 0) {
+            // Nothing was escaped
+            return input;
+        }
         // Order matters: unescape in reverse order
         return input.replace(NEWLINE_ESCAPE, "\n")
                     .replace(DELIMITER_ESCAPE, "|")
@@ -397,6 +928,29 @@ public class Storage {
     public String getDataFilePath() {
         return dataFilePath;
     }
+
+    /**
+     * Result of reading a snapshot file: the projects and the journal checkpoint it covers.
+     */
+    static class LoadedSnapshot {
+        final ProjectList projects;
+        final long checkpoint;
+        /** Unresolved SEGMENT entries of a segmented data file. */
+        final List<SnapshotParser.SegmentEntry> segments;
+        /** Segment file of each project read from a segmented data file, by project identity. */
+        final Map<Project, SegmentStore.SavedSegment> savedSegments = new IdentityHashMap<>();
+        SnapshotFormat format = SnapshotFormat.TEXT;
+
+        LoadedSnapshot(ProjectList projects, long checkpoint) {
+            this(projects, checkpoint, List.of());
+        }
+
+        LoadedSnapshot(ProjectList projects, long checkpoint, List<SnapshotParser.SegmentEntry> segments) {
+            this.projects = projects;
+            this.checkpoint = checkpoint;
+            this.segments = segments;
+        }
+    }
 }
 //@@author
 
@@ -5,47 +5,77 @@ import java.time.format.DateTimeFormatter;
 
 /**
  * Represents a basic task with a description and completion status.
- * This is the abstract base class for all task types in the application.
+ *
+ * <p>A task is a view of one row of a {@link TaskColumns} store: the fields of the tasks of a
+ * {@link TaskList} live in the list's column arrays, and the task object only records where.
+ * A task that is not in a list, such as one just created or deleted, has a store of its own.
+ * Changes go through the owner first, which moves to a private store if its store is shared.
  */
 //@@author Zhenzha0
 public class Task {
-    protected String description;
-    protected boolean isDone;
-    protected LocalDate deadline;
-    protected int priority; // 1=Low, 2=Medium, 3=High
+    /** Value of {@link #getDeadlineEpochDay()} for a task without a deadline. */
+    public static final int NO_DEADLINE = Integer.MIN_VALUE;
+    private static final DateTimeFormatter DEADLINE_FORMATTER = DateTimeFormatter.ofPattern("MMM dd, yyyy");
+
+    TaskColumns columns; // Store holding the fields, ID included: the owner's, or a private one
+    TaskList owner; // List holding the task, or null if it is not in one
+    int slot; // Row in columns; also the position in the owner's backing list, tombstones included
 
     public Task(String description) {
-        this.description = description;
-        this.isDone = false;
-        this.deadline = null; // No deadline by default
-        this.priority = 2; // Medium priority by default
+        this(description, null, 2); // No deadline and medium priority by default
     }
 
     public Task(String description, LocalDate deadline, int priority) {
-        this.description = description;
-        this.isDone = false;
-        this.deadline = deadline;
-        this.priority = priority;
+        this.columns = TaskColumns.single(description, deadline, priority, false);
+    }
+
+    /**
+     * Creates a view of a row of a list's store.
+     */
+    Task(TaskList owner, TaskColumns columns, int row) {
+        this.owner = owner;
+        this.columns = columns;
+        this.slot = row;
+    }
+
+    /**
+     * Returns the task's ID, which is unique within its project list and never reused,
+     * or 0 if the task has not been added to a project list yet.
+     */
+    public long getId() {
+        return columns.getId(slot);
+    }
+
+    void setId(long id) {
+        writableColumns().setId(slot, id);
     }
 
     public String getDescription() {
-        return description;
+        return columns.getDescription(slot);
     }
 
     public boolean isDone() {
-        return isDone;
+        return columns.isDone(slot);
     }
 
     public LocalDate getDeadline() {
-        return deadline;
+        return columns.getDeadline(slot);
+    }
+
+    /**
+     * Returns the deadline as a number of days since 1970-01-01, or {@link #NO_DEADLINE} if there is none.
+     * Unlike {@link #getDeadline()}, this does not create an object.
+     */
+    public int getDeadlineEpochDay() {
+        return columns.getDeadlineEpochDay(slot);
     }
 
     public int getPriority() {
-        return priority;
+        return columns.getPriority(slot);
     }
 
     public String getPriorityString() {
-        switch (priority) {
+        switch (getPriority()) {
         case 1:
             return "Low";
         case 2:
@@ -58,44 +88,77 @@ public class Task {
     }
 
     public void mark() {
-        this.isDone = true;
+        writableColumns().setDone(slot, true);
     }
 
     public void unmark() {
-        this.isDone = false;
+        writableColumns().setDone(slot, false);
     }
 
     public void setDescription(String description) {
-        this.description = description;
+        writableColumns().setDescription(slot, description);
     }
 
     public void setDeadline(LocalDate deadline) {
-        this.deadline = deadline;
+        writableColumns().setDeadline(slot, deadline);
     }
 
+    /**
+     * Sets the priority, which must fit in a byte.
+     */
     public void setPriority(int priority) {
-        this.priority = priority;
+        writableColumns().setPriority(slot, priority);
+    }
+
+    /**
+     * Returns the store to change, after making sure it is not shared with a copy of the owner.
+     */
+    private TaskColumns writableColumns() {
+        if (owner != null) {
+            owner.ensureOwnColumns();
+        }
+        return columns;
     }
 
     public String marker() {
-        return isDone ? "[X]" : "[ ]";
+        return isDone() ? "[X]" : "[ ]";
     }
 
     public String toString() {
         StringBuilder sb = new StringBuilder();
-        sb.append(marker()).append(" ").append(description);
+        appendTo(sb);
+        return sb.toString();
+    }
 
-        if (deadline != null) {
-            sb.append(" (Due: ").append(deadline.format(DateTimeFormatter.ofPattern("MMM dd, yyyy"))).append(")");
+    /**
+     * Appends the text of {@link #toString()} to the given builder without creating intermediate strings.
+     */
+    public void appendTo(StringBuilder sb) {
+        sb.append(marker()).append(" ");
+        columns.appendDescription(slot, sb);
+
+        if (getDeadlineEpochDay() != NO_DEADLINE) {
+            sb.append(" (Due: ");
+            DEADLINE_FORMATTER.formatTo(getDeadline(), sb);
+            sb.append(")");
         }
 
         sb.append(" [").append(getPriorityString()).append("]");
-
-        return sb.toString();
     }
 
     public boolean getDone() {
-        return isDone;
+        return isDone();
+    }
+
+    /**
+     * Moves the fields of a task that is leaving its list into a store of its own.
+     */
+    void detach() {
+        TaskColumns own = TaskColumns.single(getDescription(), getDeadline(), getPriority(), isDone());
+        own.setId(0, getId());
+        owner = null;
+        columns = own;
+        slot = 0;
     }
 
 }
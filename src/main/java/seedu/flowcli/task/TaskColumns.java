@@ -0,0 +1,325 @@
+package seedu.flowcli.task;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Arrays;
+
+/**
+ * Column store holding the fields of the tasks of one {@link TaskList}, one row per task.
+ *
+ * <p>Instead of a {@code String} and a {@code LocalDate} object per task, each field lives in a
+ * primitive array: a flag byte, a priority byte, the deadline as an epoch day ({@link #NO_DEADLINE}
+ * if there is none) and the description as an offset and length into a byte arena shared by all
+ * rows. Descriptions are stored as Latin-1 when they fit, and as UTF-16 otherwise. Changing a
+ * description appends the new text to the arena; the arena is compacted once more than half of it
+ * is unused. Task IDs are kept in a column too, so that the rows alone describe the tasks.
+ *
+ * <p>A store can be shared between a list and copies of it. A shared store is never changed again:
+ * whichever list changes first moves to a private copy of the store, so copying a list takes
+ * constant time and a copy sees the tasks as they were when it was taken.
+ */
+final class TaskColumns {
+    static final int NO_DEADLINE = Task.NO_DEADLINE;
+
+    private static final byte DONE = 1;
+    private static final byte WIDE_TEXT = 2;
+    private static final byte NO_TEXT = 4;
+    private static final int INITIAL_ROWS = 8;
+    private static final int MIN_COMPACTED_TEXT = 4096;
+
+    private byte[] flags;
+    private byte[] priorities;
+    private int[] deadlines;
+    private int[] textStarts;
+    private int[] textLengths;
+    private long[] ids;
+    private byte[] text;
+    private int rowCount;
+    private int textSize;
+    private int unusedText;
+    /** Set once the store is shared; written by readers, so volatile to be seen by the next writer. */
+    private volatile boolean isShared;
+
+    TaskColumns() {
+        this(INITIAL_ROWS, 0);
+    }
+
+    private TaskColumns(int rowCapacity, int textCapacity) {
+        flags = new byte[rowCapacity];
+        priorities = new byte[rowCapacity];
+        deadlines = new int[rowCapacity];
+        textStarts = new int[rowCapacity];
+        textLengths = new int[rowCapacity];
+        ids = new long[rowCapacity];
+        text = new byte[textCapacity];
+    }
+
+    /**
+     * Returns a store holding a single task, for tasks that are not in a list.
+     */
+    static TaskColumns single(String description, LocalDate deadline, int priority, boolean isDone) {
+        TaskColumns columns = new TaskColumns(1, 0);
+        columns.append(description, deadline, priority, isDone);
+        return columns;
+    }
+
+    int size() {
+        return rowCount;
+    }
+
+    /**
+     * Marks the store as shared, after which nothing may change it, and returns it.
+     */
+    TaskColumns share() {
+        isShared = true;
+        return this;
+    }
+
+    boolean isShared() {
+        return isShared;
+    }
+
+    /**
+     * Appends a row and returns its number.
+     */
+    int append(String description, LocalDate deadline, int priority, boolean isDone) {
+        if (rowCount == flags.length) {
+            growRows(rowCount + 1);
+        }
+        int row = rowCount++;
+        flags[row] = isDone ? DONE : 0;
+        ids[row] = 0;
+        setPriority(row, priority);
+        setDeadline(row, deadline);
+        textLengths[row] = 0;
+        setDescription(row, description);
+        return row;
+    }
+
+    /**
+     * Appends a copy of a row of another store and returns its number.
+     */
+    int appendCopy(TaskColumns source, int sourceRow) {
+        return append(source.getDescription(sourceRow), source.getDeadline(sourceRow),
+                source.getPriority(sourceRow), source.isDone(sourceRow));
+    }
+
+    long getId(int row) {
+        return ids[row];
+    }
+
+    void setId(int row, long id) {
+        ids[row] = id;
+    }
+
+    boolean isDone(int row) {
+        return (flags[row] & DONE) != 0;
+    }
+
+    void setDone(int row, boolean isDone) {
+        flags[row] = (byte) (isDone ? flags[row] | DONE : flags[row] & ~DONE);
+    }
+
+    int getPriority(int row) {
+        return priorities[row];
+    }
+
+    void setPriority(int row, int priority) {
+        if (priority < Byte.MIN_VALUE || priority > Byte.MAX_VALUE) {
+            throw new IllegalArgumentException("Priority out of range: " + priority);
+        }
+        priorities[row] = (byte) priority;
+    }
+
+    /**
+     * Returns the deadline as an epoch day, or {@link #NO_DEADLINE}.
+     */
+    int getDeadlineEpochDay(int row) {
+        return deadlines[row];
+    }
+
+    LocalDate getDeadline(int row) {
+        return deadlines[row] == NO_DEADLINE ? null : LocalDate.ofEpochDay(deadlines[row]);
+    }
+
+    void setDeadline(int row, LocalDate deadline) {
+        deadlines[row] = deadline == null ? NO_DEADLINE : Math.toIntExact(deadline.toEpochDay());
+    }
+
+    String getDescription(int row) {
+        if ((flags[row] & NO_TEXT) != 0) {
+            return null;
+        }
+        if ((flags[row] & WIDE_TEXT) != 0) {
+            return new String(text, textStarts[row], textLengths[row], StandardCharsets.UTF_16BE);
+        }
+        return new String(text, textStarts[row], textLengths[row], StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * Appends the description of a row to the builder without creating a string, or "null" if it has none.
+     */
+    void appendDescription(int row, StringBuilder sb) {
+        if ((flags[row] & (NO_TEXT | WIDE_TEXT)) != 0) {
+            sb.append(getDescription(row));
+            return;
+        }
+        int end = textStarts[row] + textLengths[row];
+        for (int i = textStarts[row]; i < end; i++) {
+            sb.append((char) (text[i] & 0xFF));
+        }
+    }
+
+    void setDescription(int row, String description) {
+        release(row);
+        flags[row] &= ~(WIDE_TEXT | NO_TEXT);
+        if (description == null) {
+            flags[row] |= NO_TEXT;
+            textStarts[row] = textSize;
+            textLengths[row] = 0;
+            return;
+        }
+        boolean isWide = false;
+        for (int i = 0; i < description.length(); i++) {
+            if (description.charAt(i) > 0xFF) {
+                isWide = true;
+                break;
+            }
+        }
+        int length = isWide ? description.length() * 2 : description.length();
+        if (unusedText > textSize / 2 && textSize >= MIN_COMPACTED_TEXT) {
+            compactText();
+        }
+        ensureText(textSize + length);
+        int start = textSize;
+        for (int i = 0; i < description.length(); i++) {
+            char c = description.charAt(i);
+            if (isWide) {
+                text[start + 2 * i] = (byte) (c >>> 8);
+                text[start + 2 * i + 1] = (byte) c;
+            } else {
+                text[start + i] = (byte) c;
+            }
+        }
+        if (isWide) {
+            flags[row] |= WIDE_TEXT;
+        }
+        textStarts[row] = start;
+        textLengths[row] = length;
+        textSize += length;
+    }
+
+    /**
+     * Marks the text of a row as unused, e.g. because the task was deleted.
+     */
+    void release(int row) {
+        unusedText += textLengths[row];
+        textLengths[row] = 0;
+    }
+
+    /**
+     * Copies a row over another one; the text is shared, not copied.
+     */
+    void move(int from, int to) {
+        flags[to] = flags[from];
+        priorities[to] = priorities[from];
+        deadlines[to] = deadlines[from];
+        textStarts[to] = textStarts[from];
+        textLengths[to] = textLengths[from];
+        ids[to] = ids[from];
+    }
+
+    /**
+     * Drops every row from the given one on; their text must already have been released.
+     */
+    void truncate(int newRowCount) {
+        rowCount = newRowCount;
+    }
+
+    /**
+     * Reorders the rows so that row {@code i} holds what was row {@code order[i]}.
+     */
+    void permute(int[] order) {
+        byte[] newFlags = new byte[flags.length];
+        byte[] newPriorities = new byte[flags.length];
+        int[] newDeadlines = new int[flags.length];
+        int[] newStarts = new int[flags.length];
+        int[] newLengths = new int[flags.length];
+        long[] newIds = new long[flags.length];
+        for (int i = 0; i < order.length; i++) {
+            int from = order[i];
+            newFlags[i] = flags[from];
+            newPriorities[i] = priorities[from];
+            newDeadlines[i] = deadlines[from];
+            newStarts[i] = textStarts[from];
+            newLengths[i] = textLengths[from];
+            newIds[i] = ids[from];
+        }
+        flags = newFlags;
+        priorities = newPriorities;
+        deadlines = newDeadlines;
+        textStarts = newStarts;
+        textLengths = newLengths;
+        ids = newIds;
+    }
+
+    /**
+     * Returns an independent copy holding the first {@code rows} rows, with the unused text left out.
+     */
+    TaskColumns copy(int rows) {
+        TaskColumns copy = new TaskColumns(Math.max(rows, INITIAL_ROWS), 0);
+        System.arraycopy(flags, 0, copy.flags, 0, rows);
+        System.arraycopy(priorities, 0, copy.priorities, 0, rows);
+        System.arraycopy(deadlines, 0, copy.deadlines, 0, rows);
+        System.arraycopy(ids, 0, copy.ids, 0, rows);
+        copy.rowCount = rows;
+        copy.text = unusedText == 0 ? Arrays.copyOf(text, textSize) : new byte[textSize - unusedText];
+        if (unusedText == 0) {
+            System.arraycopy(textStarts, 0, copy.textStarts, 0, rows);
+            System.arraycopy(textLengths, 0, copy.textLengths, 0, rows);
+            copy.textSize = textSize;
+        } else {
+            for (int row = 0; row < rows; row++) {
+                copy.copyText(row, text, textStarts[row], textLengths[row]);
+            }
+        }
+        return copy;
+    }
+
+    private void copyText(int row, byte[] source, int start, int length) {
+        ensureText(textSize + length);
+        System.arraycopy(source, start, text, textSize, length);
+        textStarts[row] = textSize;
+        textLengths[row] = length;
+        textSize += length;
+    }
+
+    /**
+     * Rewrites the arena so that it only holds the text of the current rows.
+     */
+    private void compactText() {
+        byte[] oldText = text;
+        text = new byte[Math.max(textSize - unusedText, MIN_COMPACTED_TEXT)];
+        textSize = 0;
+        unusedText = 0;
+        for (int row = 0; row < rowCount; row++) {
+            copyText(row, oldText, textStarts[row], textLengths[row]);
+        }
+    }
+
+    private void ensureText(int capacity) {
+        if (capacity > text.length) {
+            text = Arrays.copyOf(text, Math.max(capacity, text.length * 2));
+        }
+    }
+
+    private void growRows(int capacity) {
+        int newCapacity = Math.max(capacity, flags.length * 2);
+        flags = Arrays.copyOf(flags, newCapacity);
+        priorities = Arrays.copyOf(priorities, newCapacity);
+        deadlines = Arrays.copyOf(deadlines, newCapacity);
+        textStarts = Arrays.copyOf(textStarts, newCapacity);
+        textLengths = Arrays.copyOf(textLengths, newCapacity);
+        ids = Arrays.copyOf(ids, newCapacity);
+    }
+}
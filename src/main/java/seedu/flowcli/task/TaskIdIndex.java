@@ -0,0 +1,201 @@
+package seedu.flowcli.task;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Assigns task IDs for one project list and finds tasks by ID.
+ *
+ * <p>IDs are handed out in increasing order and are never reused, even after the task with the
+ * highest ID is deleted. The map from ID to task is only built the first time a task is looked up,
+ * so lists that are never searched by ID, such as the copies made for saving, never pay for it.
+ * Once built, it is kept up to date as tasks are added and deleted. The map is only published once
+ * it is complete, and can be read while a list being loaded on another reader's behalf adds to it.
+ *
+ * <p>The index also owns the {@link TaskTextIndex} over the tasks' descriptions, which is likewise only
+ * built by the first search and then kept up to date.
+ */
+public final class TaskIdIndex {
+    private final Set<TaskList> lists = Collections.newSetFromMap(new IdentityHashMap<>());
+    private volatile Map<Long, Task> byId;
+    private volatile TaskTextIndex text;
+    private long lastId;
+
+    /**
+     * Returns the task with the given ID, or null if no task in the project list has it.
+     */
+    public Task find(long id) {
+        if (byId == null) {
+            build();
+        }
+        return byId.get(id);
+    }
+
+    /**
+     * Returns whether the map from ID to task has been built, so that {@link #find} only reads.
+     */
+    public boolean isBuilt() {
+        return byId != null;
+    }
+
+    /**
+     * Builds the map from ID to task if it has not been built yet.
+     */
+    public void build() {
+        if (byId != null) {
+            return;
+        }
+        Map<Long, Task> built = new ConcurrentHashMap<>();
+        for (TaskList list : lists) {
+            for (Task task : list.getTasks()) {
+                register(built, task);
+            }
+        }
+        byId = built;
+    }
+
+    /**
+     * Returns the full-text index over the tasks' descriptions, building it if it has not been built yet.
+     */
+    public TaskTextIndex getTextIndex() {
+        if (text == null) {
+            buildText();
+        }
+        return text;
+    }
+
+    /**
+     * Returns whether the full-text index has been built, so that {@link #getTextIndex} only reads.
+     */
+    public boolean isTextBuilt() {
+        return text != null;
+    }
+
+    /**
+     * Builds the full-text index, and the map from ID to task it relies on for unique IDs, if they have not
+     * been built yet.
+     */
+    public void buildText() {
+        if (text != null) {
+            return;
+        }
+        build();
+        Task[] tasksById = byId.values().toArray(new Task[0]);
+        Arrays.sort(tasksById, Comparator.comparingLong(Task::getId));
+        TaskTextIndex built = new TaskTextIndex();
+        built.build(tasksById);
+        text = built;
+    }
+
+    /**
+     * Returns the list holding the given task, or null if it is not in one of this index's lists.
+     */
+    public TaskList listOf(Task task) {
+        return task.owner != null && lists.contains(task.owner) ? task.owner : null;
+    }
+
+    /**
+     * Returns the highest ID assigned so far.
+     */
+    public long getLastId() {
+        return lastId;
+    }
+
+    /**
+     * Makes sure new tasks get IDs above the given one, e.g. the last ID recorded in a saved file.
+     */
+    public void reserve(long id) {
+        lastId = Math.max(lastId, id);
+    }
+
+    void addList(TaskList list) {
+        lists.add(list);
+        reserve(list.maxId);
+        if (list.unassignedCount > 0) {
+            for (Task task : list.getTasks()) {
+                if (task.getId() == 0) {
+                    task.setId(++lastId);
+                }
+            }
+            list.maxId = lastId;
+            list.unassignedCount = 0;
+        }
+        if (byId != null) {
+            for (Task task : list.getTasks()) {
+                register(byId, task);
+            }
+        }
+        if (text != null) {
+            for (Task task : list.getTasks()) {
+                text.add(task);
+            }
+        }
+    }
+
+    void removeList(TaskList list) {
+        lists.remove(list);
+        if (byId != null) {
+            for (Task task : list.getTasks()) {
+                byId.remove(task.getId(), task);
+            }
+        }
+        if (text != null) {
+            for (Task task : list.getTasks()) {
+                text.remove(task);
+            }
+        }
+    }
+
+    /**
+     * Gives a task added to one of the lists an ID if it has none, and indexes it.
+     */
+    void added(Task task) {
+        if (task.getId() == 0) {
+            task.setId(++lastId);
+        } else {
+            reserve(task.getId());
+        }
+        if (byId != null) {
+            register(byId, task);
+        }
+        if (text != null) {
+            text.add(task);
+        }
+    }
+
+    void removed(Task task) {
+        if (byId != null) {
+            byId.remove(task.getId(), task);
+        }
+        if (text != null) {
+            text.remove(task);
+        }
+    }
+
+    /**
+     * Reindexes the text of a task whose description changed from the given one.
+     */
+    void redescribed(Task task, String oldDescription) {
+        if (text != null) {
+            text.redescribe(task, oldDescription);
+        }
+    }
+
+    /**
+     * Indexes a task. A task whose ID is already taken, which only happens with hand-edited
+     * data files, gets a new ID.
+     */
+    private void register(Map<Long, Task> map, Task task) {
+        Task previous = map.putIfAbsent(task.getId(), task);
+        if (previous != null && previous != task) {
+            task.setId(++lastId);
+            task.owner.maxId = lastId;
+            map.put(task.getId(), task);
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package seedu.flowcli.task;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Secondary indexes over the tasks of one {@link TaskList}: a bucket per priority level and
+ * a map from each deadline to the tasks due that day.
+ *
+ * <p>Every bucket is sorted by the tasks' slots in the list, so the tasks of a bucket come out in
+ * list order. Compacting the list lowers slots without changing their order, so the buckets stay
+ * sorted; sorting the list rebuilds the index.
+ */
+final class TaskIndex {
+    private static final Comparator<Task> LIST_ORDER = Comparator.comparingInt(task -> task.slot);
+
+    private final List<TreeSet<Task>> byPriority = new ArrayList<>();
+    private final TreeMap<LocalDate, TreeSet<Task>> byDeadline = new TreeMap<>();
+
+    TaskIndex() {
+        for (int priority = 0; priority <= TaskList.HIGH_PRIORITY; priority++) {
+            byPriority.add(new TreeSet<>(LIST_ORDER));
+        }
+    }
+
+    /**
+     * Indexes a task, e.g. one appended to the list or one whose fields changed.
+     */
+    void add(Task task) {
+        if (isIndexedPriority(task.getPriority())) {
+            byPriority.get(task.getPriority()).add(task);
+        }
+        LocalDate deadline = task.getDeadline();
+        if (deadline != null) {
+            byDeadline.computeIfAbsent(deadline, date -> new TreeSet<>(LIST_ORDER)).add(task);
+        }
+    }
+
+    void remove(Task task) {
+        if (isIndexedPriority(task.getPriority())) {
+            byPriority.get(task.getPriority()).remove(task);
+        }
+        LocalDate deadline = task.getDeadline();
+        if (deadline != null) {
+            TreeSet<Task> due = byDeadline.get(deadline);
+            if (due != null && due.remove(task) && due.isEmpty()) {
+                byDeadline.remove(deadline);
+            }
+        }
+    }
+
+    /**
+     * Reindexes every task after the list was reordered.
+     */
+    void rebuild(List<Task> tasks) {
+        for (TreeSet<Task> bucket : byPriority) {
+            bucket.clear();
+        }
+        byDeadline.clear();
+        for (Task task : tasks) {
+            add(task);
+        }
+    }
+
+    int countWithPriority(int priority) {
+        return isIndexedPriority(priority) ? byPriority.get(priority).size() : 0;
+    }
+
+    Collection<Task> withPriority(int priority) {
+        if (!isIndexedPriority(priority)) {
+            return Collections.emptyList();
+        }
+        return Collections.unmodifiableCollection(byPriority.get(priority));
+    }
+
+    /**
+     * Returns the tasks due between the given dates, both inclusive, by deadline and then list order.
+     * A null bound leaves that end of the range open.
+     */
+    List<Task> dueBetween(LocalDate from, LocalDate to) {
+        NavigableMap<LocalDate, TreeSet<Task>> range = byDeadline;
+        if (from != null) {
+            range = range.tailMap(from, true);
+        }
+        if (to != null) {
+            range = range.headMap(to, true);
+        }
+        List<Task> due = new ArrayList<>();
+        for (TreeSet<Task> tasks : range.values()) {
+            due.addAll(tasks);
+        }
+        return due;
+    }
+
+    private static boolean isIndexedPriority(int priority) {
+        return priority >= TaskList.LOW_PRIORITY && priority <= TaskList.HIGH_PRIORITY;
+    }
+}
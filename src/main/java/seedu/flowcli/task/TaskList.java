@@ -2,98 +2,684 @@ package seedu.flowcli.task;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.TreeMap;
 
 import seedu.flowcli.exceptions.IndexOutOfRangeException;
+import seedu.flowcli.project.ModelLock;
 
 /**
  * Manages a collection of tasks.
  * Provides methods to add, remove, mark, and retrieve tasks.
+ * Every change made through these methods bumps a version counter, which lets
+ * storage tell whether the list changed since it was last saved.
+ * The same methods keep running counts of done tasks, tasks per priority and
+ * pending tasks per deadline, so status queries do not have to scan the tasks,
+ * and a {@link TaskIndex} that answers priority and deadline queries in time
+ * proportional to the number of matches.
+ *
+ * <p>Tasks can be changed by position or by task object. Deleting leaves a tombstone instead of
+ * shifting the later tasks, so a delete by task object takes constant time; tombstones are
+ * compacted away before the next access by position, or once they outnumber the live tasks.
+ * Once the list belongs to a project list, every task also gets an ID from its {@link TaskIdIndex}.
+ *
+ * <p>The fields of the tasks are kept in a {@link TaskColumns} store, one row per slot of the
+ * backing list, and the {@link Task} objects are views of those rows. Compacting and sorting move
+ * the rows along with the tasks. A {@link #copy()} shares the store instead of copying it, and
+ * whichever list changes first moves to a private copy, so a copy takes constant time to make and
+ * keeps showing the tasks as they were.
+ *
+ * <p>A list can also be created unloaded, with only its size known and a {@link TaskSource} to read
+ * the tasks from. It loads itself the first time anything other than its size or version is asked
+ * for, so projects that are never used in a session are never parsed.
+ *
+ * <p>Once the list belongs to a project list it is also guarded by that list's {@link ModelLock}.
+ * Every change takes the exclusive lock, and loading or compacting on first read goes through
+ * {@link ModelLock#maintain}, so readers holding the shared lock can tidy up the list safely.
  */
 //@@author Zhenzha0
 public class TaskList {
+    public static final int LOW_PRIORITY = 1;
+    public static final int HIGH_PRIORITY = 3;
+
     private final List<Task> tasks = new ArrayList<>();
+    private final List<Task> tasksView = Collections.unmodifiableList(tasks);
+    private TaskColumns columns = new TaskColumns();
+    private int tombstoneCount;
+    private TaskIdIndex ids;
+    /** Highest ID of any task added so far, and the number of tasks added without an ID. */
+    long maxId;
+    int unassignedCount;
+    private long version;
+    private int doneCount;
+    private TaskIndex index = new TaskIndex();
+    private TreeMap<LocalDate, Integer> pendingDeadlineCounts = new TreeMap<>();
+    /** Written after the count, so that a reader seeing the date also sees its count. */
+    private volatile LocalDate overdueAsOf;
+    private int overdueCount;
+    /** Where the tasks of an unloaded list come from, and how many there are; null once loaded. */
+    private TaskSource source;
+    private int unloadedSize;
+    /** Lock of the project list this list belongs to, or null while it belongs to none. */
+    private ModelLock lock;
+    /** Whether the list must be loaded or compacted before it is read; written last by both. */
+    private volatile boolean needsSettling;
+
+    public TaskList() {
+    }
+
+    /**
+     * Creates an unloaded list whose tasks are read from the source when the list is first used.
+     *
+     * @param size Number of tasks the source holds
+     */
+    public TaskList(int size, TaskSource source) {
+        assert source != null : "Task source cannot be null";
+        this.unloadedSize = size;
+        this.source = source;
+        this.needsSettling = true;
+    }
 
     public void addTask(String description) {
-        tasks.add(new Task(description));
+        addTask(description, null, 2);
     }
 
-    public void addTask(String description, LocalDate deadline, int priority) {
-        tasks.add(new Task(description, deadline, priority));
+    /**
+     * Adds a task to the end of the list.
+     *
+     * @return the added task
+     */
+    public Task addTask(String description, LocalDate deadline, int priority) {
+        long stamp = beginWrite();
+        try {
+            settle();
+            ensureOwnColumns();
+            Task task = new Task(this, columns, columns.append(description, deadline, priority, false));
+            add(task);
+            return task;
+        } finally {
+            endWrite(stamp);
+        }
+    }
+
+    /**
+     * Adds a task that already has an ID, e.g. one read from a data file.
+     * The task gets a new ID if the project list already uses this one.
+     */
+    public void addTask(long id, String description, LocalDate deadline, int priority) {
+        long stamp = beginWrite();
+        try {
+            settle();
+            ensureOwnColumns();
+            Task task = new Task(this, columns, columns.append(description, deadline, priority, false));
+            task.setId(id);
+            add(task);
+        } finally {
+            endWrite(stamp);
+        }
+    }
+
+    /**
+     * Adds a task whose row was just appended to the store.
+     */
+    private void add(Task task) {
+        assert task.slot == tasks.size() : "Row and slot out of step";
+        tasks.add(task);
+        if (ids != null) {
+            ids.added(task);
+        } else if (task.getId() == 0) {
+            unassignedCount++;
+        }
+        maxId = Math.max(maxId, task.getId());
+        index.add(task);
+        count(task, 1);
+        version++;
+    }
+
+    /**
+     * Makes this list take its task IDs from the given index, giving IDs to tasks that have none.
+     * The list leaves the index it used before.
+     */
+    public void attach(TaskIdIndex newIds) {
+        attach(newIds, lock);
+    }
+
+    /**
+     * Makes this list take its task IDs from the given index and be guarded by the given lock,
+     * as a list in a project list is.
+     */
+    public void attach(TaskIdIndex newIds, ModelLock newLock) {
+        lock = newLock;
+        if (ids == newIds) {
+            return;
+        }
+        if (ids != null) {
+            ids.removeList(this);
+        }
+        ids = newIds;
+        if (newIds != null) {
+            newIds.addList(this);
+        }
+    }
+
+    /**
+     * Leaves the given index, and the lock that came with it, if this list uses it.
+     */
+    public void detach(TaskIdIndex oldIds) {
+        if (ids == oldIds) {
+            attach(null, null);
+        }
+    }
+
+    /**
+     * Returns a counter that changes whenever the list or one of its tasks is modified through this class.
+     * Loading an unloaded list does not change it.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Returns whether the tasks are in memory, as opposed to still waiting in their {@link TaskSource}.
+     */
+    public boolean isLoaded() {
+        return source == null;
+    }
+
+    /**
+     * Returns the source an unloaded list will read its tasks from, or null if the list is loaded.
+     */
+    public TaskSource getSource() {
+        return source;
     }
 
     public int size() {
-        return tasks.size();
+        return source != null ? unloadedSize : tasks.size() - tombstoneCount;
     }
 
     public boolean isEmpty() {
-        return tasks.isEmpty();
+        return size() == 0;
+    }
+
+    public int getDoneCount() {
+        settle();
+        return doneCount;
+    }
+
+    /**
+     * Returns the number of tasks with the given priority, or 0 if the priority is not between
+     * {@link #LOW_PRIORITY} and {@link #HIGH_PRIORITY}.
+     */
+    public int getPriorityCount(int priority) {
+        settle();
+        return index.countWithPriority(priority);
+    }
+
+    /**
+     * Returns the tasks with the given priority in list order, as a read-only view.
+     */
+    public Collection<Task> getTasksWithPriority(int priority) {
+        settle();
+        return index.withPriority(priority);
+    }
+
+    /**
+     * Returns the tasks due between the given dates, both inclusive, ordered by deadline and then list order.
+     * A null bound leaves that end of the range open. Tasks without a deadline are never included.
+     */
+    public List<Task> getTasksDueBetween(LocalDate from, LocalDate to) {
+        settle();
+        return index.dueBetween(from, to);
+    }
+
+    /**
+     * Returns the number of tasks that are not done and whose deadline is before the given date.
+     * The count is kept for the date last asked about, so repeated calls on the same day take
+     * constant time; a new date costs one pass over the distinct pending deadlines before it.
+     */
+    public int getOverdueCount(LocalDate today) {
+        settle();
+        if (!today.equals(overdueAsOf)) {
+            maintain(() -> {
+                int count = 0;
+                for (int tasksDue : pendingDeadlineCounts.headMap(today, false).values()) {
+                    count += tasksDue;
+                }
+                overdueCount = count;
+                overdueAsOf = today;
+            });
+        }
+        return overdueCount;
     }
 
     private void validateIndex(int zeroBasedIndex) throws IndexOutOfRangeException {
+        settle();
         if (zeroBasedIndex < 0 || zeroBasedIndex >= tasks.size()) {
             throw new IndexOutOfRangeException(tasks.size());
         }
     }
 
+    private void validateOwner(Task task) {
+        if (task.owner != this) {
+            throw new IllegalArgumentException("Task does not belong to this list");
+        }
+    }
+
+    /**
+     * Returns an independent copy of this list and its tasks, as they are now. The copies keep their IDs.
+     * The copy shares this list's store and is unloaded, so making it takes constant time once deleted
+     * tasks are compacted away; it builds its tasks and indexes the first time it is used. The copy of
+     * an unloaded list reads from the same source.
+     */
+    public TaskList copy() {
+        if (source != null) {
+            return new TaskList(unloadedSize, source);
+        }
+        settle();
+        return new TaskList(tasks.size(), new SharedRows(columns.share(), tasks.size()));
+    }
+
+    /**
+     * Moves this list to a private copy of its store if the store is shared with a copy of the list,
+     * so that changing it does not change the copy. Called before anything changes the store.
+     */
+    void ensureOwnColumns() {
+        if (!columns.isShared()) {
+            return;
+        }
+        columns = columns.copy(tasks.size());
+        for (Task task : tasks) {
+            if (task != null) {
+                task.columns = columns;
+            }
+        }
+    }
+
     public Task get(int zeroBasedIndex) throws IndexOutOfRangeException {
         validateIndex(zeroBasedIndex);
         return tasks.get(zeroBasedIndex);
     }
 
+    /**
+     * Returns the zero-based position of a task in this list, or -1 if the list does not hold it.
+     */
+    public int indexOf(Task task) {
+        if (task.owner != this) {
+            return -1;
+        }
+        settle();
+        return task.slot;
+    }
+
     public void mark(int zeroBasedIndex) throws IndexOutOfRangeException {
-        validateIndex(zeroBasedIndex);
-        tasks.get(zeroBasedIndex).mark();
+        long stamp = beginWrite();
+        try {
+            validateIndex(zeroBasedIndex);
+            mark(tasks.get(zeroBasedIndex));
+        } finally {
+            endWrite(stamp);
+        }
+    }
+
+    public void mark(Task task) {
+        long stamp = beginWrite();
+        try {
+            validateOwner(task);
+            count(task, -1);
+            task.mark();
+            count(task, 1);
+            version++;
+        } finally {
+            endWrite(stamp);
+        }
     }
 
     public void unmark(int zeroBasedIndex) throws IndexOutOfRangeException {
-        validateIndex(zeroBasedIndex);
-        tasks.get(zeroBasedIndex).unmark();
+        long stamp = beginWrite();
+        try {
+            validateIndex(zeroBasedIndex);
+            unmark(tasks.get(zeroBasedIndex));
+        } finally {
+            endWrite(stamp);
+        }
+    }
+
+    public void unmark(Task task) {
+        long stamp = beginWrite();
+        try {
+            validateOwner(task);
+            count(task, -1);
+            task.unmark();
+            count(task, 1);
+            version++;
+        } finally {
+            endWrite(stamp);
+        }
     }
 
     public Task delete(int zeroBasedIndex) throws IndexOutOfRangeException {
-        validateIndex(zeroBasedIndex);
-        Task returnTask = tasks.get(zeroBasedIndex);
-        tasks.remove(zeroBasedIndex);
-        return returnTask;
+        long stamp = beginWrite();
+        try {
+            validateIndex(zeroBasedIndex);
+            Task returnTask = tasks.get(zeroBasedIndex);
+            delete(returnTask);
+            return returnTask;
+        } finally {
+            endWrite(stamp);
+        }
+    }
+
+    /**
+     * Deletes a task in constant time by leaving a tombstone in its place.
+     */
+    public void delete(Task task) {
+        long stamp = beginWrite();
+        try {
+            validateOwner(task);
+            ensureOwnColumns();
+            int row = task.slot;
+            tasks.set(row, null);
+            tombstoneCount++;
+            needsSettling = true;
+            if (task.getId() == 0) {
+                unassignedCount--;
+            }
+            if (ids != null) {
+                ids.removed(task);
+            }
+            index.remove(task);
+            count(task, -1);
+            task.detach();
+            columns.release(row);
+            version++;
+            if (tombstoneCount > size()) {
+                compact();
+            }
+        } finally {
+            endWrite(stamp);
+        }
     }
 
+    /**
+     * Updates the selected fields of a task.
+     *
+     * @return the updated task
+     */
+    public Task update(int zeroBasedIndex, String newDescription, boolean updateDescription,
+            LocalDate newDeadline, boolean updateDeadline, Integer newPriority, boolean updatePriority)
+            throws IndexOutOfRangeException {
+        long stamp = beginWrite();
+        try {
+            validateIndex(zeroBasedIndex);
+            return update(tasks.get(zeroBasedIndex), newDescription, updateDescription, newDeadline,
+                    updateDeadline, newPriority, updatePriority);
+        } finally {
+            endWrite(stamp);
+        }
+    }
+
+    /**
+     * Updates the selected fields of a task.
+     *
+     * @return the updated task
+     */
+    public Task update(Task task, String newDescription, boolean updateDescription,
+            LocalDate newDeadline, boolean updateDeadline, Integer newPriority, boolean updatePriority) {
+        long stamp = beginWrite();
+        try {
+            validateOwner(task);
+            index.remove(task);
+            count(task, -1);
+            if (updateDescription) {
+                String oldDescription = task.getDescription();
+                task.setDescription(newDescription);
+                if (ids != null) {
+                    ids.redescribed(task, oldDescription);
+                }
+            }
+            if (updateDeadline) {
+                task.setDeadline(newDeadline);
+            }
+            if (updatePriority) {
+                task.setPriority(newPriority);
+            }
+            index.add(task);
+            count(task, 1);
+            version++;
+            return task;
+        } finally {
+            endWrite(stamp);
+        }
+    }
+
+    /**
+     * Returns the tasks in order, as a read-only view. Tasks must be changed through this class so
+     * that the version, counters and indexes stay correct.
+     */
     public List<Task> getTasks() {
-        return tasks;
+        settle();
+        return tasksView;
+    }
+
+    private long beginWrite() {
+        return lock == null ? 0 : lock.beginWrite();
+    }
+
+    private void endWrite(long stamp) {
+        if (lock != null) {
+            lock.endWrite(stamp);
+        }
+    }
+
+    /**
+     * Loads an unloaded list and removes tombstones, so that the tasks can be read by position.
+     */
+    private void settle() {
+        if (!needsSettling) {
+            return;
+        }
+        maintain(() -> {
+            ensureLoaded();
+            compact();
+        });
+    }
+
+    /**
+     * Runs a change that readers make to cached state, through the lock when there is one.
+     */
+    private void maintain(Runnable task) {
+        if (lock == null) {
+            task.run();
+        } else {
+            lock.maintain(task);
+        }
+    }
+
+    /**
+     * Reads the tasks of an unloaded list and takes over the parsed list's rows, tasks and counters.
+     * A failed read leaves the list unloaded, so the next access tries again.
+     */
+    private void ensureLoaded() {
+        if (source == null) {
+            return;
+        }
+        TaskList loaded = source.load();
+        loaded.compact();
+        columns = loaded.columns;
+        for (Task task : loaded.tasks) {
+            task.owner = this;
+            tasks.add(task);
+        }
+        index = loaded.index;
+        pendingDeadlineCounts = loaded.pendingDeadlineCounts;
+        doneCount = loaded.doneCount;
+        maxId = loaded.maxId;
+        unassignedCount = loaded.unassignedCount;
+        source = null;
+        unloadedSize = 0;
+        if (ids != null) {
+            // The list was attached while unloaded, so its tasks still need IDs and indexing
+            for (Task task : tasks) {
+                ids.added(task);
+                maxId = Math.max(maxId, task.getId());
+            }
+            unassignedCount = 0;
+        }
+        needsSettling = tombstoneCount > 0;
+    }
+
+    /**
+     * Removes the tombstones left by deletes, keeping the order of the remaining tasks.
+     */
+    private void compact() {
+        if (tombstoneCount == 0) {
+            return;
+        }
+        ensureOwnColumns();
+        int live = 0;
+        for (int i = 0; i < tasks.size(); i++) {
+            Task task = tasks.get(i);
+            if (task != null) {
+                columns.move(i, live);
+                task.slot = live;
+                tasks.set(live++, task);
+            }
+        }
+        tasks.subList(live, tasks.size()).clear();
+        columns.truncate(live);
+        tombstoneCount = 0;
+        needsSettling = source != null;
+    }
+
+    /**
+     * Moves the rows of the store into the new order of the tasks and records their new positions.
+     */
+    private void renumber() {
+        int[] order = new int[tasks.size()];
+        for (int i = 0; i < tasks.size(); i++) {
+            order[i] = tasks.get(i).slot;
+        }
+        ensureOwnColumns();
+        columns.permute(order);
+        for (int i = 0; i < tasks.size(); i++) {
+            tasks.get(i).slot = i;
+        }
+        index.rebuild(tasks);
     }
 
     public void sortByDeadline(boolean ascending) {
+        long stamp = beginWrite();
+        try {
+            settle();
+            sortTasksByDeadline(ascending);
+        } finally {
+            endWrite(stamp);
+        }
+    }
+
+    private void sortTasksByDeadline(boolean ascending) {
         tasks.sort((t1, t2) -> {
-            // Handle null deadlines
-            if (t1.getDeadline() == null && t2.getDeadline() == null) {
+            int deadline1 = columns.getDeadlineEpochDay(t1.slot);
+            int deadline2 = columns.getDeadlineEpochDay(t2.slot);
+            // Handle missing deadlines
+            if (deadline1 == Task.NO_DEADLINE && deadline2 == Task.NO_DEADLINE) {
                 return 0; // Both have no deadline, maintain relative order
             }
-            if (t1.getDeadline() == null) {
-                return ascending ? 1 : -1; // Null deadlines go to end for ascending, beginning for descending
+            if (deadline1 == Task.NO_DEADLINE) {
+                return ascending ? 1 : -1; // Missing deadlines go to end for ascending, beginning for descending
             }
-            if (t2.getDeadline() == null) {
-                return ascending ? -1 : 1; // Null deadlines go to end for ascending, beginning for descending
+            if (deadline2 == Task.NO_DEADLINE) {
+                return ascending ? -1 : 1; // Missing deadlines go to end for ascending, beginning for descending
             }
 
             // Both have deadlines, compare them
-            int comparison = t1.getDeadline().compareTo(t2.getDeadline());
+            int comparison = Integer.compare(deadline1, deadline2);
             return ascending ? comparison : -comparison;
         });
+        renumber();
+        version++;
     }
 
     public void sortByPriority(boolean ascending) {
-        tasks.sort((t1, t2) -> {
-            int comparison = Integer.compare(t1.getPriority(), t2.getPriority());
-            return ascending ? comparison : -comparison;
-        });
+        long stamp = beginWrite();
+        try {
+            settle();
+            tasks.sort((t1, t2) -> {
+                int comparison = Integer.compare(columns.getPriority(t1.slot), columns.getPriority(t2.slot));
+                return ascending ? comparison : -comparison;
+            });
+            renumber();
+            version++;
+        } finally {
+            endWrite(stamp);
+        }
+    }
+
+    /**
+     * Adds a task to the done and overdue counters with a delta of 1, or removes it with a delta of -1.
+     */
+    private void count(Task task, int delta) {
+        if (task.isDone()) {
+            doneCount += delta;
+        }
+        LocalDate deadline = task.getDeadline();
+        if (task.isDone() || deadline == null) {
+            return;
+        }
+        pendingDeadlineCounts.merge(deadline, delta, (a, b) -> a + b == 0 ? null : a + b);
+        if (overdueAsOf != null && deadline.isBefore(overdueAsOf)) {
+            overdueCount += delta;
+        }
     }
 
     public String render() {
+        settle();
         StringBuilder sb = new StringBuilder();
         for (int i = 0; i < tasks.size(); i++) {
-            sb.append(i + 1).append(". ").append(tasks.get(i)).append('\n');
+            appendLine(sb, i);
+            sb.append('\n');
         }
         return sb.toString();
     }
+
+    /**
+     * Appends the line that {@link #render()} shows for a task, without the line break.
+     * Tasks with an ID end with {@code #<id>}, which commands accept in place of the two indexes.
+     */
+    public void appendLine(StringBuilder sb, int zeroBasedIndex) {
+        settle();
+        Task task = tasks.get(zeroBasedIndex);
+        sb.append(zeroBasedIndex + 1).append(". ");
+        task.appendTo(sb);
+        long id = task.getId();
+        if (id != 0) {
+            sb.append(" #").append(id);
+        }
+    }
+
+    /**
+     * Source of a copy of a loaded list: the rows of a store it shares with the original.
+     */
+    private static final class SharedRows implements TaskSource {
+        private final TaskColumns columns;
+        private final int rowCount;
+
+        SharedRows(TaskColumns columns, int rowCount) {
+            this.columns = columns;
+            this.rowCount = rowCount;
+        }
+
+        @Override
+        public TaskList load() {
+            TaskList list = new TaskList();
+            list.columns = columns;
+            for (int row = 0; row < rowCount; row++) {
+                list.add(new Task(list, columns, row));
+            }
+            return list;
+        }
+    }
 }
 //@@author
@@ -0,0 +1,16 @@
+package seedu.flowcli.task;
+
+import seedu.flowcli.exceptions.ProjectLoadException;
+
+/**
+ * Supplies the tasks of a {@link TaskList} that is only loaded when it is first used.
+ */
+public interface TaskSource {
+    /**
+     * Reads the tasks. May be called again if an earlier call failed, and from any thread.
+     *
+     * @return a new list holding the tasks
+     * @throws ProjectLoadException if the tasks cannot be read
+     */
+    TaskList load();
+}
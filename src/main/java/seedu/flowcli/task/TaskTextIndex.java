@@ -0,0 +1,523 @@
+package seedu.flowcli.task;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+
+/**
+ * Full-text index over the descriptions of the tasks of one project list, answering {@code search} queries.
+ *
+ * <p>Descriptions are split into lower-case words at every character that is not a letter or digit.
+ * Each word has a posting list: the IDs of the tasks containing it, in increasing order, each with the
+ * number of times the word occurs in the task and the task's length in words. The words are kept sorted,
+ * so a query word ending in {@code *} matches every word it is a prefix of.
+ *
+ * <p>A task matches a query if it contains every query word. Matches are ranked by BM25, which favours
+ * tasks that use the query words often relative to their length, and words that few tasks use. The
+ * posting lists are intersected starting from the query word with the fewest postings, and the lists of
+ * the other words are only probed for the surviving candidates, so a query costs time roughly
+ * proportional to its rarest word rather than to the number of tasks.
+ *
+ * <p>The index is owned by a {@link TaskIdIndex}, which builds it on first use and then passes on every
+ * task added, deleted or re-described in its lists. A removed posting is only marked, and the list is
+ * compacted once marked postings outnumber live ones, like the tombstones of {@link TaskList}.
+ */
+public final class TaskTextIndex {
+    /** Query suffix that makes the word match every word it is a prefix of. */
+    public static final String PREFIX_WILDCARD = "*";
+
+    /** BM25 term frequency saturation. */
+    private static final double K1 = 1.2;
+    /** BM25 length normalisation. */
+    private static final double B = 0.75;
+    private static final int MAX_PACKED = 0xFFFF;
+
+    private final TreeMap<String, Postings> postingsByWord = new TreeMap<>();
+    private long taskCount;
+    private long totalLength;
+
+    /**
+     * Splits text into the lower-case words the index is made of.
+     */
+    public static List<String> tokenize(String text) {
+        List<String> words = new ArrayList<>();
+        if (text == null) {
+            return words;
+        }
+        String lowerCase = text.toLowerCase(Locale.ROOT);
+        int start = -1;
+        for (int i = 0; i <= lowerCase.length(); i++) {
+            boolean isWordChar = i < lowerCase.length() && Character.isLetterOrDigit(lowerCase.charAt(i));
+            if (isWordChar && start < 0) {
+                start = i;
+            } else if (!isWordChar && start >= 0) {
+                words.add(lowerCase.substring(start, i));
+                start = -1;
+            }
+        }
+        return words;
+    }
+
+    /**
+     * Returns the number of distinct words indexed.
+     */
+    public int getWordCount() {
+        return postingsByWord.size();
+    }
+
+    /**
+     * Returns the number of tasks indexed.
+     */
+    public long getTaskCount() {
+        return taskCount;
+    }
+
+    /**
+     * Indexes tasks given in increasing ID order into an empty index. Each posting list is then built by
+     * appending, and the words are only sorted once at the end.
+     */
+    void build(Task[] tasksById) {
+        assert taskCount == 0 : "Only an empty index can be built";
+        Map<String, Postings> built = new HashMap<>();
+        for (Task task : tasksById) {
+            List<String> words = tokenize(task.getDescription());
+            taskCount++;
+            totalLength += words.size();
+            for (WordCount word : count(words)) {
+                built.computeIfAbsent(word.word, key -> new Postings())
+                        .append(task.getId(), pack(word.count, words.size()));
+            }
+        }
+        postingsByWord.putAll(new TreeMap<>(built));
+    }
+
+    void add(Task task) {
+        add(task.getId(), task.getDescription());
+    }
+
+    void remove(Task task) {
+        remove(task.getId(), task.getDescription());
+    }
+
+    /**
+     * Reindexes a task whose description changed from the given one.
+     */
+    void redescribe(Task task, String oldDescription) {
+        remove(task.getId(), oldDescription);
+        add(task.getId(), task.getDescription());
+    }
+
+    private void add(long taskId, String description) {
+        List<String> words = tokenize(description);
+        taskCount++;
+        totalLength += words.size();
+        for (WordCount word : count(words)) {
+            postingsByWord.computeIfAbsent(word.word, key -> new Postings())
+                    .add(taskId, pack(word.count, words.size()));
+        }
+    }
+
+    /**
+     * Packs how often a word occurs in a task and the task's length in words into a posting's stats.
+     */
+    private static int pack(int frequency, int length) {
+        return Math.min(frequency, MAX_PACKED) << 16 | Math.min(length, MAX_PACKED);
+    }
+
+    private void remove(long taskId, String description) {
+        List<String> words = tokenize(description);
+        taskCount--;
+        totalLength -= words.size();
+        for (WordCount word : count(words)) {
+            Postings postings = postingsByWord.get(word.word);
+            if (postings != null && postings.remove(taskId) && postings.live == 0) {
+                postingsByWord.remove(word.word);
+            }
+        }
+    }
+
+    /**
+     * Returns the distinct words of a task with the number of times each occurs.
+     */
+    private static List<WordCount> count(List<String> words) {
+        List<WordCount> counts = new ArrayList<>(words.size());
+        if (words.isEmpty()) {
+            return counts;
+        }
+        String[] sorted = words.toArray(new String[0]);
+        Arrays.sort(sorted);
+        int runStart = 0;
+        for (int i = 1; i <= sorted.length; i++) {
+            if (i == sorted.length || !sorted[i].equals(sorted[runStart])) {
+                counts.add(new WordCount(sorted[runStart], i - runStart));
+                runStart = i;
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * Finds the tasks containing every word of the query, best match first.
+     *
+     * @param query Words separated by spaces; a word ending in {@value #PREFIX_WILDCARD} matches as a prefix
+     * @param limit Maximum number of task IDs to return, or 0 for all
+     */
+    public Matches search(String query, int limit) {
+        List<List<Postings>> terms = new ArrayList<>();
+        for (QueryWord word : parse(query)) {
+            List<Postings> expansions = expand(word);
+            if (expansions.isEmpty()) {
+                return new Matches(new long[0], 0);
+            }
+            terms.add(expansions);
+        }
+        if (terms.isEmpty()) {
+            return new Matches(new long[0], 0);
+        }
+        // Rarest term first, so the candidates only ever shrink from the smallest posting lists
+        terms.sort(Comparator.comparingLong(TaskTextIndex::countPostings));
+        double averageLength = taskCount == 0 ? 1 : Math.max(1.0, (double) totalLength / taskCount);
+
+        Candidates candidates = union(terms.get(0), averageLength);
+        for (int i = 1; i < terms.size() && candidates.size > 0; i++) {
+            candidates.intersect(terms.get(i), averageLength);
+        }
+        return new Matches(candidates.rank(limit), candidates.size);
+    }
+
+    private static List<QueryWord> parse(String query) {
+        List<QueryWord> words = new ArrayList<>();
+        if (query == null) {
+            return words;
+        }
+        for (String part : query.trim().split("\\s+")) {
+            boolean isPrefix = part.endsWith(PREFIX_WILDCARD);
+            List<String> tokens = tokenize(part);
+            for (int i = 0; i < tokens.size(); i++) {
+                // Only the word the wildcard follows is a prefix, e.g. the "mail" of "e-mail*"
+                words.add(new QueryWord(tokens.get(i), isPrefix && i == tokens.size() - 1));
+            }
+        }
+        return words;
+    }
+
+    private List<Postings> expand(QueryWord word) {
+        if (!word.isPrefix) {
+            Postings postings = postingsByWord.get(word.text);
+            return postings == null ? List.of() : List.of(postings);
+        }
+        NavigableMap<String, Postings> matching =
+                postingsByWord.subMap(word.text, true, word.text + Character.MAX_VALUE, false);
+        return new ArrayList<>(matching.values());
+    }
+
+    private static long countPostings(Collection<Postings> expansions) {
+        long count = 0;
+        for (Postings postings : expansions) {
+            count += postings.live;
+        }
+        return count;
+    }
+
+    /**
+     * Returns the BM25 weight of one posting.
+     */
+    private double score(Postings postings, int stats, double averageLength) {
+        double frequency = stats >>> 16;
+        double length = stats & MAX_PACKED;
+        double inverseFrequency = Math.log(1 + (taskCount - postings.live + 0.5) / (postings.live + 0.5));
+        return inverseFrequency * frequency * (K1 + 1)
+                / (frequency + K1 * (1 - B + B * length / averageLength));
+    }
+
+    /**
+     * Merges the posting lists of one query word into candidates. A task containing several of the words a
+     * prefix expands to scores as its best word, so a prefix does not favour tasks that repeat a stem.
+     */
+    private Candidates union(List<Postings> expansions, double averageLength) {
+        Candidates candidates = new Candidates((int) Math.min(Integer.MAX_VALUE, countPostings(expansions)));
+        if (expansions.size() == 1) {
+            Postings postings = expansions.get(0);
+            for (int i = 0; i < postings.size; i++) {
+                if (postings.stats[i] != 0) {
+                    candidates.append(postings.ids[i], score(postings, postings.stats[i], averageLength));
+                }
+            }
+            return candidates;
+        }
+        PriorityQueue<Cursor> heads = new PriorityQueue<>(Comparator.comparingLong(Cursor::currentId));
+        for (Postings postings : expansions) {
+            Cursor cursor = new Cursor(postings);
+            if (cursor.advance()) {
+                heads.add(cursor);
+            }
+        }
+        while (!heads.isEmpty()) {
+            Cursor cursor = heads.poll();
+            long id = cursor.currentId();
+            double score = score(cursor.postings, cursor.currentStats(), averageLength);
+            if (candidates.size > 0 && candidates.ids[candidates.size - 1] == id) {
+                candidates.scores[candidates.size - 1] = Math.max(candidates.scores[candidates.size - 1], score);
+            } else {
+                candidates.append(id, score);
+            }
+            if (cursor.advance()) {
+                heads.add(cursor);
+            }
+        }
+        return candidates;
+    }
+
+    /**
+     * Tasks matching the query words seen so far, in increasing ID order, with their scores.
+     */
+    private final class Candidates {
+        private long[] ids;
+        private double[] scores;
+        private int size;
+
+        Candidates(int capacity) {
+            ids = new long[Math.max(capacity, 1)];
+            scores = new double[ids.length];
+        }
+
+        void append(long id, double score) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+                scores = Arrays.copyOf(scores, size * 2);
+            }
+            ids[size] = id;
+            scores[size++] = score;
+        }
+
+        /**
+         * Keeps only the candidates containing one of the given words, adding the best word's score.
+         * Each posting list is searched from where the previous candidate was found, as both are sorted.
+         */
+        void intersect(List<Postings> expansions, double averageLength) {
+            int[] from = new int[expansions.size()];
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                double best = -1;
+                for (int e = 0; e < expansions.size(); e++) {
+                    Postings postings = expansions.get(e);
+                    int position = postings.seek(ids[i], from[e]);
+                    from[e] = position < 0 ? -position - 1 : position;
+                    if (position >= 0 && postings.stats[position] != 0) {
+                        best = Math.max(best, score(postings, postings.stats[position], averageLength));
+                    }
+                }
+                if (best >= 0) {
+                    ids[kept] = ids[i];
+                    scores[kept++] = scores[i] + best;
+                }
+            }
+            size = kept;
+        }
+
+        /**
+         * Returns the IDs of the best candidates, best first and older tasks first among equals.
+         */
+        long[] rank(int limit) {
+            int count = limit > 0 ? Math.min(limit, size) : size;
+            Comparator<Integer> worstFirst = (a, b) -> scores[a] != scores[b]
+                    ? Double.compare(scores[a], scores[b])
+                    : Long.compare(ids[b], ids[a]);
+            // Bounded heap of the best candidates seen so far, worst on top
+            PriorityQueue<Integer> best = new PriorityQueue<>(Math.max(count, 1), worstFirst);
+            for (int i = 0; i < size && count > 0; i++) {
+                if (best.size() < count) {
+                    best.add(i);
+                } else if (worstFirst.compare(i, best.peek()) > 0) {
+                    best.poll();
+                    best.add(i);
+                }
+            }
+            long[] ranked = new long[best.size()];
+            for (int i = ranked.length - 1; i >= 0; i--) {
+                ranked[i] = ids[best.poll()];
+            }
+            return ranked;
+        }
+    }
+
+    /**
+     * Task IDs containing one word, in increasing order, with each task's packed word count and length.
+     * Removed postings keep their place with stats of 0 until the list is compacted.
+     */
+    private static final class Postings {
+        private long[] ids = new long[2];
+        private int[] stats = new int[2];
+        private int size;
+        private int live;
+
+        void add(long id, int packedStats) {
+            int position = size == 0 || id > ids[size - 1] ? -size - 1 : seek(id, 0);
+            if (position >= 0) {
+                // A task re-described with the same word takes its old place back
+                if (stats[position] == 0) {
+                    live++;
+                }
+                stats[position] = packedStats;
+                return;
+            }
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+                stats = Arrays.copyOf(stats, size * 2);
+            }
+            int insertAt = -position - 1;
+            System.arraycopy(ids, insertAt, ids, insertAt + 1, size - insertAt);
+            System.arraycopy(stats, insertAt, stats, insertAt + 1, size - insertAt);
+            ids[insertAt] = id;
+            stats[insertAt] = packedStats;
+            size++;
+            live++;
+        }
+
+        /**
+         * Appends the posting of a task with a higher ID than any in the list.
+         */
+        void append(long id, int packedStats) {
+            assert size == 0 || id > ids[size - 1] : "Postings must be appended in ID order";
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+                stats = Arrays.copyOf(stats, size * 2);
+            }
+            ids[size] = id;
+            stats[size++] = packedStats;
+            live++;
+        }
+
+        /**
+         * Marks the posting of a task removed.
+         *
+         * @return whether the task had a posting
+         */
+        boolean remove(long id) {
+            int position = seek(id, 0);
+            if (position < 0 || stats[position] == 0) {
+                return false;
+            }
+            stats[position] = 0;
+            live--;
+            if (live < size - live) {
+                compact();
+            }
+            return true;
+        }
+
+        /**
+         * Returns the position of the task's posting at or after {@code from}, or {@code -(insertion point) - 1}.
+         * Gallops from {@code from} before searching, so probing ascending IDs walks the list once.
+         */
+        int seek(long id, int from) {
+            int low = from;
+            int step = 1;
+            int high = from;
+            while (high < size && ids[high] < id) {
+                low = high + 1;
+                high = from + step;
+                step <<= 1;
+            }
+            high = Math.min(high, size - 1);
+            while (low <= high) {
+                int middle = (low + high) >>> 1;
+                if (ids[middle] < id) {
+                    low = middle + 1;
+                } else if (ids[middle] > id) {
+                    high = middle - 1;
+                } else {
+                    return middle;
+                }
+            }
+            return -low - 1;
+        }
+
+        private void compact() {
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                if (stats[i] != 0) {
+                    ids[kept] = ids[i];
+                    stats[kept++] = stats[i];
+                }
+            }
+            size = kept;
+        }
+    }
+
+    /**
+     * Walks the live postings of one list in order.
+     */
+    private static final class Cursor {
+        private final Postings postings;
+        private int position = -1;
+
+        Cursor(Postings postings) {
+            this.postings = postings;
+        }
+
+        boolean advance() {
+            do {
+                position++;
+            } while (position < postings.size && postings.stats[position] == 0);
+            return position < postings.size;
+        }
+
+        long currentId() {
+            return postings.ids[position];
+        }
+
+        int currentStats() {
+            return postings.stats[position];
+        }
+    }
+
+    private static final class QueryWord {
+        private final String text;
+        private final boolean isPrefix;
+
+        QueryWord(String text, boolean isPrefix) {
+            this.text = text;
+            this.isPrefix = isPrefix;
+        }
+    }
+
+    private static final class WordCount {
+        private final String word;
+        private final int count;
+
+        WordCount(String word, int count) {
+            this.word = word;
+            this.count = count;
+        }
+    }
+
+    /**
+     * The result of a search: the IDs of the best matching tasks, best first, and how many tasks matched.
+     */
+    public static final class Matches {
+        private final long[] taskIds;
+        private final int matchCount;
+
+        Matches(long[] taskIds, int matchCount) {
+            this.taskIds = taskIds;
+            this.matchCount = matchCount;
+        }
+
+        public long[] getTaskIds() {
+            return taskIds.clone();
+        }
+
+        public int getMatchCount() {
+            return matchCount;
+        }
+    }
+}
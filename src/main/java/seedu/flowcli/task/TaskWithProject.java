@@ -24,7 +24,17 @@ public class TaskWithProject {
 
     @Override
     public String toString() {
-        return projectName + ": " + task.toString();
+        StringBuilder sb = new StringBuilder();
+        appendTo(sb);
+        return sb.toString();
+    }
+
+    /**
+     * Appends the text of {@link #toString()} to the given builder without creating intermediate strings.
+     */
+    public void appendTo(StringBuilder sb) {
+        sb.append(projectName).append(": ");
+        task.appendTo(sb);
     }
 }
 //@@author
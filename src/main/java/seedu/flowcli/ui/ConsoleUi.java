@@ -1,13 +1,17 @@
 package seedu.flowcli.ui;
 
+import java.io.PrintStream;
+import java.time.LocalDate;
 import java.util.List;
 
 import seedu.flowcli.commands.utility.ProjectStatusAnalyzer;
+import seedu.flowcli.commands.utility.ProjectStatusAnalyzer.OverallStatus;
 import seedu.flowcli.commands.utility.ProjectStatusAnalyzer.ProjectStatus;
 import seedu.flowcli.exceptions.IndexOutOfRangeException;
 import seedu.flowcli.project.Project;
 import seedu.flowcli.project.ProjectList;
 import seedu.flowcli.task.Task;
+import seedu.flowcli.task.TaskList;
 import seedu.flowcli.task.TaskWithProject;
 
 /**
@@ -18,122 +22,181 @@ import seedu.flowcli.task.TaskWithProject;
 public class ConsoleUi {
 
     private static final String CHATBOT_NAME = "FlowCLI";
+    static final String LINE = "____________________________________________________________";
+    private static final String NEWLINE = System.lineSeparator();
+    /** Output is written out early once the buffer holds this many characters. */
+    private static final int FLUSH_THRESHOLD = 64 * 1024;
+    /** A buffer that grew beyond this for one large listing is not kept around. */
+    private static final int MAX_RETAINED_CAPACITY = 1024 * 1024;
+
     private ProjectList projects;
+    private StringBuilder output = new StringBuilder(FLUSH_THRESHOLD);
+    /** Where output is flushed to, or null for {@code System.out}. */
+    private PrintStream target;
 
     public ConsoleUi(ProjectList projects) {
         this.projects = projects;
     }
 
+    /**
+     * Sends output to the given stream instead of {@code System.out}, e.g. to a daemon's client.
+     *
+     * @param target The stream to flush to, or null to go back to {@code System.out}
+     */
+    public void setOutput(PrintStream target) {
+        this.target = target;
+    }
+
+    /**
+     * Writes everything printed since the last flush to the output stream.
+     * The command loop calls this after every command and before it waits for input.
+     */
+    public void flush() {
+        if (output.length() == 0) {
+            return;
+        }
+        PrintStream out = target != null ? target : System.out;
+        synchronized (out) {
+            int start = 0;
+            while (start < output.length()) {
+                int end = Math.min(output.length(), start + FLUSH_THRESHOLD);
+                if (end < output.length() && Character.isHighSurrogate(output.charAt(end - 1))) {
+                    // Keep surrogate pairs in one write so they are encoded correctly
+                    end--;
+                }
+                out.append(output, start, end);
+                start = end;
+            }
+            out.flush();
+        }
+        if (output.capacity() > MAX_RETAINED_CAPACITY) {
+            output = new StringBuilder(FLUSH_THRESHOLD);
+        } else {
+            output.setLength(0);
+        }
+    }
+
+    private void print(Object value) {
+        output.append(value);
+        flushIfFull();
+    }
+
+    private void println(Object value) {
+        output.append(value).append(NEWLINE);
+        flushIfFull();
+    }
+
+    private void println() {
+        output.append(NEWLINE);
+    }
+
+    private void flushIfFull() {
+        if (output.length() >= FLUSH_THRESHOLD) {
+            flush();
+        }
+    }
+
     //@@author Zhenzha0
     public void printLine() {
-        System.out.println("____________________________________________________________");
+        println(LINE);
     }
 
     public void printWelcomeMessage() {
-        System.out.println(CHATBOT_NAME);
+        println(CHATBOT_NAME);
         printLine();
-        System.out.println("Hello! I'm " + CHATBOT_NAME + ", a fast, minimal CLI project task manager.");
-        System.out.println("What can I do for you today?");
+        println("Hello! I'm " + CHATBOT_NAME + ", a fast, minimal CLI project task manager.");
+        println("What can I do for you today?");
         printLine();
     }
 
     public void printByeMessage() {
         printLine();
-        System.out.println("Bye. Hope to see you again soon!");
+        println("Bye. Hope to see you again soon!");
         printLine();
     }
     //@@author
 
     public void showMarked(String projectName, Task t, boolean nowDone) {
         printLine();
-        System.out.println(nowDone ? "Nice! I've marked this task under " + projectName + " as done:"
+        println(nowDone ? "Nice! I've marked this task under " + projectName + " as done:"
                 : "OK, I've marked this task under " + projectName + " as not done yet:");
-        System.out.println("  " + t);
+        println("  " + t);
         printLine();
     }
 
     public void showCurrentProjectListSize() {
-        System.out.println(String.format("Now you have %d projects.", projects.getProjectListSize()));
+        println(String.format("Now you have %d projects.", projects.getProjectListSize()));
     }
 
     public void showCurrentTaskListSize(Project targetProject) {
-        System.out.println(
+        println(
                 String.format("Now you have %d task in the %s.", targetProject.size(), targetProject.getProjectName()));
     }
 
     public void showAddedProject() {
         printLine();
-        System.out.println("Got it. I've added this project: ");
+        println("Got it. I've added this project: ");
         int size = projects.getProjectListSize();
         if (size > 0) {
-            System.out.println(projects.getProjectList().get(size - 1));
+            println(projects.getProjectList().get(size - 1));
             showCurrentProjectListSize();
         } else {
-            System.out.println("[Error: No projects found]");
+            println("[Error: No projects found]");
         }
         printLine();
     }
 
     public void showAddedTask(Project targetProject) throws IndexOutOfRangeException {
         printLine();
-        System.out.println("Got it. I've added this task in " + targetProject.getProjectName() + " : ");
+        println("Got it. I've added this task in " + targetProject.getProjectName() + " : ");
         int taskSize = targetProject.getProjectTasks().size();
         if (taskSize > 0) {
-            System.out.println(targetProject.getProjectTasks().get(taskSize - 1));
+            println(targetProject.getProjectTasks().get(taskSize - 1));
             showCurrentTaskListSize(targetProject);
         } else {
-            System.out.println("[Error: No tasks found]");
+            println("[Error: No tasks found]");
         }
         printLine();
     }
 
     public void showDeletedProject(Project deletedProject) {
         printLine();
-        System.out.println("Got it. I've deleted this project: ");
-        System.out.println(deletedProject);
+        println("Got it. I've deleted this project: ");
+        println(deletedProject);
         showCurrentProjectListSize();
         printLine();
     }
 
     public void showDeletedTask(Project targetProject, Task deletedTask) {
         printLine();
-        System.out.println("Got it. I've deleted this task in " + targetProject.getProjectName() + " : ");
-        System.out.println(deletedTask);
+        println("Got it. I've deleted this task in " + targetProject.getProjectName() + " : ");
+        println(deletedTask);
         showCurrentTaskListSize(targetProject);
         printLine();
     }
 
     public void showUpdatedTask(Project targetProject, Task updatedTask) {
         printLine();
-        System.out.println("Got it. I've updated this task in " + targetProject.getProjectName() + " : ");
-        System.out.println(updatedTask);
+        println("Got it. I've updated this task in " + targetProject.getProjectName() + " : ");
+        println(updatedTask);
         printLine();
     }
 
     //@@author zeeeing
     public void showProjectList() {
         printLine();
-        System.out.println("Here is your list of projects:");
+        println("Here is your list of projects:");
 
         if (projects.isEmpty()) {
-            System.out.println("[No projects yet]");
+            println("[No projects yet]");
             printLine();
             return;
         }
 
         int taskIdx = 0;
         for (Project project : projects.getProjectList()) {
-            System.out.println((taskIdx + 1) + ". " + project.getProjectName());
-
-            String tasks = project.showAllTasks();
-            if (tasks != null && !tasks.isEmpty()) {
-                String[] taskLines = tasks.split("\\R");
-                for (String taskLine : taskLines) {
-                    if (!taskLine.isEmpty()) {
-                        System.out.println("   " + taskLine);
-                    }
-                }
-            }
+            output.append(taskIdx + 1).append(". ").append(project.getProjectName()).append(NEWLINE);
+            printTasks(project, "   ", NEWLINE);
             taskIdx++;
         }
 
@@ -143,23 +206,37 @@ public class ConsoleUi {
 
     public void showTaskList(Project targetProject) {
         printLine();
-        System.out.println("Here are the tasks in " + targetProject.getProjectName() + ":");
-        System.out.print(targetProject.showAllTasks());
+        println("Here are the tasks in " + targetProject.getProjectName() + ":");
+        printTasks(targetProject, "", "\n");
         printLine();
     }
 
     public void showSortedTaskList(Project targetProject, String sortBy, String order) {
         printLine();
-        System.out.println("Tasks in " + targetProject.getProjectName() + " sorted by " + sortBy + " (" + order + "):");
-        System.out.print(targetProject.showAllTasks());
+        println("Tasks in " + targetProject.getProjectName() + " sorted by " + sortBy + " (" + order + "):");
+        printTasks(targetProject, "", "\n");
         printLine();
     }
 
+    /**
+     * Prints the numbered task lines of a project, in the same format as {@link Project#showAllTasks()}.
+     */
+    private void printTasks(Project project, String indent, String lineEnd) {
+        TaskList tasks = project.getProjectTasks();
+        for (int i = 0; i < tasks.size(); i++) {
+            tasks.appendLine(output.append(indent), i);
+            output.append(lineEnd);
+            flushIfFull();
+        }
+    }
+
     //@@author zeeeing
     public void showHelp() {
         printLine();
-        System.out.println("Available Commands:\n");
-        System.out.println("Tip: Projects are referenced by their index from `list --all`.\n");
+        println("Available Commands:\n");
+        println("Tip: Projects are referenced by their index from `list --all`.");
+        println("Tip: Tasks can also be referenced by the #<taskId> shown in `list <projectIndex>`, "
+                + "e.g. `mark #3`.\n");
         printHelpEntry("1. create-project <projectName>", "Creates a new project with the given name.");
         printHelpEntry("2. add-task <projectIndex> <taskDesc> [--priority low/medium/high] [--deadline YYYY-MM-DD]",
                 "Adds a new task to the specified project with optional priority and deadline fields.");
@@ -173,58 +250,116 @@ public class ConsoleUi {
                 "9. update-task <projectIndex> <taskIndex> [--description <newTaskDesc>] [--deadline YYYY-MM-DD] "
                         + "[--priority <low/medium/high>]",
                 "Updates details of an existing task, such as description, deadline, or priority.");
-        printHelpEntry("10. sort-tasks <--deadline/priority> <ascending/descending>",
-                "Sorts existing tasks by deadline or priority.");
-        printHelpEntry("11. filter-tasks --priority <low/medium/high>", "Filters existing tasks by priority.");
+        printHelpEntry("10. sort-tasks <--deadline/priority> <ascending/descending> [<--deadline/priority> "
+                        + "<ascending/descending>] [--limit <N>] | --page",
+                "Sorts existing tasks by deadline, priority or both, optionally N at a time.");
+        printHelpEntry("11. filter-tasks --priority <low/medium/high> | --deadline <YYYY-MM-DD> [YYYY-MM-DD]",
+                "Filters existing tasks by priority, or by deadline on a day or within a date range.");
+        printHelpEntry("12. search <terms> [--limit <N>]",
+                "Finds tasks whose descriptions contain every term, best match first. End a term with * to "
+                        + "match words starting with it.");
         printHelpEntry(
-                "12. export-tasks <filename>.txt [projectIndex] [filter-tasks --priority <low/medium/high>] "
+                "13. export-tasks <filename>.txt [projectIndex] [filter-tasks --priority <low/medium/high>] "
                         + "[sort-tasks <--deadline/priority> <ascending/descending>]",
                 "Exports tasks to a TXT file. Defaults to all tasks if no project is specified.");
-        printHelpEntry("13. status <projectIndex> / --all", "Shows project completion status.");
-        printHelpEntry("14. help", "Shows this help message.");
-        printHelpEntry("15. bye", "Exits the application.");
-        System.out.println("Alternatively, you may provide the CLI with prompts to assist you with the following:\n");
-        System.out.println("'create', 'add', 'list', 'mark', 'unmark', 'delete', 'update', 'sort', 'filter', 'export'");
+        printHelpEntry("14. status <projectIndex> / --all", "Shows project completion status.");
+        printHelpEntry("15. stats [--json]", "Shows command latencies and storage, sort, filter and export metrics.");
+        printHelpEntry("16. help", "Shows this help message.");
+        printHelpEntry("17. bye", "Exits the application.");
+        println("Alternatively, you may provide the CLI with prompts to assist you with the following:\n");
+        println("'create', 'add', 'list', 'mark', 'unmark', 'delete', 'update', 'sort', 'filter', 'export'");
         printLine();
     }
 
     private void printHelpEntry(String command, String description) {
-        System.out.println(" " + command);
-        System.out.println("  - " + description + "\n");
+        println(" " + command);
+        println("  - " + description + "\n");
     }
     //@@author
 
     public void showGlobalSortedTasks(List<TaskWithProject> tasks, String field, String order) {
         printLine();
-        System.out.println("Sorted all tasks by " + field + " " + order + ":");
+        println("Sorted all tasks by " + field + " " + order + ":");
+        for (TaskWithProject task : tasks) {
+            task.appendTo(output);
+            output.append(NEWLINE);
+            flushIfFull();
+        }
+        printLine();
+    }
+
+    /**
+     * Displays one page of tasks sorted across all projects.
+     *
+     * @param firstIndex Zero-based position of the first task on the page among all sorted tasks
+     * @param totalTasks Number of tasks across all projects
+     * @param hasNextPage Whether 'sort-tasks --page' can show more tasks
+     */
+    public void showGlobalSortedTaskPage(List<TaskWithProject> tasks, String field, String order, int firstIndex,
+            int totalTasks, boolean hasNextPage) {
+        printLine();
+        println("Sorted all tasks by " + field + " " + order + ":");
         for (TaskWithProject task : tasks) {
-            System.out.println(task.toString());
+            task.appendTo(output);
+            output.append(NEWLINE);
+            flushIfFull();
         }
+        println("Showing tasks " + (firstIndex + 1) + "-" + (firstIndex + tasks.size()) + " of " + totalTasks + "."
+                + (hasNextPage ? " Type 'sort-tasks --page' for the next page." : ""));
         printLine();
     }
 
     public void showGlobalFilteredTasks(List<TaskWithProject> tasks, String type, String value) {
         printLine();
-        System.out.println("Filtered tasks by " + type + " " + value + ":");
+        println("Filtered tasks by " + type + " " + value + ":");
+        for (TaskWithProject task : tasks) {
+            task.appendTo(output);
+            output.append(NEWLINE);
+            flushIfFull();
+        }
+        printLine();
+    }
+
+    /**
+     * Displays the best matches of a search, of the given number of matching tasks.
+     */
+    public void showSearchResults(List<TaskWithProject> tasks, String query, int matchCount) {
+        printLine();
+        if (tasks.size() < matchCount) {
+            println("Top " + tasks.size() + " of " + matchCount + " tasks matching \"" + query + "\":");
+        } else {
+            println("Tasks matching \"" + query + "\":");
+        }
         for (TaskWithProject task : tasks) {
-            System.out.println(task.toString());
+            task.appendTo(output);
+            output.append(NEWLINE);
+            flushIfFull();
         }
         printLine();
     }
 
+    /**
+     * Displays the metrics rendered by {@link seedu.flowcli.metrics.MetricsRegistry}.
+     */
+    public void showStats(String stats) {
+        printLine();
+        print(stats);
+        printLine();
+    }
+
     public void showExportSuccess(String filename, int taskCount) {
         printLine();
-        System.out.println("Successfully exported " + taskCount + " tasks to " + filename);
+        println("Successfully exported " + taskCount + " tasks to " + filename);
         printLine();
     }
 
     public void showAllTasksAcrossProjects() {
         printLine();
-        System.out.println("Here are all your tasks across all projects:");
+        println("Here are all your tasks across all projects:");
         for (Project project : projects.getProjectList()) {
             if (project.size() > 0) {
-                System.out.println(project.getProjectName() + ":");
-                System.out.print(project.showAllTasks());
+                println(project.getProjectName() + ":");
+                printTasks(project, "", "\n");
             }
         }
         printLine();
@@ -243,16 +378,16 @@ public class ConsoleUi {
         ProjectStatus status = ProjectStatusAnalyzer.analyzeProject(project);
 
         if (status.hasNoTasks()) {
-            System.out.println(project.getProjectName() + " - No tasks yet!");
-            System.out.println("You haven't added any tasks to this project. What are you waiting for?");
+            println(project.getProjectName() + " - No tasks yet!");
+            println("You haven't added any tasks to this project. What are you waiting for?");
             printLine();
             return;
         }
 
-        System.out.println(project.getProjectName() + " - Project Status");
-        System.out.println(formatStatusSummary(status));
-        System.out.println(generateProgressBar(status.getPercentage()));
-        System.out.println(getMotivationalMessage(status.getPercentage()));
+        println(project.getProjectName() + " - Project Status");
+        println(formatStatusSummary(status));
+        println(generateProgressBar(status.getPercentage()));
+        println(getMotivationalMessage(status.getPercentage()));
 
         printLine();
     }
@@ -267,30 +402,35 @@ public class ConsoleUi {
         printLine();
 
         if (projectList.isEmpty()) {
-            System.out.println("No projects found! Create one with 'create-project' command.");
+            println("No projects found! Create one with 'create-project' command.");
             printLine();
             return;
         }
 
-        System.out.println("All Projects Status:");
-        System.out.println();
+        println("All Projects Status:");
+        println();
 
         for (Project project : projectList.getProjectList()) {
             ProjectStatus status = ProjectStatusAnalyzer.analyzeProject(project);
 
             if (status.hasNoTasks()) {
-                System.out.println(project.getProjectName() + " - No tasks yet!");
-                System.out.println("  You haven't added any tasks to this project.");
-                System.out.println();
+                println(project.getProjectName() + " - No tasks yet!");
+                println("  You haven't added any tasks to this project.");
+                println();
                 continue;
             }
 
-            System.out.println(project.getProjectName() + " - " + formatStatusSummary(status));
-            System.out.println(generateProgressBar(status.getPercentage()));
-            System.out.println(getMotivationalMessage(status.getPercentage()));
-            System.out.println();
+            println(project.getProjectName() + " - " + formatStatusSummary(status));
+            println(generateProgressBar(status.getPercentage()));
+            println(getMotivationalMessage(status.getPercentage()));
+            println();
         }
 
+        OverallStatus overall = ProjectStatusAnalyzer.analyzeAll(projectList, LocalDate.now());
+        println("Overall - " + formatStatusSummary(overall.getCompletion()));
+        println("High: " + overall.getPriorityCount(3) + ", Medium: " + overall.getPriorityCount(2)
+                + ", Low: " + overall.getPriorityCount(1) + ", Overdue: " + overall.getOverdueTasks());
+
         printLine();
     }
 
@@ -355,7 +495,7 @@ public class ConsoleUi {
      * @param message The error message to display
      */
     public void showError(String message) {
-        System.out.println(message);
+        println(message);
         printLine();
     }
 
@@ -367,18 +507,38 @@ public class ConsoleUi {
      */
     public void showUnexpectedError(String message) {
         printLine();
-        System.out.println("An unexpected error occurred: " + message);
-        System.out.println("Please try again.");
+        println("An unexpected error occurred: " + message);
+        println("Please try again.");
         printLine();
     }
 
+    /**
+     * Reports a failed background save. Called from the autosave thread, so it prints
+     * a self-contained block straight to the console instead of using the output buffer.
+     *
+     * @param message The reason the save failed
+     * @param isJournaled Whether the changes are in the journal, which keeps them even if no later save succeeds
+     */
+    public void showAutosaveError(String message, boolean isJournaled) {
+        String block = LINE + NEWLINE
+                + "Autosave failed: " + message + NEWLINE
+                + (isJournaled
+                        ? "Your changes are still journaled and will be saved when you exit with 'bye'."
+                        : "Your changes are not journaled here; they are kept only if a later save succeeds, "
+                                + "such as when you exit with 'bye'.") + NEWLINE
+                + LINE + NEWLINE;
+        // Printed directly in a single call so it never interleaves with a flush of the command output
+        System.out.print(block);
+        System.out.flush();
+    }
+
     /**
      * Displays a generic unexpected error message to the user with consistent
      * formatting.
      */
     public void showUnexpectedError() {
         printLine();
-        System.out.println("An unexpected error occurred. Please try again.");
+        println("An unexpected error occurred. Please try again.");
         printLine();
     }
 }
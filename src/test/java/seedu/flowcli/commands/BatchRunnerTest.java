@@ -0,0 +1,165 @@
+package seedu.flowcli.commands;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.io.StringReader;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import seedu.flowcli.commands.core.BatchRunner;
+import seedu.flowcli.project.ProjectList;
+import seedu.flowcli.storage.JournalRecord;
+import seedu.flowcli.storage.Storage;
+import seedu.flowcli.ui.ConsoleUi;
+
+@DisplayName("BatchRunner Unit Tests")
+class BatchRunnerTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final PrintStream originalOut = System.out;
+    private ByteArrayOutputStream commandOutput;
+    private ByteArrayOutputStream summaryOutput;
+    private ProjectList projects;
+    private ConsoleUi ui;
+
+    @BeforeEach
+    void setUp() {
+        commandOutput = new ByteArrayOutputStream();
+        summaryOutput = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(commandOutput));
+        projects = new ProjectList();
+        ui = new ConsoleUi(projects);
+    }
+
+    @AfterEach
+    void tearDown() {
+        System.setOut(originalOut);
+    }
+
+    private BatchRunner.Summary run(String commands, boolean isQuiet, Storage storage) throws Exception {
+        BatchRunner runner = new BatchRunner(projects, ui, storage, isQuiet);
+        return runner.run(new BufferedReader(new StringReader(commands)), new PrintStream(summaryOutput));
+    }
+
+    @Test
+    @DisplayName("run_validCommands_executesEachAndReportsSummary")
+    void runExecutesCommands() throws Exception {
+        String commands = "create-project Alpha\n"
+                + "\n"
+                + "# a comment\n"
+                + "add-task 1 Write report --priority high\n"
+                + "add-task 1 Review\n"
+                + "mark 1 2\n";
+
+        BatchRunner.Summary summary = run(commands, false, null);
+
+        assertEquals(4, summary.getCommandCount());
+        assertTrue(summary.isSuccessful());
+        assertEquals(2, projects.getProject("Alpha").size());
+        assertTrue(projects.getProject("Alpha").getProjectTasks().get(1).isDone());
+        assertTrue(commandOutput.toString().contains("Got it. I've added this project"));
+        assertTrue(summaryOutput.toString().contains("Batch finished: 4 commands"));
+        assertTrue(summaryOutput.toString().contains("Succeeded: 4, failed: 0"));
+    }
+
+    @Test
+    @DisplayName("run_failingCommands_continuesAndListsFailures")
+    void runListsFailures() throws Exception {
+        String commands = "create-project Alpha\n"
+                + "add-task 5 Missing project\n"
+                + "frobnicate\n"
+                + "add-task 1 Kept\n";
+
+        BatchRunner.Summary summary = run(commands, false, null);
+
+        assertFalse(summary.isSuccessful());
+        assertEquals(2, summary.getFailures().size());
+        assertEquals(2, summary.getFailures().get(0).getLineNumber());
+        assertEquals(3, summary.getFailures().get(1).getLineNumber());
+        assertEquals("frobnicate", summary.getFailures().get(1).getCommandLine());
+        assertEquals(1, projects.getProject("Alpha").size());
+        assertTrue(summaryOutput.toString().contains("Succeeded: 2, failed: 2"));
+        assertTrue(summaryOutput.toString().contains("Line 3 (frobnicate)"));
+    }
+
+    @Test
+    @DisplayName("run_commandWithoutArguments_failsInsteadOfPrompting")
+    void runDoesNotPrompt() throws Exception {
+        BatchRunner.Summary summary = run("add-task\ncreate-project Alpha\n", false, null);
+
+        assertEquals(1, summary.getFailures().size());
+        assertEquals(1, projects.getProjectListSize());
+    }
+
+    @Test
+    @DisplayName("run_quiet_printsOnlySummary")
+    void runQuietPrintsOnlySummary() throws Exception {
+        run("create-project Alpha\nlist --all\n", true, null);
+
+        assertEquals("", commandOutput.toString());
+        assertTrue(summaryOutput.toString().contains("Batch finished: 2 commands"));
+    }
+
+    @Test
+    @DisplayName("run_bye_stopsAndSaves")
+    void runByeStopsAndSaves() throws Exception {
+        Storage storage = new Storage(tempDir.resolve("data.txt").toString());
+
+        BatchRunner.Summary summary = run("create-project Alpha\nbye\ncreate-project Beta\n", true, storage);
+
+        assertTrue(summary.isStoppedByBye());
+        assertEquals(2, summary.getCommandCount());
+        assertEquals(1, new Storage(tempDir.resolve("data.txt").toString()).load().getProjectListSize());
+    }
+
+    @Test
+    @DisplayName("run_otherStorageSavedDuringBatch_mergesBatchChanges")
+    void runMergesWithConcurrentSave() throws Exception {
+        String dataFile = tempDir.resolve("data.txt").toString();
+        ProjectList initial = new ProjectList();
+        initial.addProject("Alpha");
+        new Storage(dataFile).save(initial);
+        Storage storage = new Storage(dataFile);
+        projects = storage.load();
+        ui = new ConsoleUi(projects);
+        Storage other = new Storage(dataFile);
+        ProjectList otherProjects = other.load();
+        long otherId = otherProjects.getProjectByIndex(0).addTask("From other", null, 2).getId();
+        other.append(JournalRecord.addTask(0, otherId, "From other", null, 2));
+        other.save(otherProjects);
+
+        BatchRunner.Summary summary = run("add-task 1 From batch\nmark 1 1\n", true, storage);
+
+        assertTrue(summary.isSuccessful());
+        ProjectList reloaded = new Storage(dataFile).load();
+        assertEquals(2, reloaded.getProject("Alpha").size());
+        assertEquals("From other", reloaded.getProject("Alpha").getProjectTasks().get(0).getDescription());
+        assertFalse(reloaded.getProject("Alpha").getProjectTasks().get(0).isDone());
+        assertEquals("From batch", reloaded.getProject("Alpha").getProjectTasks().get(1).getDescription());
+        assertTrue(reloaded.getProject("Alpha").getProjectTasks().get(1).isDone());
+    }
+
+    @Test
+    @DisplayName("run_withStorage_savesAtEnd")
+    void runSavesAtEnd() throws Exception {
+        Storage storage = new Storage(tempDir.resolve("data.txt").toString());
+
+        BatchRunner.Summary summary = run("create-project Alpha\nadd-task 1 Task\n", true, storage);
+
+        assertTrue(summary.isSuccessful());
+        ProjectList reloaded = new Storage(tempDir.resolve("data.txt").toString()).load();
+        assertEquals(1, reloaded.getProject("Alpha").size());
+    }
+}
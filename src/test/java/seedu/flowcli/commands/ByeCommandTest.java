@@ -6,6 +6,12 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
 import java.util.logging.Handler;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -13,11 +19,14 @@ import java.util.logging.Logger;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 import seedu.flowcli.commands.core.CommandContext;
 import seedu.flowcli.exceptions.ExtraArgumentException;
+import seedu.flowcli.exceptions.StorageException;
 import seedu.flowcli.project.Project;
 import seedu.flowcli.project.ProjectList;
+import seedu.flowcli.storage.Storage;
 import seedu.flowcli.ui.ConsoleUi;
 
 @DisplayName("ByeCommand Unit Tests")
@@ -27,6 +36,7 @@ class ByeCommandTest {
 
     static class SpyUi extends ConsoleUi {
         boolean byeShown = false;
+        String lastError = null;
         SpyUi(ProjectList projects) {
             super(projects);
         }
@@ -36,8 +46,28 @@ class ByeCommandTest {
             byeShown = true;
             // Do not call super to avoid printing in tests
         }
+
+        @Override
+        public void showError(String message) {
+            lastError = message;
+        }
+    }
+
+    /** Storage whose saves always fail. */
+    static class FailingStorage extends Storage {
+        FailingStorage(String path) {
+            super(path);
+        }
+
+        @Override
+        public void save(ProjectList projects) throws StorageException {
+            throw new StorageException("disk unplugged");
+        }
     }
 
+    @TempDir
+    Path tempDir;
+
     @BeforeEach
     void setUpLogging() {
         Logger root = Logger.getLogger("");
@@ -73,6 +103,50 @@ class ByeCommandTest {
         logger.info("Basic bye flow passed");
     }
 
+    @Test
+    @DisplayName("execute_saveFailsWithoutInteractiveUser_reportsErrorWithoutReadingInput")
+    void executeSaveFailsWithoutUser() throws Exception {
+        ProjectList projects = new ProjectList();
+        SpyUi ui = new SpyUi(projects);
+        Storage storage = new FailingStorage(tempDir.resolve("data.txt").toString());
+        CommandContext ctx = new CommandContext(projects, ui, null, storage);
+        InputStream originalIn = System.in;
+        // Reading a retry answer from closed input would throw
+        System.setIn(new ByteArrayInputStream(new byte[0]));
+        try {
+            assertFalse(new ByeCommand("").execute(ctx));
+        } finally {
+            System.setIn(originalIn);
+        }
+
+        assertTrue(ui.lastError.contains("disk unplugged"));
+        assertTrue(ui.byeShown);
+    }
+
+    @Test
+    @DisplayName("execute_userDeclinesRetryWithJournal_saysChangesAreRestored")
+    void executeSaveFailsWithJournal() throws Exception {
+        ProjectList projects = new ProjectList();
+        SpyUi ui = new SpyUi(projects);
+        Storage storage = new FailingStorage(tempDir.resolve("data.txt").toString());
+        CommandContext ctx = new CommandContext(projects, ui, null, storage, null, true);
+        InputStream originalIn = System.in;
+        PrintStream originalErr = System.err;
+        ByteArrayOutputStream err = new ByteArrayOutputStream();
+        System.setIn(new ByteArrayInputStream("n\n".getBytes(StandardCharsets.UTF_8)));
+        System.setErr(new PrintStream(err, true, StandardCharsets.UTF_8));
+        try {
+            assertFalse(new ByeCommand("").execute(ctx));
+        } finally {
+            System.setIn(originalIn);
+            System.setErr(originalErr);
+        }
+
+        String output = err.toString(StandardCharsets.UTF_8);
+        assertTrue(output.contains("restored when FlowCLI next starts"), output);
+        assertFalse(output.contains("will be lost"), output);
+    }
+
     @Test
     @DisplayName("execute_withExtraArgs_throwsException")
     void executeWithExtraArgsThrowsException() {
@@ -93,8 +167,8 @@ class ByeCommandTest {
     void executeDoesNotMutateProjects() throws Exception {
         // Arrange: pre-populate projects and ensure size is unchanged after bye
         ProjectList projects = new ProjectList();
-        projects.getProjectList().add(new Project("Alpha"));
-        projects.getProjectList().add(new Project("Beta"));
+        projects.addProject(new Project("Alpha"));
+        projects.addProject(new Project("Beta"));
         int before = projects.getProjectList().size();
 
         SpyUi ui = new SpyUi(projects);
@@ -82,7 +82,7 @@ class CreateCommandTest {
     void execute_existingProject_throwsAlreadyExists() {
         // Arrange
         ProjectList projects = new ProjectList();
-        projects.getProjectList().add(new Project("Existing")); // pre-existing
+        projects.addProject(new Project("Existing")); // pre-existing
         SpyUi ui = new SpyUi(projects);
         CommandContext ctx = makeContext(projects, ui);
         CreateCommand cmd = new CreateCommand("Existing");
@@ -5,6 +5,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.time.LocalDate;
 import java.util.List;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -16,6 +17,7 @@ import seedu.flowcli.commands.core.ExportCommandHandler;
 import seedu.flowcli.exceptions.EmptyProjectListException;
 import seedu.flowcli.exceptions.EmptyTaskListException;
 import seedu.flowcli.exceptions.InvalidCommandSyntaxException;
+import seedu.flowcli.exceptions.InvalidDateException;
 import seedu.flowcli.project.Project;
 import seedu.flowcli.project.ProjectList;
 import seedu.flowcli.task.TaskWithProject;
@@ -215,5 +217,54 @@ class FilterCommandTest {
         assertThrows(EmptyTaskListException.class, () -> cmd.execute(ctx),
                 "Should throw when all projects have no tasks");
     }
-}
 
+    @Test
+    @DisplayName("execute_filterByDeadlineRange_showsTasksInRange")
+    void executeFilterByDeadlineRange() throws Exception {
+        projects.addProject("Project1");
+        Project project = projects.getProjectByIndex(0);
+        project.addTask("Late", LocalDate.of(2025, 3, 1), 2);
+        project.addTask("Early", LocalDate.of(2025, 1, 15), 2);
+        project.addTask("Outside", LocalDate.of(2025, 6, 1), 2);
+        project.addTask("No deadline");
+
+        new FilterCommand("--deadline 2025-01-01 2025-03-31").execute(ctx);
+
+        assertAll(
+                () -> assertEquals(2, ui.lastTasks.size()),
+                () -> assertEquals("Early", ui.lastTasks.get(0).getTask().getDescription()),
+                () -> assertEquals("Late", ui.lastTasks.get(1).getTask().getDescription()),
+                () -> assertEquals("deadline", ui.lastType),
+                () -> assertEquals("2025-01-01 to 2025-03-31", ui.lastValue),
+                () -> assertTrue(exportHandler.viewStateUpdated)
+        );
+    }
+
+    @Test
+    @DisplayName("execute_filterBySingleDeadline_showsTasksDueThatDay")
+    void executeFilterBySingleDeadline() throws Exception {
+        projects.addProject("Project1");
+        Project project = projects.getProjectByIndex(0);
+        project.addTask("Due", LocalDate.of(2025, 3, 1), 2);
+        project.addTask("Next day", LocalDate.of(2025, 3, 2), 2);
+
+        new FilterCommand("--deadline 2025-03-01").execute(ctx);
+
+        assertEquals(1, ui.lastTasks.size());
+        assertEquals("2025-03-01", ui.lastValue);
+    }
+
+    @Test
+    @DisplayName("execute_reversedOrInvalidDeadlineRange_throwsException")
+    void executeInvalidDeadlineRange() throws Exception {
+        projects.addProject("Project1");
+        projects.getProjectByIndex(0).addTask("Task1", LocalDate.of(2025, 3, 1), 2);
+
+        assertThrows(InvalidCommandSyntaxException.class,
+                () -> new FilterCommand("--deadline 2025-03-31 2025-01-01").execute(ctx));
+        assertThrows(InvalidDateException.class,
+                () -> new FilterCommand("--deadline 2025-13-01").execute(ctx));
+        assertThrows(InvalidCommandSyntaxException.class,
+                () -> new FilterCommand("--deadline 2025-01-01 2025-02-01 2025-03-01").execute(ctx));
+    }
+}
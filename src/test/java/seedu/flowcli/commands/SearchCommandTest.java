@@ -0,0 +1,139 @@
+package seedu.flowcli.commands;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import seedu.flowcli.commands.core.CommandContext;
+import seedu.flowcli.commands.core.ExportCommandHandler;
+import seedu.flowcli.exceptions.EmptyProjectListException;
+import seedu.flowcli.exceptions.EmptyTaskListException;
+import seedu.flowcli.exceptions.InvalidArgumentException;
+import seedu.flowcli.exceptions.InvalidCommandSyntaxException;
+import seedu.flowcli.project.Project;
+import seedu.flowcli.project.ProjectList;
+import seedu.flowcli.task.Task;
+import seedu.flowcli.task.TaskWithProject;
+import seedu.flowcli.ui.ConsoleUi;
+
+@DisplayName("SearchCommand Unit Tests")
+class SearchCommandTest {
+
+    static class SpyUi extends ConsoleUi {
+        List<TaskWithProject> lastTasks = null;
+        String lastQuery = null;
+        int lastMatchCount = -1;
+
+        SpyUi(ProjectList projects) {
+            super(projects);
+        }
+
+        @Override
+        public void showSearchResults(List<TaskWithProject> tasks, String query, int matchCount) {
+            lastTasks = tasks;
+            lastQuery = query;
+            lastMatchCount = matchCount;
+        }
+    }
+
+    static class SpyExportHandler extends ExportCommandHandler {
+        ViewType lastViewType = null;
+        String lastDescription = null;
+
+        SpyExportHandler(ProjectList projects, ConsoleUi ui) {
+            super(projects, ui);
+        }
+
+        @Override
+        public void updateViewState(List<TaskWithProject> tasks, ViewType viewType, String description) {
+            lastViewType = viewType;
+            lastDescription = description;
+        }
+    }
+
+    private ProjectList projects;
+    private SpyUi ui;
+    private SpyExportHandler exportHandler;
+    private CommandContext ctx;
+
+    @BeforeEach
+    void setUp() {
+        projects = new ProjectList();
+        ui = new SpyUi(projects);
+        exportHandler = new SpyExportHandler(projects, ui);
+        ctx = new CommandContext(projects, ui, exportHandler, null);
+    }
+
+    @Test
+    @DisplayName("execute_matchingTasksInSeveralProjects_showsThemWithTheirProjects")
+    void executeShowsMatches() throws Exception {
+        projects.addProject("Website");
+        projects.addProject("Launch");
+        projects.getProjectByIndex(0).addTask("Fix login page", null, 2);
+        Task match = projects.getProjectByIndex(1).addTask("Design launch page", null, 2);
+        projects.getProjectByIndex(1).addTask("Book venue", null, 2);
+
+        boolean result = new SearchCommand("design PAGE").execute(ctx);
+
+        assertAll("Search across projects",
+                () -> assertTrue(result, "execute() should return true"),
+                () -> assertEquals(1, ui.lastTasks.size()),
+                () -> assertSame(match, ui.lastTasks.get(0).getTask()),
+                () -> assertEquals("Launch", ui.lastTasks.get(0).getProjectName()),
+                () -> assertEquals("design PAGE", ui.lastQuery),
+                () -> assertEquals(ExportCommandHandler.ViewType.SEARCHED, exportHandler.lastViewType),
+                () -> assertEquals("matching \"design PAGE\"", exportHandler.lastDescription)
+        );
+    }
+
+    @Test
+    @DisplayName("execute_limitBelowMatchCount_showsBestMatchesAndTotal")
+    void executeWithLimit() throws Exception {
+        projects.addProject("Notes");
+        Project notes = projects.getProjectByIndex(0);
+        notes.addTask("Meeting notes for the quarterly planning review", null, 2);
+        Task best = notes.addTask("Meeting notes", null, 2);
+        notes.addTask("Meeting notes from standup", null, 2);
+
+        new SearchCommand("meet* --limit 1").execute(ctx);
+
+        assertEquals(1, ui.lastTasks.size());
+        assertSame(best, ui.lastTasks.get(0).getTask());
+        assertEquals(3, ui.lastMatchCount);
+        assertEquals("meet*", ui.lastQuery);
+    }
+
+    @Test
+    @DisplayName("execute_noMatchingTasks_throwsEmptyTaskListException")
+    void executeNoMatches() throws Exception {
+        projects.addProject("Notes");
+        projects.getProjectByIndex(0).addTask("Meeting notes", null, 2);
+
+        assertThrows(EmptyTaskListException.class, () -> new SearchCommand("agenda").execute(ctx));
+    }
+
+    @Test
+    @DisplayName("execute_noSearchWords_throwsInvalidCommandSyntaxException")
+    void executeWithoutWords() {
+        projects.addProject("Notes");
+
+        assertThrows(InvalidCommandSyntaxException.class, () -> new SearchCommand("").execute(ctx));
+        assertThrows(InvalidCommandSyntaxException.class, () -> new SearchCommand("--limit 3").execute(ctx));
+        assertThrows(InvalidCommandSyntaxException.class, () -> new SearchCommand("notes --limit").execute(ctx));
+        assertThrows(InvalidArgumentException.class, () -> new SearchCommand("notes --limit 0").execute(ctx));
+    }
+
+    @Test
+    @DisplayName("execute_emptyProjectList_throwsEmptyProjectListException")
+    void executeEmptyProjectList() {
+        assertThrows(EmptyProjectListException.class, () -> new SearchCommand("notes").execute(ctx));
+    }
+}
@@ -2,10 +2,12 @@ package seedu.flowcli.commands;
 
 import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -16,6 +18,7 @@ import seedu.flowcli.commands.core.CommandContext;
 import seedu.flowcli.commands.core.ExportCommandHandler;
 import seedu.flowcli.exceptions.EmptyProjectListException;
 import seedu.flowcli.exceptions.EmptyTaskListException;
+import seedu.flowcli.exceptions.InvalidArgumentException;
 import seedu.flowcli.exceptions.InvalidCommandSyntaxException;
 import seedu.flowcli.project.Project;
 import seedu.flowcli.project.ProjectList;
@@ -42,6 +45,18 @@ class SortCommandTest {
             lastField = field;
             lastOrder = order;
         }
+
+        List<TaskWithProject> pageTasks = null;
+        int pageFirstIndex = -1;
+        boolean pageHasNext = false;
+
+        @Override
+        public void showGlobalSortedTaskPage(List<TaskWithProject> tasks, String field, String order, int firstIndex,
+                int totalTasks, boolean hasNextPage) {
+            pageTasks = tasks;
+            pageFirstIndex = firstIndex;
+            pageHasNext = hasNextPage;
+        }
     }
 
     static class SpyExportHandler extends ExportCommandHandler {
@@ -135,8 +150,10 @@ class SortCommandTest {
         projects.addProject("Project1");
         SortCommand cmd = new SortCommand("deadline ascending"); // missing --
 
-        assertThrows(InvalidCommandSyntaxException.class, () -> cmd.execute(ctx),
-                "Should throw when field doesn't start with --");
+        InvalidCommandSyntaxException e = assertThrows(InvalidCommandSyntaxException.class,
+                () -> cmd.execute(ctx), "Should throw when field doesn't start with --");
+        assertTrue(e.getMessage().endsWith("[--limit <N>] | sort-tasks --page"),
+                "Usage should show both forms of the command");
     }
 
     @Test
@@ -190,5 +207,97 @@ class SortCommandTest {
         assertThrows(EmptyTaskListException.class, () -> cmd.execute(ctx),
                 "Should throw when all projects have no tasks");
     }
-}
 
+    @Test
+    @DisplayName("execute_withLimitThenPage_showsConsecutivePages")
+    void executeWithLimitThenPage() throws Exception {
+        projects.addProject("Project1");
+        Project project = projects.getProjectByIndex(0);
+        for (int i = 5; i >= 1; i--) {
+            project.addTask("Task" + i, LocalDate.of(2025, 1, i), 2);
+        }
+
+        new SortCommand("--deadline ascending --limit 2").execute(ctx);
+        assertEquals(List.of("Task1", "Task2"), descriptions(ui.pageTasks));
+        assertEquals(0, ui.pageFirstIndex);
+        assertTrue(ui.pageHasNext);
+        assertTrue(exportHandler.viewStateUpdated);
+
+        new SortCommand("--page").execute(ctx);
+        assertEquals(List.of("Task3", "Task4"), descriptions(ui.pageTasks));
+        assertEquals(2, ui.pageFirstIndex);
+
+        new SortCommand("--page").execute(ctx);
+        assertEquals(List.of("Task5"), descriptions(ui.pageTasks));
+        assertFalse(ui.pageHasNext);
+        assertThrows(InvalidCommandSyntaxException.class, () -> new SortCommand("--page").execute(ctx));
+    }
+
+    @Test
+    @DisplayName("execute_pageAfterTasksChanged_throwsInvalidCommandSyntaxException")
+    void executePageAfterChange() throws Exception {
+        projects.addProject("Project1");
+        Project project = projects.getProjectByIndex(0);
+        project.addTask("Task1", null, 1);
+        project.addTask("Task2", null, 2);
+        new SortCommand("--priority descending --limit 1").execute(ctx);
+
+        project.addTask("Task3", null, 3);
+
+        assertThrows(InvalidCommandSyntaxException.class, () -> new SortCommand("--page").execute(ctx));
+    }
+
+    @Test
+    @DisplayName("execute_invalidLimit_throwsInvalidArgumentException")
+    void executeInvalidLimit() throws Exception {
+        projects.addProject("Project1");
+        projects.getProjectByIndex(0).addTask("Task1");
+
+        assertThrows(InvalidArgumentException.class,
+                () -> new SortCommand("--priority ascending --limit 0").execute(ctx));
+        assertThrows(InvalidArgumentException.class,
+                () -> new SortCommand("--priority ascending --limit ten").execute(ctx));
+    }
+
+    @Test
+    @DisplayName("execute_priorityThenDeadline_sortsByBothKeys")
+    void executeSortByTwoKeys() throws Exception {
+        projects.addProject("Project1");
+        Project project = projects.getProjectByIndex(0);
+        project.addTask("Task1", LocalDate.of(2024, 12, 31), 2);
+        project.addTask("Task2", LocalDate.of(2024, 1, 1), 1);
+        project.addTask("Task3", LocalDate.of(2024, 1, 1), 2);
+
+        new SortCommand("--priority descending --deadline ascending").execute(ctx);
+
+        assertAll("Sort by priority then deadline",
+                () -> assertEquals(List.of("Task3", "Task1", "Task2"), descriptions(ui.lastTasks)),
+                () -> assertEquals("priority descending, deadline", ui.lastField),
+                () -> assertEquals("ascending", ui.lastOrder));
+
+        new SortCommand("--priority descending --deadline descending --limit 2").execute(ctx);
+        assertEquals(List.of("Task1", "Task3"), descriptions(ui.pageTasks));
+        new SortCommand("--page").execute(ctx);
+        assertEquals(List.of("Task2"), descriptions(ui.pageTasks));
+    }
+
+    @Test
+    @DisplayName("execute_sameFieldTwice_throwsInvalidArgumentException")
+    void executeSameFieldTwice() throws Exception {
+        projects.addProject("Project1");
+        projects.getProjectByIndex(0).addTask("Task1");
+
+        assertThrows(InvalidArgumentException.class,
+                () -> new SortCommand("--priority ascending --priority descending").execute(ctx));
+        assertThrows(InvalidCommandSyntaxException.class,
+                () -> new SortCommand("--priority ascending --deadline").execute(ctx));
+    }
+
+    private static List<String> descriptions(List<TaskWithProject> tasks) {
+        List<String> descriptions = new ArrayList<>();
+        for (TaskWithProject task : tasks) {
+            descriptions.add(task.getTask().getDescription());
+        }
+        return descriptions;
+    }
+}
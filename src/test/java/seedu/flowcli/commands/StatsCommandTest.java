@@ -0,0 +1,67 @@
+package seedu.flowcli.commands;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import seedu.flowcli.commands.core.CommandContext;
+import seedu.flowcli.exceptions.InvalidArgumentException;
+import seedu.flowcli.metrics.MetricsRegistry;
+import seedu.flowcli.parsers.CommandParser.CommandType;
+import seedu.flowcli.project.ProjectList;
+import seedu.flowcli.ui.ConsoleUi;
+
+class StatsCommandTest {
+
+    static class SpyUi extends ConsoleUi {
+        String stats;
+
+        SpyUi(ProjectList projects) {
+            super(projects);
+        }
+
+        @Override
+        public void showStats(String stats) {
+            this.stats = stats;
+        }
+    }
+
+    private SpyUi ui;
+    private CommandContext ctx;
+
+    @BeforeEach
+    void setUp() {
+        ProjectList projects = new ProjectList();
+        ui = new SpyUi(projects);
+        ctx = new CommandContext(projects, ui, null, null);
+    }
+
+    @Test
+    void execute_noArguments_showsTableWithRecordedCommands() throws Exception {
+        MetricsRegistry.getInstance().recordCommand(CommandType.SORT_TASKS, 2_000);
+
+        assertTrue(new StatsCommand("").execute(ctx));
+
+        assertTrue(ui.stats.startsWith("Command latency (microseconds):"));
+        assertTrue(ui.stats.contains("sort-tasks"));
+        assertTrue(ui.stats.contains("bytes written"));
+    }
+
+    @Test
+    void execute_jsonOption_showsJson() throws Exception {
+        MetricsRegistry.getInstance().recordCommand(CommandType.LIST, 1_000);
+
+        new StatsCommand(" --JSON ").execute(ctx);
+
+        assertTrue(ui.stats.startsWith("{"));
+        assertTrue(ui.stats.contains("\"list\": {\"count\": "));
+        assertTrue(ui.stats.trim().endsWith("}"));
+    }
+
+    @Test
+    void execute_unknownOption_throwsException() {
+        assertThrows(InvalidArgumentException.class, () -> new StatsCommand("--xml").execute(ctx));
+    }
+}
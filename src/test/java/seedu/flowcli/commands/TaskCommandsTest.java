@@ -3,6 +3,7 @@ package seedu.flowcli.commands;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.time.LocalDate;
@@ -11,7 +12,9 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import seedu.flowcli.commands.core.CommandContext;
+import seedu.flowcli.exceptions.InvalidCommandSyntaxException;
 import seedu.flowcli.exceptions.ProjectNotFoundException;
+import seedu.flowcli.exceptions.TaskNotFoundException;
 import seedu.flowcli.project.Project;
 import seedu.flowcli.project.ProjectList;
 import seedu.flowcli.task.Task;
@@ -116,6 +119,62 @@ class TaskCommandsTest {
         assertSame(project, ui.getLastProject());
     }
 
+    @Test
+    void taskCommandsAcceptTaskIds() throws Exception {
+        projects.addProject("Beta");
+        Project beta = projects.getProject("Beta");
+        project.addTask("Alpha task");
+        Task betaTask = beta.addTask("Beta task", null, 2);
+        Task otherTask = beta.addTask("Other task", null, 2);
+
+        new MarkCommand("#" + betaTask.getId()).execute(context);
+        assertTrue(betaTask.isDone());
+        assertSame(betaTask, ui.getLastTask());
+
+        new UpdateCommand("#" + otherTask.getId() + " --priority high").execute(context);
+        assertEquals(3, otherTask.getPriority());
+        assertSame(beta, ui.getLastProject());
+
+        new DeleteTaskCommand("#" + betaTask.getId()).execute(context);
+        assertEquals(1, beta.size());
+        assertSame(otherTask, beta.getProjectTasks().get(0));
+        assertEquals(1, project.size());
+    }
+
+    @Test
+    void taskCommandsRejectUnknownTaskIds() {
+        project.addTask("Only task");
+
+        assertThrows(TaskNotFoundException.class, () -> new MarkCommand("#99").execute(context));
+        assertThrows(TaskNotFoundException.class, () -> new DeleteTaskCommand("#99").execute(context));
+        assertEquals(1, project.size());
+    }
+
+    @Test
+    void taskCommandsSplitArgumentsLikeRegexSplit() throws Exception {
+        new AddCommand("1 Buy  milk -- --").execute(context);
+        new AddCommand("1\ta---b --priority high").execute(context);
+        Task first = project.getProjectTasks().get(0);
+        Task second = project.getProjectTasks().get(1);
+        assertEquals("Buy  milk", first.getDescription());
+        assertEquals("a---b", second.getDescription());
+        assertEquals(3, second.getPriority());
+
+        InvalidCommandSyntaxException emptyOption = assertThrows(InvalidCommandSyntaxException.class,
+                () -> new AddCommand("1 Buy milk -- --priority low").execute(context));
+        assertEquals("Unknown option: . Use --priority or --deadline.", emptyOption.getMessage());
+        InvalidCommandSyntaxException dashedOption = assertThrows(InvalidCommandSyntaxException.class,
+                () -> new AddCommand("1 Buy milk ---priority low").execute(context));
+        assertEquals("Unknown option: -priority low. Use --priority or --deadline.", dashedOption.getMessage());
+
+        new UpdateCommand(" 1\t2  --description\tNew \t name\f--priority  low ").execute(context);
+        assertEquals("New name", second.getDescription());
+        assertEquals(1, second.getPriority());
+        new MarkCommand("1\u000B1").execute(context);
+        assertTrue(first.isDone());
+        assertEquals(2, project.size());
+    }
+
     private static class StubConsoleUi extends ConsoleUi {
         private String lastAction;
         private Project lastProject;
@@ -0,0 +1,203 @@
+package seedu.flowcli.daemon;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.UnixDomainSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import seedu.flowcli.project.ProjectList;
+import seedu.flowcli.storage.Storage;
+import seedu.flowcli.ui.ConsoleUi;
+
+@DisplayName("DaemonServer Unit Tests")
+class DaemonServerTest {
+
+    private static final String END_OF_INPUT = "<end of input>";
+
+    @TempDir
+    Path tempDir;
+
+    private Path socketPath;
+    private ProjectList projects;
+    private DaemonServer server;
+    private Thread serverThread;
+
+    @BeforeEach
+    void setUp() {
+        socketPath = tempDir.resolve("flowcli.sock");
+        projects = new ProjectList();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (server != null) {
+            server.close();
+            serverThread.join(TimeUnit.SECONDS.toMillis(5));
+        }
+    }
+
+    private void start(Storage storage) throws IOException {
+        server = new DaemonServer(projects, new ConsoleUi(projects), storage, null, socketPath);
+        server.bind();
+        serverThread = new Thread(server::serve, "daemon-test");
+        serverThread.start();
+    }
+
+    private String send(int expectedStatus, String... commandLines) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertEquals(expectedStatus, DaemonClient.run(socketPath, List.of(commandLines), out));
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    @DisplayName("run_commandsFromSeveralClients_keepProjectsBetweenClients")
+    void runKeepsProjectsBetweenClients() throws Exception {
+        start(null);
+
+        String created = send(0, "create-project Alpha", "add-task 1 Write report --priority high");
+        String listed = send(0, "list 1");
+
+        assertTrue(created.contains("Got it. I've added this project"));
+        assertTrue(listed.contains("Write report"));
+        assertEquals(1, projects.getProject("Alpha").size());
+    }
+
+    @Test
+    @DisplayName("run_failingCommand_returnsStatusOneWithErrorOutput")
+    void runReportsFailures() throws Exception {
+        start(null);
+
+        String output = send(1, "add-task 5 Missing project", "create-project Beta");
+
+        assertTrue(output.contains("Beta"));
+        assertEquals(1, projects.getProjectListSize());
+    }
+
+    @Test
+    @DisplayName("bye_savesAndStopsDaemon_removesSocket")
+    void byeStopsDaemon() throws Exception {
+        Storage storage = new Storage(tempDir.resolve("flowcli-data.txt").toString());
+        start(storage);
+
+        send(0, "create-project Alpha", "bye");
+
+        assertTrue(server.awaitStopped(5, TimeUnit.SECONDS));
+        assertFalse(Files.exists(socketPath));
+        assertEquals(1, storage.load().getProjectListSize());
+        assertThrows(IOException.class, () -> send(0, "list --all"));
+    }
+
+    @Test
+    @DisplayName("close_withoutBye_savesChanges")
+    void closeSaves() throws Exception {
+        Storage storage = new Storage(tempDir.resolve("flowcli-data.txt").toString());
+        start(storage);
+        send(0, "create-project Alpha");
+
+        server.close();
+
+        assertTrue(server.awaitStopped(5, TimeUnit.SECONDS));
+        assertEquals(1, storage.load().getProjectListSize());
+    }
+
+    @Test
+    @DisplayName("run_linesSentOneAtATime_outputArrivesBeforeInputEnds")
+    void runStreamsOutput() throws Exception {
+        start(null);
+        BlockingQueue<String> lines = new LinkedBlockingQueue<>();
+        Iterable<String> commandLines = () -> new Iterator<>() {
+            private String next;
+
+            @Override
+            public boolean hasNext() {
+                try {
+                    next = lines.take();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+                return !next.equals(END_OF_INPUT);
+            }
+
+            @Override
+            public String next() {
+                return next;
+            }
+        };
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        AtomicInteger status = new AtomicInteger(-1);
+        Thread client = new Thread(() -> {
+            try {
+                status.set(DaemonClient.run(socketPath, commandLines, out));
+            } catch (IOException e) {
+                status.set(2);
+            }
+        });
+        client.start();
+
+        lines.add("create-project Alpha");
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!out.toString(StandardCharsets.UTF_8).contains("Alpha") && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(out.toString(StandardCharsets.UTF_8).contains("Alpha"), "Output should arrive per command");
+        assertTrue(client.isAlive());
+
+        lines.add(END_OF_INPUT);
+        client.join(TimeUnit.SECONDS.toMillis(5));
+        assertEquals(0, status.get());
+    }
+
+    @Test
+    @DisplayName("run_anotherClientStalled_isServed")
+    void runServesClientsBesideStalledOne() throws Exception {
+        start(null);
+
+        try (SocketChannel stalled = SocketChannel.open(UnixDomainSocketAddress.of(socketPath))) {
+            stalled.write(ByteBuffer.wrap("create-project Stalled".getBytes(StandardCharsets.UTF_8)));
+
+            assertTrue(send(0, "create-project Alpha").contains("Alpha"));
+        }
+    }
+
+    @Test
+    @DisplayName("bind_daemonAlreadyListening_throwsIoException")
+    void bindRejectsSecondDaemon() throws Exception {
+        start(null);
+
+        DaemonServer second = new DaemonServer(projects, new ConsoleUi(projects), null, null, socketPath);
+
+        assertThrows(IOException.class, second::bind);
+    }
+
+    @Test
+    @DisplayName("bind_staleSocketFile_replacesIt")
+    void bindReplacesStaleSocket() throws Exception {
+        Files.createFile(socketPath);
+
+        start(null);
+
+        assertTrue(send(0, "create-project Alpha").contains("Alpha"));
+    }
+}
@@ -0,0 +1,75 @@
+package seedu.flowcli.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("Histogram Unit Tests")
+class HistogramTest {
+
+    @Test @DisplayName("bucketOf_allMagnitudes_bucketContainsValue")
+    void bucketsContainTheirValues() {
+        long[] values = {0, 1, 63, 64, 65, 1000, 123_456_789L, 1L << 40, Long.MAX_VALUE - 1, Long.MAX_VALUE};
+        for (long value : values) {
+            int bucket = Histogram.bucketOf(value);
+            assertTrue(Histogram.highestValueIn(bucket) >= value, "value " + value);
+            long lowest = bucket == 0 ? 0 : Histogram.highestValueIn(bucket - 1) + 1;
+            assertTrue(lowest <= value, "value " + value);
+            // Buckets are at most 1/32 of their values wide
+            assertTrue(Histogram.highestValueIn(bucket) - lowest <= value / Histogram.SUB_BUCKETS, "value " + value);
+        }
+    }
+
+    @Test @DisplayName("getValueAtPercentile_uniformValues_withinBucketPrecision")
+    void percentilesWithinPrecision() {
+        Histogram histogram = new Histogram();
+        for (long value = 1; value <= 10_000; value++) {
+            histogram.record(value * 1000);
+        }
+
+        assertEquals(10_000, histogram.getCount());
+        assertEquals(10_000_000, histogram.getMax());
+        assertEquals(5_000_500.0, histogram.getMean(), 0.001);
+        assertEquals(5_000_000, histogram.getValueAtPercentile(50), 5_000_000 / 32.0);
+        assertEquals(9_900_000, histogram.getValueAtPercentile(99), 9_900_000 / 32.0);
+        assertEquals(10_000_000, histogram.getValueAtPercentile(100));
+    }
+
+    @Test @DisplayName("record_emptyOrNegative_reportsZero")
+    void emptyAndNegativeValues() {
+        Histogram histogram = new Histogram();
+        assertEquals(0, histogram.getValueAtPercentile(99));
+        assertEquals(0.0, histogram.getMean());
+
+        histogram.record(-5);
+        assertEquals(0, histogram.getMax());
+        assertEquals(1, histogram.getCount());
+    }
+
+    @Test @DisplayName("record_concurrentThreads_countsEveryValue")
+    void concurrentRecordingLosesNothing() throws InterruptedException {
+        Histogram histogram = new Histogram();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    histogram.record(i);
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(40_000, histogram.getCount());
+        assertEquals(9_999, histogram.getMax());
+        assertEquals(4L * 9_999 * 10_000 / 2, histogram.getSum());
+    }
+}
@@ -37,8 +37,8 @@ class ArgumentParserTest {
         projects = new ProjectList();
         project1 = new Project("Project Alpha");
         project2 = new Project("Project Beta");
-        projects.getProjectList().add(project1);
-        projects.getProjectList().add(project2);
+        projects.addProject(project1);
+        projects.addProject(project2);
 
         logger.info("Initialised test projects: " + projects.getProjectListSize());
     }
@@ -4,6 +4,9 @@ import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.logging.Handler;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -100,6 +103,82 @@ class CommandParserTest {
         logger.info("Empty input handling test passed");
     }
 
+    @Test @DisplayName("parse_goldenLines_matchRegexBasedParser")
+    void testParseMatchesRegexBasedParser() {
+        List<String> lines = new ArrayList<>(Arrays.asList(TokenizerTest.GOLDEN_LINES));
+        for (String word : new String[] {"list", "mark", "unmark", "bye", "add-task", "add", "create-project",
+                "create", "delete", "delete-task", "delete-project", "update", "update-task", "help", "sort",
+                "sort-tasks", "filter", "filter-tasks", "export", "export-tasks", "status", "stats", "search", "lists",
+                "ad"}) {
+            lines.add(word);
+            lines.add(word.toUpperCase() + "\t1 2");
+            lines.add(" " + word.substring(0, 1).toUpperCase() + word.substring(1) + "  args  ");
+        }
+
+        for (String line : lines) {
+            ParsedCommand expected = parseWithRegex(line);
+            ParsedCommand actual = parser.parse(line);
+            assertEquals(expected.getType(), actual.getType(), line);
+            assertEquals(expected.getArguments(), actual.getArguments(), line);
+        }
+    }
+
+    /**
+     * The parser as it was before it used {@link Tokenizer}, kept as the reference for its behaviour.
+     */
+    private static ParsedCommand parseWithRegex(String line) {
+        String trimmed = line.trim();
+        if (trimmed.isEmpty()) {
+            return new ParsedCommand(CommandType.UNKNOWN, "");
+        }
+        String[] parts = trimmed.split("\\s+", 2);
+        String arguments = parts.length > 1 ? parts[1] : "";
+        switch (parts[0].toLowerCase()) {
+        case "list":
+            return new ParsedCommand(CommandType.LIST, arguments);
+        case "mark":
+            return new ParsedCommand(CommandType.MARK, arguments);
+        case "unmark":
+            return new ParsedCommand(CommandType.UNMARK, arguments);
+        case "bye":
+            return new ParsedCommand(CommandType.BYE, arguments);
+        case "add-task":
+        case "add":
+            return new ParsedCommand(CommandType.ADD_TASK, arguments);
+        case "create-project":
+        case "create":
+            return new ParsedCommand(CommandType.CREATE_PROJECT, arguments);
+        case "delete":
+            return new ParsedCommand(CommandType.DELETE, arguments);
+        case "delete-task":
+            return new ParsedCommand(CommandType.DELETE_TASK, arguments);
+        case "delete-project":
+            return new ParsedCommand(CommandType.DELETE_PROJECT, arguments);
+        case "update":
+        case "update-task":
+            return new ParsedCommand(CommandType.UPDATE_TASK, arguments);
+        case "help":
+            return new ParsedCommand(CommandType.HELP, arguments);
+        case "sort":
+        case "sort-tasks":
+            return new ParsedCommand(CommandType.SORT_TASKS, arguments);
+        case "filter":
+        case "filter-tasks":
+            return new ParsedCommand(CommandType.FILTER_TASKS, arguments);
+        case "export":
+        case "export-tasks":
+            return new ParsedCommand(CommandType.EXPORT_TASKS, arguments);
+        case "status":
+            return new ParsedCommand(CommandType.STATUS, arguments);
+        case "stats":
+            return new ParsedCommand(CommandType.STATS, arguments);
+        case "search":
+            return new ParsedCommand(CommandType.SEARCH, arguments);
+        default:
+            return new ParsedCommand(CommandType.UNKNOWN, arguments);
+        }
+    }
+
     @Test @DisplayName("parseIndexOrNull_validIndex_returnsZeroBasedIndex")
     void testParseIndexOrNullValid() throws Exception {
         logger.fine("Testing valid index parsing");
@@ -0,0 +1,91 @@
+package seedu.flowcli.parsers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("Tokenizer Unit Tests")
+class TokenizerTest {
+
+    /** Lines covering every kind of whitespace the old regex-based parsing had to deal with. */
+    static final String[] GOLDEN_LINES = {
+        "", " ", "\t\n", "list", "  list  ", "mark 1 2", "mark\t1\t\t2", "MARK 1 2", "Mark  1   2 ",
+        "add-task 1 Buy milk --priority high --deadline 2025-01-01", "add 1 desc -- --priority low",
+        "delete 1", "delete 1 --confirm", "delete #3", "delete #3 extra", "update-task #4 --priority high",
+        "update 1 2 --description  many   spaced words --deadline none", "sort-tasks --deadline ascending",
+        "sort --priority descending --limit 5", "sort-tasks --page", "filter-tasks --deadline 2025-01-01  2025-02-01",
+        "list\r", "list\u000B1", "list\f1", "\u0001list 1", "list\u00011", "list \u0001 1", "list\u00A01",
+        "L\u0130ST", "mar\u212A 1 1", "status --all\n", "bye now", "help me please", "x", "-- --", "#1"
+    };
+
+    @Test @DisplayName("next_goldenLines_matchRegexSplit")
+    void tokensMatchRegexSplit() {
+        Tokenizer tokens = new Tokenizer();
+        for (String line : GOLDEN_LINES) {
+            String trimmed = line.trim();
+            List<String> expected = trimmed.isEmpty() ? List.of() : Arrays.asList(trimmed.split("\\s+"));
+
+            tokens.reset(line);
+            assertEquals(expected.size(), tokens.countRemaining(), line);
+            assertEquals(trimmed.isEmpty(), tokens.isEmpty(), line);
+            List<String> actual = new ArrayList<>();
+            while (tokens.next()) {
+                actual.add(tokens.token());
+            }
+            assertEquals(expected, actual, line);
+        }
+    }
+
+    @Test @DisplayName("rest_goldenLines_matchRegexSplitWithLimit")
+    void restMatchesRegexSplitWithLimit() {
+        Tokenizer tokens = new Tokenizer();
+        for (String line : GOLDEN_LINES) {
+            String trimmed = line.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            String[] parts = trimmed.split("\\s+", 2);
+
+            assertTrue(tokens.reset(line).next(), line);
+            assertEquals(parts[0], tokens.token(), line);
+            assertEquals(parts.length > 1 ? parts[1] : null, tokens.rest(), line);
+        }
+    }
+
+    @Test @DisplayName("tokenComparisons_matchStringMethods")
+    void tokenComparisonsMatchStringMethods() {
+        Tokenizer tokens = new Tokenizer(" --Limit 5 --page ");
+
+        assertTrue(tokens.next());
+        assertTrue(tokens.tokenEqualsIgnoreCase("--limit"));
+        assertFalse(tokens.tokenEquals("--limit"));
+        assertTrue(tokens.tokenStartsWith("--"));
+        assertTrue(tokens.tokenEqualsLowerAscii("--limit"));
+        assertEquals(2, tokens.countRemaining());
+        assertTrue(tokens.next());
+        assertFalse(tokens.tokenEqualsIgnoreCase("5x"));
+        assertEquals("--page", tokens.rest());
+        assertTrue(tokens.next());
+        assertNull(tokens.rest());
+        assertFalse(tokens.next());
+        assertFalse(tokens.next());
+    }
+
+    @Test @DisplayName("reset_nullLine_hasNoTokens")
+    void nullLineHasNoTokens() {
+        Tokenizer tokens = new Tokenizer(null);
+
+        assertTrue(tokens.isEmpty());
+        assertEquals(0, tokens.countRemaining());
+        assertFalse(tokens.next());
+        assertNull(tokens.rest());
+    }
+}
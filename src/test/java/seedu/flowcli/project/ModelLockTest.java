@@ -0,0 +1,106 @@
+package seedu.flowcli.project;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("ModelLock Unit Tests")
+class ModelLockTest {
+
+    private final ModelLock lock = new ModelLock();
+
+    @Test
+    @DisplayName("write_nestedSections_runWithoutBlocking")
+    void writeIsReentrant() {
+        int result = lock.write(() -> lock.write(() -> lock.read(() -> lock.readLocked(() -> 42))));
+
+        assertEquals(42, result);
+        assertFalse(lock.isWriting());
+    }
+
+    @Test
+    @DisplayName("beginWrite_insideRead_throwsIllegalStateException")
+    void writeInsideReadFails() {
+        assertThrows(IllegalStateException.class, () -> lock.readLocked(() -> lock.write(() -> 1)));
+        assertThrows(IllegalStateException.class, () -> lock.read(() -> lock.write(() -> 1)));
+    }
+
+    @Test
+    @DisplayName("read_needsMaintenance_repeatsUnderSharedLock")
+    void maintenanceRepeatsOptimisticRead() {
+        AtomicInteger attempts = new AtomicInteger();
+        AtomicInteger maintenanceRuns = new AtomicInteger();
+
+        int result = lock.read(() -> {
+            attempts.incrementAndGet();
+            lock.maintain(maintenanceRuns::incrementAndGet);
+            return 7;
+        });
+
+        assertEquals(7, result);
+        assertEquals(2, attempts.get());
+        assertEquals(1, maintenanceRuns.get());
+    }
+
+    @Test
+    @DisplayName("read_writerChangesModelMeanwhile_repeatsUnderSharedLock")
+    void concurrentWriteRepeatsOptimisticRead() throws Exception {
+        CountDownLatch written = new CountDownLatch(1);
+        AtomicInteger attempts = new AtomicInteger();
+        int[] value = {1};
+
+        int result = lock.read(() -> {
+            int seen = value[0];
+            if (attempts.incrementAndGet() == 1) {
+                Thread writer = new Thread(() -> {
+                    lock.write(() -> value[0] = 2);
+                    written.countDown();
+                });
+                writer.start();
+                awaitQuietly(written);
+            }
+            return seen;
+        });
+
+        assertEquals(2, result);
+        assertEquals(2, attempts.get());
+    }
+
+    @Test
+    @DisplayName("readLocked_whileWriterWaits_blocksWriterUntilDone")
+    void sharedLockBlocksWriters() throws Exception {
+        CountDownLatch writerStarted = new CountDownLatch(1);
+        AtomicInteger order = new AtomicInteger();
+        Thread writer = new Thread(() -> {
+            writerStarted.countDown();
+            lock.write(() -> order.compareAndSet(1, 2));
+        });
+
+        lock.readLocked(() -> {
+            writer.start();
+            awaitQuietly(writerStarted);
+            Thread.sleep(50);
+            return order.compareAndSet(0, 1);
+        });
+        writer.join(TimeUnit.SECONDS.toMillis(5));
+
+        assertEquals(2, order.get());
+        assertFalse(writer.isAlive());
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
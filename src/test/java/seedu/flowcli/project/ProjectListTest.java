@@ -1,18 +1,27 @@
 package seedu.flowcli.project;
 
 import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.time.LocalDate;
+import java.util.List;
+
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
 import seedu.flowcli.exceptions.IndexOutOfRangeException;
 import seedu.flowcli.exceptions.ProjectNotFoundException;
+import seedu.flowcli.task.Task;
+import seedu.flowcli.task.TaskList;
+import seedu.flowcli.task.TaskTextIndex;
 
 @DisplayName("ProjectList Unit Tests")
 class ProjectListTest {
@@ -259,5 +268,208 @@ class ProjectListTest {
         Project retrieved = projectList.getProject("project1");
         assertEquals("Project1", retrieved.getProjectName());
     }
-}
 
+    @Test
+    @DisplayName("getProject_duplicateNames_returnsFirstInListOrder")
+    void getProjectDuplicateNamesReturnsFirst() throws Exception {
+        projectList.addProject("Alpha");
+        Project first = projectList.getProjectByIndex(0);
+        projectList.addProject("ALPHA");
+        Project second = projectList.getProjectByIndex(1);
+
+        assertSame(first, projectList.getProject("alpha"));
+
+        projectList.deleteProject(first);
+        assertSame(second, projectList.getProject("alpha"));
+    }
+
+    @Test
+    @DisplayName("hasProject_tracksAddsAndDeletes")
+    void hasProjectTracksChanges() throws Exception {
+        assertFalse(projectList.hasProject("Alpha"));
+        assertFalse(projectList.hasProject(null));
+
+        projectList.addProject("Alpha");
+        projectList.addProject("Beta");
+        assertTrue(projectList.hasProject("aLpHa"));
+
+        projectList.delete(0);
+        assertFalse(projectList.hasProject("alpha"));
+        assertThrows(ProjectNotFoundException.class, () -> projectList.getProject("alpha"));
+        assertTrue(projectList.hasProject("BETA"));
+    }
+
+    @Test
+    @DisplayName("findTask_tasksAcrossProjects_findsTaskAndProjectById")
+    void findTaskById() {
+        Project standalone = new Project("Alpha");
+        Task first = standalone.addTask("First", null, 2);
+        assertEquals(0, first.getId(), "Tasks get an ID only once the project is in a list");
+
+        projectList.addProject(standalone);
+        projectList.addProject("Beta");
+        Project beta = projectList.getProjectList().get(1);
+        Task second = beta.addTask("Second", null, 1);
+
+        assertEquals(1, first.getId());
+        assertEquals(2, second.getId());
+        assertSame(second, projectList.findTask(2));
+        assertSame(beta, projectList.getProjectOf(second));
+        assertSame(standalone, projectList.getProjectOf(projectList.findTask(1)));
+        assertNull(projectList.findTask(3));
+    }
+
+    @Test
+    @DisplayName("findTask_afterDeletes_idsAreNotReused")
+    void taskIdsAreNotReused() throws Exception {
+        projectList.addProject("Alpha");
+        Project alpha = projectList.getProjectByIndex(0);
+        Task first = alpha.addTask("First", null, 2);
+        Task second = alpha.addTask("Second", null, 2);
+        assertSame(first, projectList.findTask(first.getId()));
+
+        alpha.deleteTask(second);
+        Task third = alpha.addTask("Third", null, 2);
+        projectList.delete(0);
+
+        assertEquals(3, third.getId());
+        assertNull(projectList.findTask(first.getId()));
+        projectList.addProject("Beta");
+        assertEquals(4, projectList.getProjectByIndex(0).addTask("Fourth", null, 2).getId());
+    }
+
+    @Test
+    @DisplayName("search_severalWords_findsTasksWithEveryWordBestFirst")
+    void searchRanksMatches() throws Exception {
+        projectList.addProject("Alpha");
+        projectList.addProject("Beta");
+        Project alpha = projectList.getProjectByIndex(0);
+        Project beta = projectList.getProjectByIndex(1);
+        Task longReport = alpha.addTask("Write the quarterly report for the finance team", null, 2);
+        Task report = beta.addTask("Report bug", null, 2);
+        alpha.addTask("Write tests", null, 2);
+        Task reports = beta.addTask("Review reports, then write report summary", null, 2);
+
+        // Shorter descriptions rank higher
+        assertArrayEquals(new long[] {report.getId(), reports.getId(), longReport.getId()},
+                projectList.search("REPORT", 0).getTaskIds());
+        assertArrayEquals(new long[] {reports.getId(), longReport.getId()},
+                projectList.search("write report", 0).getTaskIds());
+        assertEquals(0, projectList.search("write bug", 0).getMatchCount());
+        assertEquals(0, projectList.search("missing", 0).getMatchCount());
+
+        // "reports" is rarer than "report", so the task using it ranks first
+        TaskTextIndex.Matches prefix = projectList.search("rep*", 1);
+        assertArrayEquals(new long[] {reports.getId()}, prefix.getTaskIds());
+        assertEquals(3, prefix.getMatchCount(), "Every match is counted, not only the ones returned");
+    }
+
+    @Test
+    @DisplayName("search_tasksChangedAfterFirstSearch_findsCurrentDescriptions")
+    void searchFollowsChanges() throws Exception {
+        projectList.addProject("Alpha");
+        Project alpha = projectList.getProjectByIndex(0);
+        Task first = alpha.addTask("Draft proposal", null, 2);
+        Task second = alpha.addTask("Send proposal", null, 2);
+        assertEquals(2, projectList.search("proposal", 0).getMatchCount());
+
+        Task third = alpha.addTask("Print proposal", null, 2);
+        alpha.deleteTask(first);
+        alpha.getProjectTasks().update(second, "Send invoice", true, null, false, null, false);
+        assertArrayEquals(new long[] {third.getId()}, projectList.search("proposal", 0).getTaskIds());
+        assertArrayEquals(new long[] {second.getId()}, projectList.search("invoice", 0).getTaskIds());
+
+        Project beta = new Project("Beta");
+        Task fourth = beta.addTask("Proposal review", null, 2);
+        projectList.addProject(beta);
+        projectList.delete(0);
+        assertArrayEquals(new long[] {fourth.getId()}, projectList.search("proposal", 0).getTaskIds());
+    }
+
+    @Test
+    @DisplayName("getProjectList_changeThroughView_throwsUnsupportedOperationException")
+    void projectListViewIsReadOnly() {
+        projectList.addProject("Alpha");
+        List<Project> view = projectList.getProjectList();
+
+        assertThrows(UnsupportedOperationException.class, () -> view.add(new Project("Beta")));
+        assertThrows(UnsupportedOperationException.class, () -> view.remove(0));
+        assertThrows(UnsupportedOperationException.class,
+                () -> view.get(0).getProjectTasks().getTasks().add(null));
+        assertEquals(1, projectList.getProjectListSize());
+    }
+
+    @Test
+    @DisplayName("getProject_whileAnotherThreadAddsProjects_alwaysSeesConsistentModel")
+    void readsDuringConcurrentWrites() throws Exception {
+        int projectCount = 2000;
+        Thread writer = new Thread(() -> {
+            for (int i = 0; i < projectCount; i++) {
+                Project project = new Project("Project" + i);
+                projectList.addProject(project);
+                project.addTask("Task" + i, null, 2);
+            }
+        });
+        writer.start();
+        int lastSeen = 0;
+        while (lastSeen < projectCount) {
+            int seen = projectList.read(() -> projectList.getProjectListSize());
+            assertTrue(seen >= lastSeen);
+            if (seen > 0) {
+                Project last = projectList.readLocked(() -> projectList.getProjectByIndex(seen - 1));
+                assertEquals("Project" + (seen - 1), last.getProjectName());
+                assertSame(last, projectList.getProject("project" + (seen - 1)));
+            }
+            lastSeen = seen;
+        }
+        writer.join();
+
+        assertEquals(projectCount, projectList.getLastTaskId());
+    }
+
+    @Test
+    @DisplayName("snapshot_laterChanges_leaveSnapshotAsTaken")
+    void snapshotIsPointInTime() throws Exception {
+        projectList.addProject("Alpha");
+        Project alpha = projectList.getProject("Alpha");
+        Task first = alpha.addTask("First", LocalDate.of(2025, 1, 1), 3);
+        alpha.addTask("Second", null, 1);
+
+        ProjectList snapshot = projectList.snapshot();
+        alpha.getProjectTasks().mark(first);
+        alpha.updateTask(first, "Changed", true, null, false, null, false);
+        alpha.deleteTask(1);
+        alpha.addTask("Third", null, 2);
+        projectList.addProject("Beta");
+
+        TaskList copied = snapshot.getProject("Alpha").getProjectTasks();
+        assertAll(
+            () -> assertEquals(1, snapshot.getProjectListSize()),
+            () -> assertEquals(2, copied.size()),
+            () -> assertEquals("First", copied.get(0).getDescription()),
+            () -> assertFalse(copied.get(0).isDone()),
+            () -> assertEquals(first.getId(), copied.get(0).getId()),
+            () -> assertEquals("Second", copied.get(1).getDescription()),
+            () -> assertEquals(2, snapshot.getLastTaskId()),
+            () -> assertEquals("Changed", first.getDescription()),
+            () -> assertEquals(List.of("Changed", "Third"), List.of(alpha.getProjectTasks().get(0).getDescription(),
+                    alpha.getProjectTasks().get(1).getDescription()))
+        );
+    }
+
+    @Test
+    @DisplayName("snapshot_changedAfterwards_leavesLiveListUnchanged")
+    void snapshotChangesStayInSnapshot() throws Exception {
+        projectList.addProject("Alpha");
+        Project alpha = projectList.getProject("Alpha");
+        alpha.addTask("First", null, 2);
+
+        ProjectList snapshot = projectList.snapshot();
+        snapshot.getProject("Alpha").getProjectTasks().mark(0);
+        snapshot.getProject("Alpha").addTask("Only in snapshot", null, 2);
+
+        assertFalse(alpha.getProjectTasks().get(0).isDone());
+        assertEquals(1, alpha.size());
+        assertEquals(2, snapshot.getProject("Alpha").size());
+    }
+}
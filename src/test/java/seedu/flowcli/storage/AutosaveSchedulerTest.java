@@ -0,0 +1,146 @@
+package seedu.flowcli.storage;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import seedu.flowcli.exceptions.StorageException;
+import seedu.flowcli.project.ProjectList;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AutosaveSchedulerTest {
+    private static final long TIMEOUT_SECONDS = 5;
+
+    @TempDir
+    Path tempDir;
+
+    private AutosaveScheduler scheduler;
+
+    /**
+     * Storage that records every snapshot it is asked to save.
+     */
+    private static class RecordingStorage extends Storage {
+        final List<ProjectList> saved = new ArrayList<>();
+        final CountDownLatch firstSave = new CountDownLatch(1);
+        boolean shouldFail;
+
+        RecordingStorage(String path) {
+            super(path);
+        }
+
+        @Override
+        public void save(ProjectList projects, long journalSequence) throws StorageException {
+            synchronized (this) {
+                saved.add(projects);
+            }
+            firstSave.countDown();
+            if (shouldFail) {
+                throw new StorageException("disk unplugged");
+            }
+            super.save(projects, journalSequence);
+        }
+
+        synchronized int saveCount() {
+            return saved.size();
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (scheduler != null) {
+            scheduler.close();
+        }
+    }
+
+    @Test
+    void markDirty_burstOfChanges_coalescedIntoOneSave() throws Exception {
+        RecordingStorage storage = new RecordingStorage(tempDir.resolve("data.txt").toString());
+        ProjectList projects = new ProjectList();
+        scheduler = new AutosaveScheduler(storage, projects, Duration.ofMillis(100), Duration.ofSeconds(30),
+                message -> { });
+
+        for (int i = 0; i < 10; i++) {
+            projects.addProject("Project " + i);
+            scheduler.markDirty();
+        }
+
+        assertTrue(storage.firstSave.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        Thread.sleep(300);
+        assertEquals(1, storage.saveCount());
+        assertEquals(10, new Storage(tempDir.resolve("data.txt").toString()).load().getProjectListSize());
+    }
+
+    @Test
+    void markDirty_continuousChanges_savedWithinMaxDelay() throws Exception {
+        RecordingStorage storage = new RecordingStorage(tempDir.resolve("data.txt").toString());
+        ProjectList projects = new ProjectList();
+        scheduler = new AutosaveScheduler(storage, projects, Duration.ofSeconds(30), Duration.ofMillis(100),
+                message -> { });
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(TIMEOUT_SECONDS);
+        while (storage.saveCount() == 0 && System.nanoTime() < deadline) {
+            scheduler.markDirty();
+            Thread.sleep(10);
+        }
+
+        assertTrue(storage.saveCount() > 0, "A save should run even though changes never stop");
+    }
+
+    @Test
+    void saveNow_unchangedProjects_reuseEarlierCopy() throws Exception {
+        RecordingStorage storage = new RecordingStorage(tempDir.resolve("data.txt").toString());
+        ProjectList projects = new ProjectList();
+        projects.addProject("Stable");
+        projects.addProject("Busy");
+        scheduler = new AutosaveScheduler(storage, projects, Duration.ofSeconds(30), Duration.ofSeconds(30),
+                message -> { });
+
+        scheduler.saveNow();
+        projects.getProjectByIndex(1).addTask("New task");
+        scheduler.saveNow();
+
+        ProjectList first = storage.saved.get(0);
+        ProjectList second = storage.saved.get(1);
+        assertSame(first.getProjectByIndex(0), second.getProjectByIndex(0));
+        assertNotSame(first.getProjectByIndex(1), second.getProjectByIndex(1));
+        assertNotSame(projects.getProjectByIndex(1), second.getProjectByIndex(1));
+        assertEquals(1, second.getProjectByIndex(1).size());
+    }
+
+    @Test
+    void autosave_repeatedFailures_reportedOnce() throws Exception {
+        RecordingStorage storage = new RecordingStorage(tempDir.resolve("data.txt").toString());
+        storage.shouldFail = true;
+        List<String> reports = new ArrayList<>();
+        CountDownLatch reported = new CountDownLatch(1);
+        scheduler = new AutosaveScheduler(storage, new ProjectList(), Duration.ZERO, Duration.ZERO, message -> {
+            synchronized (reports) {
+                reports.add(message);
+            }
+            reported.countDown();
+        });
+
+        scheduler.markDirty();
+        assertTrue(reported.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        scheduler.markDirty();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(TIMEOUT_SECONDS);
+        while (storage.saveCount() < 2 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        Thread.sleep(50);
+
+        synchronized (reports) {
+            assertEquals(List.of("disk unplugged"), reports);
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package seedu.flowcli.storage;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+import org.junit.jupiter.api.io.TempDir;
+import seedu.flowcli.exceptions.DataCorruptedException;
+import seedu.flowcli.project.Project;
+import seedu.flowcli.project.ProjectList;
+import seedu.flowcli.task.Task;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+// A mapped file cannot be deleted on Windows until the mapping is collected, which breaks @TempDir cleanup
+@DisabledOnOs(OS.WINDOWS)
+class MappedDataLoaderTest {
+    private static final int SMALL_CHUNK_SIZE = 64;
+
+    @TempDir
+    Path tempDir;
+
+    private File writeData(String content) throws IOException {
+        Path file = tempDir.resolve("test-data.txt");
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+        return file.toFile();
+    }
+
+    private String buildData(int projectCount, String lineSeparator) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("META|checkpoint=42").append(lineSeparator);
+        for (int i = 0; i < projectCount; i++) {
+            sb.append("PROJECT|Project ").append(i).append(" <PIPE> \u00e9t\u00e9").append(lineSeparator);
+            for (int j = 0; j < i % 4; j++) {
+                sb.append("TASK|").append(j % 2).append("|Task ").append(j).append("<NEWLINE>line|")
+                        .append(j == 0 ? "null" : "2025-0" + j + "-1" + j).append("|").append(j % 3 + 1)
+                        .append(lineSeparator);
+            }
+            if (i % 5 == 0) {
+                sb.append(lineSeparator);
+            }
+        }
+        return sb.toString();
+    }
+
+    private void assertSameProjects(ProjectList expected, ProjectList actual) throws Exception {
+        assertEquals(expected.getProjectListSize(), actual.getProjectListSize());
+        for (int i = 0; i < expected.getProjectListSize(); i++) {
+            Project expectedProject = expected.getProjectByIndex(i);
+            Project actualProject = actual.getProjectByIndex(i);
+            assertEquals(expectedProject.getProjectName(), actualProject.getProjectName());
+            assertEquals(expectedProject.size(), actualProject.size());
+            for (int j = 0; j < expectedProject.size(); j++) {
+                Task expectedTask = expectedProject.getProjectTasks().get(j);
+                Task actualTask = actualProject.getProjectTasks().get(j);
+                assertEquals(expectedTask.getDescription(), actualTask.getDescription());
+                assertEquals(expectedTask.isDone(), actualTask.isDone());
+                assertEquals(expectedTask.getDeadline(), actualTask.getDeadline());
+                assertEquals(expectedTask.getPriority(), actualTask.getPriority());
+            }
+        }
+    }
+
+    @Test
+    void load_smallChunks_matchesSequentialLoad() throws Exception {
+        File file = writeData(buildData(60, "\n"));
+
+        ProjectList sequential = new Storage(file.getPath()).load();
+        Storage.LoadedSnapshot mapped = new MappedDataLoader(SMALL_CHUNK_SIZE).load(file);
+
+        assertSameProjects(sequential, mapped.projects);
+        assertEquals(42, mapped.checkpoint);
+        assertEquals("Project 7 | \u00e9t\u00e9", mapped.projects.getProjectByIndex(7).getProjectName());
+    }
+
+    @Test
+    void load_windowsLineEndings_matchesSequentialLoad() throws Exception {
+        File file = writeData(buildData(30, "\r\n"));
+
+        ProjectList sequential = new Storage(file.getPath()).load();
+        Storage.LoadedSnapshot mapped = new MappedDataLoader(SMALL_CHUNK_SIZE).load(file);
+
+        assertSameProjects(sequential, mapped.projects);
+    }
+
+    @Test
+    void load_emptyFile_returnsEmptyList() throws Exception {
+        File file = writeData("");
+
+        Storage.LoadedSnapshot mapped = new MappedDataLoader(SMALL_CHUNK_SIZE).load(file);
+
+        assertEquals(0, mapped.projects.getProjectListSize());
+        assertEquals(0, mapped.checkpoint);
+    }
+
+    @Test
+    void load_corruptedLineInLaterChunk_reportsSameLineNumber() throws Exception {
+        String content = buildData(60, "\n").replace("PROJECT|Project 51 ", "PROJEKT|Project 51 ");
+        File file = writeData(content);
+
+        DataCorruptedException mappedError = assertThrows(DataCorruptedException.class,
+                () -> new MappedDataLoader(SMALL_CHUNK_SIZE).load(file));
+        DataCorruptedException sequentialError = assertThrows(DataCorruptedException.class,
+                () -> new Storage(file.getPath()).load());
+
+        assertEquals(sequentialError.getMessage(), mappedError.getMessage());
+    }
+
+    @Test
+    void load_invalidTaskInLaterChunk_reportsSameMessage() throws Exception {
+        String content = buildData(60, "\n").replace("2025-02-12", "2025-02-31");
+        File file = writeData(content);
+
+        DataCorruptedException mappedError = assertThrows(DataCorruptedException.class,
+                () -> new MappedDataLoader(SMALL_CHUNK_SIZE).load(file));
+        DataCorruptedException sequentialError = assertThrows(DataCorruptedException.class,
+                () -> new Storage(file.getPath()).load());
+
+        assertEquals(sequentialError.getMessage(), mappedError.getMessage());
+    }
+}
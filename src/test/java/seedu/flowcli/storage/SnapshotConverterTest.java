@@ -0,0 +1,53 @@
+package seedu.flowcli.storage;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import seedu.flowcli.project.ProjectList;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SnapshotConverterTest {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void convert_textToBinaryAndBack_preservesData() throws Exception {
+        Path text = tempDir.resolve("data.txt");
+        Files.writeString(text, "META|checkpoint=7|lastTaskId=9\n"
+                + "PROJECT|Alpha<PIPE>Beta\n"
+                + "TASK|1|Write<NEWLINE>report|2025-11-30|3|4\n"
+                + "TASK|0||null|1|2\n"
+                + "PROJECT|Empty\n");
+        Path binary = tempDir.resolve("data.bin");
+        Path roundTrip = tempDir.resolve("round-trip.txt");
+
+        SnapshotConverter.convert(text, binary, SnapshotFormat.BINARY);
+        SnapshotConverter.convert(binary, roundTrip, SnapshotFormat.TEXT);
+
+        assertEquals(SnapshotFormat.BINARY, Storage.detectFormat(binary.toFile()));
+        assertTrue(Files.size(binary) < Files.size(text));
+        assertEquals(Files.readAllLines(text), Files.readAllLines(roundTrip));
+    }
+
+    @Test
+    void convert_inPlace_keepsCheckpointAndData() throws Exception {
+        Path file = tempDir.resolve("data.txt");
+        ProjectList projects = new ProjectList();
+        projects.addProject("In place");
+        projects.getProjectByIndex(0).addTask("Task", LocalDate.of(2026, 1, 1), 2);
+        Storage.writeSnapshotFile(projects, file.toFile(), 12, SnapshotFormat.TEXT);
+
+        SnapshotConverter.convert(file, file, SnapshotFormat.BINARY);
+        Storage.LoadedSnapshot snapshot = Storage.readSnapshot(file.toFile());
+
+        assertEquals(12, snapshot.checkpoint);
+        assertEquals("In place", snapshot.projects.getProjectByIndex(0).getProjectName());
+        assertEquals(LocalDate.of(2026, 1, 1),
+                snapshot.projects.getProjectByIndex(0).getProjectTasks().get(0).getDeadline());
+    }
+}
@@ -5,18 +5,27 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
 import seedu.flowcli.exceptions.DataCorruptedException;
+import seedu.flowcli.exceptions.DataFileConflictException;
+import seedu.flowcli.exceptions.ProjectLoadException;
 import seedu.flowcli.exceptions.StorageException;
 import seedu.flowcli.project.Project;
 import seedu.flowcli.project.ProjectList;
+import seedu.flowcli.task.Task;
 
 import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.time.LocalDate;
+import java.util.Arrays;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -176,4 +185,607 @@ class StorageTest {
         assertTrue(loaded.getProjectByIndex(0).getProjectTasks().get(0).isDone());
         assertEquals("Personal", loaded.getProjectByIndex(1).getProjectName());
     }
+
+    @Test
+    void append_withoutSave_replayedOnLoad() throws Exception {
+        storage.append(JournalRecord.createProject("Journaled"));
+        storage.append(JournalRecord.addTask(0, "First", LocalDate.of(2025, 1, 2), 3));
+        storage.append(JournalRecord.addTask(0, "Second", null, 1));
+        storage.append(JournalRecord.markTask(0, 1));
+        storage.append(JournalRecord.updateTask(0, 0, "First edited", null, 2));
+        storage.append(JournalRecord.deleteTask(0, 1));
+
+        ProjectList loaded = new Storage(testFilePath).load();
+
+        assertEquals(1, loaded.getProjectListSize());
+        Project project = loaded.getProjectByIndex(0);
+        assertEquals("Journaled", project.getProjectName());
+        assertEquals(1, project.size());
+        assertEquals("First edited", project.getProjectTasks().get(0).getDescription());
+        assertNull(project.getProjectTasks().get(0).getDeadline());
+        assertEquals(2, project.getProjectTasks().get(0).getPriority());
+    }
+
+    @Test
+    void append_recordsAddressingProjectsByName_replayedOnLoad() throws Exception {
+        storage.append(JournalRecord.createProject("Kept"));
+        storage.append(JournalRecord.createProject("A|B"));
+        storage.append(JournalRecord.addTask("a|b", 1, "Named", null, 2));
+        storage.append(JournalRecord.createProject("Gone"));
+        storage.append(JournalRecord.deleteProject("GONE"));
+
+        ProjectList loaded = new Storage(testFilePath).load();
+
+        assertEquals(2, loaded.getProjectListSize());
+        assertEquals(0, loaded.getProject("Kept").size());
+        assertEquals("Named", loaded.getProject("A|B").getProjectTasks().get(0).getDescription());
+        assertFalse(loaded.hasProject("Gone"));
+    }
+
+    @Test
+    void save_taskIds_keptAcrossSaveAndJournalReplay() throws Exception {
+        for (SnapshotFormat format : SnapshotFormat.values()) {
+            String formatFilePath = testFilePath + "." + format.name().toLowerCase();
+            Storage formatStorage = new Storage(formatFilePath, format);
+            ProjectList projects = new ProjectList();
+            projects.addProject("Ids");
+            Project project = projects.getProjectByIndex(0);
+            project.addTask("Deleted", null, 2);
+            project.addTask("Kept", null, 2);
+            project.deleteTask(0);
+            formatStorage.save(projects);
+            formatStorage.append(JournalRecord.addTask(0, 3, "Journaled", null, 1));
+            formatStorage.append(JournalRecord.markTask(2));
+
+            ProjectList loaded = new Storage(formatFilePath).load();
+
+            Project loadedProject = loaded.getProjectByIndex(0);
+            assertEquals(2, loadedProject.getProjectTasks().get(0).getId(), format.name());
+            assertTrue(loaded.findTask(2).isDone(), format.name());
+            assertEquals("Journaled", loaded.findTask(3).getDescription(), format.name());
+            assertEquals(4, loadedProject.addTask("New", null, 2).getId(), format.name());
+        }
+    }
+
+    @Test
+    void load_fileWithoutTaskIds_assignsIdsInFileOrder() throws Exception {
+        try (FileWriter writer = new FileWriter(testFilePath)) {
+            writer.write("PROJECT|Old\nTASK|0|First|null|2\nPROJECT|Older\nTASK|1|Second|null|3\n");
+        }
+
+        ProjectList loaded = storage.load();
+
+        assertEquals("First", loaded.findTask(1).getDescription());
+        assertEquals("Second", loaded.findTask(2).getDescription());
+        assertEquals("Older", loaded.getProjectOf(loaded.findTask(2)).getProjectName());
+    }
+
+    @Test
+    void append_afterSave_replayedOverSnapshot() throws Exception {
+        ProjectList projects = new ProjectList();
+        projects.addProject("Saved");
+        projects.getProjectByIndex(0).addTask("Snapshot task");
+        storage.save(projects);
+
+        storage.append(JournalRecord.markTask(0, 0));
+        storage.append(JournalRecord.createProject("After save"));
+
+        ProjectList loaded = new Storage(testFilePath).load();
+
+        assertEquals(2, loaded.getProjectListSize());
+        assertTrue(loaded.getProjectByIndex(0).getProjectTasks().get(0).isDone());
+        assertEquals("After save", loaded.getProjectByIndex(1).getProjectName());
+    }
+
+    @Test
+    void save_clearsJournal_recordsNotReplayedTwice() throws Exception {
+        ProjectList projects = new ProjectList();
+        projects.addProject("Once");
+        storage.append(JournalRecord.createProject("Once"));
+        storage.save(projects);
+
+        assertFalse(new File(testFilePath + ".journal").exists());
+        ProjectList loaded = new Storage(testFilePath).load();
+        assertEquals(1, loaded.getProjectListSize());
+    }
+
+    @Test
+    void load_tornJournalTail_ignoresIncompleteRecord() throws Exception {
+        storage.append(JournalRecord.createProject("Complete"));
+        Files.writeString(Path.of(testFilePath + ".journal"), "2|CREATE_PROJECT|Torn",
+                StandardOpenOption.APPEND);
+
+        ProjectList loaded = new Storage(testFilePath).load();
+
+        assertEquals(1, loaded.getProjectListSize());
+        assertEquals("Complete", loaded.getProjectByIndex(0).getProjectName());
+    }
+
+    @Test
+    void load_journalRecordOutOfRange_throwsException() throws IOException {
+        try (FileWriter writer = new FileWriter(testFilePath + ".journal")) {
+            writer.write("1|MARK_TASK|0|0\n");
+        }
+
+        assertThrows(DataCorruptedException.class, () -> storage.load());
+    }
+
+    @Test
+    void save_binaryFormat_roundTripsAllFields() throws Exception {
+        Storage binaryStorage = new Storage(testFilePath, SnapshotFormat.BINARY);
+        ProjectList projects = new ProjectList();
+        projects.addProject("Binary | project");
+        Project project = projects.getProjectByIndex(0);
+        project.addTask("Due\nsoon", LocalDate.of(2025, 12, 31), 3);
+        project.addTask("No deadline", null, 1);
+        project.addTask("Due\nsoon", LocalDate.of(1969, 7, 20), 2);
+        project.getProjectTasks().mark(1);
+        binaryStorage.save(projects);
+
+        assertEquals(SnapshotFormat.BINARY, Storage.detectFormat(new File(testFilePath)));
+        ProjectList loaded = new Storage(testFilePath).load();
+
+        Project loadedProject = loaded.getProjectByIndex(0);
+        assertEquals("Binary | project", loadedProject.getProjectName());
+        assertEquals(3, loadedProject.size());
+        assertEquals("Due\nsoon", loadedProject.getProjectTasks().get(0).getDescription());
+        assertEquals(LocalDate.of(2025, 12, 31), loadedProject.getProjectTasks().get(0).getDeadline());
+        assertEquals(3, loadedProject.getProjectTasks().get(0).getPriority());
+        assertTrue(loadedProject.getProjectTasks().get(1).isDone());
+        assertNull(loadedProject.getProjectTasks().get(1).getDeadline());
+        assertEquals(1, loadedProject.getProjectTasks().get(1).getPriority());
+        assertEquals(LocalDate.of(1969, 7, 20), loadedProject.getProjectTasks().get(2).getDeadline());
+    }
+
+    @Test
+    void load_binaryFile_keepsBinaryFormatForNextSave() throws Exception {
+        ProjectList projects = new ProjectList();
+        projects.addProject("Sticky");
+        new Storage(testFilePath, SnapshotFormat.BINARY).save(projects);
+
+        storage.load();
+        storage.save(projects);
+
+        assertEquals(SnapshotFormat.BINARY, storage.getSnapshotFormat());
+        assertEquals(SnapshotFormat.BINARY, Storage.detectFormat(new File(testFilePath)));
+    }
+
+    @Test
+    void load_binaryWithJournal_replaysRecords() throws Exception {
+        Storage binaryStorage = new Storage(testFilePath, SnapshotFormat.BINARY);
+        ProjectList projects = new ProjectList();
+        projects.addProject("Base");
+        binaryStorage.save(projects);
+        binaryStorage.append(JournalRecord.addTask(0, "Journaled", null, 2));
+
+        ProjectList loaded = new Storage(testFilePath).load();
+
+        assertEquals(1, loaded.getProjectByIndex(0).size());
+    }
+
+    @Test
+    void load_corruptedBinaryFile_throwsException() throws Exception {
+        ProjectList projects = new ProjectList();
+        projects.addProject("Corrupt me");
+        new Storage(testFilePath, SnapshotFormat.BINARY).save(projects);
+        byte[] data = Files.readAllBytes(Path.of(testFilePath));
+        data[data.length - 6] ^= 0x55;
+        Files.write(Path.of(testFilePath), data);
+
+        assertThrows(DataCorruptedException.class, () -> storage.load());
+        assertTrue(new File(testFilePath + ".backup").exists());
+    }
+
+    private String[] segmentFiles() {
+        String[] names = SegmentStore.directoryOf(new File(testFilePath)).list();
+        Arrays.sort(names);
+        return names;
+    }
+
+    @Test
+    void save_segmentedLayout_rewritesOnlyChangedProjects() throws Exception {
+        storage.setSegmentedLayout(true);
+        ProjectList projects = new ProjectList();
+        projects.addProject("Unchanged");
+        projects.addProject("Changed");
+        projects.getProjectByIndex(0).addTask("Stay");
+        projects.getProjectByIndex(1).addTask("Edit me");
+        storage.save(projects);
+        String[] firstSave = segmentFiles();
+        long unchangedModified = new File(SegmentStore.directoryOf(new File(testFilePath)), "project-1.seg")
+                .lastModified();
+
+        projects.getProjectByIndex(1).getProjectTasks().mark(0);
+        storage.save(projects);
+        String[] secondSave = segmentFiles();
+
+        assertEquals(2, firstSave.length);
+        assertEquals(2, secondSave.length);
+        assertEquals("project-1.seg", secondSave[0]);
+        assertEquals("project-3.seg", secondSave[1]);
+        assertEquals(unchangedModified, new File(SegmentStore.directoryOf(new File(testFilePath)),
+                "project-1.seg").lastModified());
+
+        ProjectList loaded = new Storage(testFilePath).load();
+        assertEquals(2, loaded.getProjectListSize());
+        assertEquals("Unchanged", loaded.getProjectByIndex(0).getProjectName());
+        assertTrue(loaded.getProjectByIndex(1).getProjectTasks().get(0).isDone());
+    }
+
+    @Test
+    void load_segmentedLayout_unchangedProjectsReusedAfterReplay() throws Exception {
+        storage.setSegmentedLayout(true);
+        ProjectList projects = new ProjectList();
+        projects.addProject("A");
+        projects.addProject("B");
+        storage.save(projects);
+        storage.append(JournalRecord.addTask(1, "Journaled", null, 2));
+
+        Storage reloaded = new Storage(testFilePath);
+        reloaded.setSegmentedLayout(true);
+        ProjectList loaded = reloaded.load();
+        reloaded.save(loaded);
+
+        assertEquals("project-1.seg", segmentFiles()[0]);
+        assertEquals("project-3.seg", segmentFiles()[1]);
+        assertEquals(1, new Storage(testFilePath).load().getProjectByIndex(1).size());
+    }
+
+    @Test
+    void save_switchBackToSingleFile_removesSegments() throws Exception {
+        storage.setSegmentedLayout(true);
+        ProjectList projects = new ProjectList();
+        projects.addProject("Only");
+        storage.save(projects);
+
+        storage.setSegmentedLayout(false);
+        storage.save(projects);
+
+        assertEquals(0, segmentFiles().length);
+        assertTrue(Files.readString(Path.of(testFilePath)).startsWith("PROJECT|Only"));
+    }
+
+    @Test
+    void load_missingSegment_throwsException() throws Exception {
+        storage.setSegmentedLayout(true);
+        ProjectList projects = new ProjectList();
+        projects.addProject("Lost");
+        storage.save(projects);
+        Files.delete(SegmentStore.directoryOf(new File(testFilePath)).toPath().resolve("project-1.seg"));
+
+        DataCorruptedException e = assertThrows(DataCorruptedException.class,
+                () -> new Storage(testFilePath).load());
+        assertTrue(e.getMessage().contains("project-1.seg"));
+    }
+
+    @Test
+    void load_lazySegmentedLayout_readsProjectsOnFirstUse() throws Exception {
+        storage.setSegmentedLayout(true);
+        ProjectList projects = new ProjectList();
+        projects.addProject("Idle");
+        projects.addProject("Used");
+        projects.getProjectByIndex(0).addTask("Never read");
+        projects.getProjectByIndex(1).addTask("First", LocalDate.of(2025, 1, 1), 3);
+        projects.getProjectByIndex(1).addTask("Second");
+        storage.save(projects);
+
+        Storage lazy = new Storage(testFilePath);
+        lazy.setSegmentedLayout(true);
+        lazy.setLazyLoading(true);
+        ProjectList loaded = lazy.load();
+        Project idle = loaded.getProjectByIndex(0);
+        Project used = loaded.getProjectByIndex(1);
+
+        assertFalse(idle.getProjectTasks().isLoaded());
+        assertFalse(used.getProjectTasks().isLoaded());
+        assertEquals(2, used.size());
+        assertFalse(used.getProjectTasks().isLoaded());
+        assertEquals("First", used.getProjectTasks().get(0).getDescription());
+        assertTrue(used.getProjectTasks().isLoaded());
+        assertEquals(1, used.getProjectTasks().getPriorityCount(3));
+        assertFalse(idle.getProjectTasks().isLoaded());
+    }
+
+    @Test
+    void save_lazySegmentedLayout_keepsSegmentsOfUnloadedProjects() throws Exception {
+        storage.setSegmentedLayout(true);
+        ProjectList projects = new ProjectList();
+        projects.addProject("Idle");
+        projects.addProject("Used");
+        projects.getProjectByIndex(0).addTask("Never read");
+        projects.getProjectByIndex(1).addTask("Edit me");
+        storage.save(projects);
+
+        Storage lazy = new Storage(testFilePath);
+        lazy.setSegmentedLayout(true);
+        lazy.setLazyLoading(true);
+        ProjectList loaded = lazy.load();
+        loaded.getProjectByIndex(1).getProjectTasks().mark(0);
+        lazy.save(loaded);
+        // A copy of an unloaded project, as made by autosave, is saved without reading it either
+        ProjectList copies = new ProjectList();
+        copies.addProject(loaded.getProjectByIndex(0).copy());
+        copies.addProject(loaded.getProjectByIndex(1).copy());
+        lazy.save(copies);
+
+        assertFalse(loaded.getProjectByIndex(0).getProjectTasks().isLoaded());
+        assertFalse(copies.getProjectByIndex(0).getProjectTasks().isLoaded());
+        assertEquals("project-1.seg", segmentFiles()[0]);
+        ProjectList reloaded = new Storage(testFilePath).load();
+        assertEquals("Never read", reloaded.getProjectByIndex(0).getProjectTasks().get(0).getDescription());
+        assertTrue(reloaded.getProjectByIndex(1).getProjectTasks().get(0).isDone());
+    }
+
+    @Test
+    void load_lazySegmentedLayout_journalAndTaskIdsLoadOnlyWhatTheyNeed() throws Exception {
+        storage.setSegmentedLayout(true);
+        ProjectList projects = new ProjectList();
+        projects.addProject("A");
+        projects.addProject("B");
+        projects.getProjectByIndex(0).addTask("In A");
+        projects.getProjectByIndex(1).addTask("In B");
+        storage.save(projects);
+        storage.append(JournalRecord.addTask(1, "Journaled", null, 2));
+
+        Storage lazy = new Storage(testFilePath);
+        lazy.setSegmentedLayout(true);
+        lazy.setLazyLoading(true);
+        ProjectList loaded = lazy.load();
+
+        assertFalse(loaded.getProjectByIndex(0).getProjectTasks().isLoaded());
+        assertTrue(loaded.getProjectByIndex(1).getProjectTasks().isLoaded());
+        assertEquals(3, loaded.getProjectByIndex(1).getProjectTasks().get(1).getId());
+        assertEquals("In A", loaded.findTask(1).getDescription());
+        assertEquals(loaded.getProjectByIndex(0), loaded.getProjectOf(loaded.findTask(1)));
+    }
+
+    @Test
+    void load_lazyCorruptedSegment_failsOnFirstUseAndKeepsFile() throws Exception {
+        storage.setSegmentedLayout(true);
+        ProjectList projects = new ProjectList();
+        projects.addProject("Broken");
+        projects.getProjectByIndex(0).addTask("Lost?");
+        storage.save(projects);
+        Path segment = SegmentStore.directoryOf(new File(testFilePath)).toPath().resolve("project-1.seg");
+        Files.writeString(segment, "TASK|0|orphan|null|2\n");
+
+        Storage lazy = new Storage(testFilePath);
+        lazy.setSegmentedLayout(true);
+        lazy.setLazyLoading(true);
+        ProjectList loaded = lazy.load();
+        Project broken = loaded.getProjectByIndex(0);
+
+        ProjectLoadException e = assertThrows(ProjectLoadException.class, () -> broken.getProjectTasks().get(0));
+        assertTrue(e.getMessage().contains("Broken"));
+        assertFalse(broken.getProjectTasks().isLoaded());
+        lazy.save(loaded);
+        assertTrue(Files.exists(segment));
+    }
+
+    /**
+     * Adds a task and journals it, as a command would.
+     */
+    private static Task addJournaledTask(Storage owner, ProjectList projects, String description)
+            throws Exception {
+        Project project = projects.getProjectByIndex(0);
+        Task task = project.addTask(description, null, 2);
+        owner.append(JournalRecord.addTask(project.getProjectName(), task.getId(), description, null, 2));
+        return task;
+    }
+
+    private ProjectList saveSharedProject() throws Exception {
+        ProjectList projects = new ProjectList();
+        projects.addProject("Shared");
+        projects.getProjectByIndex(0).addTask("Base", null, 2);
+        storage.save(projects);
+        return projects;
+    }
+
+    @Test
+    void save_otherStorageSavedMeanwhile_mergesBothChanges() throws Exception {
+        saveSharedProject();
+        Storage first = new Storage(testFilePath);
+        ProjectList firstProjects = first.load();
+        Storage second = new Storage(testFilePath);
+        ProjectList secondProjects = second.load();
+
+        addJournaledTask(first, firstProjects, "From first");
+        first.save(firstProjects);
+        Task fromSecond = addJournaledTask(second, secondProjects, "From second");
+        second.save(secondProjects);
+        // The task was renumbered in the file, but later changes here still find it
+        secondProjects.getProjectByIndex(0).getProjectTasks().mark(fromSecond);
+        second.append(JournalRecord.markTask(fromSecond.getId()));
+        second.save(secondProjects);
+
+        Project merged = new Storage(testFilePath).load().getProjectByIndex(0);
+        assertEquals(3, merged.size());
+        assertEquals("From first", merged.getProjectTasks().get(1).getDescription());
+        assertEquals("From second", merged.getProjectTasks().get(2).getDescription());
+        assertTrue(merged.getProjectTasks().get(2).isDone());
+        assertFalse(merged.getProjectTasks().get(1).isDone());
+        assertEquals(3, merged.getProjectTasks().get(2).getId());
+    }
+
+    @Test
+    void save_failPolicyAndOtherStorageSavedMeanwhile_throwsConflict() throws Exception {
+        saveSharedProject();
+        Storage first = new Storage(testFilePath);
+        ProjectList firstProjects = first.load();
+        Storage second = new Storage(testFilePath);
+        second.setConflictPolicy(ConflictPolicy.FAIL);
+        ProjectList secondProjects = second.load();
+
+        addJournaledTask(first, firstProjects, "From first");
+        first.save(firstProjects);
+        addJournaledTask(second, secondProjects, "From second");
+
+        assertThrows(DataFileConflictException.class, () -> second.save(secondProjects));
+        assertEquals("From first", new Storage(testFilePath).load().getProjectByIndex(0)
+                .getProjectTasks().get(1).getDescription());
+    }
+
+    @Test
+    void save_projectCreatedMeanwhile_mergesByProjectName() throws Exception {
+        saveSharedProject();
+        Storage first = new Storage(testFilePath);
+        ProjectList firstProjects = first.load();
+        Storage second = new Storage(testFilePath);
+        ProjectList secondProjects = second.load();
+
+        firstProjects.addProject("Before");
+        first.append(JournalRecord.createProject("Before"));
+        first.save(firstProjects);
+        addJournaledTask(second, secondProjects, "From second");
+        secondProjects.addProject("Own");
+        second.append(JournalRecord.createProject("Own"));
+        second.save(secondProjects);
+
+        ProjectList merged = new Storage(testFilePath).load();
+        assertEquals(3, merged.getProjectListSize());
+        assertEquals("From second", merged.getProject("Shared").getProjectTasks().get(1).getDescription());
+        assertEquals(0, merged.getProject("Before").size());
+        assertEquals("Own", merged.getProjectByIndex(2).getProjectName());
+    }
+
+    @Test
+    void save_projectDeletedMeanwhile_throwsConflictAndKeepsChanges() throws Exception {
+        saveSharedProject();
+        Storage first = new Storage(testFilePath);
+        ProjectList firstProjects = first.load();
+        Storage second = new Storage(testFilePath);
+        ProjectList secondProjects = second.load();
+
+        firstProjects.deleteProject(firstProjects.getProject("Shared"));
+        first.append(JournalRecord.deleteProject("Shared"));
+        first.save(firstProjects);
+        addJournaledTask(second, secondProjects, "From second");
+
+        DataFileConflictException e = assertThrows(DataFileConflictException.class,
+                () -> second.save(secondProjects));
+        assertTrue(e.getMessage().contains(testFilePath + ".unsaved"));
+        // The journal no longer fits the data file, so it cannot restore these changes either
+        assertFalse(second.isJournalingChanges());
+        assertTrue(first.isJournalingChanges());
+        assertEquals(0, new Storage(testFilePath).load().getProjectListSize());
+        ProjectList unsaved = new Storage(testFilePath + ".unsaved").load();
+        assertEquals("From second", unsaved.getProject("Shared").getProjectTasks().get(1).getDescription());
+    }
+
+    @Test
+    void save_projectsAddedMeanwhileWithPositionalRecords_throwsConflict() throws Exception {
+        saveSharedProject();
+        Storage first = new Storage(testFilePath);
+        ProjectList firstProjects = first.load();
+        Storage second = new Storage(testFilePath);
+        ProjectList secondProjects = second.load();
+
+        firstProjects.addProject("New");
+        first.append(JournalRecord.createProject("New"));
+        first.save(firstProjects);
+        Task fromSecond = secondProjects.getProjectByIndex(0).addTask("From second", null, 2);
+        second.append(JournalRecord.addTask(0, fromSecond.getId(), "From second", null, 2));
+
+        assertThrows(DataFileConflictException.class, () -> second.save(secondProjects));
+        assertEquals(2, new Storage(testFilePath).load().getProjectListSize());
+    }
+
+    /**
+     * Runs as a separate process, which does not own the journal: loads the data file, adds a task
+     * to its first project and saves.
+     */
+    static final class PeerProcess {
+        public static void main(String[] args) throws Exception {
+            Storage peer = new Storage(args[0]);
+            peer.setSegmentedLayout(Boolean.parseBoolean(args[1]));
+            ProjectList projects = peer.load();
+            Task task = addJournaledTask(peer, projects, "From peer");
+            projects.getProjectByIndex(0).getProjectTasks().mark(task);
+            peer.append(JournalRecord.markTask(task.getId()));
+            projects.getProjectByIndex(0).getProjectTasks().unmark(task);
+            peer.append(JournalRecord.unmarkTask(task.getId()));
+            peer.save(projects);
+        }
+    }
+
+    private void runPeerProcess(boolean isSegmented) throws Exception {
+        String java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+        Process peer = new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"),
+                PeerProcess.class.getName(), testFilePath, String.valueOf(isSegmented))
+                .redirectErrorStream(true).start();
+        String output = new String(peer.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+        assertEquals(0, peer.waitFor(), output);
+    }
+
+    @Test
+    void load_ownerStoppedAfterPeerProcessSaved_replaysJournalUnderFreeIds() throws Exception {
+        saveSharedProject();
+        Storage owner = new Storage(testFilePath);
+        ProjectList ownerProjects = owner.load();
+        Task fromOwner = addJournaledTask(owner, ownerProjects, "From owner");
+        ownerProjects.getProjectByIndex(0).getProjectTasks().mark(fromOwner);
+        owner.append(JournalRecord.markTask(fromOwner.getId()));
+        addJournaledTask(owner, ownerProjects, "Also from owner");
+
+        runPeerProcess(false);
+        // The owner stops without saving; the next load replays its journal over the peer's file
+        ProjectList restarted = new Storage(testFilePath).load();
+        ProjectList reloaded = new Storage(testFilePath).load();
+
+        for (ProjectList loaded : Arrays.asList(restarted, reloaded)) {
+            Project shared = loaded.getProjectByIndex(0);
+            assertEquals(4, shared.size());
+            assertEquals("From peer", loaded.findTask(2).getDescription());
+            assertFalse(loaded.findTask(2).isDone());
+            assertEquals("From owner", loaded.findTask(3).getDescription());
+            assertTrue(loaded.findTask(3).isDone());
+            assertEquals("Also from owner", loaded.findTask(4).getDescription());
+            assertEquals(4, loaded.getLastTaskId());
+        }
+    }
+
+    @Test
+    void save_peerProcessReplacedUnloadedSegment_ownerStillReadsIt() throws Exception {
+        storage.setSegmentedLayout(true);
+        ProjectList projects = new ProjectList();
+        projects.addProject("Shared");
+        projects.addProject("Other");
+        projects.getProjectByIndex(0).addTask("Base", null, 2);
+        projects.getProjectByIndex(1).addTask("Untouched", null, 2);
+        storage.save(projects);
+        Storage owner = new Storage(testFilePath);
+        owner.setSegmentedLayout(true);
+        owner.setLazyLoading(true);
+        ProjectList ownerProjects = owner.load();
+        Task other = ownerProjects.getProjectByIndex(1).getProjectTasks().get(0);
+        ownerProjects.getProjectByIndex(1).getProjectTasks().mark(other);
+        owner.append(JournalRecord.markTask(other.getId()));
+
+        runPeerProcess(true);
+        // The owner is alone again, but its own unloaded project still reads the replaced segment
+        owner.save(ownerProjects);
+        Project shared = ownerProjects.getProjectByIndex(0);
+
+        assertFalse(shared.getProjectTasks().isLoaded());
+        assertEquals("Base", shared.getProjectTasks().get(0).getDescription());
+        assertEquals(1, shared.size());
+        ProjectList reloaded = new Storage(testFilePath).load();
+        assertEquals("From peer", reloaded.getProjectByIndex(0).getProjectTasks().get(1).getDescription());
+        assertTrue(reloaded.getProjectByIndex(1).getProjectTasks().get(0).isDone());
+    }
+
+    @Test
+    void save_dataFileEditedByHand_mergesIntoEditedFile() throws Exception {
+        saveSharedProject();
+        ProjectList projects = storage.load();
+        Files.writeString(Path.of(testFilePath), "PROJECT|Shared\nTASK|0|Edited|null|1|1\n",
+                StandardOpenOption.TRUNCATE_EXISTING);
+
+        addJournaledTask(storage, projects, "Added");
+        storage.save(projects);
+
+        Project merged = new Storage(testFilePath).load().getProjectByIndex(0);
+        assertEquals("Edited", merged.getProjectTasks().get(0).getDescription());
+        assertEquals("Added", merged.getProjectTasks().get(1).getDescription());
+    }
 }
@@ -8,6 +8,8 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -287,5 +289,249 @@ class TaskListTest {
         taskList.delete(0);
         assertEquals(1, taskList.size());
     }
-}
 
+    @Test
+    @DisplayName("mutations_bumpVersion_readsDoNot")
+    void mutationsBumpVersion() throws IndexOutOfRangeException {
+        long initial = taskList.getVersion();
+        taskList.addTask("Task 1");
+        taskList.addTask("Task 2", LocalDate.of(2025, 1, 1), 3);
+        long afterAdd = taskList.getVersion();
+
+        taskList.get(0);
+        taskList.render();
+        assertEquals(afterAdd, taskList.getVersion(), "Reads should not change the version");
+
+        taskList.mark(0);
+        long afterMark = taskList.getVersion();
+        taskList.unmark(0);
+        long afterUnmark = taskList.getVersion();
+        taskList.update(1, "Renamed", true, null, false, null, false);
+        long afterUpdate = taskList.getVersion();
+        taskList.sortByPriority(true);
+        long afterSort = taskList.getVersion();
+        taskList.delete(0);
+
+        assertAll(
+            () -> assertTrue(afterAdd > initial),
+            () -> assertTrue(afterMark > afterAdd),
+            () -> assertTrue(afterUnmark > afterMark),
+            () -> assertTrue(afterUpdate > afterUnmark),
+            () -> assertTrue(afterSort > afterUpdate),
+            () -> assertTrue(taskList.getVersion() > afterSort)
+        );
+    }
+
+    @Test
+    @DisplayName("counters_followAddMarkUpdateAndDelete")
+    void countersFollowMutations() throws IndexOutOfRangeException {
+        taskList.addTask("Task 1");
+        taskList.addTask("Task 2", LocalDate.of(2025, 1, 1), 3);
+        taskList.addTask("Task 3", null, 1);
+        taskList.mark(0);
+        taskList.mark(1);
+        taskList.unmark(0);
+        taskList.update(2, null, false, null, false, 3, true);
+        taskList.delete(0);
+
+        assertAll(
+            () -> assertEquals(1, taskList.getDoneCount()),
+            () -> assertEquals(0, taskList.getPriorityCount(1)),
+            () -> assertEquals(0, taskList.getPriorityCount(2)),
+            () -> assertEquals(2, taskList.getPriorityCount(3)),
+            () -> assertEquals(0, taskList.getPriorityCount(99))
+        );
+    }
+
+    @Test
+    @DisplayName("getOverdueCount_pendingTasksBeforeToday_countsAndFollowsChanges")
+    void overdueCountFollowsChanges() throws IndexOutOfRangeException {
+        LocalDate today = LocalDate.of(2025, 6, 1);
+        taskList.addTask("Late", LocalDate.of(2025, 5, 1), 2);
+        taskList.addTask("Due today", today, 2);
+        taskList.addTask("Later", LocalDate.of(2025, 7, 1), 2);
+        taskList.addTask("No deadline");
+        assertEquals(1, taskList.getOverdueCount(today));
+
+        taskList.update(2, null, false, LocalDate.of(2025, 4, 1), true, null, false);
+        assertEquals(2, taskList.getOverdueCount(today));
+
+        taskList.mark(0);
+        assertEquals(1, taskList.getOverdueCount(today));
+        assertEquals(2, taskList.getOverdueCount(today.plusDays(1)));
+
+        taskList.delete(2);
+        assertEquals(1, taskList.getOverdueCount(today.plusDays(1)));
+        assertEquals(0, taskList.getOverdueCount(today));
+    }
+
+    @Test
+    @DisplayName("copy_keepsCounters")
+    void copyKeepsCounters() throws IndexOutOfRangeException {
+        taskList.addTask("Task 1", LocalDate.of(2025, 1, 1), 3);
+        taskList.addTask("Task 2");
+        taskList.mark(1);
+
+        TaskList copy = taskList.copy();
+
+        assertAll(
+            () -> assertEquals(1, copy.getDoneCount()),
+            () -> assertEquals(1, copy.getPriorityCount(3)),
+            () -> assertEquals(1, copy.getOverdueCount(LocalDate.of(2025, 2, 1)))
+        );
+    }
+
+    @Test
+    @DisplayName("getTasksWithPriority_afterDeleteUpdateAndSort_returnsTasksInListOrder")
+    void priorityIndexFollowsMutations() throws IndexOutOfRangeException {
+        taskList.addTask("A", null, 3);
+        taskList.addTask("B", null, 1);
+        taskList.addTask("C", null, 3);
+        taskList.addTask("D", null, 3);
+        taskList.delete(0);
+        taskList.update(0, null, false, null, false, 3, true);
+
+        assertEquals(List.of(taskList.get(0), taskList.get(1), taskList.get(2)),
+                new ArrayList<>(taskList.getTasksWithPriority(3)));
+
+        taskList.addTask("E", null, 1);
+        taskList.sortByPriority(true);
+        assertAll(
+            () -> assertEquals(List.of(taskList.get(0)), new ArrayList<>(taskList.getTasksWithPriority(1))),
+            () -> assertEquals(List.of(taskList.get(1), taskList.get(2), taskList.get(3)),
+                    new ArrayList<>(taskList.getTasksWithPriority(3))),
+            () -> assertTrue(taskList.getTasksWithPriority(2).isEmpty()),
+            () -> assertTrue(taskList.getTasksWithPriority(7).isEmpty())
+        );
+    }
+
+    @Test
+    @DisplayName("getTasksDueBetween_range_returnsTasksByDeadlineThenListOrder")
+    void deadlineIndexReturnsRange() throws IndexOutOfRangeException {
+        LocalDate march = LocalDate.of(2025, 3, 1);
+        taskList.addTask("Later", march.plusDays(10), 2);
+        taskList.addTask("First", march, 2);
+        taskList.addTask("Second", march, 2);
+        taskList.addTask("No deadline");
+        taskList.addTask("Moved", march.plusDays(20), 2);
+        taskList.update(4, null, false, march.minusDays(1), true, null, false);
+
+        assertAll(
+            () -> assertEquals(List.of(taskList.get(1), taskList.get(2), taskList.get(0)),
+                    taskList.getTasksDueBetween(march, march.plusDays(10))),
+            () -> assertEquals(List.of(taskList.get(4)), taskList.getTasksDueBetween(null, march.minusDays(1))),
+            () -> assertEquals(4, taskList.getTasksDueBetween(null, null).size()),
+            () -> assertTrue(taskList.getTasksDueBetween(march.plusDays(11), null).isEmpty())
+        );
+    }
+
+    @Test
+    @DisplayName("delete_byTask_leavesTombstoneThatPositionalAccessCompacts")
+    void deleteByTaskKeepsOrderAndCounters() throws IndexOutOfRangeException {
+        Task first = taskList.addTask("First", null, 3);
+        Task second = taskList.addTask("Second", null, 3);
+        Task third = taskList.addTask("Third", null, 3);
+        Task fourth = taskList.addTask("Fourth", null, 1);
+        taskList.mark(second);
+
+        taskList.delete(second);
+        taskList.delete(fourth);
+
+        assertAll(
+            () -> assertEquals(2, taskList.size()),
+            () -> assertEquals(0, taskList.getDoneCount()),
+            () -> assertEquals(2, taskList.getPriorityCount(3)),
+            () -> assertEquals(1, taskList.indexOf(third)),
+            () -> assertEquals(-1, taskList.indexOf(second)),
+            () -> assertEquals(List.of(first, third), taskList.getTasks()),
+            () -> assertEquals("1. [ ] First [High]\n2. [ ] Third [High]\n", taskList.render()),
+            () -> assertThrows(IllegalArgumentException.class, () -> taskList.mark(second))
+        );
+    }
+
+    @Test
+    @DisplayName("copy_tasksWithIds_keepsIds")
+    void copyKeepsIds() {
+        TaskIdIndex ids = new TaskIdIndex();
+        taskList.addTask("First", null, 2);
+        taskList.attach(ids);
+        taskList.addTask("Second", null, 2);
+
+        TaskList copy = taskList.copy();
+
+        assertEquals(1, copy.getTasks().get(0).getId());
+        assertEquals(2, copy.getTasks().get(1).getId());
+        assertEquals(2, ids.getLastId());
+    }
+
+    @Test
+    @DisplayName("columns_deleteSortAndUpdate_keepEachTaskWithItsFields")
+    void columnsFollowTasks() throws IndexOutOfRangeException {
+        Task plain = taskList.addTask("Plain", LocalDate.of(2025, 3, 1), 1);
+        Task wide = taskList.addTask("Caf\u00e9 \u4f1a\u8b70", null, 3);
+        Task missing = taskList.addTask(null, LocalDate.of(2025, 1, 1), 2);
+        Task deleted = taskList.addTask("Gone", LocalDate.of(2025, 2, 1), 2);
+        taskList.mark(deleted);
+
+        taskList.delete(deleted);
+        taskList.sortByDeadline(true);
+        for (int i = 0; i < 5000; i++) {
+            taskList.update(plain, "Plain " + i, true, null, false, null, false);
+        }
+
+        assertAll(
+            () -> assertEquals(List.of(missing, plain, wide), taskList.getTasks()),
+            () -> assertEquals("Plain 4999", plain.getDescription()),
+            () -> assertEquals("Caf\u00e9 \u4f1a\u8b70", wide.getDescription()),
+            () -> assertEquals(Task.NO_DEADLINE, wide.getDeadlineEpochDay()),
+            () -> assertEquals(null, missing.getDescription()),
+            () -> assertEquals(LocalDate.of(2025, 1, 1), missing.getDeadline()),
+            () -> assertEquals("Gone", deleted.getDescription()),
+            () -> assertTrue(deleted.isDone()),
+            () -> assertEquals(LocalDate.of(2025, 2, 1), deleted.getDeadline())
+        );
+    }
+
+    @Test
+    @DisplayName("copy_afterChanges_isIndependentOfOriginal")
+    void copyIsIndependent() throws IndexOutOfRangeException {
+        taskList.addTask("First", null, 1);
+        Task second = taskList.addTask("Second", LocalDate.of(2025, 5, 5), 3);
+        taskList.update(second, "Second again", true, null, false, null, false);
+        taskList.delete(0);
+
+        TaskList copy = taskList.copy();
+        taskList.update(second, "Changed", true, null, true, 1, true);
+
+        Task copied = copy.get(0);
+        assertAll(
+            () -> assertEquals(1, copy.size()),
+            () -> assertEquals("Second again", copied.getDescription()),
+            () -> assertEquals(LocalDate.of(2025, 5, 5), copied.getDeadline()),
+            () -> assertEquals(3, copied.getPriority()),
+            () -> assertEquals(1, copy.getPriorityCount(3)),
+            () -> assertEquals("Changed", second.getDescription())
+        );
+    }
+
+    @Test
+    @DisplayName("copy_loadedList_sharesStoreUntilEitherSideChanges")
+    void copySharesStore() throws IndexOutOfRangeException {
+        Task first = taskList.addTask("First", null, 1);
+        taskList.addTask("Second", LocalDate.of(2025, 5, 5), 3);
+
+        TaskList copy = taskList.copy();
+        assertFalse(copy.isLoaded());
+        copy.mark(0);
+        taskList.update(first, null, false, null, false, 3, true);
+
+        assertAll(
+            () -> assertTrue(copy.get(0).isDone()),
+            () -> assertEquals(1, copy.get(0).getPriority()),
+            () -> assertFalse(first.isDone()),
+            () -> assertEquals(3, first.getPriority()),
+            () -> assertEquals(2, taskList.getPriorityCount(3)),
+            () -> assertEquals(1, copy.getDoneCount())
+        );
+    }
+}
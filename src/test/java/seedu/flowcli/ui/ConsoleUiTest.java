@@ -0,0 +1,99 @@
+package seedu.flowcli.ui;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import seedu.flowcli.project.Project;
+import seedu.flowcli.project.ProjectList;
+
+@DisplayName("ConsoleUi Unit Tests")
+class ConsoleUiTest {
+
+    private final PrintStream originalOut = System.out;
+    private ByteArrayOutputStream captured;
+    private ProjectList projects;
+    private ConsoleUi ui;
+
+    @BeforeEach
+    void setUp() {
+        captured = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(captured));
+        projects = new ProjectList();
+        ui = new ConsoleUi(projects);
+    }
+
+    @AfterEach
+    void tearDown() {
+        System.setOut(originalOut);
+    }
+
+    @Test
+    @DisplayName("flush_afterShowError_writesBufferedOutputOnce")
+    void flushWritesBufferedOutput() {
+        ui.showError("Hello");
+        assertEquals("", captured.toString());
+
+        ui.flush();
+        String expected = "Hello" + System.lineSeparator() + ConsoleUi.LINE + System.lineSeparator();
+        assertEquals(expected, captured.toString());
+
+        ui.flush();
+        assertEquals(expected, captured.toString());
+    }
+
+    @Test
+    @DisplayName("showAutosaveError_journalDetached_doesNotPromiseChangesAreKept")
+    void showAutosaveErrorDependsOnJournal() {
+        ui.showAutosaveError("disk full", true);
+        assertTrue(captured.toString().contains("still journaled"));
+
+        captured.reset();
+        ui.showAutosaveError("disk full", false);
+        assertTrue(captured.toString().contains("Autosave failed: disk full"));
+        assertTrue(captured.toString().contains("not journaled here"));
+        assertFalse(captured.toString().contains("still journaled"));
+    }
+
+    @Test
+    @DisplayName("showProjectList_projectsWithTasks_listsEachTaskIndented")
+    void showProjectListIndentsTasks() throws Exception {
+        Project alpha = new Project("Alpha");
+        alpha.addTask("Write report", null, 3);
+        alpha.addTask("Review", null, 1);
+        projects.addProject(alpha);
+        projects.addProject(new Project("Beta"));
+
+        ui.showProjectList();
+        ui.flush();
+
+        String[] lines = captured.toString().split(System.lineSeparator());
+        assertEquals("Here is your list of projects:", lines[1]);
+        assertEquals("1. Alpha", lines[2]);
+        assertEquals("   1. " + alpha.getProjectTasks().get(0) + " #1", lines[3]);
+        assertEquals("   2. " + alpha.getProjectTasks().get(1) + " #2", lines[4]);
+        assertEquals("2. Beta", lines[5]);
+    }
+
+    @Test
+    @DisplayName("showError_largeOutput_flushesWithoutLosingLines")
+    void largeOutputIsComplete() {
+        int messageCount = 50_000;
+        for (int i = 0; i < messageCount; i++) {
+            ui.showError("Line " + i);
+        }
+        ui.flush();
+
+        String[] lines = captured.toString().split(System.lineSeparator());
+        assertEquals(2 * messageCount, lines.length);
+        assertEquals("Line " + (messageCount - 1), lines[2 * messageCount - 2]);
+    }
+}
@@ -0,0 +1,116 @@
+package seedu.flowcli.utility;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import seedu.flowcli.commands.utility.ParallelTasks;
+import seedu.flowcli.commands.utility.TaskCollector;
+import seedu.flowcli.commands.utility.TaskFilter;
+import seedu.flowcli.commands.utility.TaskSorter;
+import seedu.flowcli.project.Project;
+import seedu.flowcli.project.ProjectList;
+import seedu.flowcli.task.TaskWithProject;
+
+@DisplayName("Parallel TaskFilter and TaskSorter Unit Tests")
+class ParallelTasksTest {
+
+    private ProjectList projects;
+
+    @BeforeEach
+    void setUp() {
+        projects = new ProjectList();
+        // One project larger than a chunk, so it is split, and several small ones
+        int[] sizes = {40_000, 3, 0, 500, 7_000};
+        for (int p = 0; p < sizes.length; p++) {
+            Project project = new Project("Project" + p);
+            for (int t = 0; t < sizes[p]; t++) {
+                LocalDate deadline = t % 5 == 0 ? null : LocalDate.of(2025, 1, 1).plusDays((t * 7 + p) % 30);
+                project.addTask("Task " + t, deadline, (t + p) % 3 + 1);
+            }
+            projects.addProject(project);
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        ParallelTasks.setEnabled(false);
+        ParallelTasks.setThreshold(ParallelTasks.DEFAULT_THRESHOLD);
+    }
+
+    private List<TaskWithProject> runParallel(Supplier<List<TaskWithProject>> query) {
+        ParallelTasks.setEnabled(true);
+        ParallelTasks.setThreshold(0);
+        try {
+            return query.get();
+        } finally {
+            ParallelTasks.setEnabled(false);
+        }
+    }
+
+    private static void assertSameOrder(List<TaskWithProject> expected, List<TaskWithProject> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertSame(expected.get(i).getTask(), actual.get(i).getTask(), "Task " + i);
+            assertEquals(expected.get(i).getProjectName(), actual.get(i).getProjectName());
+        }
+    }
+
+    @Test
+    @DisplayName("sort_parallel_matchesSequentialOrderIncludingTies")
+    void parallelSortMatchesSequential() {
+        for (String field : List.of("deadline", "priority")) {
+            for (boolean ascending : List.of(true, false)) {
+                Supplier<List<TaskWithProject>> query = () -> new TaskSorter(projects, field, ascending)
+                        .getSortedTasks();
+                assertSameOrder(query.get(), runParallel(query));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("sortList_parallel_matchesSequentialOrder")
+    void parallelListSortMatchesSequential() {
+        List<TaskWithProject> tasks = TaskCollector.getAllTasksWithProjects(projects);
+        Supplier<List<TaskWithProject>> query = () -> new TaskSorter(tasks, "priority", false).getSortedTasks();
+
+        assertSameOrder(query.get(), runParallel(query));
+    }
+
+    @Test
+    @DisplayName("sortPages_parallel_matchSequentialPages")
+    void parallelPagesMatchSequential() {
+        TaskSorter sequential = new TaskSorter(projects, "deadline", true, 1_000);
+        TaskSorter.Cursor cursor = sequential.getNextPage();
+        TaskSorter sequentialNext = new TaskSorter(projects, cursor);
+
+        assertSameOrder(sequential.getSortedTasks(),
+                runParallel(() -> new TaskSorter(projects, "deadline", true, 1_000).getSortedTasks()));
+        assertSameOrder(sequentialNext.getSortedTasks(),
+                runParallel(() -> new TaskSorter(projects, cursor).getSortedTasks()));
+    }
+
+    @Test
+    @DisplayName("filter_parallel_matchesSequentialResults")
+    void parallelFilterMatchesSequential() {
+        List<TaskWithProject> all = TaskCollector.getAllTasksWithProjects(projects);
+        List<Supplier<List<TaskWithProject>>> queries = new ArrayList<>();
+        queries.add(() -> new TaskFilter(projects, null, "project0").getFilteredTasks());
+        queries.add(() -> new TaskFilter(projects, "unknown", null).getFilteredTasks());
+        queries.add(() -> new TaskFilter(all, "HIGH", null).getFilteredTasks());
+        queries.add(() -> new TaskFilter(all, null, "Project4").getFilteredTasks());
+
+        for (Supplier<List<TaskWithProject>> query : queries) {
+            assertSameOrder(query.get(), runParallel(query));
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package seedu.flowcli.utility;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import seedu.flowcli.commands.utility.TaskCollector;
+import seedu.flowcli.commands.utility.TaskExporter;
+import seedu.flowcli.exceptions.FileWriteException;
+import seedu.flowcli.project.Project;
+import seedu.flowcli.project.ProjectList;
+import seedu.flowcli.task.TaskWithProject;
+
+@DisplayName("TaskExporter Unit Tests")
+class TaskExporterTest {
+
+    @TempDir
+    Path tempDir;
+
+    private ProjectList projects;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        projects = new ProjectList();
+        Project alpha = new Project("Alpha");
+        alpha.addTask("Write report", LocalDate.of(2025, 3, 7), 3);
+        alpha.addTask("Review", null, 1);
+        alpha.getProjectTasks().mark(1);
+        Project beta = new Project("Beta");
+        beta.addTask("Plan", LocalDate.of(2025, 12, 25), 2);
+        projects.addProject(alpha);
+        projects.addProject(beta);
+    }
+
+    @Test
+    @DisplayName("exportTasksToFile_list_writesHeaderAndTaskLines")
+    void exportListWritesHeaderAndTasks() throws Exception {
+        Path file = tempDir.resolve("out.txt");
+        List<TaskWithProject> tasks = TaskCollector.getAllTasksWithProjects(projects);
+
+        TaskExporter.exportTasksToFile(tasks, file.toString(), "Exported all tasks");
+
+        List<String> expected = new ArrayList<>();
+        expected.add("Exported all tasks");
+        expected.add("=".repeat("Exported all tasks".length()));
+        expected.add("");
+        for (TaskWithProject task : tasks) {
+            expected.add(task.toString());
+        }
+        assertEquals(expected, Files.readAllLines(file));
+    }
+
+    @Test
+    @DisplayName("exportTasksToFile_projects_matchesListExport")
+    void exportProjectsMatchesListExport() throws Exception {
+        Path streamed = tempDir.resolve("streamed.txt");
+        Path listed = tempDir.resolve("listed.txt");
+
+        int count = TaskExporter.exportTasksToFile(projects.getProjectList(), task -> true,
+                streamed.toString(), "Header");
+        TaskExporter.exportTasksToFile(TaskCollector.getAllTasksWithProjects(projects), listed.toString(), "Header");
+
+        assertEquals(3, count);
+        assertEquals(Files.readAllLines(listed), Files.readAllLines(streamed));
+    }
+
+    @Test
+    @DisplayName("exportTasksToFile_projectsWithFilter_writesOnlyMatchingTasks")
+    void exportProjectsWithFilter() throws Exception {
+        Path file = tempDir.resolve("high.txt");
+
+        int count = TaskExporter.exportTasksToFile(projects.getProjectList(),
+                task -> task.getPriority() == 3, file.toString(), null);
+
+        assertEquals(1, count);
+        assertEquals(List.of("Alpha: " + projects.getProjectByIndex(0).getProjectTasks().get(0)),
+                Files.readAllLines(file));
+    }
+
+    @Test
+    @DisplayName("exportTasksToFile_manyTasks_writesEveryLineAcrossBuffers")
+    void exportManyTasks() throws Exception {
+        Project big = new Project("Big");
+        int taskCount = 20_000;
+        for (int i = 0; i < taskCount; i++) {
+            big.addTask("Task number " + i, LocalDate.of(2025, 1, 1).plusDays(i % 365), i % 3 + 1);
+        }
+        ProjectList bigList = new ProjectList();
+        bigList.addProject(big);
+        Path file = tempDir.resolve("big.txt");
+
+        int count = TaskExporter.exportTasksToFile(bigList.getProjectList(), task -> true, file.toString(), null);
+
+        List<String> lines = Files.readAllLines(file);
+        assertEquals(taskCount, count);
+        assertEquals(taskCount, lines.size());
+        for (int i = 0; i < taskCount; i += 997) {
+            assertEquals(new TaskWithProject(big.getProjectName(), big.getProjectTasks().get(i)).toString(),
+                    lines.get(i));
+        }
+    }
+
+    @Test
+    @DisplayName("exportTasksToFile_missingDirectory_throwsFileWriteException")
+    void exportToMissingDirectory() {
+        String filename = tempDir.resolve("missing").resolve("out.txt").toString();
+
+        FileWriteException e = assertThrows(FileWriteException.class, () ->
+                TaskExporter.exportTasksToFile(projects.getProjectList(), task -> true, filename, null));
+        assertTrue(e.getMessage().contains("Directory does not exist"));
+    }
+}
@@ -53,9 +53,9 @@ class TaskFilterTest {
         project2.addTask("Task D", null, 2); // Medium priority
         project2.addTask("Task E", null, 3); // High priority
 
-        projects.getProjectList().add(project1);
-        projects.getProjectList().add(project2);
-        projects.getProjectList().add(emptyProject);
+        projects.addProject(project1);
+        projects.addProject(project2);
+        projects.addProject(emptyProject);
 
         logger.info("Test setup completed with " + projects.getProjectList().size() + " projects");
     }
@@ -203,8 +203,8 @@ class TaskFilterTest {
         specialProject.addTask("Special Task", null, 1);
         longNameProject.addTask("Long Name Task", null, 2);
 
-        specialProjects.getProjectList().add(specialProject);
-        specialProjects.getProjectList().add(longNameProject);
+        specialProjects.addProject(specialProject);
+        specialProjects.addProject(longNameProject);
 
         // Test filtering by special character project name
         TaskFilter specialFilter = new TaskFilter(specialProjects, null, "project-with-dashes_and_underscores123");
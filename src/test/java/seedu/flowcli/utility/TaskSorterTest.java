@@ -2,11 +2,15 @@ package seedu.flowcli.utility;
 
 import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.logging.Handler;
 import java.util.logging.Level;
@@ -19,6 +23,7 @@ import org.junit.jupiter.api.Test;
 import seedu.flowcli.commands.utility.TaskSorter;
 import seedu.flowcli.project.Project;
 import seedu.flowcli.project.ProjectList;
+import seedu.flowcli.task.Task;
 import seedu.flowcli.task.TaskWithProject;
 
 @DisplayName("TaskSorter Unit Tests")
@@ -54,9 +59,9 @@ class TaskSorterTest {
         project2.addTask("Task D", LocalDate.of(2025, 11, 20), 2);
         project2.addTask("Task E", LocalDate.of(2025, 10, 10), 3);
 
-        projects.getProjectList().add(project1);
-        projects.getProjectList().add(project2);
-        projects.getProjectList().add(emptyProject);
+        projects.addProject(project1);
+        projects.addProject(project2);
+        projects.addProject(emptyProject);
 
         logger.info("Test setup completed with " + projects.getProjectList().size() + " projects");
     }
@@ -164,7 +169,7 @@ class TaskSorterTest {
         ProjectList singleProjectList = new ProjectList();
         Project singleProject = new Project("SingleProject");
         singleProject.addTask("Single Task", LocalDate.of(2025, 12, 25), 2);
-        singleProjectList.getProjectList().add(singleProject);
+        singleProjectList.addProject(singleProject);
 
         TaskSorter sorter = new TaskSorter(singleProjectList, "deadline", true);
         List<TaskWithProject> sortedTasks = sorter.getSortedTasks();
@@ -190,7 +195,7 @@ class TaskSorterTest {
         nullProject.addTask("Null Task 2", null, 3);
         nullProject.addTask("Dated Task", LocalDate.of(2025, 10, 10), 2);
 
-        nullDeadlineProjects.getProjectList().add(nullProject);
+        nullDeadlineProjects.addProject(nullProject);
 
         TaskSorter sorter = new TaskSorter(nullDeadlineProjects, "deadline", true);
         List<TaskWithProject> sortedTasks = sorter.getSortedTasks();
@@ -204,4 +209,118 @@ class TaskSorterTest {
 
         logger.info("Null deadline sort test passed");
     }
+
+    @Test @DisplayName("sortTasks_withLimit_returnsPagesMatchingFullSortIncludingTies")
+    void testPagesMatchFullSort() {
+        ProjectList many = new ProjectList();
+        for (int p = 0; p < 5; p++) {
+            Project project = new Project("P" + p);
+            for (int t = 0; t < 40; t++) {
+                LocalDate deadline = (p + t) % 4 == 0 ? null : LocalDate.of(2025, 1, 1).plusDays((p * 7 + t) % 9);
+                project.addTask("Task " + p + "-" + t, deadline, (p + t) % 3 + 1);
+            }
+            many.addProject(project);
+        }
+
+        for (String field : List.of("deadline", "priority")) {
+            for (boolean ascending : List.of(true, false)) {
+                List<TaskWithProject> expected = new TaskSorter(many, field, ascending).getSortedTasks();
+                List<TaskWithProject> paged = new ArrayList<>();
+                TaskSorter page = new TaskSorter(many, field, ascending, 30);
+                paged.addAll(page.getSortedTasks());
+                while (page.getNextPage() != null) {
+                    assertEquals(paged.size(), page.getNextPage().getShownCount());
+                    page = new TaskSorter(many, page.getNextPage());
+                    paged.addAll(page.getSortedTasks());
+                }
+
+                assertEquals(expected.size(), paged.size());
+                for (int i = 0; i < expected.size(); i++) {
+                    assertSame(expected.get(i).getTask(), paged.get(i).getTask(), field + " " + ascending + " " + i);
+                }
+            }
+        }
+    }
+
+    @Test @DisplayName("sortTasks_priorityThenDeadline_breaksPriorityTiesByDeadline")
+    void testSortByPriorityThenDeadline() {
+        List<TaskSorter.SortKey> keys = List.of(new TaskSorter.SortKey("priority", false),
+                new TaskSorter.SortKey("deadline", true));
+        List<TaskWithProject> sortedTasks = new TaskSorter(projects, keys).getSortedTasks();
+
+        List<String> descriptions = new ArrayList<>();
+        for (TaskWithProject task : sortedTasks) {
+            descriptions.add(task.getTask().getDescription());
+        }
+        assertEquals(List.of("Task E", "Task A", "Task D", "Task C", "Task B"), descriptions);
+    }
+
+    @Test @DisplayName("sortTasks_packedKeys_matchStableComparatorSort")
+    void testPackedKeysMatchComparatorSort() {
+        ProjectList many = new ProjectList();
+        for (int p = 0; p < 4; p++) {
+            Project project = new Project("P" + p);
+            for (int t = 0; t < 60; t++) {
+                LocalDate deadline = (p * 3 + t) % 5 == 0
+                        ? null
+                        : LocalDate.of(1960, 1, 1).plusDays((p * 11 + t) % 23 * 1000L);
+                project.addTask("Task " + p + "-" + t, deadline, (p + t) % 3 + 1);
+            }
+            many.addProject(project);
+        }
+
+        for (boolean priorityAscending : List.of(true, false)) {
+            for (boolean deadlineAscending : List.of(true, false)) {
+                List<TaskSorter.SortKey> keys = List.of(new TaskSorter.SortKey("priority", priorityAscending),
+                        new TaskSorter.SortKey("deadline", deadlineAscending));
+                Comparator<TaskWithProject> priority = Comparator.comparingInt(t -> t.getTask().getPriority());
+                Comparator<TaskWithProject> deadline = Comparator.comparing(t -> t.getTask().getDeadline(),
+                        Comparator.nullsLast(Comparator.<LocalDate>naturalOrder()));
+                List<TaskWithProject> expected = new ArrayList<>();
+                for (Project project : many.getProjectList()) {
+                    for (Task task : project.getProjectTasks().getTasks()) {
+                        expected.add(new TaskWithProject(project.getProjectName(), task));
+                    }
+                }
+                expected.sort((priorityAscending ? priority : priority.reversed())
+                        .thenComparing(deadlineAscending ? deadline : deadline.reversed()));
+
+                List<TaskWithProject> sorted = new TaskSorter(many, keys).getSortedTasks();
+                List<TaskWithProject> paged = new ArrayList<>();
+                TaskSorter page = new TaskSorter(many, keys, 25);
+                paged.addAll(page.getSortedTasks());
+                while (page.getNextPage() != null) {
+                    page = new TaskSorter(many, page.getNextPage());
+                    paged.addAll(page.getSortedTasks());
+                }
+
+                assertEquals(expected.size(), sorted.size());
+                assertEquals(expected.size(), paged.size());
+                for (int i = 0; i < expected.size(); i++) {
+                    assertSame(expected.get(i).getTask(), sorted.get(i).getTask(), keys + " " + i);
+                    assertEquals(expected.get(i).getProjectName(), sorted.get(i).getProjectName());
+                    assertSame(expected.get(i).getTask(), paged.get(i).getTask(), keys + " page " + i);
+                }
+            }
+        }
+    }
+
+    @Test @DisplayName("sortTasks_limitAboveTaskCount_returnsAllTasksWithoutNextPage")
+    void testLimitAboveTaskCount() {
+        TaskSorter sorter = new TaskSorter(projects, "priority", false, 100);
+
+        assertEquals(5, sorter.getSortedTasks().size());
+        assertNull(sorter.getNextPage());
+    }
+
+    @Test @DisplayName("sortTasks_projectChangedAfterPage_cursorIsNoLongerCurrent")
+    void testCursorInvalidatedByChange() throws Exception {
+        TaskSorter sorter = new TaskSorter(projects, "deadline", true, 2);
+        TaskSorter.Cursor cursor = sorter.getNextPage();
+        assertTrue(cursor.isCurrent(projects));
+
+        project2.getProjectTasks().mark(0);
+
+        assertFalse(cursor.isCurrent(projects));
+    }
 }